@@ -0,0 +1,70 @@
+package com.guma.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO que describe por qué una fila de una importación no se importó.
+ * 
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ErrorFilaDTO {
+
+    private int fila;
+    private String email;
+    private List<ErrorDTO> errores;
+
+    /**
+     * Constructor vacío.
+     */
+    public ErrorFilaDTO() {
+        this.errores = new ArrayList<>();
+    }
+
+    /**
+     * Constructor completo.
+     * 
+     * @param fila    número de fila en el archivo (1 = primer registro)
+     * @param email   email de la fila (puede ser null)
+     * @param errores errores de la fila
+     */
+    public ErrorFilaDTO(int fila, String email, List<ErrorDTO> errores) {
+        this.fila = fila;
+        this.email = email;
+        this.errores = errores != null ? errores : new ArrayList<>();
+    }
+
+    public int getFila() {
+        return fila;
+    }
+
+    public void setFila(int fila) {
+        this.fila = fila;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public List<ErrorDTO> getErrores() {
+        return errores;
+    }
+
+    public void setErrores(List<ErrorDTO> errores) {
+        this.errores = errores;
+    }
+
+    @Override
+    public String toString() {
+        return "ErrorFilaDTO{" +
+                "fila=" + fila +
+                ", email='" + email + '\'' +
+                ", errores=" + errores +
+                '}';
+    }
+}
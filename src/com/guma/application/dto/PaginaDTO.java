@@ -0,0 +1,66 @@
+package com.guma.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con una página de resultados paginados por clave.
+ *
+ * Para pedir la página siguiente se pasa siguienteDespuesDe como
+ * "despuesDeId"; es null en la última página.
+ *
+ * @param <T> tipo de los elementos
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class PaginaDTO<T> {
+
+    private List<T> elementos;
+    private Integer siguienteDespuesDe;
+
+    /**
+     * Constructor vacío.
+     */
+    public PaginaDTO() {
+        this.elementos = new ArrayList<>();
+    }
+
+    /**
+     * Constructor completo.
+     *
+     * @param elementos          elementos de la página
+     * @param siguienteDespuesDe cursor de la página siguiente, o null
+     */
+    public PaginaDTO(List<T> elementos, Integer siguienteDespuesDe) {
+        this.elementos = elementos != null ? elementos : new ArrayList<>();
+        this.siguienteDespuesDe = siguienteDespuesDe;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public void setElementos(List<T> elementos) {
+        this.elementos = elementos;
+    }
+
+    public Integer getSiguienteDespuesDe() {
+        return siguienteDespuesDe;
+    }
+
+    public void setSiguienteDespuesDe(Integer siguienteDespuesDe) {
+        this.siguienteDespuesDe = siguienteDespuesDe;
+    }
+
+    public boolean isHayMas() {
+        return siguienteDespuesDe != null;
+    }
+
+    @Override
+    public String toString() {
+        return "PaginaDTO{" +
+                "elementos=" + (elementos != null ? elementos.size() : 0) +
+                ", siguienteDespuesDe=" + siguienteDespuesDe +
+                '}';
+    }
+}
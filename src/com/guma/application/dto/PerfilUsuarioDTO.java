@@ -33,6 +33,7 @@ public class PerfilUsuarioDTO {
     private String fotoPerfilUrl; // URL/path de la foto
     private boolean verificado;
     private LocalDateTime ultimaConexion; // Campo del usuario relacionado
+    private Integer version; // Versión leída (concurrencia optimista)
 
     /**
      * Constructor vacío.
@@ -194,6 +195,14 @@ public class PerfilUsuarioDTO {
         this.ultimaConexion = ultimaConexion;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     /**
      * Verifica si el perfil está completo (todos los campos obligatorios llenos).
      * 
@@ -0,0 +1,98 @@
+package com.guma.application.dto;
+
+/**
+ * DTO con el resultado de una exportación de perfiles.
+ *
+ * Incluye el archivo generado, las cantidades y el rendimiento obtenido
+ * (filas por segundo y pico de heap usado durante la exportación).
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ResultadoExportacionDTO {
+
+    private String archivo;
+    private long filas;
+    private long bytes;
+    private long duracionMs;
+    private long heapPicoBytes;
+
+    /**
+     * Constructor vacío.
+     */
+    public ResultadoExportacionDTO() {
+    }
+
+    /**
+     * Constructor completo.
+     *
+     * @param archivo       ruta del archivo generado
+     * @param filas         filas exportadas
+     * @param bytes         tamaño del archivo generado
+     * @param duracionMs    duración total de la exportación
+     * @param heapPicoBytes mayor uso de heap observado durante la exportación
+     */
+    public ResultadoExportacionDTO(String archivo, long filas, long bytes, long duracionMs, long heapPicoBytes) {
+        this.archivo = archivo;
+        this.filas = filas;
+        this.bytes = bytes;
+        this.duracionMs = duracionMs;
+        this.heapPicoBytes = heapPicoBytes;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public void setArchivo(String archivo) {
+        this.archivo = archivo;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    public void setFilas(long filas) {
+        this.filas = filas;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+    public void setDuracionMs(long duracionMs) {
+        this.duracionMs = duracionMs;
+    }
+
+    public long getHeapPicoBytes() {
+        return heapPicoBytes;
+    }
+
+    public void setHeapPicoBytes(long heapPicoBytes) {
+        this.heapPicoBytes = heapPicoBytes;
+    }
+
+    /**
+     * Obtiene el rendimiento de la exportación.
+     *
+     * @return filas exportadas por segundo
+     */
+    public double getFilasPorSegundo() {
+        return duracionMs > 0 ? filas * 1000.0 / duracionMs : filas;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResultadoExportacionDTO{archivo=%s, filas=%d, %d bytes, %d ms, %.1f filas/s, "
+                + "heap pico=%d MB}", archivo, filas, bytes, duracionMs, getFilasPorSegundo(),
+                heapPicoBytes / (1024 * 1024));
+    }
+}
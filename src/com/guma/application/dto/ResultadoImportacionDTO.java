@@ -0,0 +1,94 @@
+package com.guma.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con el resultado de una importación masiva de usuarios.
+ * 
+ * Incluye cantidades, errores por fila y el rendimiento obtenido
+ * (filas procesadas por segundo).
+ * 
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ResultadoImportacionDTO {
+
+    private int totalFilas;
+    private int importadas;
+    private List<ErrorFilaDTO> errores;
+    private long duracionMs;
+
+    /**
+     * Constructor vacío.
+     */
+    public ResultadoImportacionDTO() {
+        this.errores = new ArrayList<>();
+    }
+
+    /**
+     * Constructor completo.
+     * 
+     * @param totalFilas filas leídas
+     * @param importadas filas importadas (usuario + perfil)
+     * @param errores    filas rechazadas con su motivo
+     * @param duracionMs duración total de la importación
+     */
+    public ResultadoImportacionDTO(int totalFilas, int importadas, List<ErrorFilaDTO> errores, long duracionMs) {
+        this.totalFilas = totalFilas;
+        this.importadas = importadas;
+        this.errores = errores != null ? errores : new ArrayList<>();
+        this.duracionMs = duracionMs;
+    }
+
+    public int getTotalFilas() {
+        return totalFilas;
+    }
+
+    public void setTotalFilas(int totalFilas) {
+        this.totalFilas = totalFilas;
+    }
+
+    public int getImportadas() {
+        return importadas;
+    }
+
+    public void setImportadas(int importadas) {
+        this.importadas = importadas;
+    }
+
+    public int getRechazadas() {
+        return errores.size();
+    }
+
+    public List<ErrorFilaDTO> getErrores() {
+        return errores;
+    }
+
+    public void setErrores(List<ErrorFilaDTO> errores) {
+        this.errores = errores;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+    public void setDuracionMs(long duracionMs) {
+        this.duracionMs = duracionMs;
+    }
+
+    /**
+     * Obtiene el rendimiento de la importación.
+     * 
+     * @return filas procesadas por segundo
+     */
+    public double getFilasPorSegundo() {
+        return duracionMs > 0 ? totalFilas * 1000.0 / duracionMs : totalFilas;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResultadoImportacionDTO{total=%d, importadas=%d, rechazadas=%d, %d ms, %.1f filas/s}",
+                totalFilas, importadas, getRechazadas(), duracionMs, getFilasPorSegundo());
+    }
+}
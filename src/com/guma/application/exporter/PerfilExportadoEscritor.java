@@ -0,0 +1,217 @@
+package com.guma.application.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.valueobjects.PerfilExportado;
+
+/**
+ * Escritor de la exportación de perfiles en CSV o JSON Lines.
+ *
+ * Escribe cada fila apenas la recibe; no guarda filas. La línea se arma en
+ * un StringBuilder reutilizado y se entrega al Writer en una sola llamada.
+ *
+ * CSV: primera línea con encabezados; los valores con coma, comillas o
+ * saltos de línea van entre comillas dobles (las comillas se duplican).
+ *
+ * <pre>
+ * idPerfilUsuario,idUsuario,emailUsuario,rol,...
+ * 7,12,ana@refugio.org,USUARIO,...
+ * </pre>
+ *
+ * JSON Lines: un objeto JSON por línea con las mismas claves; los
+ * identificadores son números y los valores ausentes, null.
+ *
+ * <pre>
+ * {"idPerfilUsuario":7,"idUsuario":12,"emailUsuario":"ana@refugio.org",...}
+ * </pre>
+ *
+ * Las fechas usan el formato ISO-8601 (yyyy-MM-dd y yyyy-MM-ddTHH:mm[:ss]).
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class PerfilExportadoEscritor {
+
+    /**
+     * Formatos de exportación soportados.
+     */
+    public enum Formato {
+        CSV(".csv"),
+        JSON_LINES(".jsonl");
+
+        private final String extension;
+
+        Formato(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String[] COLUMNAS = {
+            "idPerfilUsuario", "idUsuario", "emailUsuario", "rol", "usuarioVerificado", "ultimaConexion",
+            "dni", "nombre", "apellido", "fechaNacimiento", "email", "telefono", "idSexo",
+            "idDireccion", "idRedSocial", "fotoPerfil", "verificado" };
+
+    private final Writer writer;
+    private final Formato formato;
+    private final StringBuilder linea = new StringBuilder(256);
+    private long filas;
+
+    /**
+     * @param writer  destino (conviene que tenga buffer propio)
+     * @param formato formato de salida
+     */
+    public PerfilExportadoEscritor(Writer writer, Formato formato) {
+        if (writer == null || formato == null) {
+            throw new IllegalArgumentException("El writer y el formato no pueden ser nulos");
+        }
+        this.writer = writer;
+        this.formato = formato;
+    }
+
+    /**
+     * Escribe el encabezado (solo en CSV; JSON Lines no tiene).
+     *
+     * @throws IOException si falla la escritura
+     */
+    public void escribirEncabezado() throws IOException {
+        if (formato != Formato.CSV) {
+            return;
+        }
+        linea.setLength(0);
+        for (int i = 0; i < COLUMNAS.length; i++) {
+            if (i > 0) {
+                linea.append(',');
+            }
+            linea.append(COLUMNAS[i]);
+        }
+        linea.append('\n');
+        writer.append(linea);
+    }
+
+    /**
+     * Escribe una fila.
+     *
+     * @param fila perfil exportado
+     * @throws IOException si falla la escritura
+     */
+    public void escribir(PerfilExportado fila) throws IOException {
+        PerfilUsuario perfil = fila.getPerfil();
+        Object[] valores = {
+                perfil.getIdPerfilUsuario(), perfil.getIdUsuario(), fila.getEmailUsuario(), fila.getRol(),
+                fila.isUsuarioVerificado(), fila.getUltimaConexion(),
+                perfil.getDni(), perfil.getNombre(), perfil.getApellido(), perfil.getFechaNacimiento(),
+                perfil.getEmail(), perfil.getTelefono(), perfil.getIdSexo(),
+                perfil.getIdDireccion(), perfil.getIdRedSocial(), perfil.getFotoPerfil(), perfil.isVerificado() };
+
+        linea.setLength(0);
+        if (formato == Formato.CSV) {
+            armarCsv(valores);
+        } else {
+            armarJson(valores);
+        }
+        linea.append('\n');
+        writer.append(linea);
+        filas++;
+    }
+
+    /**
+     * @return filas escritas (sin contar el encabezado)
+     */
+    public long getFilas() {
+        return filas;
+    }
+
+    // ==================== CSV ====================
+
+    private void armarCsv(Object[] valores) {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                linea.append(',');
+            }
+            Object valor = valores[i];
+            if (valor == null) {
+                continue;
+            }
+            String texto = valor.toString();
+            if (requiereComillas(texto)) {
+                linea.append('"');
+                for (int c = 0; c < texto.length(); c++) {
+                    char ch = texto.charAt(c);
+                    if (ch == '"') {
+                        linea.append('"');
+                    }
+                    linea.append(ch);
+                }
+                linea.append('"');
+            } else {
+                linea.append(texto);
+            }
+        }
+    }
+
+    private static boolean requiereComillas(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char ch = texto.charAt(i);
+            if (ch == ',' || ch == '"' || ch == '\n' || ch == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== JSON ====================
+
+    private void armarJson(Object[] valores) {
+        linea.append('{');
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                linea.append(',');
+            }
+            linea.append('"').append(COLUMNAS[i]).append("\":");
+            Object valor = valores[i];
+            if (valor == null || valor instanceof Number || valor instanceof Boolean) {
+                linea.append(valor);
+            } else {
+                escaparJson(valor.toString());
+            }
+        }
+        linea.append('}');
+    }
+
+    private void escaparJson(String texto) {
+        linea.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char ch = texto.charAt(i);
+            switch (ch) {
+                case '"':
+                    linea.append("\\\"");
+                    break;
+                case '\\':
+                    linea.append("\\\\");
+                    break;
+                case '\n':
+                    linea.append("\\n");
+                    break;
+                case '\r':
+                    linea.append("\\r");
+                    break;
+                case '\t':
+                    linea.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        linea.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        linea.append(ch);
+                    }
+            }
+        }
+        linea.append('"');
+    }
+}
@@ -3,6 +3,7 @@ package com.guma.application.facade;
 import com.guma.application.dto.*;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Facade para operaciones de direcciones y catálogos geográficos.
@@ -28,6 +29,15 @@ public interface DireccionFacade {
      */
     ResultadoDTO<DireccionDTO> buscarPorId(Integer id);
     
+    /**
+     * Busca varias direcciones por sus IDs con una sola consulta,
+     * incluyendo los nombres de localidad, provincia y país.
+     * 
+     * @param ids identificadores de las direcciones
+     * @return ResultadoDTO con las direcciones encontradas, en el orden de los IDs
+     */
+    ResultadoDTO<List<DireccionDTO>> buscarPorIds(List<Integer> ids);
+    
     // ===== CATÁLOGOS GEOGRÁFICOS =====
     
     /**
@@ -52,4 +62,61 @@ public interface DireccionFacade {
      * @return ResultadoDTO con lista de localidades
      */
     ResultadoDTO<List<LocalidadDTO>> obtenerLocalidadesPorProvincia(Integer idProvincia);
+    
+    /**
+     * Obtiene una página de países ordenados por ID.
+     * 
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      tamaño de página
+     * @return ResultadoDTO con la página y el cursor de la siguiente
+     */
+    ResultadoDTO<PaginaDTO<PaisDTO>> obtenerPaisesPagina(Integer despuesDeId, int limite);
+    
+    /**
+     * Obtiene una página de provincias de un país ordenadas por ID.
+     * 
+     * @param idPais      identificador del país
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      tamaño de página
+     * @return ResultadoDTO con la página y el cursor de la siguiente
+     */
+    ResultadoDTO<PaginaDTO<ProvinciaDTO>> obtenerProvinciasPorPaisPagina(Integer idPais, Integer despuesDeId,
+            int limite);
+    
+    /**
+     * Obtiene una página de localidades de una provincia ordenadas por ID.
+     * 
+     * @param idProvincia identificador de la provincia
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      tamaño de página
+     * @return ResultadoDTO con la página y el cursor de la siguiente
+     */
+    ResultadoDTO<PaginaDTO<LocalidadDTO>> obtenerLocalidadesPorProvinciaPagina(Integer idProvincia,
+            Integer despuesDeId, int limite);
+    
+    /**
+     * Recorre todos los países entregándolos de a uno.
+     * 
+     * @param consumidor recibe cada país
+     * @return ResultadoDTO con la cantidad recorrida
+     */
+    ResultadoDTO<Integer> recorrerPaises(Consumer<PaisDTO> consumidor);
+    
+    /**
+     * Recorre las provincias de un país entregándolas de a una.
+     * 
+     * @param idPais     identificador del país
+     * @param consumidor recibe cada provincia
+     * @return ResultadoDTO con la cantidad recorrida
+     */
+    ResultadoDTO<Integer> recorrerProvinciasPorPais(Integer idPais, Consumer<ProvinciaDTO> consumidor);
+    
+    /**
+     * Recorre las localidades de una provincia entregándolas de a una.
+     * 
+     * @param idProvincia identificador de la provincia
+     * @param consumidor  recibe cada localidad
+     * @return ResultadoDTO con la cantidad recorrida
+     */
+    ResultadoDTO<Integer> recorrerLocalidadesPorProvincia(Integer idProvincia, Consumer<LocalidadDTO> consumidor);
 }
@@ -0,0 +1,35 @@
+package com.guma.application.facade;
+
+import java.nio.file.Path;
+
+import com.guma.application.dto.ResultadoDTO;
+import com.guma.application.dto.ResultadoExportacionDTO;
+import com.guma.application.exporter.PerfilExportadoEscritor.Formato;
+
+/**
+ * Facade (interfaz) para la exportación completa de perfiles de usuario
+ * (con su usuario y su rol) a un archivo, para análisis.
+ *
+ * La exportación se hace por streaming: las filas pasan de la base de datos
+ * al archivo sin cargarse todas en memoria, así que el consumo de heap no
+ * depende de la cantidad de usuarios.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface ExportacionFacade {
+
+    /**
+     * Exporta todos los perfiles al archivo indicado.
+     *
+     * El archivo se escribe primero con extensión temporal y se renombra al
+     * terminar, así que nunca queda un archivo a medio escribir con el
+     * nombre final.
+     *
+     * @param destino ruta del archivo a generar (se reemplaza si existe)
+     * @param formato CSV o JSON Lines (ver PerfilExportadoEscritor)
+     * @return ResultadoDTO con filas, bytes, filas/segundo y pico de heap, o
+     *         error si no se pudo leer la base o escribir el archivo
+     */
+    ResultadoDTO<ResultadoExportacionDTO> exportarPerfiles(Path destino, Formato formato);
+}
@@ -0,0 +1,48 @@
+package com.guma.application.facade;
+
+import java.io.Reader;
+import java.util.List;
+
+import com.guma.application.dto.RegistroUsuarioDTO;
+import com.guma.application.dto.ResultadoDTO;
+import com.guma.application.dto.ResultadoImportacionDTO;
+
+/**
+ * Facade (interfaz) para la importación masiva de usuarios.
+ * 
+ * Cada fila crea un usuario con rol por defecto y su perfil, igual que
+ * AuthFacade.registrarUsuario, pero procesando miles de filas por lotes.
+ * Las filas inválidas no detienen la importación: se informan en
+ * ResultadoImportacionDTO.getErrores().
+ * 
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface ImportacionFacade {
+
+    /**
+     * Importa usuarios desde un CSV con encabezados.
+     * 
+     * @param csv origen del CSV (ver RegistroUsuarioLector para el formato)
+     * @return ResultadoDTO con el resumen de la importación, o error si el
+     *         archivo no se pudo leer
+     */
+    ResultadoDTO<ResultadoImportacionDTO> importarCsv(Reader csv);
+
+    /**
+     * Importa usuarios desde un arreglo JSON de objetos.
+     * 
+     * @param json origen del JSON (ver RegistroUsuarioLector para el formato)
+     * @return ResultadoDTO con el resumen de la importación, o error si el
+     *         archivo no se pudo leer
+     */
+    ResultadoDTO<ResultadoImportacionDTO> importarJson(Reader json);
+
+    /**
+     * Importa una lista de registros ya leídos.
+     * 
+     * @param registros registros a importar (la fila 1 es el primero)
+     * @return ResultadoDTO con el resumen de la importación
+     */
+    ResultadoDTO<ResultadoImportacionDTO> importar(List<RegistroUsuarioDTO> registros);
+}
@@ -1,5 +1,7 @@
 package com.guma.application.facade;
 
+import java.nio.channels.ReadableByteChannel;
+
 import com.guma.application.dto.PerfilUsuarioDTO;
 import com.guma.application.dto.ResultadoDTO;
 
@@ -13,6 +15,7 @@ import com.guma.application.dto.ResultadoDTO;
  * - obtenerPorUsuario: Consultar perfil por ID de usuario
  * - obtenerPorDni: Consultar perfil por DNI
  * - verificar: Marcar perfil como verificado
+ * - obtenerFoto: Leer la foto de perfil para mostrarla
  * 
  * @author GUMA Development Team
  * @version 1.0
@@ -65,6 +68,20 @@ public interface PerfilFacade {
      */
     ResultadoDTO<PerfilUsuarioDTO> actualizar(PerfilUsuarioDTO perfil, byte[] fotoBytes, String nombreFoto);
 
+    /**
+     * Actualiza un perfil existente con foto opcional leída de un canal.
+     * 
+     * Igual que la variante con bytes, pero la foto se copia al almacenamiento
+     * por partes, sin cargarla entera en memoria. El canal se lee hasta el
+     * final y no se cierra.
+     * 
+     * @param perfil     Datos actualizados del perfil
+     * @param foto       Canal con la nueva foto (null si no se cambia)
+     * @param nombreFoto Nombre del archivo de foto
+     * @return ResultadoDTO con PerfilUsuarioDTO actualizado, o errores
+     */
+    ResultadoDTO<PerfilUsuarioDTO> actualizar(PerfilUsuarioDTO perfil, ReadableByteChannel foto, String nombreFoto);
+
     /**
      * Obtiene el perfil de un usuario por su ID de usuario.
      * 
@@ -88,4 +105,15 @@ public interface PerfilFacade {
      * @return ResultadoDTO con PerfilUsuarioDTO verificado, o error
      */
     ResultadoDTO<PerfilUsuarioDTO> verificar(Integer idPerfilUsuario);
+
+    /**
+     * Obtiene los bytes de una foto para mostrarla en un cuadrado del lado
+     * indicado. Si la imagen tiene una variante reducida que lo cubre se
+     * devuelve esa en lugar del original.
+     * 
+     * @param link Link de la imagen (fotoPerfilUrl del perfil)
+     * @param lado Lado en píxeles en que se va a mostrar
+     * @return ResultadoDTO con los bytes de la imagen, o error
+     */
+    ResultadoDTO<byte[]> obtenerFoto(String link, int lado);
 }
@@ -1,9 +1,11 @@
 package com.guma.application.facade;
 
+import com.guma.application.dto.PaginaDTO;
 import com.guma.application.dto.RedSocialDTO;
 import com.guma.application.dto.ResultadoDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Facade para operaciones de redes sociales.
@@ -35,4 +37,22 @@ public interface RedSocialFacade {
      * @return ResultadoDTO con lista de redes sociales
      */
     ResultadoDTO<List<RedSocialDTO>> obtenerTodas();
+    
+    /**
+     * Obtiene una página de redes sociales ordenadas por ID.
+     * 
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      tamaño de página
+     * @return ResultadoDTO con la página y el cursor de la siguiente
+     */
+    ResultadoDTO<PaginaDTO<RedSocialDTO>> obtenerPagina(Integer despuesDeId, int limite);
+    
+    /**
+     * Recorre todas las redes sociales entregándolas de a una, sin
+     * cargarlas juntas en memoria.
+     * 
+     * @param consumidor recibe cada red social
+     * @return ResultadoDTO con la cantidad de redes sociales recorridas
+     */
+    ResultadoDTO<Integer> recorrerTodas(Consumer<RedSocialDTO> consumidor);
 }
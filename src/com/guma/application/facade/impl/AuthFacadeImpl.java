@@ -17,13 +17,13 @@ import com.guma.application.validator.RegistroUsuarioValidator;
 import com.guma.backend.services.PerfilUsuarioService;
 import com.guma.backend.services.RolService;
 import com.guma.backend.services.UsuarioService;
-import com.guma.data.transaction.JdbcUnitOfWork;
 import com.guma.domain.entities.PerfilUsuario;
 import com.guma.domain.entities.Rol;
 import com.guma.domain.entities.Usuario;
 import com.guma.domain.exceptions.EntidadNoEncontradaException;
 import com.guma.domain.exceptions.UsuarioDuplicadoException;
 import com.guma.domain.transaction.UnitOfWork;
+import com.guma.domain.valueobjects.SesionUsuario;
 
 /**
  * Implementación del facade de autenticación.
@@ -53,7 +53,7 @@ public class AuthFacadeImpl implements AuthFacade {
         this.usuarioService = ServiceFactory.crearUsuarioService();
         this.rolService = ServiceFactory.crearRolService();
         this.perfilService = ServiceFactory.crearPerfilUsuarioService();
-        this.unitOfWork = new JdbcUnitOfWork();
+        this.unitOfWork = ServiceFactory.getUnitOfWork();
     }
 
     /**
@@ -63,7 +63,7 @@ public class AuthFacadeImpl implements AuthFacade {
         this.usuarioService = usuarioService;
         this.rolService = rolService;
         this.perfilService = perfilService;
-        this.unitOfWork = new JdbcUnitOfWork();
+        this.unitOfWork = ServiceFactory.getUnitOfWork();
     }
 
     @Override
@@ -81,7 +81,7 @@ public class AuthFacadeImpl implements AuthFacade {
                     : LocalDate.of(2000, 1, 1);
 
             // 3. Ejecutar registro en transacción atómica
-            Usuario usuario = unitOfWork.execute(conn -> {
+            Usuario usuario = unitOfWork.execute("registro", conn -> {
                 // 3.1. Crear usuario
                 Usuario u = usuarioService.registrarUsuario(
                         registro.getEmail(),
@@ -137,18 +137,23 @@ public class AuthFacadeImpl implements AuthFacade {
                 return ResultadoDTO.error("La contraseña es obligatoria");
             }
 
-            // 2. Iniciar sesión (el servicio valida credenciales)
-            Usuario usuario = usuarioService.iniciarSesion(
+            // 2. Iniciar sesión: usuario, perfil y rol en una sola consulta
+            SesionUsuario datosSesion = usuarioService.iniciarSesionConPerfil(
                     loginDTO.getEmail(),
                     loginDTO.getPassword());
+            Usuario usuario = datosSesion.getUsuario();
 
-            // 3. Obtener perfil del usuario
-            Optional<PerfilUsuario> perfilOpt = perfilService.buscarPorUsuarioId(usuario.getIdUsuario());
-            PerfilUsuario perfil = perfilOpt.orElse(null);
+            // 3. Obtener perfil (solo si no vino en la consulta de login)
+            PerfilUsuario perfil = datosSesion.getPerfil();
+            if (perfil == null) {
+                perfil = perfilService.buscarPorUsuarioId(usuario.getIdUsuario()).orElse(null);
+            }
 
-            // 4. Obtener rol
-            Optional<Rol> rolOpt = rolService.obtenerRolPorId(usuario.getIdRol());
-            Rol rol = rolOpt.orElse(null);
+            // 4. Obtener rol (solo si no vino en la consulta de login)
+            Rol rol = datosSesion.getRol();
+            if (rol == null) {
+                rol = rolService.obtenerRolPorId(usuario.getIdRol()).orElse(null);
+            }
 
             // 5. Construir SesionDTO con toda la información
             SesionDTO sesion = new SesionDTO(
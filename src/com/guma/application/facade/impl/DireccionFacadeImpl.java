@@ -8,9 +8,11 @@ import com.guma.application.mapper.DireccionMapper;
 import com.guma.backend.services.DireccionService;
 import com.guma.domain.entities.*;
 import com.guma.domain.exceptions.EntidadNoEncontradaException;
+import com.guma.domain.valueobjects.Pagina;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementación del facade de direcciones.
@@ -39,15 +41,9 @@ public class DireccionFacadeImpl implements DireccionFacade {
             // Crear dirección
             Direccion direccionCreada = direccionService.crearDireccion(direccion);
             
-            // Enriquecer con información de localidad, provincia y país
-            Localidad localidad = direccionService.buscarLocalidadPorId(direccionCreada.getIdLocalidad());
-            Provincia provincia = direccionService.buscarProvinciaPorId(localidad.getIdProvincia());
-            Pais pais = direccionService.buscarPaisPorId(provincia.getIdPais());
-            
-            DireccionDTO dto = DireccionMapper.toDTO(direccionCreada);
-            dto.setNombreLocalidad(localidad.getNombre());
-            dto.setNombreProvincia(provincia.getNombre());
-            dto.setNombrePais(pais.getNombre());
+            // Enriquecer con localidad, provincia y país en una sola consulta
+            DireccionDTO dto = DireccionMapper.toDTO(
+                    direccionService.buscarDetallePorId(direccionCreada.getIdDireccion()));
             
             return ResultadoDTO.exito(dto);
             
@@ -63,12 +59,8 @@ public class DireccionFacadeImpl implements DireccionFacade {
     @Override
     public ResultadoDTO<DireccionDTO> buscarPorId(Integer id) {
         try {
-            Direccion direccion = direccionService.buscarPorId(id);
-            DireccionDTO dto = DireccionMapper.toDTO(direccion);
-            
-            // Enriquecer con nombres de localidad/provincia/país
-            Localidad localidad = direccionService.buscarLocalidadPorId(direccion.getIdLocalidad());
-            dto.setNombreLocalidad(localidad.getNombre());
+            // Dirección y nombres de localidad/provincia/país en una sola consulta
+            DireccionDTO dto = DireccionMapper.toDTO(direccionService.buscarDetallePorId(id));
             
             return ResultadoDTO.exito(dto);
             
@@ -79,6 +71,16 @@ public class DireccionFacadeImpl implements DireccionFacade {
         }
     }
     
+    @Override
+    public ResultadoDTO<List<DireccionDTO>> buscarPorIds(List<Integer> ids) {
+        try {
+            List<DireccionDTO> dtos = DireccionMapper.toDTOList(direccionService.buscarDetallesPorIds(ids));
+            return ResultadoDTO.exito(dtos);
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al buscar direcciones: " + e.getMessage());
+        }
+    }
+    
     @Override
     public ResultadoDTO<List<PaisDTO>> obtenerPaises() {
         try {
@@ -111,4 +113,100 @@ public class DireccionFacadeImpl implements DireccionFacade {
             return ResultadoDTO.error("Error al obtener localidades: " + e.getMessage());
         }
     }
+    
+    @Override
+    public ResultadoDTO<PaginaDTO<PaisDTO>> obtenerPaisesPagina(Integer despuesDeId, int limite) {
+        try {
+            Pagina<Pais> pagina = direccionService.obtenerPaisesPagina(despuesDeId, limite);
+            return ResultadoDTO.exito(new PaginaDTO<>(
+                    CatalogoGeograficoMapper.toPaisDTOList(pagina.getElementos()), pagina.getSiguienteDespuesDe()));
+        } catch (IllegalArgumentException e) {
+            return ResultadoDTO.error(e.getMessage());
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al obtener países: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public ResultadoDTO<PaginaDTO<ProvinciaDTO>> obtenerProvinciasPorPaisPagina(Integer idPais,
+            Integer despuesDeId, int limite) {
+        try {
+            Pagina<Provincia> pagina = direccionService.obtenerProvinciasPorPaisPagina(idPais, despuesDeId, limite);
+            return ResultadoDTO.exito(new PaginaDTO<>(
+                    CatalogoGeograficoMapper.toProvinciaDTOList(pagina.getElementos()),
+                    pagina.getSiguienteDespuesDe()));
+        } catch (IllegalArgumentException e) {
+            return ResultadoDTO.error(e.getMessage());
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al obtener provincias: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public ResultadoDTO<PaginaDTO<LocalidadDTO>> obtenerLocalidadesPorProvinciaPagina(Integer idProvincia,
+            Integer despuesDeId, int limite) {
+        try {
+            Pagina<Localidad> pagina = direccionService.obtenerLocalidadesPorProvinciaPagina(
+                    idProvincia, despuesDeId, limite);
+            return ResultadoDTO.exito(new PaginaDTO<>(
+                    CatalogoGeograficoMapper.toLocalidadDTOList(pagina.getElementos()),
+                    pagina.getSiguienteDespuesDe()));
+        } catch (IllegalArgumentException e) {
+            return ResultadoDTO.error(e.getMessage());
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al obtener localidades: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public ResultadoDTO<Integer> recorrerPaises(Consumer<PaisDTO> consumidor) {
+        if (consumidor == null) {
+            return ResultadoDTO.error("El consumidor no puede ser nulo");
+        }
+        try {
+            int[] cantidad = { 0 };
+            direccionService.recorrerPaises(pais -> {
+                consumidor.accept(CatalogoGeograficoMapper.toDTO(pais));
+                cantidad[0]++;
+            });
+            return ResultadoDTO.exito(cantidad[0]);
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al recorrer países: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public ResultadoDTO<Integer> recorrerProvinciasPorPais(Integer idPais, Consumer<ProvinciaDTO> consumidor) {
+        if (consumidor == null) {
+            return ResultadoDTO.error("El consumidor no puede ser nulo");
+        }
+        try {
+            int[] cantidad = { 0 };
+            direccionService.recorrerProvinciasPorPais(idPais, provincia -> {
+                consumidor.accept(CatalogoGeograficoMapper.toDTO(provincia));
+                cantidad[0]++;
+            });
+            return ResultadoDTO.exito(cantidad[0]);
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al recorrer provincias: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public ResultadoDTO<Integer> recorrerLocalidadesPorProvincia(Integer idProvincia,
+            Consumer<LocalidadDTO> consumidor) {
+        if (consumidor == null) {
+            return ResultadoDTO.error("El consumidor no puede ser nulo");
+        }
+        try {
+            int[] cantidad = { 0 };
+            direccionService.recorrerLocalidadesPorProvincia(idProvincia, localidad -> {
+                consumidor.accept(CatalogoGeograficoMapper.toDTO(localidad));
+                cantidad[0]++;
+            });
+            return ResultadoDTO.exito(cantidad[0]);
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al recorrer localidades: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,140 @@
+package com.guma.application.facade.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Logger;
+
+import com.guma.application.dto.ResultadoDTO;
+import com.guma.application.dto.ResultadoExportacionDTO;
+import com.guma.application.exporter.PerfilExportadoEscritor;
+import com.guma.application.exporter.PerfilExportadoEscritor.Formato;
+import com.guma.application.facade.ExportacionFacade;
+import com.guma.application.factory.ServiceFactory;
+import com.guma.backend.ports.ExportacionUsuarioRepository;
+import com.guma.data.config.ApplicationProperties;
+
+/**
+ * Implementación del facade de exportación de perfiles.
+ *
+ * El repositorio recorre la consulta en modo streaming y cada fila se
+ * escribe de inmediato en un BufferedWriter de export.buffer caracteres
+ * (64 KB por defecto): en memoria solo hay una fila y el buffer de salida.
+ * Cada 1024 filas se toma una muestra del heap usado para informar el pico.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ExportacionFacadeImpl implements ExportacionFacade {
+
+    private static final Logger LOGGER = Logger.getLogger(ExportacionFacadeImpl.class.getName());
+
+    private static final String SUFIJO_TEMPORAL = ".tmp";
+    private static final int MASCARA_MUESTREO_HEAP = 1023;
+
+    private final ExportacionUsuarioRepository exportacionRepository;
+    private final int tamanioBuffer;
+
+    /**
+     * Constructor que inicializa el repositorio y la configuración
+     * (export.buffer).
+     */
+    public ExportacionFacadeImpl() {
+        this(ServiceFactory.getExportacionUsuarioRepository(),
+                ApplicationProperties.getInt("export.buffer", 65536));
+    }
+
+    /**
+     * Constructor para testing (permite inyectar un repositorio mock).
+     *
+     * @param exportacionRepository repositorio de exportación
+     * @param tamanioBuffer         caracteres del buffer de escritura
+     */
+    public ExportacionFacadeImpl(ExportacionUsuarioRepository exportacionRepository, int tamanioBuffer) {
+        if (exportacionRepository == null) {
+            throw new IllegalArgumentException("El repositorio de exportación no puede ser nulo");
+        }
+        if (tamanioBuffer <= 0) {
+            throw new IllegalArgumentException("El tamaño del buffer debe ser positivo");
+        }
+        this.exportacionRepository = exportacionRepository;
+        this.tamanioBuffer = tamanioBuffer;
+    }
+
+    @Override
+    public ResultadoDTO<ResultadoExportacionDTO> exportarPerfiles(Path destino, Formato formato) {
+        if (destino == null || formato == null) {
+            return ResultadoDTO.error("El destino y el formato son obligatorios");
+        }
+        Path temporal = destino.resolveSibling(destino.getFileName() + SUFIJO_TEMPORAL);
+        Runtime runtime = Runtime.getRuntime();
+        long[] heapPico = { heapUsado(runtime) };
+        long inicio = System.nanoTime();
+
+        try {
+            Path directorio = destino.toAbsolutePath().getParent();
+            if (directorio != null) {
+                Files.createDirectories(directorio);
+            }
+
+            long filas;
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    Files.newOutputStream(temporal), StandardCharsets.UTF_8), tamanioBuffer)) {
+                PerfilExportadoEscritor escritor = new PerfilExportadoEscritor(writer, formato);
+                escritor.escribirEncabezado();
+                filas = exportacionRepository.recorrerPerfiles(fila -> {
+                    try {
+                        escritor.escribir(fila);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if ((escritor.getFilas() & MASCARA_MUESTREO_HEAP) == 0) {
+                        heapPico[0] = Math.max(heapPico[0], heapUsado(runtime));
+                    }
+                });
+            }
+            heapPico[0] = Math.max(heapPico[0], heapUsado(runtime));
+            mover(temporal, destino);
+
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            ResultadoExportacionDTO resultado = new ResultadoExportacionDTO(
+                    destino.toString(), filas, Files.size(destino), duracionMs, heapPico[0]);
+            LOGGER.info(() -> "Exportación de perfiles finalizada: " + resultado);
+            return ResultadoDTO.exito(resultado);
+
+        } catch (IOException | UncheckedIOException e) {
+            eliminarTemporal(temporal);
+            return ResultadoDTO.error("Error al escribir el archivo: " + e.getMessage());
+        } catch (Exception e) {
+            eliminarTemporal(temporal);
+            return ResultadoDTO.error("Error al exportar perfiles: " + e.getMessage());
+        }
+    }
+
+    private static long heapUsado(Runtime runtime) {
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void mover(Path origen, Path destino) throws IOException {
+        try {
+            Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void eliminarTemporal(Path temporal) {
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            LOGGER.warning(() -> "No se pudo eliminar el archivo temporal " + temporal + ": " + e.getMessage());
+        }
+    }
+}
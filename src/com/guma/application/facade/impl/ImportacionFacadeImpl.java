@@ -0,0 +1,320 @@
+package com.guma.application.facade.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import com.guma.application.dto.ErrorDTO;
+import com.guma.application.dto.ErrorFilaDTO;
+import com.guma.application.dto.RegistroUsuarioDTO;
+import com.guma.application.dto.ResultadoDTO;
+import com.guma.application.dto.ResultadoImportacionDTO;
+import com.guma.application.facade.ImportacionFacade;
+import com.guma.application.factory.ServiceFactory;
+import com.guma.application.importer.RegistroUsuarioLector;
+import com.guma.application.validator.RegistroUsuarioValidator;
+import com.guma.backend.services.PerfilUsuarioService;
+import com.guma.backend.services.UsuarioService;
+import com.guma.data.config.ApplicationProperties;
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.entities.Usuario;
+import com.guma.domain.transaction.UnitOfWork;
+import com.guma.domain.valueobjects.Email;
+import com.guma.domain.valueobjects.Password;
+
+/**
+ * Implementación del facade de importación masiva de usuarios.
+ *
+ * Etapas:
+ * 1. Validar cada fila con RegistroUsuarioValidator y descartar emails
+ *    repetidos dentro del archivo (en memoria).
+ * 2. Generar los hashes BCrypt en paralelo en un ForkJoinPool acotado
+ *    (import.paralelismo hilos); es la etapa más costosa en CPU.
+ * 3. Por cada lote de import.lote filas: descartar con una sola consulta los
+ *    emails ya registrados e insertar usuarios y perfiles con INSERT por
+ *    lotes dentro de una transacción (UnitOfWork). Mientras se escribe un
+ *    lote, el pool sigue generando los hashes de los siguientes.
+ *
+ * Si la transacción de un lote falla, sus filas se reintentan de a una para
+ * importar las válidas e informar exactamente cuáles fallaron.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ImportacionFacadeImpl implements ImportacionFacade {
+
+    private static final Logger LOGGER = Logger.getLogger(ImportacionFacadeImpl.class.getName());
+
+    private static final int ID_SEXO_POR_DEFECTO = 1;
+    private static final LocalDate FECHA_NACIMIENTO_POR_DEFECTO = LocalDate.of(2000, 1, 1);
+
+    private final UsuarioService usuarioService;
+    private final PerfilUsuarioService perfilService;
+    private final UnitOfWork unitOfWork;
+    private final int paralelismo;
+    private final int tamanioLote;
+
+    /**
+     * Constructor que inicializa los servicios y la configuración
+     * (import.paralelismo, import.lote).
+     */
+    public ImportacionFacadeImpl() {
+        this(ServiceFactory.crearUsuarioService(),
+                ServiceFactory.crearPerfilUsuarioService(),
+                ServiceFactory.getUnitOfWork(),
+                ApplicationProperties.getInt("import.paralelismo", Runtime.getRuntime().availableProcessors()),
+                ApplicationProperties.getInt("import.lote", 500));
+    }
+
+    /**
+     * Constructor para testing (permite inyectar servicios mock).
+     *
+     * @param usuarioService servicio de usuarios
+     * @param perfilService  servicio de perfiles
+     * @param unitOfWork     unidad de trabajo para las transacciones por lote
+     * @param paralelismo    hilos para generar hashes de contraseñas
+     * @param tamanioLote    filas por transacción
+     */
+    public ImportacionFacadeImpl(UsuarioService usuarioService, PerfilUsuarioService perfilService,
+            UnitOfWork unitOfWork, int paralelismo, int tamanioLote) {
+        if (usuarioService == null || perfilService == null || unitOfWork == null) {
+            throw new IllegalArgumentException("Los servicios y el UnitOfWork no pueden ser nulos");
+        }
+        if (paralelismo <= 0 || tamanioLote <= 0) {
+            throw new IllegalArgumentException("El paralelismo y el tamaño de lote deben ser positivos");
+        }
+        this.usuarioService = usuarioService;
+        this.perfilService = perfilService;
+        this.unitOfWork = unitOfWork;
+        this.paralelismo = paralelismo;
+        this.tamanioLote = tamanioLote;
+    }
+
+    @Override
+    public ResultadoDTO<ResultadoImportacionDTO> importarCsv(Reader csv) {
+        try {
+            Map<Integer, ErrorFilaDTO> errores = new TreeMap<>();
+            return importar(RegistroUsuarioLector.leerCsv(csv, errores), errores);
+        } catch (IOException e) {
+            return ResultadoDTO.error("Error al leer el archivo: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResultadoDTO.error(e.getMessage());
+        }
+    }
+
+    @Override
+    public ResultadoDTO<ResultadoImportacionDTO> importarJson(Reader json) {
+        try {
+            Map<Integer, ErrorFilaDTO> errores = new TreeMap<>();
+            return importar(RegistroUsuarioLector.leerJson(json, errores), errores);
+        } catch (IOException e) {
+            return ResultadoDTO.error("Error al leer el archivo: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResultadoDTO.error(e.getMessage());
+        }
+    }
+
+    @Override
+    public ResultadoDTO<ResultadoImportacionDTO> importar(List<RegistroUsuarioDTO> registros) {
+        return importar(registros, new TreeMap<>());
+    }
+
+    /**
+     * @param errores errores ya detectados al leer el archivo, por número de
+     *                fila; esas filas no se importan y se agregan los
+     *                errores de las demás
+     */
+    private ResultadoDTO<ResultadoImportacionDTO> importar(List<RegistroUsuarioDTO> registros,
+            Map<Integer, ErrorFilaDTO> errores) {
+        if (registros == null) {
+            return ResultadoDTO.error("Los registros a importar no pueden ser nulos");
+        }
+        long inicio = System.nanoTime();
+
+        try {
+            // 1. Validación y deduplicación en memoria
+            List<Fila> validas = validar(registros, errores);
+
+            // 2. Hashes en paralelo + 3. escritura por lotes
+            int importadas = 0;
+            ForkJoinPool pool = new ForkJoinPool(paralelismo);
+            try {
+                for (Fila fila : validas) {
+                    String passwordPlano = fila.registro.getPassword();
+                    fila.password = pool.submit(() -> Password.crear(passwordPlano));
+                }
+                for (int desde = 0; desde < validas.size(); desde += tamanioLote) {
+                    List<Fila> lote = validas.subList(desde, Math.min(desde + tamanioLote, validas.size()));
+                    importadas += importarLote(lote, errores);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            ResultadoImportacionDTO resultado = new ResultadoImportacionDTO(
+                    registros.size(), importadas, new ArrayList<>(errores.values()), duracionMs);
+            LOGGER.info(() -> "Importación de usuarios finalizada: " + resultado);
+            return ResultadoDTO.exito(resultado);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResultadoDTO.error("Importación interrumpida");
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al importar usuarios: " + e.getMessage());
+        }
+    }
+
+    // ==================== ETAPAS ====================
+
+    private List<Fila> validar(List<RegistroUsuarioDTO> registros, Map<Integer, ErrorFilaDTO> errores) {
+        List<Fila> validas = new ArrayList<>(registros.size());
+        Map<String, Integer> primeraFilaPorEmail = new HashMap<>();
+
+        for (int i = 0; i < registros.size(); i++) {
+            int numero = i + 1;
+            RegistroUsuarioDTO registro = registros.get(i);
+            if (errores.containsKey(numero)) {
+                continue; // valor inválido detectado al leer el archivo
+            }
+
+            List<ErrorDTO> erroresFila = RegistroUsuarioValidator.validar(registro);
+            if (!erroresFila.isEmpty()) {
+                errores.put(numero, new ErrorFilaDTO(numero, registro != null ? registro.getEmail() : null,
+                        erroresFila));
+                continue;
+            }
+
+            Email email;
+            try {
+                email = Email.crear(registro.getEmail());
+            } catch (IllegalArgumentException e) {
+                registrarError(errores, numero, registro.getEmail(), "email", e.getMessage());
+                continue;
+            }
+
+            Integer primera = primeraFilaPorEmail.putIfAbsent(email.getValor(), numero);
+            if (primera != null) {
+                registrarError(errores, numero, email.getValor(), "email",
+                        "Email repetido en el archivo (fila " + primera + ")");
+                continue;
+            }
+            validas.add(new Fila(numero, registro, email));
+        }
+        return validas;
+    }
+
+    private int importarLote(List<Fila> lote, Map<Integer, ErrorFilaDTO> errores) throws InterruptedException {
+        // Emails ya registrados: una consulta por lote
+        List<Email> emails = new ArrayList<>(lote.size());
+        for (Fila fila : lote) {
+            emails.add(fila.email);
+        }
+        Set<String> registrados = new HashSet<>(usuarioService.buscarEmailsRegistrados(emails));
+
+        List<Fila> listas = new ArrayList<>(lote.size());
+        for (Fila fila : lote) {
+            if (registrados.contains(fila.email.getValor())) {
+                registrarError(errores, fila.numero, fila.email.getValor(), "email", "El email ya está registrado");
+                continue;
+            }
+            try {
+                fila.hash = fila.password.get();
+                listas.add(fila);
+            } catch (ExecutionException e) {
+                // ForkJoinPool puede envolver la excepción original: se informa la causa raíz
+                Throwable causa = e;
+                while (causa.getCause() != null) {
+                    causa = causa.getCause();
+                }
+                registrarError(errores, fila.numero, fila.email.getValor(), "password", causa.getMessage());
+            }
+        }
+        if (listas.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            unitOfWork.execute("importacionLote", conn -> {
+                insertar(listas, conn);
+                return null;
+            });
+            return listas.size();
+        } catch (RuntimeException e) {
+            if (listas.size() == 1) {
+                Fila fila = listas.get(0);
+                registrarError(errores, fila.numero, fila.email.getValor(), "general", e.getMessage());
+                return 0;
+            }
+            LOGGER.warning(() -> "Falló un lote de " + listas.size()
+                    + " filas; se reintenta fila por fila: " + e.getMessage());
+            int importadas = 0;
+            for (Fila fila : listas) {
+                importadas += importarLote(Collections.singletonList(fila), errores);
+            }
+            return importadas;
+        }
+    }
+
+    private void insertar(List<Fila> lote, Connection conn) throws Exception {
+        Map<Email, Password> credenciales = new LinkedHashMap<>();
+        for (Fila fila : lote) {
+            credenciales.put(fila.email, fila.hash);
+        }
+        List<Usuario> usuarios = usuarioService.registrarUsuarios(credenciales, conn);
+
+        List<PerfilUsuario> perfiles = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            RegistroUsuarioDTO registro = lote.get(i).registro;
+            perfiles.add(new PerfilUsuario(
+                    usuarios.get(i).getIdUsuario(),
+                    ID_SEXO_POR_DEFECTO,
+                    null, // DNI NULL permite múltiples registros sin DNI asignado
+                    registro.getNombre(),
+                    registro.getApellido(),
+                    registro.getFechaNacimiento() != null
+                            ? registro.getFechaNacimiento()
+                            : FECHA_NACIMIENTO_POR_DEFECTO,
+                    registro.getEmail()));
+        }
+        perfilService.crearPerfiles(perfiles, conn);
+    }
+
+    private static void registrarError(Map<Integer, ErrorFilaDTO> errores, int numero, String email,
+            String campo, String mensaje) {
+        List<ErrorDTO> lista = new ArrayList<>();
+        lista.add(ErrorDTO.deCampo(campo, mensaje));
+        errores.put(numero, new ErrorFilaDTO(numero, email, lista));
+    }
+
+    /**
+     * Fila válida en proceso de importación.
+     */
+    private static final class Fila {
+        private final int numero;
+        private final RegistroUsuarioDTO registro;
+        private final Email email;
+        private Future<Password> password;
+        private Password hash;
+
+        private Fila(int numero, RegistroUsuarioDTO registro, Email email) {
+            this.numero = numero;
+            this.registro = registro;
+            this.email = email;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.guma.application.facade.impl;
 
+import java.nio.channels.ReadableByteChannel;
+import java.sql.Connection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,12 +14,13 @@ import com.guma.application.mapper.PerfilUsuarioMapper;
 import com.guma.application.validator.PerfilUsuarioValidator;
 import com.guma.backend.ports.ImageRepository;
 import com.guma.backend.ports.PerfilUsuarioRepository;
+import com.guma.backend.services.ImageService;
 import com.guma.backend.services.PerfilUsuarioService;
 import com.guma.backend.services.UsuarioService;
-import com.guma.data.transaction.JdbcUnitOfWork;
 import com.guma.domain.entities.Image;
 import com.guma.domain.entities.PerfilUsuario;
 import com.guma.domain.entities.Usuario;
+import com.guma.domain.exceptions.ConflictoVersionException;
 import com.guma.domain.exceptions.DniDuplicadoException;
 import com.guma.domain.exceptions.EntidadNoEncontradaException;
 import com.guma.domain.exceptions.PerfilDuplicadoException;
@@ -50,7 +53,7 @@ public class PerfilFacadeImpl implements PerfilFacade {
         this.perfilService = ServiceFactory.crearPerfilUsuarioService();
         this.usuarioService = ServiceFactory.crearUsuarioService();
         this.imageRepository = ServiceFactory.getImageRepository();
-        this.unitOfWork = new JdbcUnitOfWork();
+        this.unitOfWork = ServiceFactory.getUnitOfWork();
     }
 
     /**
@@ -117,7 +120,7 @@ public class PerfilFacadeImpl implements PerfilFacade {
             // 3. Convertir DTO a entidad
             PerfilUsuario perfil = PerfilUsuarioMapper.toEntity(perfilDTO);
 
-            // 4. Actualizar perfil (el servicio valida existencia y unicidad)
+            // 4. Actualizar perfil (un UPDATE condicional valida existencia, versión y DNI)
             PerfilUsuario perfilActualizado = perfilService.actualizarPerfil(perfil);
 
             // 5. Convertir a DTO y retornar
@@ -126,6 +129,10 @@ public class PerfilFacadeImpl implements PerfilFacade {
 
         } catch (EntidadNoEncontradaException e) {
             return ResultadoDTO.error("Perfil no encontrado");
+        } catch (ConflictoVersionException e) {
+            return ResultadoDTO.error(e.getMessage());
+        } catch (DniDuplicadoException e) {
+            return ResultadoDTO.error(e.getMessage());
         } catch (PerfilDuplicadoException e) {
             return ResultadoDTO.error(e.getMessage());
         } catch (IllegalArgumentException e) {
@@ -138,6 +145,31 @@ public class PerfilFacadeImpl implements PerfilFacade {
     @Override
     public ResultadoDTO<PerfilUsuarioDTO> actualizar(PerfilUsuarioDTO perfilDTO,
             byte[] fotoBytes, String nombreFoto) {
+        return actualizarEnTransaccion(perfilDTO,
+                (perfil, conn) -> perfilService.actualizarPerfil(perfil, fotoBytes, nombreFoto, conn));
+    }
+
+    @Override
+    public ResultadoDTO<PerfilUsuarioDTO> actualizar(PerfilUsuarioDTO perfilDTO,
+            ReadableByteChannel foto, String nombreFoto) {
+        if (foto == null) {
+            return actualizar(perfilDTO, (byte[]) null, nombreFoto);
+        }
+        return actualizarEnTransaccion(perfilDTO,
+                (perfil, conn) -> perfilService.actualizarPerfil(perfil, foto, nombreFoto, conn));
+    }
+
+    /**
+     * Actualización de perfil dentro de la transacción (con la foto que
+     * corresponda).
+     */
+    @FunctionalInterface
+    private interface ActualizacionPerfil {
+        PerfilUsuario ejecutar(PerfilUsuario perfil, Connection conn) throws Exception;
+    }
+
+    private ResultadoDTO<PerfilUsuarioDTO> actualizarEnTransaccion(PerfilUsuarioDTO perfilDTO,
+            ActualizacionPerfil actualizacion) {
         try {
             // 1. Validar que tenga ID
             if (perfilDTO.getIdPerfilUsuario() == null) {
@@ -155,7 +187,7 @@ public class PerfilFacadeImpl implements PerfilFacade {
 
             // 4. Ejecutar actualización en transacción atómica
             PerfilUsuario perfilActualizado = unitOfWork.execute(conn -> {
-                return perfilService.actualizarPerfil(perfil, fotoBytes, nombreFoto, conn);
+                return actualizacion.ejecutar(perfil, conn);
             });
 
             // 5. Convertir a DTO y retornar
@@ -164,6 +196,8 @@ public class PerfilFacadeImpl implements PerfilFacade {
 
         } catch (EntidadNoEncontradaException e) {
             return ResultadoDTO.error("Perfil no encontrado");
+        } catch (ConflictoVersionException e) {
+            return ResultadoDTO.error(e.getMessage());
         } catch (DniDuplicadoException e) {
             return ResultadoDTO.error(e.getMessage());
         } catch (IllegalArgumentException e) {
@@ -270,4 +304,25 @@ public class PerfilFacadeImpl implements PerfilFacade {
             return ResultadoDTO.error("Error al verificar perfil: " + e.getMessage());
         }
     }
+
+    @Override
+    public ResultadoDTO<byte[]> obtenerFoto(String link, int lado) {
+        try {
+            // 1. Validar link
+            if (link == null || link.trim().isEmpty()) {
+                return ResultadoDTO.error("El link de la foto es obligatorio");
+            }
+
+            // 2. Leer la variante que cubre el tamaño pedido, o el original
+            ImageService imageService = ServiceFactory.crearImageService();
+            Optional<Image> imageOpt = imageRepository.findByLink(link);
+            byte[] bytes = imageOpt.isPresent()
+                    ? imageService.obtenerBytesVariante(imageOpt.get().getIdImage(), lado)
+                    : imageService.obtenerBytesPorRuta(link);
+            return ResultadoDTO.exito(bytes);
+
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al obtener foto: " + e.getMessage());
+        }
+    }
 }
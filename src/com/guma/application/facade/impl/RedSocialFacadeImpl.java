@@ -1,5 +1,6 @@
 package com.guma.application.facade.impl;
 
+import com.guma.application.dto.PaginaDTO;
 import com.guma.application.dto.RedSocialDTO;
 import com.guma.application.dto.ResultadoDTO;
 import com.guma.application.facade.RedSocialFacade;
@@ -9,9 +10,11 @@ import com.guma.backend.services.RedSocialService;
 import com.guma.domain.entities.RedSocial;
 import com.guma.domain.exceptions.EntidadDuplicadaException;
 import com.guma.domain.exceptions.EntidadNoEncontradaException;
+import com.guma.domain.valueobjects.Pagina;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementación del facade de redes sociales.
@@ -77,4 +80,34 @@ public class RedSocialFacadeImpl implements RedSocialFacade {
             return ResultadoDTO.error("Error al obtener redes sociales: " + e.getMessage());
         }
     }
+    
+    @Override
+    public ResultadoDTO<PaginaDTO<RedSocialDTO>> obtenerPagina(Integer despuesDeId, int limite) {
+        try {
+            Pagina<RedSocial> pagina = redSocialService.obtenerPagina(despuesDeId, limite);
+            return ResultadoDTO.exito(new PaginaDTO<>(
+                    RedSocialMapper.toDTOList(pagina.getElementos()), pagina.getSiguienteDespuesDe()));
+        } catch (IllegalArgumentException e) {
+            return ResultadoDTO.error(e.getMessage());
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al obtener redes sociales: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public ResultadoDTO<Integer> recorrerTodas(Consumer<RedSocialDTO> consumidor) {
+        if (consumidor == null) {
+            return ResultadoDTO.error("El consumidor no puede ser nulo");
+        }
+        try {
+            int[] cantidad = { 0 };
+            redSocialService.recorrerTodas(redSocial -> {
+                consumidor.accept(RedSocialMapper.toDTO(redSocial));
+                cantidad[0]++;
+            });
+            return ResultadoDTO.exito(cantidad[0]);
+        } catch (Exception e) {
+            return ResultadoDTO.error("Error al recorrer redes sociales: " + e.getMessage());
+        }
+    }
 }
@@ -1,33 +1,93 @@
 package com.guma.application.factory;
 
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
 import com.guma.backend.ports.CatalogoGeograficoRepository;
+import com.guma.backend.ports.DireccionDetalleRepository;
 import com.guma.backend.ports.DireccionRepository;
+import com.guma.backend.ports.ExportacionUsuarioRepository;
 import com.guma.backend.ports.FileStorage;
+import com.guma.backend.ports.ImageReferenciaRepository;
 import com.guma.backend.ports.ImageRepository;
+import com.guma.backend.ports.ImageVarianteRepository;
 import com.guma.backend.ports.PerfilUsuarioRepository;
 import com.guma.backend.ports.RedSocialRepository;
 import com.guma.backend.ports.RolRepository;
+import com.guma.backend.ports.SesionUsuarioRepository;
+import com.guma.backend.ports.UltimaConexionRepository;
 import com.guma.backend.ports.UsuarioRepository;
 import com.guma.backend.services.DireccionService;
+import com.guma.backend.services.GeneradorVariantes;
+import com.guma.backend.services.ImageService;
 import com.guma.backend.services.PerfilUsuarioService;
 import com.guma.backend.services.RedSocialService;
 import com.guma.backend.services.RolService;
 import com.guma.backend.services.UsuarioService;
+import com.guma.data.batch.DireccionRepositoryBatch;
+import com.guma.data.batch.ImageRepositoryBatch;
+import com.guma.data.batch.PerfilUsuarioRepositoryBatch;
+import com.guma.data.batch.UsuarioRepositoryBatch;
+import com.guma.data.cache.CatalogoGeograficoCache;
+import com.guma.data.cache.RolRepositoryCache;
+import com.guma.data.cache.UsuarioRepositoryBloom;
+import com.guma.data.config.ApplicationProperties;
+import com.guma.data.embedded.MotorEmbebido;
+import com.guma.data.logging.AsyncSqlLog;
+import com.guma.data.memory.AlmacenMemoria;
+import com.guma.data.memory.CatalogoGeograficoRepositoryMemoria;
+import com.guma.data.memory.DireccionDetalleRepositoryMemoria;
+import com.guma.data.memory.ExportacionUsuarioRepositoryMemoria;
+import com.guma.data.memory.FileStorageMemoria;
+import com.guma.data.memory.RolRepositoryMemoria;
+import com.guma.data.memory.SesionUsuarioRepositoryMemoria;
+import com.guma.data.memory.UltimaConexionRepositoryMemoria;
+import com.guma.data.memory.UnitOfWorkMemoria;
+import com.guma.data.metrics.RepositoryMetrics;
+import com.guma.data.pool.ConnectionPool;
+import com.guma.data.pool.ConnectionPoolConfig;
 import com.guma.data.repositories.CatalogoGeograficoRepositoryJdbc;
+import com.guma.data.repositories.CatalogoGeograficoRepositoryPaginado;
+import com.guma.data.repositories.DireccionDetalleRepositoryJdbc;
 import com.guma.data.repositories.DireccionRepositoryJdbc;
+import com.guma.data.repositories.ExportacionUsuarioRepositoryJdbc;
 import com.guma.data.repositories.ImageRepositoryJdbc;
+import com.guma.data.repositories.ImageRepositoryReferenciado;
+import com.guma.data.repositories.ImageRepositoryTransaccional;
+import com.guma.data.repositories.ImageRepositoryVariantes;
 import com.guma.data.repositories.PerfilUsuarioRepositoryJdbc;
+import com.guma.data.repositories.PerfilUsuarioRepositoryVersionado;
 import com.guma.data.repositories.RedSocialRepositoryJdbc;
+import com.guma.data.repositories.RedSocialRepositoryPaginado;
 import com.guma.data.repositories.RolRepositoryJdbc;
+import com.guma.data.repositories.SesionUsuarioRepositoryJdbc;
+import com.guma.data.repositories.UltimaConexionWriteBehind;
 import com.guma.data.repositories.UsuarioRepositoryJdbc;
 import com.guma.data.storage.FileStorageConfig;
+import com.guma.data.storage.FileStorageContenido;
+import com.guma.data.storage.FileStorageRuta;
+import com.guma.data.transaction.DataSourceUnitOfWork;
+import com.guma.data.transaction.IdentityMapRepository;
+import com.guma.data.transaction.ReadReplicaRepository;
+import com.guma.data.transaction.ReadWriteRoutingDataSource;
+import com.guma.data.transaction.RetryPolicy;
+import com.guma.data.transaction.RetryingUnitOfWork;
+import com.guma.data.transaction.TransactionAwareDataSource;
+import com.guma.domain.entities.Rol;
+import com.guma.domain.transaction.UnitOfWork;
 
 /**
  * Factory para crear instancias de servicios con sus dependencias.
  * Implementa el patrón Factory para gestionar la creación de objetos complejos.
  * 
  * Esta clase centraliza la creación de servicios con las implementaciones
- * correctas de repositorios (JDBC en este caso).
+ * correctas de repositorios: JDBC por defecto, o en memoria con
+ * persistencia=memoria (sin MySQL, para benchmarks y CI; los datos se
+ * pierden al cerrar la aplicación) o persistencia=embebido (los mismos
+ * repositorios en memoria respaldados por el log y las instantáneas del
+ * motor embebido, para usar la aplicación sin servidor).
  * 
  * Uso:
  * - ServiceFactory.crearUsuarioService() - Crea servicio con repo JDBC
@@ -39,15 +99,36 @@ import com.guma.data.storage.FileStorageConfig;
  */
 public class ServiceFactory {
 
+    // Infraestructura compartida
+    private static ConnectionPool connectionPool;
+    private static AsyncSqlLog sqlLog;
+    private static ConnectionPool connectionPoolLectura;
+    private static ReadWriteRoutingDataSource enrutamientoLecturas;
+    private static DataSource dataSource;
+    private static UnitOfWork unitOfWork;
+    private static RetryingUnitOfWork reintentosTransacciones;
+    private static RepositoryMetrics metricasRepositorios;
+    private static AlmacenMemoria almacenMemoria;
+    private static MotorEmbebido motorEmbebido;
+
     // Instancias singleton de repositorios
     private static UsuarioRepository usuarioRepository;
+    private static UsuarioRepositoryBloom filtroEmails;
     private static RolRepository rolRepository;
+    private static RolRepositoryCache cacheRoles;
     private static PerfilUsuarioRepository perfilUsuarioRepository;
     private static ImageRepository imageRepository;
+    private static ImageReferenciaRepository imageReferenciaRepository;
+    private static ImageVarianteRepository imageVarianteRepository;
     private static FileStorage fileStorage;
     private static DireccionRepository direccionRepository;
+    private static DireccionDetalleRepository direccionDetalleRepository;
     private static RedSocialRepository redSocialRepository;
     private static CatalogoGeograficoRepository catalogoGeograficoRepository;
+    private static SesionUsuarioRepository sesionUsuarioRepository;
+    private static ExportacionUsuarioRepository exportacionUsuarioRepository;
+    private static UltimaConexionRepository ultimaConexionRepository;
+    private static UltimaConexionWriteBehind ultimaConexionDiferida;
 
     // Instancias singleton de servicios
     private static UsuarioService usuarioService;
@@ -55,67 +136,469 @@ public class ServiceFactory {
     private static PerfilUsuarioService perfilUsuarioService;
     private static DireccionService direccionService;
     private static RedSocialService redSocialService;
+    private static ImageService imageService;
+    private static GeneradorVariantes generadorVariantes;
+
+    /**
+     * Crea o retorna el pool de conexiones compartido.
+     * Se configura desde application.properties (db.* y db.pool.*).
+     * Con log.sql.enabled=true las sentencias se registran en un log
+     * asíncrono (log.sql.*).
+     * 
+     * @return pool de conexiones JDBC
+     */
+    public static synchronized ConnectionPool getConnectionPool() {
+        if (connectionPool == null) {
+            sqlLog = AsyncSqlLog.desdePropiedades();
+            connectionPool = new ConnectionPool(ConnectionPoolConfig.desdePropiedades(), sqlLog);
+        }
+        return connectionPool;
+    }
+
+    /**
+     * Retorna el DataSource compartido por los repositorios.
+     * Dentro de un UnitOfWork entrega la conexión de la transacción en curso;
+     * fuera de él, una conexión del pool. Con db.read.url configurada las
+     * lecturas de los puertos pueden salir del pool de la réplica (ver
+     * getEnrutamientoLecturas()).
+     * 
+     * @return DataSource respaldado por el pool de conexiones
+     */
+    public static synchronized DataSource getDataSource() {
+        if (dataSource == null) {
+            DataSource primario = new TransactionAwareDataSource(getConnectionPool());
+            ConnectionPoolConfig configLectura = ConnectionPoolConfig.desdePropiedadesLectura();
+            if (configLectura == null) {
+                dataSource = primario;
+            } else {
+                connectionPoolLectura = new ConnectionPool(configLectura, sqlLog);
+                enrutamientoLecturas = ReadWriteRoutingDataSource.desdePropiedades(primario, connectionPoolLectura);
+                dataSource = enrutamientoLecturas;
+            }
+        }
+        return dataSource;
+    }
+
+    /**
+     * Retorna el enrutamiento de lecturas a la réplica (db.read.*), con su
+     * estado y estadísticas.
+     * 
+     * @return el DataSource con enrutamiento, o null si no hay réplica
+     *         configurada
+     */
+    public static synchronized ReadWriteRoutingDataSource getEnrutamientoLecturas() {
+        getDataSource();
+        return enrutamientoLecturas;
+    }
+
+    /**
+     * Envuelve un repositorio JDBC para que sus lecturas fuera de un
+     * UnitOfWork vayan a la réplica, si hay una configurada.
+     */
+    private static <T> T enrutarLecturas(Class<T> puerto, T repositorio) {
+        ReadWriteRoutingDataSource enrutamiento = getEnrutamientoLecturas();
+        return enrutamiento != null ? ReadReplicaRepository.envolver(puerto, repositorio, enrutamiento) : repositorio;
+    }
+
+    /**
+     * Crea o retorna el UnitOfWork compartido.
+     * Las transacciones toman su conexión del pool compartido y la vinculan
+     * al hilo para que todos los repositorios la reutilicen. Las operaciones
+     * con nombre se reintentan ante deadlocks según db.retry.*.
+     * 
+     * @return UnitOfWork sobre el pool de conexiones, o en memoria
+     */
+    public static UnitOfWork getUnitOfWork() {
+        if (unitOfWork == null && usarMemoria()) {
+            unitOfWork = new UnitOfWorkMemoria();
+        } else if (unitOfWork == null) {
+            // Con db.retry.max.intentos=1 no reintenta pero sigue contando
+            // ejecuciones y fallos definitivos por operación
+            reintentosTransacciones = new RetryingUnitOfWork(
+                    new DataSourceUnitOfWork(getConnectionPool()), RetryPolicy.desdePropiedades());
+            unitOfWork = reintentosTransacciones;
+        }
+        return unitOfWork;
+    }
+
+    /**
+     * Retorna los reintentos de transacciones del UnitOfWork compartido, con
+     * sus estadísticas por operación (ejecuciones, reintentos, recuperadas y
+     * fallos definitivos).
+     * 
+     * @return el UnitOfWork con reintentos, o null con persistencia en
+     *         memoria
+     */
+    public static RetryingUnitOfWork getReintentosTransacciones() {
+        getUnitOfWork();
+        return reintentosTransacciones;
+    }
+
+    /**
+     * Crea o retorna las métricas de latencia de los repositorios y las
+     * publica por JMX (com.guma:type=RepositoryMetrics).
+     * 
+     * @return métricas compartidas por todos los puertos instrumentados
+     */
+    public static synchronized RepositoryMetrics getMetricasRepositorios() {
+        if (metricasRepositorios == null) {
+            metricasRepositorios = new RepositoryMetrics();
+            metricasRepositorios.registrarEnJmx();
+        }
+        return metricasRepositorios;
+    }
+
+    /**
+     * Envuelve un repositorio con las métricas de latencia si
+     * metrics.repositorios.enabled=true (por defecto).
+     */
+    private static <T> T instrumentar(Class<T> puerto, T repositorio) {
+        if (!ApplicationProperties.getBoolean("metrics.repositorios.enabled", true)) {
+            return repositorio;
+        }
+        return getMetricasRepositorios().instrumentar(puerto, repositorio);
+    }
+
+    /**
+     * Indica si los repositorios se crean en memoria (persistencia=memoria o
+     * persistencia=embebido) en lugar de sobre MySQL (persistencia=jdbc, por
+     * defecto).
+     * 
+     * @return true si la persistencia es en memoria
+     */
+    public static boolean usarMemoria() {
+        return "memoria".equals(getPersistencia()) || usarMotorEmbebido();
+    }
+
+    /**
+     * Indica si los repositorios en memoria se guardan en disco con el motor
+     * embebido (persistencia=embebido, configurable con embedded.*).
+     * 
+     * @return true si la persistencia es el motor embebido
+     */
+    public static boolean usarMotorEmbebido() {
+        return "embebido".equals(getPersistencia());
+    }
+
+    private static String getPersistencia() {
+        return ApplicationProperties.getString("persistencia", "jdbc").trim().toLowerCase();
+    }
+
+    /**
+     * Crea o retorna el almacén de los repositorios en memoria; con
+     * persistencia=embebido, el del motor embebido (que recupera los datos
+     * del disco al abrirse).
+     */
+    private static synchronized AlmacenMemoria getAlmacenMemoria() {
+        if (almacenMemoria == null && usarMotorEmbebido()) {
+            try {
+                motorEmbebido = MotorEmbebido.desdePropiedades();
+            } catch (IOException e) {
+                throw new RuntimeException("Error al abrir el motor embebido: " + e.getMessage(), e);
+            }
+            almacenMemoria = motorEmbebido.getAlmacen();
+        } else if (almacenMemoria == null) {
+            almacenMemoria = new AlmacenMemoria();
+        }
+        return almacenMemoria;
+    }
+
+    /**
+     * Filas por executeBatch en los saveAll por lotes (db.batch.size).
+     * 
+     * @return tamaño de lote configurado
+     */
+    private static int getTamanioLote() {
+        return ApplicationProperties.getInt("db.batch.size", 1000);
+    }
 
     /**
      * Crea o retorna la instancia singleton de UsuarioRepository.
+     * Con cache.emails.enabled=true (por defecto) las consultas de
+     * existencia de email pasan primero por un filtro de Bloom en memoria.
      * 
      * @return Implementación JDBC de UsuarioRepository
      */
     public static UsuarioRepository getUsuarioRepository() {
-        if (usuarioRepository == null) {
-            usuarioRepository = new UsuarioRepositoryJdbc();
+        if (usuarioRepository == null && usarMemoria()) {
+            usuarioRepository = instrumentar(UsuarioRepository.class, getAlmacenMemoria().getUsuarios());
+        } else if (usuarioRepository == null) {
+            UsuarioRepository jdbc = new UsuarioRepositoryBatch(
+                    new UsuarioRepositoryJdbc(), getDataSource(), getTamanioLote());
+            if (ApplicationProperties.getBoolean("cache.emails.enabled", true)) {
+                filtroEmails = new UsuarioRepositoryBloom(
+                        jdbc,
+                        getDataSource(),
+                        ApplicationProperties.getLong("cache.emails.esperados", 100000L),
+                        ApplicationProperties.getDouble("cache.emails.fpp", 0.01),
+                        ApplicationProperties.getLong("cache.emails.refresco", 300000L));
+                jdbc = filtroEmails;
+            }
+            usuarioRepository = instrumentar(UsuarioRepository.class, enrutarLecturas(UsuarioRepository.class, jdbc));
         }
         return usuarioRepository;
     }
 
     /**
      * Crea o retorna la instancia singleton de RolRepository.
+     * Los roles se sirven desde memoria y se recargan cada
+     * cache.roles.refresco milisegundos.
      * 
-     * @return Implementación JDBC de RolRepository
+     * @return RolRepository JDBC con cache en memoria
      */
     public static RolRepository getRolRepository() {
-        if (rolRepository == null) {
-            rolRepository = new RolRepositoryJdbc();
+        if (rolRepository == null && usarMemoria()) {
+            rolRepository = instrumentar(RolRepository.class, new RolRepositoryMemoria(
+                    Arrays.asList(new Rol(1, "Admin"), new Rol(2, "Moderador"), new Rol(3, "Usuario")), 3));
+        } else if (rolRepository == null) {
+            cacheRoles = new RolRepositoryCache(
+                    new RolRepositoryJdbc(),
+                    getDataSource(),
+                    ApplicationProperties.getLong("cache.roles.refresco", 300000L));
+            rolRepository = instrumentar(RolRepository.class, enrutarLecturas(RolRepository.class, cacheRoles));
         }
         return rolRepository;
     }
 
     /**
      * Crea o retorna la instancia singleton de PerfilUsuarioRepository.
+     * Las lecturas salen del DataSource compartido (las de un UnitOfWork,
+     * de su conexión) y dentro de un UnitOfWork findById se resuelve una
+     * vez por perfil.
      * 
      * @return Implementación JDBC de PerfilUsuarioRepository
      */
     public static PerfilUsuarioRepository getPerfilUsuarioRepository() {
-        if (perfilUsuarioRepository == null) {
-            perfilUsuarioRepository = new PerfilUsuarioRepositoryJdbc();
+        if (perfilUsuarioRepository == null && usarMemoria()) {
+            perfilUsuarioRepository = instrumentar(PerfilUsuarioRepository.class, getAlmacenMemoria().getPerfiles());
+        } else if (perfilUsuarioRepository == null) {
+            perfilUsuarioRepository = instrumentar(PerfilUsuarioRepository.class,
+                    enrutarLecturas(PerfilUsuarioRepository.class,
+                            IdentityMapRepository.envolver(PerfilUsuarioRepository.class,
+                                    new PerfilUsuarioRepositoryVersionado(
+                                            new PerfilUsuarioRepositoryBatch(new PerfilUsuarioRepositoryJdbc(),
+                                                    getTamanioLote()),
+                                            getDataSource()))));
         }
         return perfilUsuarioRepository;
     }
 
     /**
      * Crea o retorna la instancia singleton de ImageRepository.
+     * Con file.storage.modo=contenido lleva la cuenta de referencias de
+     * las imágenes compartidas (columna IMAGES.referencias). Con variantes
+     * de imágenes (image.variantes.lados) las guarda en IMAGE_VARIANTES.
+     * Las lecturas salen del DataSource compartido (las de un UnitOfWork,
+     * de su conexión) y dentro de un UnitOfWork findById se resuelve una
+     * vez por imagen.
      * 
      * @return Implementación JDBC de ImageRepository
      */
     public static ImageRepository getImageRepository() {
-        if (imageRepository == null) {
-            imageRepository = new ImageRepositoryJdbc();
+        if (imageRepository == null && usarMemoria()) {
+            imageRepository = instrumentar(ImageRepository.class, getAlmacenMemoria().getImagenes());
+            imageReferenciaRepository = instrumentar(ImageReferenciaRepository.class,
+                    getAlmacenMemoria().getImagenes());
+            imageVarianteRepository = instrumentar(ImageVarianteRepository.class, getAlmacenMemoria().getImagenes());
+        } else if (imageRepository == null) {
+            ImageRepository jdbc = new ImageRepositoryTransaccional(
+                    new ImageRepositoryBatch(new ImageRepositoryJdbc(), getTamanioLote()), getDataSource());
+            if (usarStoragePorContenido()) {
+                ImageRepositoryReferenciado referenciado = new ImageRepositoryReferenciado(jdbc, getDataSource());
+                imageReferenciaRepository = instrumentar(ImageReferenciaRepository.class, referenciado);
+                jdbc = referenciado;
+            }
+            if (getLadosVariantes().length > 0) {
+                ImageRepositoryVariantes variantes = new ImageRepositoryVariantes(jdbc, getDataSource());
+                imageVarianteRepository = instrumentar(ImageVarianteRepository.class, variantes);
+                jdbc = variantes;
+            }
+            imageRepository = instrumentar(ImageRepository.class, enrutarLecturas(ImageRepository.class,
+                    IdentityMapRepository.envolver(ImageRepository.class, jdbc)));
         }
         return imageRepository;
     }
 
+    /**
+     * Retorna la cuenta de referencias de las imágenes compartidas, que
+     * necesita el almacenamiento por contenido (file.storage.modo=contenido).
+     * 
+     * @return ImageReferenciaRepository sobre la misma tabla que
+     *         getImageRepository(), o null si no se usa almacenamiento por
+     *         contenido con MySQL
+     */
+    public static ImageReferenciaRepository getImageReferenciaRepository() {
+        getImageRepository();
+        return imageReferenciaRepository;
+    }
+
+    /**
+     * Retorna el registro de las variantes reducidas de las imágenes, que
+     * usan ImageService y GeneradorVariantes con image.variantes.lados.
+     * 
+     * @return ImageVarianteRepository sobre IMAGE_VARIANTES, o null si las
+     *         variantes están desactivadas con MySQL
+     */
+    public static ImageVarianteRepository getImageVarianteRepository() {
+        getImageRepository();
+        return imageVarianteRepository;
+    }
+
+    /**
+     * Crea o retorna la instancia singleton de SesionUsuarioRepository.
+     * 
+     * @return Implementación JDBC de SesionUsuarioRepository (login en una consulta)
+     */
+    public static SesionUsuarioRepository getSesionUsuarioRepository() {
+        if (sesionUsuarioRepository == null && usarMemoria()) {
+            sesionUsuarioRepository = new SesionUsuarioRepositoryMemoria(
+                    getUsuarioRepository(), getPerfilUsuarioRepository(), getRolRepository());
+        } else if (sesionUsuarioRepository == null) {
+            sesionUsuarioRepository = enrutarLecturas(SesionUsuarioRepository.class,
+                    new SesionUsuarioRepositoryJdbc(getDataSource()));
+        }
+        return sesionUsuarioRepository;
+    }
+
+    /**
+     * Crea o retorna la instancia singleton de ExportacionUsuarioRepository.
+     * 
+     * @return Implementación JDBC por streaming de la exportación de perfiles
+     */
+    public static ExportacionUsuarioRepository getExportacionUsuarioRepository() {
+        if (exportacionUsuarioRepository == null && usarMemoria()) {
+            exportacionUsuarioRepository = new ExportacionUsuarioRepositoryMemoria(
+                    getAlmacenMemoria().getPerfiles(), getUsuarioRepository(), getRolRepository());
+        } else if (exportacionUsuarioRepository == null) {
+            exportacionUsuarioRepository = enrutarLecturas(ExportacionUsuarioRepository.class,
+                    new ExportacionUsuarioRepositoryJdbc(getDataSource()));
+        }
+        return exportacionUsuarioRepository;
+    }
+
+    /**
+     * Crea o retorna el registro diferido de última conexión.
+     * Configurable con db.writebehind.intervalo (ms) y
+     * db.writebehind.max.pendientes.
+     * 
+     * @return registro write-behind de USUARIOS.ultima_conexion
+     */
+    public static UltimaConexionRepository getUltimaConexionRepository() {
+        if (ultimaConexionRepository == null && usarMemoria()) {
+            ultimaConexionRepository = new UltimaConexionRepositoryMemoria(getUsuarioRepository());
+        } else if (ultimaConexionRepository == null) {
+            ultimaConexionDiferida = new UltimaConexionWriteBehind(
+                    getDataSource(),
+                    ApplicationProperties.getLong("db.writebehind.intervalo", 2000),
+                    ApplicationProperties.getInt("db.writebehind.max.pendientes", 500));
+            ultimaConexionRepository = ultimaConexionDiferida;
+        }
+        return ultimaConexionRepository;
+    }
+
     /**
      * Crea o retorna la instancia singleton de FileStorage.
+     * Con file.storage.modo=contenido cada contenido se guarda una sola vez
+     * bajo su SHA-256 y las imágenes iguales se comparten; con
+     * file.storage.modo=ruta (por defecto) cada archivo se guarda en
+     * tipo/idEntidad/nombre. En ambos modos las subidas por canal se copian
+     * con un buffer fijo, sin pasar el archivo entero por el heap.
      * 
      * @return Implementación local de FileStorage
      */
     public static FileStorage getFileStorage() {
-        if (fileStorage == null) {
-            fileStorage = FileStorageConfig.getInstance();
+        if (fileStorage == null && usarMemoria() && !usarMotorEmbebido()) {
+            fileStorage = new FileStorageMemoria();
+        } else if (fileStorage == null && usarStoragePorContenido()) {
+            fileStorage = FileStorageContenido.desdePropiedades();
+        } else if (fileStorage == null) {
+            fileStorage = FileStorageRuta.desdePropiedades(FileStorageConfig.getInstance());
         }
         return fileStorage;
     }
 
+    /**
+     * Indica si los archivos se guardan direccionados por contenido
+     * (file.storage.modo=contenido). No aplica con persistencia=memoria.
+     * 
+     * @return true si el almacenamiento deduplica por contenido
+     */
+    private static boolean usarStoragePorContenido() {
+        return "contenido".equalsIgnoreCase(ApplicationProperties.getString("file.storage.modo", "ruta"));
+    }
+
+    /**
+     * Crea o retorna la instancia singleton de ImageService.
+     * Con image.variantes.lados (vacío por defecto = sin variantes; con
+     * MySQL requiere la tabla IMAGE_VARIANTES) genera en segundo plano las
+     * variantes reducidas de cada imagen que guarda:
+     * 
+     * <pre>
+     * # lados en píxeles de las variantes
+     * image.variantes.lados=96,256
+     * # hilos que las generan
+     * image.variantes.hilos=1
+     * # imágenes en cola o en curso como máximo
+     * image.variantes.cola=64
+     * # ms que espera guardarImagen con la cola llena
+     * image.variantes.espera=100
+     * </pre>
+     * 
+     * @return Servicio de imágenes con repositorio y almacenamiento inyectados
+     */
+    public static ImageService crearImageService() {
+        if (imageService == null) {
+            int[] lados = getLadosVariantes();
+            if (lados.length > 0) {
+                generadorVariantes = new GeneradorVariantes(
+                        getImageRepository(),
+                        getImageVarianteRepository(),
+                        getFileStorage(),
+                        lados,
+                        ApplicationProperties.getInt("image.variantes.hilos", 1),
+                        ApplicationProperties.getInt("image.variantes.cola", 64),
+                        ApplicationProperties.getLong("image.variantes.espera", 100));
+            }
+            imageService = new ImageService(getImageRepository(), getFileStorage(), getImageReferenciaRepository(),
+                    getUnitOfWork(), lados.length > 0 ? getImageVarianteRepository() : null, generadorVariantes);
+        }
+        return imageService;
+    }
+
+    /**
+     * @return generador de variantes de ImageService, o null si no hay
+     *         variantes o todavía no se creó el servicio
+     */
+    public static GeneradorVariantes getGeneradorVariantes() {
+        return generadorVariantes;
+    }
+
+    /**
+     * Lados de las variantes (image.variantes.lados). Vacío por defecto:
+     * activarlas requiere la tabla IMAGE_VARIANTES.
+     * 
+     * @throws IllegalStateException si algún lado no es un entero positivo
+     */
+    private static int[] getLadosVariantes() {
+        String lados = ApplicationProperties.getString("image.variantes.lados", "").trim();
+        if (lados.isEmpty()) {
+            return new int[0];
+        }
+        try {
+            int[] valores = Arrays.stream(lados.split(","))
+                    .map(String::trim)
+                    .mapToInt(Integer::parseInt)
+                    .toArray();
+            if (Arrays.stream(valores).allMatch(lado -> lado > 0)) {
+                return valores;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa abajo con el nombre de la propiedad
+        }
+        throw ApplicationProperties.valorInvalido("image.variantes.lados", lados,
+                "una lista de lados en píxeles separados por comas");
+    }
+
     /**
      * Crea o retorna la instancia singleton de UsuarioService.
      * 
@@ -125,7 +608,9 @@ public class ServiceFactory {
         if (usuarioService == null) {
             usuarioService = new UsuarioService(
                     getUsuarioRepository(),
-                    getRolRepository());
+                    getRolRepository(),
+                    getSesionUsuarioRepository(),
+                    getUltimaConexionRepository());
         }
         return usuarioService;
     }
@@ -153,7 +638,8 @@ public class ServiceFactory {
                     getPerfilUsuarioRepository(),
                     getUsuarioRepository(),
                     getFileStorage(),
-                    getImageRepository());
+                    getImageRepository(),
+                    getImageReferenciaRepository());
         }
         return perfilUsuarioService;
     }
@@ -164,20 +650,54 @@ public class ServiceFactory {
      * @return Implementación JDBC de DireccionRepository
      */
     public static DireccionRepository getDireccionRepository() {
-        if (direccionRepository == null) {
-            direccionRepository = new DireccionRepositoryJdbc();
+        if (direccionRepository == null && usarMemoria()) {
+            direccionRepository = instrumentar(DireccionRepository.class, getAlmacenMemoria().getDirecciones());
+        } else if (direccionRepository == null) {
+            direccionRepository = instrumentar(DireccionRepository.class, enrutarLecturas(DireccionRepository.class,
+                    new DireccionRepositoryBatch(new DireccionRepositoryJdbc(), getTamanioLote())));
         }
         return direccionRepository;
     }
 
+    /**
+     * Crea o retorna la instancia singleton de DireccionDetalleRepository.
+     * 
+     * @return Implementación JDBC (consulta con JOIN) de DireccionDetalleRepository
+     */
+    public static DireccionDetalleRepository getDireccionDetalleRepository() {
+        if (direccionDetalleRepository == null && usarMemoria()) {
+            direccionDetalleRepository = new DireccionDetalleRepositoryMemoria(
+                    getDireccionRepository(), getCatalogoGeograficoRepository());
+        } else if (direccionDetalleRepository == null) {
+            direccionDetalleRepository = enrutarLecturas(DireccionDetalleRepository.class,
+                    new DireccionDetalleRepositoryJdbc(getDataSource()));
+        }
+        return direccionDetalleRepository;
+    }
+
+    /**
+     * Filas por viaje al servidor en los recorridos por streaming
+     * (db.fetch.size).
+     * 
+     * @return tamaño de bloque configurado
+     */
+    private static int getTamanioBloqueLectura() {
+        return ApplicationProperties.getInt("db.fetch.size", 500);
+    }
+
     /**
      * Crea o retorna la instancia singleton de RedSocialRepository.
+     * El listado se pagina por clave y se recorre por streaming en la base.
      * 
      * @return Implementación JDBC de RedSocialRepository
      */
     public static RedSocialRepository getRedSocialRepository() {
-        if (redSocialRepository == null) {
-            redSocialRepository = new RedSocialRepositoryJdbc();
+        if (redSocialRepository == null && usarMemoria()) {
+            redSocialRepository = instrumentar(RedSocialRepository.class, getAlmacenMemoria().getRedesSociales());
+        } else if (redSocialRepository == null) {
+            redSocialRepository = instrumentar(RedSocialRepository.class, enrutarLecturas(RedSocialRepository.class,
+                    new RedSocialRepositoryPaginado(new RedSocialRepositoryJdbc(), getDataSource(),
+                            getTamanioBloqueLectura())));
         }
         return redSocialRepository;
     }
@@ -185,15 +705,41 @@ public class ServiceFactory {
     /**
      * Crea o retorna la instancia singleton de CatalogoGeograficoRepository.
      * 
-     * @return Implementación JDBC de CatalogoGeograficoRepository
+     * Con cache.catalogo.enabled=true (por defecto) el catálogo completo se
+     * carga una vez en memoria. Con persistencia=memoria empieza vacío y se
+     * carga con getCatalogoGeograficoMemoria(); con persistencia=embebido
+     * lo cargado queda guardado en el motor.
+     * 
+     * @return CatalogoGeograficoRepository en memoria o JDBC
      */
     public static CatalogoGeograficoRepository getCatalogoGeograficoRepository() {
         if (catalogoGeograficoRepository == null) {
-            catalogoGeograficoRepository = new CatalogoGeograficoRepositoryJdbc();
+            CatalogoGeograficoRepository catalogo;
+            if (usarMemoria()) {
+                catalogo = getAlmacenMemoria().getCatalogo();
+            } else if (ApplicationProperties.getBoolean("cache.catalogo.enabled", true)) {
+                catalogo = enrutarLecturas(CatalogoGeograficoRepository.class,
+                        new CatalogoGeograficoCache(getDataSource()));
+            } else {
+                catalogo = enrutarLecturas(CatalogoGeograficoRepository.class,
+                        new CatalogoGeograficoRepositoryPaginado(new CatalogoGeograficoRepositoryJdbc(),
+                                getDataSource(), getTamanioBloqueLectura()));
+            }
+            catalogoGeograficoRepository = instrumentar(CatalogoGeograficoRepository.class, catalogo);
         }
         return catalogoGeograficoRepository;
     }
 
+    /**
+     * Retorna el catálogo en memoria para cargar países, provincias y
+     * localidades (solo con persistencia=memoria o embebido).
+     * 
+     * @return el catálogo en memoria, o null si la persistencia es JDBC
+     */
+    public static CatalogoGeograficoRepositoryMemoria getCatalogoGeograficoMemoria() {
+        return usarMemoria() ? getAlmacenMemoria().getCatalogo() : null;
+    }
+
     /**
      * Crea o retorna la instancia singleton de DireccionService.
      * 
@@ -203,7 +749,8 @@ public class ServiceFactory {
         if (direccionService == null) {
             direccionService = new DireccionService(
                     getDireccionRepository(),
-                    getCatalogoGeograficoRepository());
+                    getCatalogoGeograficoRepository(),
+                    getDireccionDetalleRepository());
         }
         return direccionService;
     }
@@ -225,19 +772,70 @@ public class ServiceFactory {
      * Útil para testing.
      */
     public static void reset() {
+        if (generadorVariantes != null) {
+            generadorVariantes.close();
+        }
+        if (motorEmbebido != null) {
+            motorEmbebido.close();
+        }
+        if (ultimaConexionDiferida != null) {
+            ultimaConexionDiferida.close();
+        }
+        if (cacheRoles != null) {
+            cacheRoles.close();
+        }
+        if (filtroEmails != null) {
+            filtroEmails.close();
+        }
+        if (metricasRepositorios != null) {
+            metricasRepositorios.close();
+        }
+        if (enrutamientoLecturas != null) {
+            enrutamientoLecturas.close();
+        }
+        if (connectionPoolLectura != null) {
+            connectionPoolLectura.close();
+        }
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
+        if (sqlLog != null) {
+            sqlLog.close();
+        }
+        connectionPool = null;
+        connectionPoolLectura = null;
+        enrutamientoLecturas = null;
+        sqlLog = null;
+        dataSource = null;
+        unitOfWork = null;
+        reintentosTransacciones = null;
+        metricasRepositorios = null;
+        almacenMemoria = null;
+        motorEmbebido = null;
         usuarioRepository = null;
+        filtroEmails = null;
         rolRepository = null;
+        cacheRoles = null;
         perfilUsuarioRepository = null;
         imageRepository = null;
+        imageReferenciaRepository = null;
+        imageVarianteRepository = null;
         fileStorage = null;
         direccionRepository = null;
+        direccionDetalleRepository = null;
         redSocialRepository = null;
         catalogoGeograficoRepository = null;
+        sesionUsuarioRepository = null;
+        exportacionUsuarioRepository = null;
+        ultimaConexionRepository = null;
+        ultimaConexionDiferida = null;
         usuarioService = null;
         rolService = null;
         perfilUsuarioService = null;
         direccionService = null;
         redSocialService = null;
+        imageService = null;
+        generadorVariantes = null;
     }
 
     /**
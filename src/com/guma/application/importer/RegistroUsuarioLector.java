@@ -0,0 +1,356 @@
+package com.guma.application.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.guma.application.dto.ErrorDTO;
+import com.guma.application.dto.ErrorFilaDTO;
+import com.guma.application.dto.RegistroUsuarioDTO;
+
+/**
+ * Lector de archivos de importación de usuarios (CSV o JSON).
+ *
+ * CSV: primera línea con encabezados (sin importar mayúsculas ni el orden);
+ * admite valores entre comillas dobles con comas, saltos de línea y comillas
+ * escapadas ("").
+ *
+ * <pre>
+ * email,password,confirmarPassword,nombre,apellido,telefono,fechaNacimiento
+ * ana@refugio.org,Secreta123,Secreta123,Ana,Pérez,,1990-05-01
+ * </pre>
+ *
+ * JSON: arreglo de objetos planos con las mismas claves.
+ *
+ * <pre>
+ * [{"email": "ana@refugio.org", "password": "Secreta123", "nombre": "Ana", ...}]
+ * </pre>
+ *
+ * Si falta confirmarPassword se toma igual a password. La fecha de nacimiento
+ * usa el formato ISO (yyyy-MM-dd).
+ *
+ * Un error de formato del archivo (comillas sin cerrar, JSON inválido)
+ * impide leerlo y se lanza como IllegalArgumentException. Un valor inválido
+ * en una fila no: la fila se devuelve igual (para conservar la numeración) y
+ * su error se agrega al mapa de errores por fila, para que la importación la
+ * descarte y siga con las demás.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class RegistroUsuarioLector {
+
+    private RegistroUsuarioLector() {
+    }
+
+    /**
+     * Lee registros desde un CSV con encabezados.
+     *
+     * @param reader  origen del CSV
+     * @param errores recibe los errores de valores inválidos por número de
+     *                fila (1 = primer registro)
+     * @return registros en el orden del archivo
+     * @throws IOException              si falla la lectura
+     * @throws IllegalArgumentException si el formato es inválido
+     */
+    public static List<RegistroUsuarioDTO> leerCsv(Reader reader, Map<Integer, ErrorFilaDTO> errores)
+            throws IOException {
+        List<List<String>> filas = parsearCsv(reader);
+        List<RegistroUsuarioDTO> registros = new ArrayList<>();
+        if (filas.isEmpty()) {
+            return registros;
+        }
+
+        List<String> encabezados = filas.get(0);
+        for (int i = 1; i < filas.size(); i++) {
+            List<String> valores = filas.get(i);
+            if (valores.size() == 1 && valores.get(0).trim().isEmpty()) {
+                continue; // línea en blanco
+            }
+            Map<String, String> campos = new HashMap<>();
+            for (int c = 0; c < encabezados.size() && c < valores.size(); c++) {
+                campos.put(normalizarClave(encabezados.get(c)), valores.get(c));
+            }
+            registros.add(crearRegistro(campos, registros.size() + 1, errores));
+        }
+        return registros;
+    }
+
+    /**
+     * Lee registros desde un arreglo JSON de objetos planos.
+     *
+     * @param reader  origen del JSON
+     * @param errores recibe los errores de valores inválidos por número de
+     *                fila (1 = primer registro)
+     * @return registros en el orden del arreglo
+     * @throws IOException              si falla la lectura
+     * @throws IllegalArgumentException si el formato es inválido
+     */
+    public static List<RegistroUsuarioDTO> leerJson(Reader reader, Map<Integer, ErrorFilaDTO> errores)
+            throws IOException {
+        JsonParser parser = new JsonParser(leerTodo(reader));
+        List<RegistroUsuarioDTO> registros = new ArrayList<>();
+        for (Map<String, String> objeto : parser.leerArregloDeObjetos()) {
+            Map<String, String> campos = new HashMap<>();
+            for (Map.Entry<String, String> campo : objeto.entrySet()) {
+                campos.put(normalizarClave(campo.getKey()), campo.getValue());
+            }
+            registros.add(crearRegistro(campos, registros.size() + 1, errores));
+        }
+        return registros;
+    }
+
+    // ==================== MAPEO ====================
+
+    private static RegistroUsuarioDTO crearRegistro(Map<String, String> campos, int fila,
+            Map<Integer, ErrorFilaDTO> errores) {
+        String password = vacioANull(campos.get("password"));
+        String confirmar = vacioANull(campos.get("confirmarpassword"));
+
+        RegistroUsuarioDTO registro = new RegistroUsuarioDTO(
+                vacioANull(campos.get("email")),
+                password,
+                confirmar != null ? confirmar : password,
+                vacioANull(campos.get("nombre")),
+                vacioANull(campos.get("apellido")),
+                vacioANull(campos.get("telefono")));
+
+        String fecha = vacioANull(campos.get("fechanacimiento"));
+        if (fecha != null) {
+            try {
+                registro.setFechaNacimiento(LocalDate.parse(fecha.trim()));
+            } catch (DateTimeParseException e) {
+                List<ErrorDTO> erroresFila = new ArrayList<>();
+                erroresFila.add(ErrorDTO.deCampo("fechaNacimiento",
+                        "Fecha de nacimiento inválida (se espera yyyy-MM-dd): " + fecha));
+                errores.put(fila, new ErrorFilaDTO(fila, registro.getEmail(), erroresFila));
+            }
+        }
+        return registro;
+    }
+
+    private static String normalizarClave(String clave) {
+        return clave.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String vacioANull(String valor) {
+        return valor == null || valor.trim().isEmpty() ? null : valor;
+    }
+
+    // ==================== CSV ====================
+
+    private static List<List<String>> parsearCsv(Reader reader) throws IOException {
+        List<List<String>> filas = new ArrayList<>();
+        List<String> fila = new ArrayList<>();
+        StringBuilder valor = new StringBuilder();
+        boolean entreComillas = false;
+        boolean comillaPendiente = false; // comilla dentro de un valor: cierre o escape ("")
+        boolean inicio = true;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (inicio) {
+                inicio = false;
+                if (ch == '\uFEFF') {
+                    continue; // BOM
+                }
+            }
+
+            if (comillaPendiente) {
+                comillaPendiente = false;
+                if (ch == '"') {
+                    valor.append('"');
+                    continue;
+                }
+                entreComillas = false;
+            }
+
+            if (entreComillas) {
+                if (ch == '"') {
+                    comillaPendiente = true;
+                } else {
+                    valor.append(ch);
+                }
+            } else if (ch == '"') {
+                entreComillas = true;
+            } else if (ch == ',') {
+                fila.add(valor.toString());
+                valor.setLength(0);
+            } else if (ch == '\n') {
+                fila.add(valor.toString());
+                valor.setLength(0);
+                filas.add(fila);
+                fila = new ArrayList<>();
+            } else if (ch != '\r') {
+                valor.append(ch);
+            }
+        }
+        if (entreComillas && !comillaPendiente) {
+            throw new IllegalArgumentException("CSV inválido: comillas sin cerrar");
+        }
+        if (valor.length() > 0 || !fila.isEmpty()) {
+            fila.add(valor.toString());
+            filas.add(fila);
+        }
+        return filas;
+    }
+
+    private static String leerTodo(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[8192];
+        int leidos;
+        while ((leidos = reader.read(buffer)) != -1) {
+            sb.append(buffer, 0, leidos);
+        }
+        return sb.toString();
+    }
+
+    // ==================== JSON ====================
+
+    /**
+     * Parser mínimo para un arreglo de objetos con valores escalares.
+     */
+    private static final class JsonParser {
+
+        private final String texto;
+        private int pos;
+
+        private JsonParser(String texto) {
+            this.texto = texto;
+        }
+
+        private List<Map<String, String>> leerArregloDeObjetos() {
+            List<Map<String, String>> objetos = new ArrayList<>();
+            esperar('[');
+            if (siguienteEs(']')) {
+                pos++;
+                return objetos;
+            }
+            do {
+                objetos.add(leerObjeto());
+            } while (consumirComa());
+            esperar(']');
+            return objetos;
+        }
+
+        private Map<String, String> leerObjeto() {
+            Map<String, String> objeto = new HashMap<>();
+            esperar('{');
+            if (siguienteEs('}')) {
+                pos++;
+                return objeto;
+            }
+            do {
+                saltarEspacios();
+                String clave = leerString();
+                esperar(':');
+                objeto.put(clave, leerValor());
+            } while (consumirComa());
+            esperar('}');
+            return objeto;
+        }
+
+        private String leerValor() {
+            saltarEspacios();
+            if (pos >= texto.length()) {
+                throw error("se esperaba un valor");
+            }
+            char ch = texto.charAt(pos);
+            if (ch == '"') {
+                return leerString();
+            }
+            int inicio = pos;
+            while (pos < texto.length() && ",}] \t\r\n".indexOf(texto.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = texto.substring(inicio, pos);
+            if (literal.isEmpty() || literal.startsWith("{") || literal.startsWith("[")) {
+                throw error("solo se admiten valores escalares");
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private String leerString() {
+            esperar('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < texto.length()) {
+                char ch = texto.charAt(pos++);
+                if (ch == '"') {
+                    return sb.toString();
+                }
+                if (ch != '\\') {
+                    sb.append(ch);
+                    continue;
+                }
+                if (pos >= texto.length()) {
+                    break;
+                }
+                char escape = texto.charAt(pos++);
+                switch (escape) {
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'u':
+                        if (pos + 4 > texto.length()) {
+                            throw error("secuencia \\u incompleta");
+                        }
+                        sb.append((char) Integer.parseInt(texto.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(escape);
+                }
+            }
+            throw error("string sin cerrar");
+        }
+
+        private boolean consumirComa() {
+            if (siguienteEs(',')) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean siguienteEs(char esperado) {
+            saltarEspacios();
+            return pos < texto.length() && texto.charAt(pos) == esperado;
+        }
+
+        private void esperar(char esperado) {
+            if (!siguienteEs(esperado)) {
+                throw error("se esperaba '" + esperado + "'");
+            }
+            pos++;
+        }
+
+        private void saltarEspacios() {
+            while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String mensaje) {
+            return new IllegalArgumentException("JSON inválido en la posición " + pos + ": " + mensaje);
+        }
+    }
+}
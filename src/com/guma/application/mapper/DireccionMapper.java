@@ -2,6 +2,10 @@ package com.guma.application.mapper;
 
 import com.guma.application.dto.DireccionDTO;
 import com.guma.domain.entities.Direccion;
+import com.guma.domain.valueobjects.DireccionDetalle;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Mapper para convertir entre Direccion (entidad) y DireccionDTO.
@@ -29,6 +33,27 @@ public class DireccionMapper {
         return dto;
     }
     
+    /**
+     * Convierte un detalle de dirección a DTO, incluyendo los nombres de
+     * localidad, provincia y país.
+     */
+    public static DireccionDTO toDTO(DireccionDetalle detalle) {
+        if (detalle == null) return null;
+        
+        DireccionDTO dto = toDTO(detalle.getDireccion());
+        dto.setNombreLocalidad(detalle.getNombreLocalidad());
+        dto.setNombreProvincia(detalle.getNombreProvincia());
+        dto.setNombrePais(detalle.getNombrePais());
+        
+        return dto;
+    }
+    
+    public static List<DireccionDTO> toDTOList(List<DireccionDetalle> detalles) {
+        return detalles.stream()
+                .map(DireccionMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+    
     public static Direccion toEntity(DireccionDTO dto) {
         if (dto == null) return null;
         
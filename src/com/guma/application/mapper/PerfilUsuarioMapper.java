@@ -42,6 +42,7 @@ public class PerfilUsuarioMapper {
         dto.setIdRedSocial(perfil.getIdRedSocial());
         dto.setFotoPerfilId(perfil.getFotoPerfil());
         dto.setVerificado(perfil.isVerificado());
+        dto.setVersion(perfil.getVersion());
 
         // El nombre del sexo se puede agregar después si se necesita
         // consultando la tabla SEXOS desde el frontend o agregando
@@ -63,7 +64,7 @@ public class PerfilUsuarioMapper {
             throw new IllegalArgumentException("PerfilUsuarioDTO no puede ser null");
         }
 
-        return new PerfilUsuario(
+        PerfilUsuario perfil = new PerfilUsuario(
                 dto.getIdPerfilUsuario(),
                 dto.getIdUsuario(),
                 dto.getIdSexo(),
@@ -77,5 +78,7 @@ public class PerfilUsuarioMapper {
                 dto.getIdRedSocial(),
                 dto.getFotoPerfilId(),
                 dto.isVerificado());
+        perfil.setVersion(dto.getVersion());
+        return perfil;
     }
 }
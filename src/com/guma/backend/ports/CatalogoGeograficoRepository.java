@@ -3,15 +3,23 @@ package com.guma.backend.ports;
 import com.guma.domain.entities.Pais;
 import com.guma.domain.entities.Provincia;
 import com.guma.domain.entities.Localidad;
+import com.guma.domain.valueobjects.Pagina;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto (interface) para repositorios de catálogos geográficos.
  * 
  * Agrupa las operaciones de consulta sobre países, provincias y localidades.
  * 
+ * Cada listado tiene además una variante paginada por clave (ordenada por
+ * ID) y una que entrega las filas de a una a un consumidor. Las
+ * implementaciones por defecto se apoyan en los listados completos; las
+ * implementaciones JDBC y en memoria las reemplazan para no materializar
+ * la lista entera.
+ * 
  * @author GUMA Development Team
  * @version 1.0
  */
@@ -34,6 +42,26 @@ public interface CatalogoGeograficoRepository {
      */
     Optional<Pais> findPaisById(Integer id);
     
+    /**
+     * Obtiene una página de países ordenados por ID.
+     * 
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      cantidad máxima de elementos
+     * @return página con el cursor de la siguiente
+     */
+    default Pagina<Pais> findPaisesPagina(Integer despuesDeId, int limite) {
+        return Pagina.desdeLista(findAllPaises(), Pais::getIdPais, despuesDeId, limite);
+    }
+    
+    /**
+     * Recorre todos los países entregándolos de a uno al consumidor.
+     * 
+     * @param consumidor recibe cada país
+     */
+    default void findAllPaises(Consumer<? super Pais> consumidor) {
+        findAllPaises().forEach(consumidor);
+    }
+    
     // ===== PROVINCIAS =====
     
     /**
@@ -52,6 +80,28 @@ public interface CatalogoGeograficoRepository {
      */
     Optional<Provincia> findProvinciaById(Integer id);
     
+    /**
+     * Obtiene una página de provincias de un país ordenadas por ID.
+     * 
+     * @param idPais      identificador del país
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      cantidad máxima de elementos
+     * @return página con el cursor de la siguiente
+     */
+    default Pagina<Provincia> findProvinciasByPaisPagina(Integer idPais, Integer despuesDeId, int limite) {
+        return Pagina.desdeLista(findProvinciasByPais(idPais), Provincia::getIdProvincia, despuesDeId, limite);
+    }
+    
+    /**
+     * Recorre las provincias de un país entregándolas de a una al consumidor.
+     * 
+     * @param idPais     identificador del país
+     * @param consumidor recibe cada provincia
+     */
+    default void findProvinciasByPais(Integer idPais, Consumer<? super Provincia> consumidor) {
+        findProvinciasByPais(idPais).forEach(consumidor);
+    }
+    
     // ===== LOCALIDADES =====
     
     /**
@@ -69,4 +119,29 @@ public interface CatalogoGeograficoRepository {
      * @return Optional con la localidad si existe
      */
     Optional<Localidad> findLocalidadById(Integer id);
+    
+    /**
+     * Obtiene una página de localidades de una provincia ordenadas por ID.
+     * 
+     * @param idProvincia identificador de la provincia
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      cantidad máxima de elementos
+     * @return página con el cursor de la siguiente
+     */
+    default Pagina<Localidad> findLocalidadesByProvinciaPagina(Integer idProvincia, Integer despuesDeId,
+            int limite) {
+        return Pagina.desdeLista(findLocalidadesByProvincia(idProvincia), Localidad::getIdLocalidad,
+                despuesDeId, limite);
+    }
+    
+    /**
+     * Recorre las localidades de una provincia entregándolas de a una al
+     * consumidor.
+     * 
+     * @param idProvincia identificador de la provincia
+     * @param consumidor  recibe cada localidad
+     */
+    default void findLocalidadesByProvincia(Integer idProvincia, Consumer<? super Localidad> consumidor) {
+        findLocalidadesByProvincia(idProvincia).forEach(consumidor);
+    }
 }
@@ -0,0 +1,37 @@
+package com.guma.backend.ports;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.guma.domain.valueobjects.DireccionDetalle;
+
+/**
+ * Puerto (interface) de solo lectura para mostrar direcciones.
+ *
+ * Complementa a DireccionRepository devolviendo cada dirección junto con los
+ * nombres de su localidad, provincia y país, evitando las búsquedas
+ * encadenadas findLocalidadById → findProvinciaById → findPaisById.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface DireccionDetalleRepository {
+
+    /**
+     * Busca una dirección con sus nombres geográficos.
+     *
+     * @param idDireccion ID de la dirección
+     * @return Optional con el detalle si existe, Optional.empty() si no existe
+     */
+    Optional<DireccionDetalle> findDetalleById(Integer idDireccion);
+
+    /**
+     * Busca varias direcciones con sus nombres geográficos en una sola consulta.
+     *
+     * @param idsDireccion IDs de las direcciones (se ignoran nulos y repetidos)
+     * @return detalles encontrados, en el orden de los IDs recibidos; los IDs
+     *         inexistentes se omiten
+     */
+    List<DireccionDetalle> findDetallesByIds(Collection<Integer> idsDireccion);
+}
@@ -2,7 +2,9 @@ package com.guma.backend.ports;
 
 import com.guma.domain.entities.Direccion;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,6 +26,24 @@ public interface DireccionRepository {
      */
     Direccion save(Direccion direccion) throws SQLException;
     
+    /**
+     * Guarda varias direcciones dentro de una transacción existente.
+     * Las implementaciones JDBC agrupan los INSERT en lotes (executeBatch);
+     * la implementación por defecto las guarda de a una.
+     * 
+     * @param direcciones las direcciones a guardar (sin ID)
+     * @param conn la conexión transaccional a usar (la implementación
+     *             por defecto no la usa: cada save abre la suya)
+     * @return las mismas direcciones con su ID asignado, en el mismo orden
+     * @throws SQLException si ocurre un error de base de datos
+     */
+    default List<Direccion> saveAll(List<Direccion> direcciones, Connection conn) throws SQLException {
+        for (Direccion direccion : direcciones) {
+            save(direccion);
+        }
+        return direcciones;
+    }
+    
     /**
      * Busca una dirección por su ID.
      * 
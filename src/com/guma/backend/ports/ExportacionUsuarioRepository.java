@@ -0,0 +1,29 @@
+package com.guma.backend.ports;
+
+import java.util.function.Consumer;
+
+import com.guma.domain.valueobjects.PerfilExportado;
+
+/**
+ * Puerto (interface) de solo lectura para exportar todos los perfiles con
+ * su usuario y su rol.
+ *
+ * Las filas se entregan de a una al consumidor a medida que llegan de la
+ * base de datos, sin armar una lista con la tabla completa.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface ExportacionUsuarioRepository {
+
+    /**
+     * Recorre todos los perfiles ordenados por id_perfil_usuario.
+     *
+     * El consumidor se invoca mientras la consulta sigue abierta: debe
+     * procesar la fila (por ejemplo, escribirla) y no usar la base de datos.
+     *
+     * @param consumidor recibe cada perfil con su usuario y rol
+     * @return cantidad de filas recorridas
+     */
+    long recorrerPerfiles(Consumer<? super PerfilExportado> consumidor);
+}
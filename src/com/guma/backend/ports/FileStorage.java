@@ -1,11 +1,22 @@
 package com.guma.backend.ports;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Port para almacenamiento de archivos.
  * Define el contrato para guardar y recuperar archivos del sistema.
  * La implementación puede ser local, S3, Azure Blob, etc.
+ * 
+ * Además de las variantes con byte[] hay variantes por canal y por stream
+ * para no tener archivos grandes enteros en memoria. Sus implementaciones
+ * por defecto pasan por byte[]; las implementaciones sobre disco las
+ * redefinen para copiar con un buffer de tamaño fijo.
  */
 public interface FileStorage {
 
@@ -22,6 +33,83 @@ public interface FileStorage {
     String guardarArchivo(String tipo, int idEntidad, String nombreArchivo, byte[] contenido)
             throws IOException;
 
+    /**
+     * Guarda un archivo leyendo su contenido de un canal, hasta el final.
+     * El canal no se cierra.
+     * 
+     * @param tipo          Tipo de archivo (ej: "usuario_perfil", "mascota_foto")
+     * @param idEntidad     ID de la entidad relacionada (ej: idUsuario, idMascota)
+     * @param nombreArchivo Nombre original del archivo
+     * @param contenido     Canal con el contenido del archivo
+     * @return Ruta del archivo guardado (igual que la variante con byte[])
+     * @throws IOException Si hay error al leer el canal o al guardar el archivo
+     */
+    default String guardarArchivo(String tipo, int idEntidad, String nombreArchivo, ReadableByteChannel contenido)
+            throws IOException {
+        if (contenido == null) {
+            throw new IllegalArgumentException("El contenido no puede ser nulo");
+        }
+        return guardarArchivo(tipo, idEntidad, nombreArchivo, Channels.newInputStream(contenido).readAllBytes());
+    }
+
+    /**
+     * Guarda un archivo leyendo su contenido de un stream, hasta el final.
+     * El stream no se cierra.
+     * 
+     * @param tipo          Tipo de archivo (ej: "usuario_perfil", "mascota_foto")
+     * @param idEntidad     ID de la entidad relacionada (ej: idUsuario, idMascota)
+     * @param nombreArchivo Nombre original del archivo
+     * @param contenido     Stream con el contenido del archivo
+     * @return Ruta del archivo guardado (igual que la variante con byte[])
+     * @throws IOException Si hay error al leer el stream o al guardar el archivo
+     */
+    default String guardarArchivo(String tipo, int idEntidad, String nombreArchivo, InputStream contenido)
+            throws IOException {
+        if (contenido == null) {
+            throw new IllegalArgumentException("El contenido no puede ser nulo");
+        }
+        return guardarArchivo(tipo, idEntidad, nombreArchivo, Channels.newChannel(contenido));
+    }
+
+    /**
+     * Abre un archivo para leerlo por partes.
+     * Acepta tanto rutas absolutas como relativas.
+     * 
+     * @param ruta Ruta del archivo (absoluta o relativa)
+     * @return Canal de lectura; quien lo recibe debe cerrarlo
+     * @throws IOException Si hay error al abrir el archivo o no existe
+     */
+    default ReadableByteChannel abrirArchivo(String ruta) throws IOException {
+        return Channels.newChannel(new ByteArrayInputStream(leerArchivo(ruta)));
+    }
+
+    /**
+     * Copia el contenido de un archivo a un canal de destino. El destino no
+     * se cierra.
+     * 
+     * @param ruta    Ruta del archivo (absoluta o relativa)
+     * @param destino Canal donde escribir el contenido
+     * @return Cantidad de bytes copiados
+     * @throws IOException Si hay error al leer el archivo o al escribir
+     */
+    default long transferirArchivo(String ruta, WritableByteChannel destino) throws IOException {
+        if (destino == null) {
+            throw new IllegalArgumentException("El destino no puede ser nulo");
+        }
+        try (ReadableByteChannel origen = abrirArchivo(ruta)) {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long total = 0;
+            while (origen.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    total += destino.write(buffer);
+                }
+                buffer.clear();
+            }
+            return total;
+        }
+    }
+
     /**
      * Lee un archivo y retorna su contenido en bytes.
      * Acepta tanto rutas absolutas como relativas.
@@ -59,4 +147,17 @@ public interface FileStorage {
      * @return Ruta absoluta en el sistema de archivos
      */
     String obtenerRutaCompleta(String rutaRelativa);
+
+    /**
+     * Indica si el almacenamiento es direccionado por contenido: el mismo
+     * contenido devuelve siempre la misma ruta y se guarda una sola vez.
+     * En ese caso la ruta puede ser compartida por varias imágenes y el
+     * archivo solo se elimina cuando ImageReferenciaRepository.liberar
+     * indica que era la última referencia.
+     * 
+     * @return true si guardarArchivo deduplica por contenido
+     */
+    default boolean esPorContenido() {
+        return false;
+    }
 }
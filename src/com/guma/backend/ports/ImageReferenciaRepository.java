@@ -0,0 +1,59 @@
+package com.guma.backend.ports;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import com.guma.domain.entities.Image;
+
+/**
+ * Port para la cuenta de referencias de las imágenes compartidas, con un
+ * FileStorage por contenido (FileStorage.esPorContenido()).
+ *
+ * Varias entidades usan la imagen de un mismo contenido (mismo link): cada
+ * uso es una referencia y el archivo físico se elimina solo al liberar la
+ * última. Se usa junto con ImageRepository (sobre la misma tabla IMAGES);
+ * sin almacenamiento por contenido no hace falta una implementación.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface ImageReferenciaRepository {
+
+    /**
+     * Registra un uso más del archivo del link: si ya hay una imagen con ese
+     * link incrementa sus referencias, si no la crea con una referencia.
+     *
+     * @param link ruta devuelta por FileStorage.guardarArchivo
+     * @return la imagen del link, con su ID y sus referencias
+     */
+    Image referenciar(String link);
+
+    /**
+     * Igual que {@link #referenciar(String)} dentro de una transacción.
+     *
+     * @param link ruta devuelta por FileStorage.guardarArchivo
+     * @param conn conexión de la transacción
+     * @return la imagen del link, con su ID y sus referencias
+     * @throws SQLException si hay error en la BD
+     */
+    Image referenciar(String link, Connection conn) throws SQLException;
+
+    /**
+     * Quita un uso de la imagen; si era el último elimina el registro.
+     * El archivo físico debe eliminarse solo cuando retorna true.
+     *
+     * @param id el ID de la imagen
+     * @return true si era la última referencia y se eliminó el registro
+     */
+    boolean liberar(Integer id);
+
+    /**
+     * Igual que {@link #liberar(Integer)} dentro de una transacción.
+     *
+     * @param id   el ID de la imagen
+     * @param conn conexión de la transacción
+     * @return true si era la última referencia y se eliminó el registro
+     * @throws SQLException si hay error en la BD
+     */
+    boolean liberar(Integer id, Connection conn) throws SQLException;
+}
@@ -2,6 +2,7 @@ package com.guma.backend.ports;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 import com.guma.domain.entities.Image;
@@ -10,7 +11,14 @@ import com.guma.domain.entities.Image;
  * Port para persistencia de imágenes.
  * Define el contrato para operaciones CRUD sobre referencias de imágenes.
  * 
- * La tabla IMAGES solo almacena: id_images, link
+ * La tabla IMAGES almacena: id_images, link, referencias
+ * (la cuenta de referencias, con almacenamiento por contenido, está en
+ * {@link ImageReferenciaRepository})
+ * La tabla IMAGE_VARIANTES almacena: id_images, lado, link
+ * 
+ * Las búsquedas devuelven la imagen con sus variantes reducidas
+ * (Image.getVariantes()), que se registran con
+ * {@link ImageVarianteRepository}.
  * 
  * @author GUMA Development Team
  * @version 1.0
@@ -35,6 +43,23 @@ public interface ImageRepository {
      */
     Image save(Image image, Connection conn) throws SQLException;
 
+    /**
+     * Guarda varias imágenes dentro de una transacción existente.
+     * Las implementaciones JDBC agrupan los INSERT en lotes (executeBatch);
+     * la implementación por defecto las guarda de a una.
+     * 
+     * @param images las imágenes a guardar (sin ID)
+     * @param conn la conexión transaccional a usar
+     * @return las mismas imágenes con su ID asignado, en el mismo orden
+     * @throws SQLException si ocurre un error de base de datos
+     */
+    default List<Image> saveAll(List<Image> images, Connection conn) throws SQLException {
+        for (Image image : images) {
+            save(image, conn);
+        }
+        return images;
+    }
+
     /**
      * Busca una imagen por su ID.
      * 
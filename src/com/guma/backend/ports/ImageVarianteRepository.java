@@ -0,0 +1,38 @@
+package com.guma.backend.ports;
+
+import java.util.Map;
+
+/**
+ * Port para las variantes reducidas de las imágenes (tabla
+ * IMAGE_VARIANTES: id_images, lado, link).
+ *
+ * Las búsquedas de ImageRepository ya devuelven cada imagen con sus
+ * variantes; este puerto solo las registra y las quita. Sin variantes
+ * configuradas (image.variantes.lados vacío) no hace falta una
+ * implementación.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface ImageVarianteRepository {
+
+    /**
+     * Registra la variante reducida de una imagen para un lado (reemplaza
+     * la anterior de ese lado, si había).
+     *
+     * @param idImage ID de la imagen original
+     * @param lado    lado en píxeles del cuadrado en que entra la variante
+     * @param link    ruta de la variante devuelta por FileStorage
+     * @throws com.guma.domain.exceptions.EntidadNoEncontradaException si la imagen no existe
+     */
+    void guardarVariante(Integer idImage, int lado, String link);
+
+    /**
+     * Quita todas las variantes de una imagen (por ejemplo al cambiar su
+     * contenido). Los archivos deben eliminarse por separado.
+     *
+     * @param idImage ID de la imagen original
+     * @return variantes que tenía, por lado
+     */
+    Map<Integer, String> eliminarVariantes(Integer idImage);
+}
@@ -2,6 +2,7 @@ package com.guma.backend.ports;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 import com.guma.domain.entities.PerfilUsuario;
@@ -75,6 +76,23 @@ public interface PerfilUsuarioRepository {
      */
     PerfilUsuario save(PerfilUsuario perfil, Connection conn) throws SQLException;
 
+    /**
+     * Guarda varios perfiles dentro de una transacción existente.
+     * Las implementaciones JDBC agrupan los INSERT en lotes (executeBatch);
+     * la implementación por defecto los guarda de a uno.
+     * 
+     * @param perfiles los perfiles a guardar (sin ID)
+     * @param conn la conexión transaccional a usar
+     * @return los mismos perfiles con su ID asignado, en el mismo orden
+     * @throws SQLException si ocurre un error de base de datos
+     */
+    default List<PerfilUsuario> saveAll(List<PerfilUsuario> perfiles, Connection conn) throws SQLException {
+        for (PerfilUsuario perfil : perfiles) {
+            save(perfil, conn);
+        }
+        return perfiles;
+    }
+
     /**
      * Actualiza un perfil de usuario existente.
      * 
@@ -1,10 +1,12 @@
 package com.guma.backend.ports;
 
 import com.guma.domain.entities.RedSocial;
+import com.guma.domain.valueobjects.Pagina;
 
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto (interface) para el repositorio de redes sociales.
@@ -40,6 +42,32 @@ public interface RedSocialRepository {
      */
     List<RedSocial> findAll();
     
+    /**
+     * Obtiene una página de redes sociales ordenadas por ID (paginación por
+     * clave).
+     * 
+     * La implementación por defecto pagina en memoria el resultado de
+     * findAll(); las implementaciones JDBC la reemplazan por una consulta
+     * WHERE id &gt; ? ORDER BY id LIMIT ?.
+     * 
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      cantidad máxima de elementos
+     * @return página con el cursor de la siguiente
+     */
+    default Pagina<RedSocial> findPagina(Integer despuesDeId, int limite) {
+        return Pagina.desdeLista(findAll(), RedSocial::getIdRedSocial, despuesDeId, limite);
+    }
+    
+    /**
+     * Recorre todas las redes sociales entregándolas de a una al consumidor,
+     * sin acumularlas en memoria.
+     * 
+     * @param consumidor recibe cada red social, en orden de ID
+     */
+    default void findAll(Consumer<? super RedSocial> consumidor) {
+        findAll().forEach(consumidor);
+    }
+    
     /**
      * Verifica si existe una red social con el mismo nombre o link.
      * 
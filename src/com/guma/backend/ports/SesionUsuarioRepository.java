@@ -0,0 +1,28 @@
+package com.guma.backend.ports;
+
+import java.util.Optional;
+
+import com.guma.domain.valueobjects.Email;
+import com.guma.domain.valueobjects.SesionUsuario;
+
+/**
+ * Puerto (interface) de solo lectura para los datos de login.
+ *
+ * Devuelve en una sola operación el usuario, su perfil y su rol, evitando
+ * las consultas encadenadas findByEmail → findByUsuarioId → findById durante
+ * el inicio de sesión.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface SesionUsuarioRepository {
+
+    /**
+     * Busca los datos de sesión de un usuario por su email.
+     *
+     * @param email el email del usuario
+     * @return Optional con usuario, perfil (si existe) y rol; Optional.empty()
+     *         si no hay usuario con ese email
+     */
+    Optional<SesionUsuario> findByEmail(Email email);
+}
@@ -0,0 +1,31 @@
+package com.guma.backend.ports;
+
+import java.time.LocalDateTime;
+
+/**
+ * Puerto (interface) para registrar la última conexión de los usuarios.
+ *
+ * Separa la actualización de ultimaConexion del UPDATE completo de
+ * UsuarioRepository: las implementaciones pueden acumular los registros
+ * en memoria y escribirlos en lote, fuera del camino crítico del login.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface UltimaConexionRepository {
+
+    /**
+     * Registra la última conexión de un usuario.
+     * La escritura puede ser diferida; varias llamadas para el mismo usuario
+     * se combinan conservando la fecha más reciente.
+     *
+     * @param idUsuario      ID del usuario
+     * @param ultimaConexion fecha y hora de la conexión
+     */
+    void registrar(Integer idUsuario, LocalDateTime ultimaConexion);
+
+    /**
+     * Escribe de inmediato todos los registros pendientes.
+     */
+    void flush();
+}
@@ -2,7 +2,11 @@ package com.guma.backend.ports;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.guma.domain.entities.Usuario;
 import com.guma.domain.valueobjects.Email;
@@ -72,6 +76,23 @@ public interface UsuarioRepository {
      */
     Usuario save(Usuario usuario, Connection conn) throws SQLException;
 
+    /**
+     * Guarda varios usuarios dentro de una transacción existente.
+     * Las implementaciones JDBC agrupan los INSERT en lotes (executeBatch);
+     * la implementación por defecto los guarda de a uno.
+     * 
+     * @param usuarios los usuarios a guardar (sin ID)
+     * @param conn la conexión transaccional a usar
+     * @return los mismos usuarios con su ID asignado, en el mismo orden
+     * @throws SQLException si ocurre un error de base de datos
+     */
+    default List<Usuario> saveAll(List<Usuario> usuarios, Connection conn) throws SQLException {
+        for (Usuario usuario : usuarios) {
+            save(usuario, conn);
+        }
+        return usuarios;
+    }
+
     /**
      * Verifica si existe un usuario con el email especificado.
      * 
@@ -80,6 +101,24 @@ public interface UsuarioRepository {
      */
     boolean existsByEmail(Email email);
 
+    /**
+     * Obtiene, de un conjunto de emails, los que ya están registrados.
+     * Las implementaciones JDBC lo resuelven con una consulta IN (...);
+     * la implementación por defecto consulta de a uno.
+     * 
+     * @param emails los emails a verificar
+     * @return valores (normalizados) de los emails ya registrados
+     */
+    default Set<String> findEmailsRegistrados(Collection<Email> emails) {
+        Set<String> registrados = new HashSet<>();
+        for (Email email : emails) {
+            if (existsByEmail(email)) {
+                registrados.add(email.getValor());
+            }
+        }
+        return registrados;
+    }
+
     /**
      * Actualiza un usuario existente en el sistema.
      * 
@@ -1,15 +1,23 @@
 package com.guma.backend.services;
 
 import com.guma.backend.ports.CatalogoGeograficoRepository;
+import com.guma.backend.ports.DireccionDetalleRepository;
 import com.guma.backend.ports.DireccionRepository;
 import com.guma.domain.entities.Direccion;
 import com.guma.domain.entities.Localidad;
 import com.guma.domain.entities.Pais;
 import com.guma.domain.entities.Provincia;
 import com.guma.domain.exceptions.EntidadNoEncontradaException;
+import com.guma.domain.valueobjects.DireccionDetalle;
+import com.guma.domain.valueobjects.Pagina;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Servicio de backend para gestión de direcciones y catálogos geográficos.
@@ -21,14 +29,30 @@ public class DireccionService {
     
     private final DireccionRepository direccionRepository;
     private final CatalogoGeograficoRepository catalogoRepository;
+    private final DireccionDetalleRepository detalleRepository;
     
     public DireccionService(DireccionRepository direccionRepository,
                            CatalogoGeograficoRepository catalogoRepository) {
+        this(direccionRepository, catalogoRepository, null);
+    }
+    
+    /**
+     * Constructor con consulta de detalle en una sola operación.
+     * 
+     * @param direccionRepository repositorio de direcciones
+     * @param catalogoRepository repositorio de catálogos geográficos
+     * @param detalleRepository repositorio de detalle (opcional; si es null,
+     *                          los nombres se resuelven desde el catálogo)
+     */
+    public DireccionService(DireccionRepository direccionRepository,
+                           CatalogoGeograficoRepository catalogoRepository,
+                           DireccionDetalleRepository detalleRepository) {
         if (direccionRepository == null || catalogoRepository == null) {
             throw new IllegalArgumentException("Los repositorios no pueden ser nulos");
         }
         this.direccionRepository = direccionRepository;
         this.catalogoRepository = catalogoRepository;
+        this.detalleRepository = detalleRepository;
     }
     
     /**
@@ -56,6 +80,58 @@ public class DireccionService {
             .orElseThrow(() -> new EntidadNoEncontradaException("Direccion", id));
     }
     
+    /**
+     * Busca una dirección junto con los nombres de su localidad, provincia y país.
+     * 
+     * @param id ID de la dirección
+     * @return detalle de la dirección
+     * @throws EntidadNoEncontradaException si la dirección no existe
+     */
+    public DireccionDetalle buscarDetallePorId(Integer id) {
+        Optional<DireccionDetalle> detalle = detalleRepository != null
+            ? detalleRepository.findDetalleById(id)
+            : direccionRepository.findById(id).map(this::completarDetalle);
+        return detalle.orElseThrow(() -> new EntidadNoEncontradaException("Direccion", id));
+    }
+    
+    /**
+     * Busca varias direcciones con sus nombres geográficos en una sola consulta.
+     * 
+     * @param ids IDs de las direcciones
+     * @return detalles encontrados, en el orden de los IDs; los inexistentes se omiten
+     */
+    public List<DireccionDetalle> buscarDetallesPorIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (detalleRepository != null) {
+            return detalleRepository.findDetallesByIds(ids);
+        }
+        List<DireccionDetalle> detalles = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            direccionRepository.findById(id).map(this::completarDetalle).ifPresent(detalles::add);
+        }
+        return detalles;
+    }
+    
+    private DireccionDetalle completarDetalle(Direccion direccion) {
+        Optional<Localidad> localidad = catalogoRepository.findLocalidadById(direccion.getIdLocalidad());
+        Optional<Provincia> provincia = localidad.flatMap(
+            l -> catalogoRepository.findProvinciaById(l.getIdProvincia()));
+        Optional<Pais> pais = provincia.flatMap(
+            p -> catalogoRepository.findPaisById(p.getIdPais()));
+        return new DireccionDetalle(
+            direccion,
+            localidad.map(Localidad::getNombre).orElse(null),
+            provincia.map(Provincia::getIdProvincia).orElse(null),
+            provincia.map(Provincia::getNombre).orElse(null),
+            pais.map(Pais::getIdPais).orElse(null),
+            pais.map(Pais::getNombre).orElse(null));
+    }
+    
     // ===== CATÁLOGOS GEOGRÁFICOS =====
     
     /**
@@ -79,6 +155,60 @@ public class DireccionService {
         return catalogoRepository.findLocalidadesByProvincia(idProvincia);
     }
     
+    /**
+     * Obtiene una página de países ordenados por ID.
+     * 
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      tamaño de página (1 a Pagina.LIMITE_MAXIMO)
+     * @throws IllegalArgumentException si el tamaño de página es inválido
+     */
+    public Pagina<Pais> obtenerPaisesPagina(Integer despuesDeId, int limite) {
+        Pagina.validarLimite(limite);
+        return catalogoRepository.findPaisesPagina(despuesDeId, limite);
+    }
+    
+    /**
+     * Obtiene una página de provincias de un país ordenadas por ID.
+     * 
+     * @throws IllegalArgumentException si el tamaño de página es inválido
+     */
+    public Pagina<Provincia> obtenerProvinciasPorPaisPagina(Integer idPais, Integer despuesDeId, int limite) {
+        Pagina.validarLimite(limite);
+        return catalogoRepository.findProvinciasByPaisPagina(idPais, despuesDeId, limite);
+    }
+    
+    /**
+     * Obtiene una página de localidades de una provincia ordenadas por ID.
+     * 
+     * @throws IllegalArgumentException si el tamaño de página es inválido
+     */
+    public Pagina<Localidad> obtenerLocalidadesPorProvinciaPagina(Integer idProvincia, Integer despuesDeId,
+            int limite) {
+        Pagina.validarLimite(limite);
+        return catalogoRepository.findLocalidadesByProvinciaPagina(idProvincia, despuesDeId, limite);
+    }
+    
+    /**
+     * Recorre todos los países sin cargarlos juntos en memoria.
+     */
+    public void recorrerPaises(Consumer<? super Pais> consumidor) {
+        catalogoRepository.findAllPaises(consumidor);
+    }
+    
+    /**
+     * Recorre las provincias de un país sin cargarlas juntas en memoria.
+     */
+    public void recorrerProvinciasPorPais(Integer idPais, Consumer<? super Provincia> consumidor) {
+        catalogoRepository.findProvinciasByPais(idPais, consumidor);
+    }
+    
+    /**
+     * Recorre las localidades de una provincia sin cargarlas juntas en memoria.
+     */
+    public void recorrerLocalidadesPorProvincia(Integer idProvincia, Consumer<? super Localidad> consumidor) {
+        catalogoRepository.findLocalidadesByProvincia(idProvincia, consumidor);
+    }
+    
     /**
      * Busca una localidad por ID.
      */
@@ -0,0 +1,373 @@
+package com.guma.backend.services;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.imageio.ImageIO;
+
+import com.guma.backend.ports.FileStorage;
+import com.guma.backend.ports.ImageRepository;
+import com.guma.backend.ports.ImageVarianteRepository;
+import com.guma.domain.entities.Image;
+import com.guma.domain.exceptions.EntidadNoEncontradaException;
+import com.guma.util.LectorImagenes;
+
+/**
+ * Genera en segundo plano las variantes reducidas de las imágenes (por
+ * ejemplo de 96 y 256 px de lado), para no decodificar y achicar el original
+ * cada vez que se muestra.
+ *
+ * Cada variante entra en un cuadrado de su lado conservando la proporción,
+ * se guarda con FileStorage junto al original (mismo tipo e ID de entidad,
+ * nombre_lado.jpg, o .png si tiene transparencia) y se registra en
+ * ImageVarianteRepository. Si el original ya entra en el cuadrado, o no es una
+ * imagen que se pueda decodificar, la variante registrada es el propio
+ * original. El original se decodifica una sola vez por imagen, submuestreado
+ * con {@link LectorImagenes} cerca de la variante más grande.
+ *
+ * Las tareas corren en un pool fijo de hilos de baja prioridad con
+ * capacidad acotada (en cola más en curso): quien encola espera hasta
+ * image.variantes.espera ms a que haya lugar y, si no lo hay, la imagen
+ * queda sin variantes hasta que se pidan (ImageService las vuelve a encolar
+ * al buscarlas). Una imagen ya pendiente no se encola dos veces.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class GeneradorVariantes implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(GeneradorVariantes.class.getName());
+
+    // Veces que se rehace una imagen cuyo contenido cambió mientras se generaba
+    private static final int INTENTOS_GENERACION = 3;
+
+    private final ImageRepository imageRepository;
+    private final ImageVarianteRepository imageVariantes;
+    private final FileStorage fileStorage;
+    private final int[] lados;
+    private final long esperaMs;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore cupos;
+    private final Set<Integer> pendientes = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong generadas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+
+    /**
+     * @param imageRepository repositorio de imágenes
+     * @param imageVariantes  registro de las variantes
+     * @param fileStorage     almacenamiento de archivos
+     * @param lados           lados en píxeles de las variantes
+     * @param hilos           hilos que generan variantes
+     * @param capacidad       imágenes en cola o en curso como máximo
+     * @param esperaMs        espera máxima para encolar con la cola llena
+     */
+    public GeneradorVariantes(ImageRepository imageRepository, ImageVarianteRepository imageVariantes,
+            FileStorage fileStorage, int[] lados, int hilos, int capacidad, long esperaMs) {
+        if (imageRepository == null || imageVariantes == null || fileStorage == null) {
+            throw new IllegalArgumentException("Los repositorios y el almacenamiento no pueden ser nulos");
+        }
+        if (lados == null || lados.length == 0 || Arrays.stream(lados).anyMatch(lado -> lado <= 0)) {
+            throw new IllegalArgumentException("Lados de variantes inválidos: " + Arrays.toString(lados));
+        }
+        if (hilos <= 0 || capacidad < hilos || esperaMs < 0) {
+            throw new IllegalArgumentException("Configuración de variantes inválida: hilos=" + hilos
+                    + ", capacidad=" + capacidad + ", espera=" + esperaMs);
+        }
+        this.imageRepository = imageRepository;
+        this.imageVariantes = imageVariantes;
+        this.fileStorage = fileStorage;
+        this.lados = Arrays.stream(lados).distinct().sorted().toArray();
+        this.esperaMs = esperaMs;
+        this.cupos = new Semaphore(capacidad);
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "guma-variantes-" + numero.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+    }
+
+    // ==================== ENCOLADO ====================
+
+    /**
+     * Encola la generación de las variantes de una imagen, esperando hasta
+     * image.variantes.espera ms si la cola está llena.
+     *
+     * @param idImage ID de la imagen original
+     * @return true si quedó encolada (o ya estaba pendiente)
+     */
+    public boolean encolar(Integer idImage) {
+        return encolar(idImage, esperaMs);
+    }
+
+    /**
+     * Encola la generación de las variantes de una imagen.
+     *
+     * @param idImage  ID de la imagen original
+     * @param esperaMs espera máxima si la cola está llena (0 = no esperar)
+     * @return true si quedó encolada (o ya estaba pendiente)
+     */
+    public boolean encolar(Integer idImage, long esperaMs) {
+        if (idImage == null) {
+            throw new IllegalArgumentException("El ID de la imagen no puede ser nulo");
+        }
+        if (!pendientes.add(idImage)) {
+            return true;
+        }
+        boolean cupo;
+        try {
+            cupo = cupos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cupo = false;
+        }
+        if (!cupo) {
+            pendientes.remove(idImage);
+            descartadas.incrementAndGet();
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generar(idImage);
+                } catch (IOException | RuntimeException e) {
+                    fallos.incrementAndGet();
+                    LOGGER.log(Level.WARNING, "No se pudieron generar las variantes de la imagen " + idImage, e);
+                } finally {
+                    pendientes.remove(idImage);
+                    cupos.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pendientes.remove(idImage);
+            cupos.release();
+            return false;
+        }
+    }
+
+    /**
+     * @param idImage ID de la imagen original
+     * @return true si sus variantes están en cola o generándose
+     */
+    public boolean estaPendiente(Integer idImage) {
+        return pendientes.contains(idImage);
+    }
+
+    /**
+     * Lado de la variante que corresponde a un tamaño pedido.
+     *
+     * @param lado lado en píxeles que se va a mostrar
+     * @return el menor lado configurado que lo cubre, o null si ninguno
+     */
+    public Integer ladoPara(int lado) {
+        for (int configurado : lados) {
+            if (configurado >= lado) {
+                return configurado;
+            }
+        }
+        return null;
+    }
+
+    // ==================== GENERACIÓN ====================
+
+    private void generar(Integer idImage) throws IOException {
+        for (int intento = 0; intento < INTENTOS_GENERACION; intento++) {
+            Optional<Image> leida = imageRepository.findById(idImage);
+            if (leida.isEmpty() || !generar(leida.get())) {
+                return;
+            }
+            // Si el contenido cambió mientras tanto (actualizarImagen con
+            // almacenamiento por ruta) las variantes son del anterior
+            Optional<Image> despues = imageRepository.findById(idImage);
+            if (despues.isEmpty() || leida.get().getLink().equals(despues.get().getLink())) {
+                return;
+            }
+            Image descartada = new Image(leida.get().getLink());
+            descartada.setVariantes(imageVariantes.eliminarVariantes(idImage));
+            eliminarArchivos(descartada, fileStorage, imageRepository);
+        }
+    }
+
+    /**
+     * Genera las variantes que le faltan a la imagen.
+     *
+     * @return false si la imagen se eliminó mientras tanto
+     */
+    private boolean generar(Image original) throws IOException {
+        String link = original.getLink();
+        int[] faltantes = Arrays.stream(lados)
+                .filter(lado -> !tieneVariante(original, lado))
+                .toArray();
+        if (faltantes.length == 0) {
+            return true;
+        }
+
+        try (InputStream in = Channels.newInputStream(fileStorage.abrirArchivo(link));
+                LectorImagenes lector = LectorImagenes.abrir(in)) {
+            if (lector == null) {
+                // Formato que ImageIO no decodifica: se muestra el original
+                for (int lado : faltantes) {
+                    if (!registrar(original, lado, link)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            // Una sola decodificación, submuestreada para la variante más grande
+            int mayor = Math.max(lector.getAncho(), lector.getAlto());
+            int ladoMaximo = Arrays.stream(faltantes).filter(lado -> lado < mayor).max().orElse(0);
+            BufferedImage imagen = ladoMaximo > 0 ? lector.decodificar(ladoMaximo) : null;
+            String formato = imagen != null && imagen.getColorModel().hasAlpha() ? "png" : "jpg";
+            for (int lado : faltantes) {
+                String ruta = link;
+                if (mayor > lado) {
+                    ruta = fileStorage.guardarArchivo(
+                            ImageService.extraerTipo(link),
+                            ImageService.extraerIdEntidad(link),
+                            nombreVariante(original, lado, formato),
+                            codificar(LectorImagenes.reducir(imagen, lado), formato));
+                }
+                if (!registrar(original, lado, ruta)) {
+                    return false;
+                }
+            }
+        }
+        generadas.incrementAndGet();
+        return true;
+    }
+
+    private boolean tieneVariante(Image image, int lado) {
+        String ruta = image.getVariantes().get(lado);
+        return ruta != null && fileStorage.existeArchivo(ruta);
+    }
+
+    private boolean registrar(Image original, int lado, String ruta) throws IOException {
+        try {
+            imageVariantes.guardarVariante(original.getIdImage(), lado, ruta);
+            return true;
+        } catch (EntidadNoEncontradaException e) {
+            Image huerfana = new Image(original.getLink());
+            huerfana.agregarVariante(lado, ruta);
+            eliminarArchivos(huerfana, fileStorage, imageRepository);
+            return false;
+        }
+    }
+
+    private static byte[] codificar(BufferedImage imagen, String formato) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        if (!ImageIO.write(imagen, formato, salida)) {
+            throw new IOException("No hay codificador de imágenes " + formato);
+        }
+        return salida.toByteArray();
+    }
+
+    private static String nombreVariante(Image original, int lado, String formato) {
+        String nombre = original.getNombreArchivo();
+        int punto = nombre.lastIndexOf('.');
+        return (punto > 0 ? nombre.substring(0, punto) : nombre) + "_" + lado + "." + formato;
+    }
+
+    // ==================== ARCHIVOS ====================
+
+    /**
+     * Elimina los archivos de las variantes de una imagen (no el original,
+     * aunque figure como variante). Con almacenamiento por contenido no se
+     * elimina un archivo que es el original de otra imagen; una variante
+     * compartida con otra imagen se regenera cuando se la busca.
+     *
+     * @param image           imagen con sus variantes
+     * @param fileStorage     almacenamiento de archivos
+     * @param imageRepository repositorio de imágenes
+     */
+    static void eliminarArchivos(Image image, FileStorage fileStorage, ImageRepository imageRepository) {
+        for (Map.Entry<Integer, String> variante : image.getVariantes().entrySet()) {
+            String ruta = variante.getValue();
+            if (ruta.equals(image.getLink())
+                    || (fileStorage.esPorContenido() && imageRepository.findByLink(ruta).isPresent())) {
+                continue;
+            }
+            try {
+                fileStorage.eliminarArchivo(ruta);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "No se pudo eliminar la variante " + ruta, e);
+            }
+        }
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * @return lados de las variantes, de menor a mayor
+     */
+    public int[] getLados() {
+        return lados.clone();
+    }
+
+    /**
+     * @return imágenes a las que se les generaron variantes
+     */
+    public long getGeneradas() {
+        return generadas.get();
+    }
+
+    /**
+     * @return encolados rechazados por cola llena
+     */
+    public long getDescartadas() {
+        return descartadas.get();
+    }
+
+    public long getFallos() {
+        return fallos.get();
+    }
+
+    /**
+     * @return imágenes en cola o generándose
+     */
+    public int getPendientes() {
+        return pendientes.size();
+    }
+
+    /**
+     * Detiene los hilos. Las imágenes pendientes quedan sin variantes hasta
+     * que se vuelvan a pedir.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GeneradorVariantes[lados=" + Arrays.toString(lados) + ", pendientes=" + pendientes.size()
+                + ", generadas=" + generadas + ", descartadas=" + descartadas + ", fallos=" + fallos + "]";
+    }
+}
@@ -1,13 +1,23 @@
 package com.guma.backend.services;
 
 import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
 import java.util.Optional;
 
 import com.guma.backend.ports.FileStorage;
+import com.guma.backend.ports.ImageReferenciaRepository;
 import com.guma.backend.ports.ImageRepository;
+import com.guma.backend.ports.ImageVarianteRepository;
 import com.guma.data.storage.FileStorageConfig;
+import com.guma.data.storage.FileStorageRuta;
 import com.guma.domain.entities.Image;
 import com.guma.domain.exceptions.EntidadNoEncontradaException;
+import com.guma.domain.transaction.UnitOfWork;
 
 /**
  * Servicio que coordina el almacenamiento físico (FileStorage)
@@ -16,6 +26,23 @@ import com.guma.domain.exceptions.EntidadNoEncontradaException;
  * Este servicio es el punto central para gestionar imágenes en el sistema.
  * Maneja tanto el archivo físico como su metadata en la base de datos.
  * 
+ * Con un FileStorage por contenido (FileStorage.esPorContenido()) el mismo
+ * contenido se guarda una vez y su imagen es compartida: guardar agrega una
+ * referencia a la imagen existente (ImageReferenciaRepository), y el archivo se elimina solo al liberar
+ * la última referencia. La liberación y el borrado de los archivos se hacen
+ * en una misma transacción (UnitOfWork): la fila liberada queda bloqueada
+ * hasta el commit, así que un alta concurrente del mismo contenido espera
+ * al borrado y, al no encontrar el archivo, lo vuelve a escribir.
+ * 
+ * Las variantes con canales (guardar, actualizar, abrir y transferir) no
+ * cargan la imagen entera en memoria: el archivo se copia por partes entre
+ * el canal y el FileStorage.
+ * 
+ * Con un {@link GeneradorVariantes}, guardar una imagen encola la generación
+ * de sus variantes reducidas en segundo plano, y obtenerRutaVariante
+ * devuelve la más chica que cubre el tamaño pedido, o el original mientras
+ * la variante está pendiente.
+ * 
  * @author GUMA Development Team
  * @version 1.0
  */
@@ -23,6 +50,10 @@ public class ImageService {
 
     private final FileStorage fileStorage;
     private final ImageRepository imageRepository;
+    private final ImageReferenciaRepository imageReferencias;
+    private final ImageVarianteRepository imageVariantes;
+    private final GeneradorVariantes generadorVariantes;
+    private final UnitOfWork unitOfWork;
 
     /**
      * Constructor que inyecta dependencias.
@@ -31,7 +62,55 @@ public class ImageService {
      */
     public ImageService(ImageRepository imageRepository) {
         this.imageRepository = imageRepository;
-        this.fileStorage = FileStorageConfig.getInstance();
+        this.fileStorage = FileStorageRuta.desdePropiedades(FileStorageConfig.getInstance());
+        this.imageReferencias = null;
+        this.imageVariantes = null;
+        this.generadorVariantes = null;
+        this.unitOfWork = null;
+    }
+
+    /**
+     * Constructor que inyecta el repositorio y un almacenamiento que no es
+     * por contenido.
+     * 
+     * @param imageRepository repositorio de imágenes
+     * @param fileStorage     almacenamiento de archivos
+     */
+    public ImageService(ImageRepository imageRepository, FileStorage fileStorage) {
+        this(imageRepository, fileStorage, null, null, null, null);
+    }
+
+    /**
+     * Constructor que inyecta el repositorio, el almacenamiento, la cuenta
+     * de referencias con su UnitOfWork, el registro de variantes y el
+     * generador de variantes reducidas.
+     * 
+     * @param imageRepository    repositorio de imágenes
+     * @param fileStorage        almacenamiento de archivos
+     * @param imageReferencias   cuenta de referencias (obligatoria si
+     *                           fileStorage es por contenido; si no, null)
+     * @param unitOfWork         transacción de las bajas (obligatoria si
+     *                           fileStorage es por contenido; null = las
+     *                           bajas por ruta se confirman por separado)
+     * @param imageVariantes     registro de variantes (null = sin variantes)
+     * @param generadorVariantes generador de variantes (null = sin variantes)
+     */
+    public ImageService(ImageRepository imageRepository, FileStorage fileStorage,
+            ImageReferenciaRepository imageReferencias, UnitOfWork unitOfWork,
+            ImageVarianteRepository imageVariantes, GeneradorVariantes generadorVariantes) {
+        if (imageRepository == null || fileStorage == null) {
+            throw new IllegalArgumentException("El repositorio y el almacenamiento no pueden ser nulos");
+        }
+        if (fileStorage.esPorContenido() && (imageReferencias == null || unitOfWork == null)) {
+            throw new IllegalArgumentException(
+                    "El almacenamiento por contenido requiere la cuenta de referencias de imágenes y un UnitOfWork");
+        }
+        this.imageRepository = imageRepository;
+        this.fileStorage = fileStorage;
+        this.imageReferencias = imageReferencias;
+        this.imageVariantes = imageVariantes;
+        this.generadorVariantes = generadorVariantes;
+        this.unitOfWork = unitOfWork;
     }
 
     /**
@@ -41,7 +120,8 @@ public class ImageService {
      * @param idEntidad     ID de la entidad relacionada (idUsuario, idMascota)
      * @param nombreArchivo nombre del archivo original
      * @param contenido     bytes de la imagen
-     * @return entidad Image con ID generado
+     * @return entidad Image con ID generado (por contenido, la imagen
+     *         compartida si el contenido ya existía)
      * @throws IOException si hay error al guardar el archivo físico
      */
     public Image guardarImagen(String tipo, int idEntidad, String nombreArchivo, byte[] contenido)
@@ -50,11 +130,61 @@ public class ImageService {
         // 1. Guardar archivo físicamente
         String rutaRelativa = fileStorage.guardarArchivo(tipo, idEntidad, nombreArchivo, contenido);
 
+        if (fileStorage.esPorContenido()) {
+            Image compartida = imageReferencias.referenciar(rutaRelativa);
+            asegurarArchivo(rutaRelativa, tipo, idEntidad, nombreArchivo, contenido);
+            return encolarVariantes(compartida);
+        }
+
         // 2. Crear metadata
         Image image = new Image(rutaRelativa);
 
-        // 3. Guardar en BD
-        return imageRepository.save(image);
+        // 3. Guardar en BD y encolar sus variantes
+        return encolarVariantes(imageRepository.save(image));
+    }
+
+    /**
+     * Guarda una imagen leyendo su contenido de un canal, hasta el final. El
+     * canal no se cierra.
+     * 
+     * Por contenido, si una liberación concurrente eliminó el archivo entre
+     * guardarlo y referenciarlo, se vuelve a escribir releyendo el canal
+     * desde su posición inicial; eso solo es posible con un
+     * SeekableByteChannel (por ejemplo un FileChannel).
+     * 
+     * @param tipo          tipo de imagen ("usuario_perfil", "mascota_foto")
+     * @param idEntidad     ID de la entidad relacionada (idUsuario, idMascota)
+     * @param nombreArchivo nombre del archivo original
+     * @param contenido     canal con el contenido de la imagen
+     * @return entidad Image con ID generado (por contenido, la imagen
+     *         compartida si el contenido ya existía)
+     * @throws IOException si hay error al leer el canal o al guardar el
+     *                     archivo físico
+     */
+    public Image guardarImagen(String tipo, int idEntidad, String nombreArchivo, ReadableByteChannel contenido)
+            throws IOException {
+        if (contenido == null) {
+            throw new IllegalArgumentException("El contenido no puede ser nulo");
+        }
+        long inicio = contenido instanceof SeekableByteChannel ? ((SeekableByteChannel) contenido).position() : -1;
+
+        String rutaRelativa = fileStorage.guardarArchivo(tipo, idEntidad, nombreArchivo, contenido);
+
+        if (fileStorage.esPorContenido()) {
+            Image compartida = imageReferencias.referenciar(rutaRelativa);
+            if (!fileStorage.existeArchivo(rutaRelativa)) {
+                if (inicio < 0) {
+                    liberarReferencia(compartida);
+                    throw new IOException("El archivo " + rutaRelativa
+                            + " se eliminó mientras se guardaba; vuelva a intentarlo");
+                }
+                ((SeekableByteChannel) contenido).position(inicio);
+                fileStorage.guardarArchivo(tipo, idEntidad, nombreArchivo, contenido);
+            }
+            return encolarVariantes(compartida);
+        }
+
+        return encolarVariantes(imageRepository.save(new Image(rutaRelativa)));
     }
 
     /**
@@ -67,6 +197,51 @@ public class ImageService {
         return imageRepository.findById(idImage);
     }
 
+    /**
+     * Ruta de la imagen para mostrarla con un tamaño dado: la variante más
+     * chica cuyo lado cubre el pedido o, si todavía no está (pendiente, o
+     * ningún lado configurado lo cubre), el original. Si falta la variante
+     * que corresponde se encola su generación sin esperar.
+     * 
+     * @param idImage ID de la imagen
+     * @param lado    lado en píxeles del cuadrado en que se va a mostrar
+     * @return ruta relativa de la variante o del original
+     */
+    public String obtenerRutaVariante(Integer idImage, int lado) {
+        Image image = imageRepository.findById(idImage)
+                .orElseThrow(() -> new EntidadNoEncontradaException("Image", idImage));
+
+        String ruta = null;
+        int ladoElegido = 0;
+        for (Map.Entry<Integer, String> variante : image.getVariantes().entrySet()) {
+            if (variante.getKey() >= lado && fileStorage.existeArchivo(variante.getValue())) {
+                ruta = variante.getValue();
+                ladoElegido = variante.getKey();
+                break;
+            }
+        }
+        if (generadorVariantes != null) {
+            Integer ideal = generadorVariantes.ladoPara(lado);
+            if (ideal != null && (ruta == null || ladoElegido != ideal)) {
+                generadorVariantes.encolar(idImage, 0);
+            }
+        }
+        return ruta != null ? ruta : image.getLink();
+    }
+
+    /**
+     * Bytes de la imagen para mostrarla con un tamaño dado (ver
+     * {@link #obtenerRutaVariante(Integer, int)}).
+     * 
+     * @param idImage ID de la imagen
+     * @param lado    lado en píxeles del cuadrado en que se va a mostrar
+     * @return bytes de la variante o del original
+     * @throws IOException si hay error al leer el archivo
+     */
+    public byte[] obtenerBytesVariante(Integer idImage, int lado) throws IOException {
+        return fileStorage.leerArchivo(obtenerRutaVariante(idImage, lado));
+    }
+
     /**
      * Obtiene los bytes de una imagen.
      * 
@@ -81,6 +256,36 @@ public class ImageService {
         return fileStorage.leerArchivo(image.getLink());
     }
 
+    /**
+     * Abre una imagen para leerla por partes.
+     * 
+     * @param idImage ID de la imagen
+     * @return canal de lectura; quien lo recibe debe cerrarlo
+     * @throws IOException si hay error al abrir el archivo
+     */
+    public ReadableByteChannel abrirImagen(Integer idImage) throws IOException {
+        Image image = imageRepository.findById(idImage)
+                .orElseThrow(() -> new EntidadNoEncontradaException("Image", idImage));
+
+        return fileStorage.abrirArchivo(image.getLink());
+    }
+
+    /**
+     * Copia el contenido de una imagen a un canal (un archivo de destino, un
+     * socket...). El destino no se cierra.
+     * 
+     * @param idImage ID de la imagen
+     * @param destino canal donde escribir la imagen
+     * @return cantidad de bytes copiados
+     * @throws IOException si hay error al leer o al escribir
+     */
+    public long transferirImagen(Integer idImage, WritableByteChannel destino) throws IOException {
+        Image image = imageRepository.findById(idImage)
+                .orElseThrow(() -> new EntidadNoEncontradaException("Image", idImage));
+
+        return fileStorage.transferirArchivo(image.getLink(), destino);
+    }
+
     /**
      * Obtiene los bytes de una imagen por su ruta.
      * 
@@ -98,7 +303,8 @@ public class ImageService {
      * @param idImage        ID de la imagen a actualizar
      * @param nuevoContenido nuevos bytes de la imagen
      * @param nuevoNombre    nuevo nombre del archivo
-     * @return imagen actualizada
+     * @return imagen actualizada (por contenido, la imagen del nuevo
+     *         contenido, con otro ID: la anterior puede estar compartida)
      * @throws IOException si hay error al guardar el archivo
      */
     public Image actualizarImagen(Integer idImage, byte[] nuevoContenido, String nuevoNombre)
@@ -108,7 +314,14 @@ public class ImageService {
         Image image = imageRepository.findById(idImage)
                 .orElseThrow(() -> new EntidadNoEncontradaException("Image", idImage));
 
-        // 2. Eliminar archivo anterior
+        if (fileStorage.esPorContenido()) {
+            Image nueva = guardarImagen(null, 0, nuevoNombre, nuevoContenido);
+            liberarReferencia(image);
+            return nueva;
+        }
+
+        // 2. Eliminar archivo anterior y sus variantes
+        quitarVariantes(image);
         fileStorage.eliminarArchivo(image.getLink());
 
         // 3. Guardar nuevo archivo (reutilizando misma ruta base si es posible)
@@ -122,10 +335,47 @@ public class ImageService {
                 nuevoNombre,
                 nuevoContenido);
 
-        // 4. Actualizar metadata
+        // 4. Actualizar metadata y encolar las nuevas variantes
         image.setLink(rutaRelativa);
 
-        return imageRepository.update(image);
+        return encolarVariantes(imageRepository.update(image));
+    }
+
+    /**
+     * Actualiza una imagen existente con nuevo contenido leído de un canal.
+     * El canal no se cierra.
+     * 
+     * @param idImage        ID de la imagen a actualizar
+     * @param nuevoContenido canal con el nuevo contenido de la imagen
+     * @param nuevoNombre    nuevo nombre del archivo
+     * @return imagen actualizada (por contenido, la imagen del nuevo
+     *         contenido, con otro ID: la anterior puede estar compartida)
+     * @throws IOException si hay error al leer el canal o al guardar el
+     *                     archivo
+     */
+    public Image actualizarImagen(Integer idImage, ReadableByteChannel nuevoContenido, String nuevoNombre)
+            throws IOException {
+        Image image = imageRepository.findById(idImage)
+                .orElseThrow(() -> new EntidadNoEncontradaException("Image", idImage));
+
+        if (fileStorage.esPorContenido()) {
+            Image nueva = guardarImagen(null, 0, nuevoNombre, nuevoContenido);
+            liberarReferencia(image);
+            return nueva;
+        }
+
+        quitarVariantes(image);
+        fileStorage.eliminarArchivo(image.getLink());
+
+        String rutaRelativa = fileStorage.guardarArchivo(
+                extraerTipo(image.getLink()),
+                extraerIdEntidad(image.getLink()),
+                nuevoNombre,
+                nuevoContenido);
+
+        image.setLink(rutaRelativa);
+
+        return encolarVariantes(imageRepository.update(image));
     }
 
     /**
@@ -140,7 +390,13 @@ public class ImageService {
         Image image = imageRepository.findById(idImage)
                 .orElseThrow(() -> new EntidadNoEncontradaException("Image", idImage));
 
-        // Eliminar archivo físico
+        // Un archivo compartido no se elimina por uno de sus usos
+        if (fileStorage.esPorContenido() && image.getReferencias() > 1) {
+            return false;
+        }
+
+        // Eliminar archivo físico y sus variantes
+        quitarVariantes(image);
         return fileStorage.eliminarArchivo(image.getLink());
     }
 
@@ -161,7 +417,17 @@ public class ImageService {
 
         Image image = imageOpt.get();
 
-        // 2. Eliminar archivo físico
+        if (fileStorage.esPorContenido()) {
+            liberarReferencia(image);
+            return true;
+        }
+        if (unitOfWork != null) {
+            // Registro, archivo y variantes en la misma transacción
+            return liberarReferencia(image);
+        }
+
+        // 2. Eliminar archivo físico (las variantes se eliminan con el registro)
+        GeneradorVariantes.eliminarArchivos(image, fileStorage, imageRepository);
         fileStorage.eliminarArchivo(image.getLink());
 
         // 3. Eliminar de BD
@@ -180,11 +446,94 @@ public class ImageService {
 
     // ==================== MÉTODOS AUXILIARES ====================
 
+    /**
+     * Quita un uso de una imagen dentro de la transacción de conn y, si ya
+     * no le quedan (o el almacenamiento no es por contenido), elimina su
+     * registro, su archivo y los de sus variantes. Los archivos se eliminan
+     * antes del commit, mientras la fila liberada sigue bloqueada.
+     * 
+     * Compartido con PerfilUsuarioService, que libera la foto anterior en
+     * su propia transacción.
+     * 
+     * @param image            imagen leída con sus variantes
+     * @param conn             conexión de la transacción
+     * @param fileStorage      almacenamiento de archivos
+     * @param imageRepository  repositorio de imágenes
+     * @param imageReferencias cuenta de referencias (si fileStorage es por
+     *                         contenido)
+     * @return true si se eliminó la imagen (por contenido, si era la última
+     *         referencia)
+     * @throws SQLException si hay error en la BD
+     */
+    static boolean liberarImagen(Image image, Connection conn, FileStorage fileStorage,
+            ImageRepository imageRepository, ImageReferenciaRepository imageReferencias)
+            throws SQLException, IOException {
+        boolean eliminada = fileStorage.esPorContenido()
+                ? imageReferencias.liberar(image.getIdImage(), conn)
+                : imageRepository.delete(image.getIdImage(), conn);
+        if (eliminada) {
+            GeneradorVariantes.eliminarArchivos(image, fileStorage, imageRepository);
+            fileStorage.eliminarArchivo(image.getLink());
+        }
+        return eliminada;
+    }
+
+    /**
+     * Quita una referencia a la imagen (por ruta, la imagen entera) y elimina
+     * sus archivos si era la última ({@link #liberarImagen} en una transacción propia, o en la que esté en
+     * curso).
+     */
+    private boolean liberarReferencia(Image image) throws IOException {
+        try {
+            return unitOfWork.execute(
+                    conn -> liberarImagen(image, conn, fileStorage, imageRepository, imageReferencias));
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Encola la generación de las variantes de una imagen recién guardada.
+     */
+    private Image encolarVariantes(Image image) {
+        if (generadorVariantes != null && image.getIdImage() != null) {
+            generadorVariantes.encolar(image.getIdImage());
+        }
+        return image;
+    }
+
+    /**
+     * Quita las variantes de una imagen cuyo contenido se elimina o cambia,
+     * con sus archivos.
+     */
+    private void quitarVariantes(Image image) {
+        Image anterior = new Image(image.getLink());
+        anterior.setVariantes(imageVariantes != null
+                ? imageVariantes.eliminarVariantes(image.getIdImage())
+                : image.getVariantes());
+        GeneradorVariantes.eliminarArchivos(anterior, fileStorage, imageRepository);
+        image.setVariantes(null);
+    }
+
+    /**
+     * Vuelve a escribir el archivo si una liberación concurrente de la
+     * última referencia lo eliminó entre guardarlo y referenciarlo.
+     */
+    private void asegurarArchivo(String ruta, String tipo, int idEntidad, String nombreArchivo, byte[] contenido)
+            throws IOException {
+        if (!fileStorage.existeArchivo(ruta)) {
+            fileStorage.guardarArchivo(tipo, idEntidad, nombreArchivo, contenido);
+        }
+    }
+
     /**
      * Extrae el ID de la entidad desde la ruta.
      * Ejemplo: "usuarios/36/perfil.jpg" → 36
      */
-    private int extraerIdEntidad(String rutaRelativa) {
+    static int extraerIdEntidad(String rutaRelativa) {
         String[] partes = rutaRelativa.split("/");
         if (partes.length >= 2) {
             try {
@@ -200,7 +549,7 @@ public class ImageService {
      * Extrae el tipo de una ruta relativa.
      * Ejemplo: "usuarios/36/perfil.jpg" → "usuarios"
      */
-    private String extraerTipo(String rutaRelativa) {
+    static String extraerTipo(String rutaRelativa) {
         String[] partes = rutaRelativa.split("/");
         if (partes.length >= 1) {
             return partes[0];
@@ -1,17 +1,25 @@
 package com.guma.backend.services;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.guma.backend.ports.FileStorage;
+import com.guma.backend.ports.ImageReferenciaRepository;
 import com.guma.backend.ports.ImageRepository;
 import com.guma.backend.ports.PerfilUsuarioRepository;
 import com.guma.backend.ports.UsuarioRepository;
 import com.guma.domain.entities.Image;
 import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.exceptions.ConflictoVersionException;
 import com.guma.domain.exceptions.DniDuplicadoException;
 import com.guma.domain.exceptions.EntidadNoEncontradaException;
 import com.guma.domain.exceptions.PerfilDuplicadoException;
@@ -32,9 +40,11 @@ public class PerfilUsuarioService {
     private final UsuarioRepository usuarioRepository;
     private final FileStorage fileStorage;
     private final ImageRepository imageRepository;
+    private final ImageReferenciaRepository imageReferencias;
 
     /**
-     * Constructor que inyecta las dependencias necesarias.
+     * Constructor que inyecta las dependencias necesarias, para un
+     * FileStorage que no es por contenido.
      * 
      * @param perfilRepository  repositorio de perfiles
      * @param usuarioRepository repositorio de usuarios
@@ -44,14 +54,36 @@ public class PerfilUsuarioService {
     public PerfilUsuarioService(PerfilUsuarioRepository perfilRepository,
             UsuarioRepository usuarioRepository, FileStorage fileStorage,
             ImageRepository imageRepository) {
+        this(perfilRepository, usuarioRepository, fileStorage, imageRepository, null);
+    }
+
+    /**
+     * Constructor que inyecta las dependencias necesarias y la cuenta de
+     * referencias de las imágenes compartidas.
+     * 
+     * @param perfilRepository  repositorio de perfiles
+     * @param usuarioRepository repositorio de usuarios
+     * @param fileStorage       servicio de almacenamiento de archivos
+     * @param imageRepository   repositorio de imágenes
+     * @param imageReferencias  cuenta de referencias (obligatoria si
+     *                          fileStorage es por contenido; si no, null)
+     */
+    public PerfilUsuarioService(PerfilUsuarioRepository perfilRepository,
+            UsuarioRepository usuarioRepository, FileStorage fileStorage,
+            ImageRepository imageRepository, ImageReferenciaRepository imageReferencias) {
         if (perfilRepository == null || usuarioRepository == null ||
                 fileStorage == null || imageRepository == null) {
             throw new IllegalArgumentException("Los repositorios y servicios no pueden ser nulos");
         }
+        if (fileStorage.esPorContenido() && imageReferencias == null) {
+            throw new IllegalArgumentException(
+                    "El almacenamiento por contenido requiere la cuenta de referencias de imágenes");
+        }
         this.perfilRepository = perfilRepository;
         this.usuarioRepository = usuarioRepository;
         this.fileStorage = fileStorage;
         this.imageRepository = imageRepository;
+        this.imageReferencias = imageReferencias;
     }
 
     /**
@@ -144,33 +176,35 @@ public class PerfilUsuarioService {
     }
 
     /**
-     * Actualiza un perfil existente.
+     * Crea varios perfiles usando INSERT por lotes dentro de una transacción.
+     * Como en {@link #crearPerfil(Integer, Integer, String, String, String, LocalDate, String, Connection)},
+     * las constraints UNIQUE (id_usuario, dni) las valida la base de datos.
      * 
-     * @param perfil el perfil con los datos actualizados
-     * @return el perfil actualizado
+     * @param perfiles perfiles nuevos (sin ID)
+     * @param conn     la conexión transaccional a usar
+     * @return los perfiles creados con su ID asignado, en el mismo orden
+     * @throws SQLException si ocurre un error de base de datos
+     */
+    public List<PerfilUsuario> crearPerfiles(List<PerfilUsuario> perfiles, Connection conn) throws SQLException {
+        return perfilRepository.saveAll(perfiles, conn);
+    }
+
+    /**
+     * Actualiza un perfil existente con un único UPDATE condicional.
+     * 
+     * La existencia, la versión (concurrencia optimista) y la unicidad del DNI
+     * las verifica el repositorio en la misma sentencia, sin lecturas previas.
+     * 
+     * @param perfil el perfil con los datos actualizados (con la versión leída)
+     * @return el perfil actualizado, con la nueva versión
      * @throws EntidadNoEncontradaException si el perfil no existe
+     * @throws ConflictoVersionException    si otro usuario modificó el perfil
      * @throws DniDuplicadoException        si el DNI ya existe en otro perfil
      */
     public PerfilUsuario actualizarPerfil(PerfilUsuario perfil) {
         if (perfil == null || perfil.getIdPerfilUsuario() == null) {
             throw new IllegalArgumentException("El perfil debe tener un ID");
         }
-
-        // Verificar que el perfil exista
-        perfilRepository.findById(perfil.getIdPerfilUsuario())
-                .orElseThrow(() -> new EntidadNoEncontradaException(
-                        "PerfilUsuario", perfil.getIdPerfilUsuario()));
-
-        // Si cambió el DNI, validar que no exista (solo si el DNI no es null)
-        // NULL significa "sin DNI asignado" y puede haber múltiples usuarios sin DNI
-        if (perfil.getDni() != null) {
-            Optional<PerfilUsuario> perfilConDni = perfilRepository.findByDni(perfil.getDni());
-            if (perfilConDni.isPresent() &&
-                    !perfilConDni.get().getIdPerfilUsuario().equals(perfil.getIdPerfilUsuario())) {
-                throw new DniDuplicadoException(perfil.getDni());
-            }
-        }
-
         return perfilRepository.update(perfil);
     }
 
@@ -183,43 +217,81 @@ public class PerfilUsuarioService {
      * @param conn       conexión transaccional
      * @return el perfil actualizado
      * @throws EntidadNoEncontradaException si el perfil no existe
+     * @throws ConflictoVersionException    si otro usuario modificó el perfil
      * @throws DniDuplicadoException        si el DNI ya existe en otro perfil
      * @throws IOException                  si falla el guardado de la foto
      */
     public PerfilUsuario actualizarPerfil(PerfilUsuario perfil, byte[] fotoBytes,
             String nombreFoto, Connection conn) throws SQLException, IOException {
+        FuenteFoto fuente = fotoBytes != null && fotoBytes.length > 0
+                ? () -> Channels.newChannel(new ByteArrayInputStream(fotoBytes))
+                : null;
+        return actualizarPerfil(perfil, fuente, nombreFoto, conn);
+    }
+
+    /**
+     * Actualiza un perfil existente con foto opcional leída de un canal.
+     * 
+     * La foto se copia al FileStorage por partes, sin cargarla entera en
+     * memoria. El canal se lee hasta el final y no se cierra. Con un
+     * FileStorage por contenido, si una liberación concurrente elimina el
+     * archivo antes de referenciarlo, se vuelve a escribir releyendo el canal
+     * desde su posición inicial (con un SeekableByteChannel, como un
+     * FileChannel); con otros canales la actualización falla y se puede
+     * reintentar.
+     * 
+     * @param perfil     el perfil con los datos actualizados
+     * @param foto       canal con la nueva foto (null si no se cambia)
+     * @param nombreFoto nombre del archivo de foto
+     * @param conn       conexión transaccional
+     * @return el perfil actualizado
+     * @throws EntidadNoEncontradaException si el perfil no existe
+     * @throws ConflictoVersionException    si otro usuario modificó el perfil
+     * @throws DniDuplicadoException        si el DNI ya existe en otro perfil
+     * @throws IOException                  si falla el guardado de la foto
+     */
+    public PerfilUsuario actualizarPerfil(PerfilUsuario perfil, ReadableByteChannel foto,
+            String nombreFoto, Connection conn) throws SQLException, IOException {
+        return actualizarPerfil(perfil, foto != null ? fuente(foto) : null, nombreFoto, conn);
+    }
+
+    private PerfilUsuario actualizarPerfil(PerfilUsuario perfil, FuenteFoto foto,
+            String nombreFoto, Connection conn) throws SQLException, IOException {
 
         if (perfil == null || perfil.getIdPerfilUsuario() == null) {
             throw new IllegalArgumentException("El perfil debe tener un ID");
         }
 
-        // Verificar que el perfil exista
+        // Verificar que el perfil exista (se necesitan el usuario y la foto actual).
+        // La versión y el DNI duplicado los verifica el UPDATE condicional.
         PerfilUsuario perfilExistente = perfilRepository.findById(perfil.getIdPerfilUsuario())
                 .orElseThrow(() -> new EntidadNoEncontradaException(
                         "PerfilUsuario", perfil.getIdPerfilUsuario()));
 
-        // Si cambió el DNI, validar que no exista
-        if (perfil.getDni() != null) {
-            Optional<PerfilUsuario> perfilConDni = perfilRepository.findByDni(perfil.getDni());
-            if (perfilConDni.isPresent() &&
-                    !perfilConDni.get().getIdPerfilUsuario().equals(perfil.getIdPerfilUsuario())) {
-                throw new DniDuplicadoException(perfil.getDni());
-            }
-        }
-
         // Si hay nueva foto, guardarla
-        if (fotoBytes != null && fotoBytes.length > 0 && nombreFoto != null) {
+        if (foto != null && nombreFoto != null) {
             try {
                 // 1. Guardar archivo físico con FileStorage
                 String rutaFoto = fileStorage.guardarArchivo(
                         "usuario_perfil",
                         perfilExistente.getIdUsuario(),
                         nombreFoto,
-                        fotoBytes);
+                        foto.abrir());
 
                 // 2. Crear nuevo registro de imagen EN LA MISMA TRANSACCIÓN
-                Image nuevaImagen = new Image(rutaFoto);
-                Image imagenGuardada = imageRepository.save(nuevaImagen, conn);
+                // (por contenido: una referencia más a la imagen de ese
+                // contenido, y el archivo de nuevo si una liberación
+                // concurrente lo eliminó antes de referenciarlo)
+                Image imagenGuardada;
+                if (fileStorage.esPorContenido()) {
+                    imagenGuardada = imageReferencias.referenciar(rutaFoto, conn);
+                    if (!fileStorage.existeArchivo(rutaFoto)) {
+                        fileStorage.guardarArchivo("usuario_perfil", perfilExistente.getIdUsuario(),
+                                nombreFoto, foto.abrir());
+                    }
+                } else {
+                    imagenGuardada = imageRepository.save(new Image(rutaFoto), conn);
+                }
 
                 // 3. Guardar ID de imagen anterior para eliminar después
                 Integer imagenAnteriorId = perfilExistente.getFotoPerfil();
@@ -231,13 +303,14 @@ public class PerfilUsuarioService {
                 PerfilUsuario perfilActualizado = perfilRepository.update(perfil, conn);
 
                 // 6. AHORA eliminar imagen anterior si existía (ya no hay FK constraint)
+                // EN LA MISMA TRANSACCIÓN, con los archivos de sus variantes
+                // (por contenido puede ser compartida: se elimina solo con
+                // la última referencia)
                 if (imagenAnteriorId != null) {
                     Optional<Image> imagenAnterior = imageRepository.findById(imagenAnteriorId);
                     if (imagenAnterior.isPresent()) {
-                        // Eliminar archivo físico
-                        fileStorage.eliminarArchivo(imagenAnterior.get().getLink());
-                        // Eliminar registro de BD EN LA MISMA TRANSACCIÓN
-                        imageRepository.delete(imagenAnteriorId, conn);
+                        ImageService.liberarImagen(imagenAnterior.get(), conn,
+                                fileStorage, imageRepository, imageReferencias);
                     }
                 }
 
@@ -308,4 +381,30 @@ public class PerfilUsuarioService {
                         "PerfilUsuario", idPerfilUsuario));
         return perfil.estaCompleto();
     }
+
+    // ==================== FOTO POR CANAL ====================
+
+    /**
+     * Origen de la foto: cada llamada a abrir() entrega el contenido desde el
+     * principio, para poder volver a escribir el archivo.
+     */
+    @FunctionalInterface
+    private interface FuenteFoto {
+        ReadableByteChannel abrir() throws IOException;
+    }
+
+    private static FuenteFoto fuente(ReadableByteChannel canal) throws IOException {
+        if (canal instanceof SeekableByteChannel) {
+            SeekableByteChannel seekable = (SeekableByteChannel) canal;
+            long inicio = seekable.position();
+            return () -> seekable.position(inicio);
+        }
+        AtomicBoolean leido = new AtomicBoolean();
+        return () -> {
+            if (leido.getAndSet(true)) {
+                throw new IOException("La foto se eliminó mientras se guardaba; vuelva a intentarlo");
+            }
+            return canal;
+        };
+    }
 }
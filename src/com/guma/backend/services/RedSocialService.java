@@ -4,9 +4,11 @@ import com.guma.backend.ports.RedSocialRepository;
 import com.guma.domain.entities.RedSocial;
 import com.guma.domain.exceptions.EntidadDuplicadaException;
 import com.guma.domain.exceptions.EntidadNoEncontradaException;
+import com.guma.domain.valueobjects.Pagina;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Servicio de backend para gestión de redes sociales.
@@ -57,4 +59,25 @@ public class RedSocialService {
     public List<RedSocial> obtenerTodas() {
         return redSocialRepository.findAll();
     }
+    
+    /**
+     * Obtiene una página de redes sociales ordenadas por ID.
+     * 
+     * @param despuesDeId último ID de la página anterior, o null para la primera
+     * @param limite      tamaño de página (1 a Pagina.LIMITE_MAXIMO)
+     * @throws IllegalArgumentException si el tamaño de página es inválido
+     */
+    public Pagina<RedSocial> obtenerPagina(Integer despuesDeId, int limite) {
+        Pagina.validarLimite(limite);
+        return redSocialRepository.findPagina(despuesDeId, limite);
+    }
+    
+    /**
+     * Recorre todas las redes sociales sin cargarlas juntas en memoria.
+     * 
+     * @param consumidor recibe cada red social, en orden de ID
+     */
+    public void recorrerTodas(Consumer<? super RedSocial> consumidor) {
+        redSocialRepository.findAll(consumidor);
+    }
 }
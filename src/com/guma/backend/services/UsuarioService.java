@@ -2,9 +2,16 @@ package com.guma.backend.services;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.guma.backend.ports.RolRepository;
+import com.guma.backend.ports.SesionUsuarioRepository;
+import com.guma.backend.ports.UltimaConexionRepository;
 import com.guma.backend.ports.UsuarioRepository;
 import com.guma.domain.entities.Rol;
 import com.guma.domain.entities.Usuario;
@@ -14,6 +21,7 @@ import com.guma.domain.exceptions.PasswordDebilException;
 import com.guma.domain.exceptions.UsuarioDuplicadoException;
 import com.guma.domain.valueobjects.Email;
 import com.guma.domain.valueobjects.Password;
+import com.guma.domain.valueobjects.SesionUsuario;
 
 /**
  * Servicio que gestiona la lógica de negocio relacionada con usuarios.
@@ -29,6 +37,8 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final RolRepository rolRepository;
+    private final SesionUsuarioRepository sesionRepository;
+    private final UltimaConexionRepository ultimaConexionRepository;
 
     /**
      * Constructor que inyecta las dependencias necesarias.
@@ -37,11 +47,29 @@ public class UsuarioService {
      * @param rolRepository     repositorio de roles
      */
     public UsuarioService(UsuarioRepository usuarioRepository, RolRepository rolRepository) {
+        this(usuarioRepository, rolRepository, null, null);
+    }
+
+    /**
+     * Constructor que además inyecta los repositorios usados por el login:
+     * datos de sesión en una sola consulta y registro diferido de la
+     * última conexión.
+     * 
+     * @param usuarioRepository repositorio de usuarios
+     * @param rolRepository     repositorio de roles
+     * @param sesionRepository  repositorio de datos de sesión (puede ser null)
+     * @param ultimaConexionRepository registro diferido de última conexión (puede
+     *                                 ser null: se usa UsuarioRepository.update)
+     */
+    public UsuarioService(UsuarioRepository usuarioRepository, RolRepository rolRepository,
+            SesionUsuarioRepository sesionRepository, UltimaConexionRepository ultimaConexionRepository) {
         if (usuarioRepository == null || rolRepository == null) {
             throw new IllegalArgumentException("Los repositorios no pueden ser nulos");
         }
         this.usuarioRepository = usuarioRepository;
         this.rolRepository = rolRepository;
+        this.sesionRepository = sesionRepository;
+        this.ultimaConexionRepository = ultimaConexionRepository;
     }
 
     /**
@@ -127,6 +155,42 @@ public class UsuarioService {
         return usuarioRepository.save(nuevoUsuario, conn);
     }
 
+    /**
+     * Registra varios usuarios con el rol por defecto usando INSERT por lotes.
+     * 
+     * Pensado para importaciones masivas: las contraseñas llegan ya
+     * encriptadas (Password.crear) para que el hashing BCrypt pueda hacerse
+     * en paralelo fuera de la transacción, y la unicidad de los emails debe
+     * verificarse antes con {@link #buscarEmailsRegistrados(Collection)}.
+     * La base de datos sigue rechazando duplicados por la constraint UNIQUE.
+     * 
+     * @param credenciales email y password de cada usuario, en orden de inserción
+     * @param conn         la conexión transaccional a usar
+     * @return los usuarios registrados con su ID asignado, en el mismo orden
+     * @throws SQLException                 si ocurre un error de base de datos
+     * @throws EntidadNoEncontradaException si no existe el rol por defecto
+     */
+    public List<Usuario> registrarUsuarios(Map<Email, Password> credenciales, Connection conn)
+            throws SQLException {
+        Integer idRol = rolRepository.getRolPorDefecto().getIdRol();
+
+        List<Usuario> nuevos = new ArrayList<>(credenciales.size());
+        for (Map.Entry<Email, Password> credencial : credenciales.entrySet()) {
+            nuevos.add(new Usuario(null, credencial.getKey(), credencial.getValue(), idRol, true, null));
+        }
+        return usuarioRepository.saveAll(nuevos, conn);
+    }
+
+    /**
+     * Obtiene, de un conjunto de emails, los que ya están registrados.
+     * 
+     * @param emails los emails a verificar
+     * @return valores normalizados de los emails ya registrados
+     */
+    public Set<String> buscarEmailsRegistrados(Collection<Email> emails) {
+        return usuarioRepository.findEmailsRegistrados(emails);
+    }
+
     /**
      * Valida si un email está disponible para registro.
      * 
@@ -183,9 +247,49 @@ public class UsuarioService {
 
         // Actualizar última conexión
         usuario.actualizarUltimaConexion();
+        registrarUltimaConexion(usuario);
+
+        return usuario;
+    }
+
+    /**
+     * Autentica un usuario y retorna en un solo paso su perfil y su rol.
+     * 
+     * Si hay SesionUsuarioRepository configurado, usuario, perfil y rol se
+     * obtienen con una única consulta; si no, se autentica con
+     * {@link #iniciarSesion(String, String)} y la sesión solo incluye el
+     * usuario (perfil y rol en null).
+     * 
+     * @param emailStr    el email del usuario
+     * @param passwordStr la contraseña sin encriptar
+     * @return datos de sesión con última conexión actualizada
+     * @throws EntidadNoEncontradaException si el usuario no existe o la contraseña
+     *                                      es incorrecta
+     * @throws EmailInvalidoException       si el formato del email es inválido
+     */
+    public SesionUsuario iniciarSesionConPerfil(String emailStr, String passwordStr) {
+        if (sesionRepository == null) {
+            return new SesionUsuario(iniciarSesion(emailStr, passwordStr), null, null);
+        }
+
+        Email email = Email.crear(emailStr);
+
+        // Buscar usuario, perfil y rol en una sola consulta
+        SesionUsuario sesion = sesionRepository.findByEmail(email)
+                .orElseThrow(() -> new EntidadNoEncontradaException("Usuario con email: " + emailStr));
+
+        Usuario usuario = sesion.getUsuario();
+
+        // Verificar contraseña
+        if (!usuario.getPassword().verificar(passwordStr)) {
+            throw new EntidadNoEncontradaException("Credenciales inválidas");
+        }
+
+        // Actualizar última conexión
+        usuario.actualizarUltimaConexion();
+        registrarUltimaConexion(usuario);
 
-        // Guardar cambios
-        return usuarioRepository.update(usuario);
+        return sesion;
     }
 
     /**
@@ -223,4 +327,17 @@ public class UsuarioService {
         usuario.verificarEmail();
         usuarioRepository.update(usuario);
     }
+
+    /**
+     * Persiste la última conexión del usuario.
+     * Con UltimaConexionRepository la escritura es diferida y no bloquea el
+     * login; sin él se guarda el usuario completo.
+     */
+    private void registrarUltimaConexion(Usuario usuario) {
+        if (ultimaConexionRepository != null) {
+            ultimaConexionRepository.registrar(usuario.getIdUsuario(), usuario.getUltimaConexion());
+        } else {
+            usuarioRepository.update(usuario);
+        }
+    }
 }
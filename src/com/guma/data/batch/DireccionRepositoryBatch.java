@@ -0,0 +1,83 @@
+package com.guma.data.batch;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Optional;
+
+import com.guma.backend.ports.DireccionRepository;
+import com.guma.domain.entities.Direccion;
+
+/**
+ * Decorador de DireccionRepository que implementa saveAll con INSERT por
+ * lotes. El resto de las operaciones se delega al repositorio decorado.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class DireccionRepositoryBatch implements DireccionRepository {
+
+    private static final String SQL_INSERT = "INSERT INTO DIRECCIONES "
+            + "(nombre, codigo_postal, calle, numero, depto, referencia, latitud, longitud, id_localidad) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DireccionRepository delegate;
+    private final JdbcBatchInsert<Direccion> insert;
+
+    /**
+     * @param delegate    repositorio decorado
+     * @param tamanioLote filas por executeBatch
+     */
+    public DireccionRepositoryBatch(DireccionRepository delegate, int tamanioLote) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("El repositorio no puede ser nulo");
+        }
+        this.delegate = delegate;
+        this.insert = new JdbcBatchInsert<>(SQL_INSERT, (stmt, direccion) -> {
+            stmt.setString(1, direccion.getNombre());
+            stmt.setString(2, direccion.getCodigoPostal());
+            stmt.setString(3, direccion.getCalle());
+            stmt.setString(4, direccion.getNumero());
+            stmt.setString(5, direccion.getDepto());
+            stmt.setString(6, direccion.getReferencia());
+            setDouble(stmt, 7, direccion.getLatitud());
+            setDouble(stmt, 8, direccion.getLongitud());
+            stmt.setInt(9, direccion.getIdLocalidad());
+        }, Direccion::setIdDireccion, tamanioLote);
+    }
+
+    @Override
+    public List<Direccion> saveAll(List<Direccion> direcciones, Connection conn) throws SQLException {
+        return insert.insertar(direcciones, conn);
+    }
+
+    @Override
+    public Direccion save(Direccion direccion) throws SQLException {
+        return delegate.save(direccion);
+    }
+
+    @Override
+    public Optional<Direccion> findById(Integer id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Direccion update(Direccion direccion) throws SQLException {
+        return delegate.update(direccion);
+    }
+
+    @Override
+    public boolean delete(Integer id) throws SQLException {
+        return delegate.delete(id);
+    }
+
+    private static void setDouble(PreparedStatement stmt, int indice, Double valor) throws SQLException {
+        if (valor != null) {
+            stmt.setDouble(indice, valor);
+        } else {
+            stmt.setNull(indice, Types.DOUBLE);
+        }
+    }
+}
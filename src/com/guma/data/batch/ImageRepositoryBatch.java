@@ -0,0 +1,83 @@
+package com.guma.data.batch;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import com.guma.backend.ports.ImageRepository;
+import com.guma.domain.entities.Image;
+
+/**
+ * Decorador de ImageRepository que implementa saveAll con INSERT por lotes.
+ * El resto de las operaciones se delega al repositorio decorado.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ImageRepositoryBatch implements ImageRepository {
+
+    private static final String SQL_INSERT = "INSERT INTO IMAGES (link) VALUES (?)";
+
+    private final ImageRepository delegate;
+    private final JdbcBatchInsert<Image> insert;
+
+    /**
+     * @param delegate    repositorio decorado
+     * @param tamanioLote filas por executeBatch
+     */
+    public ImageRepositoryBatch(ImageRepository delegate, int tamanioLote) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("El repositorio no puede ser nulo");
+        }
+        this.delegate = delegate;
+        this.insert = new JdbcBatchInsert<>(SQL_INSERT,
+                (stmt, image) -> stmt.setString(1, image.getLink()),
+                Image::setIdImage, tamanioLote);
+    }
+
+    @Override
+    public List<Image> saveAll(List<Image> images, Connection conn) throws SQLException {
+        return insert.insertar(images, conn);
+    }
+
+    @Override
+    public Image save(Image image) {
+        return delegate.save(image);
+    }
+
+    @Override
+    public Image save(Image image, Connection conn) throws SQLException {
+        return delegate.save(image, conn);
+    }
+
+    @Override
+    public Optional<Image> findById(Integer id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Image> findByLink(String link) {
+        return delegate.findByLink(link);
+    }
+
+    @Override
+    public Image update(Image image) {
+        return delegate.update(image);
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        return delegate.delete(id);
+    }
+
+    @Override
+    public boolean delete(Integer id, Connection conn) throws SQLException {
+        return delegate.delete(id, conn);
+    }
+
+    @Override
+    public boolean existsById(Integer id) {
+        return delegate.existsById(id);
+    }
+}
@@ -0,0 +1,117 @@
+package com.guma.data.batch;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Optional;
+
+import com.guma.backend.ports.PerfilUsuarioRepository;
+import com.guma.domain.entities.PerfilUsuario;
+
+/**
+ * Decorador de PerfilUsuarioRepository que implementa saveAll con INSERT por
+ * lotes. El resto de las operaciones se delega al repositorio decorado.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class PerfilUsuarioRepositoryBatch implements PerfilUsuarioRepository {
+
+    private static final String SQL_INSERT = "INSERT INTO PERFIL_USUARIOS "
+            + "(id_usuario, id_sexo, dni, nombre, apellido, fecha_nacimiento, email, telefono, "
+            + "id_direccion, id_red_social, foto_perfil, verificado) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final PerfilUsuarioRepository delegate;
+    private final JdbcBatchInsert<PerfilUsuario> insert;
+
+    /**
+     * @param delegate    repositorio decorado
+     * @param tamanioLote filas por executeBatch
+     */
+    public PerfilUsuarioRepositoryBatch(PerfilUsuarioRepository delegate, int tamanioLote) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("El repositorio no puede ser nulo");
+        }
+        this.delegate = delegate;
+        this.insert = new JdbcBatchInsert<>(SQL_INSERT, (stmt, perfil) -> {
+            stmt.setInt(1, perfil.getIdUsuario());
+            setInteger(stmt, 2, perfil.getIdSexo());
+            stmt.setString(3, perfil.getDni());
+            stmt.setString(4, perfil.getNombre());
+            stmt.setString(5, perfil.getApellido());
+            if (perfil.getFechaNacimiento() != null) {
+                stmt.setDate(6, Date.valueOf(perfil.getFechaNacimiento()));
+            } else {
+                stmt.setNull(6, Types.DATE);
+            }
+            stmt.setString(7, perfil.getEmail());
+            stmt.setString(8, perfil.getTelefono());
+            setInteger(stmt, 9, perfil.getIdDireccion());
+            setInteger(stmt, 10, perfil.getIdRedSocial());
+            setInteger(stmt, 11, perfil.getFotoPerfil());
+            stmt.setBoolean(12, perfil.isVerificado());
+        }, PerfilUsuario::setIdPerfilUsuario, tamanioLote);
+    }
+
+    @Override
+    public List<PerfilUsuario> saveAll(List<PerfilUsuario> perfiles, Connection conn) throws SQLException {
+        return insert.insertar(perfiles, conn);
+    }
+
+    @Override
+    public Optional<PerfilUsuario> findById(Integer idPerfilUsuario) {
+        return delegate.findById(idPerfilUsuario);
+    }
+
+    @Override
+    public Optional<PerfilUsuario> findByUsuarioId(Integer idUsuario) {
+        return delegate.findByUsuarioId(idUsuario);
+    }
+
+    @Override
+    public Optional<PerfilUsuario> findByDni(String dni) {
+        return delegate.findByDni(dni);
+    }
+
+    @Override
+    public PerfilUsuario save(PerfilUsuario perfil) {
+        return delegate.save(perfil);
+    }
+
+    @Override
+    public PerfilUsuario save(PerfilUsuario perfil, Connection conn) throws SQLException {
+        return delegate.save(perfil, conn);
+    }
+
+    @Override
+    public PerfilUsuario update(PerfilUsuario perfil) {
+        return delegate.update(perfil);
+    }
+
+    @Override
+    public PerfilUsuario update(PerfilUsuario perfil, Connection conn) throws SQLException {
+        return delegate.update(perfil, conn);
+    }
+
+    @Override
+    public boolean existsByUsuarioId(Integer idUsuario) {
+        return delegate.existsByUsuarioId(idUsuario);
+    }
+
+    @Override
+    public boolean existsByDni(String dni) {
+        return delegate.existsByDni(dni);
+    }
+
+    private static void setInteger(PreparedStatement stmt, int indice, Integer valor) throws SQLException {
+        if (valor != null) {
+            stmt.setInt(indice, valor);
+        } else {
+            stmt.setNull(indice, Types.INTEGER);
+        }
+    }
+}
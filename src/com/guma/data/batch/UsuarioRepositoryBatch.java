@@ -0,0 +1,140 @@
+package com.guma.data.batch;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.UsuarioRepository;
+import com.guma.domain.entities.Usuario;
+import com.guma.domain.valueobjects.Email;
+
+/**
+ * Decorador de UsuarioRepository que implementa saveAll con INSERT por lotes
+ * y findEmailsRegistrados con consultas IN (...). El resto de las operaciones
+ * se delega al repositorio decorado.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class UsuarioRepositoryBatch implements UsuarioRepository {
+
+    private static final String SQL_INSERT = "INSERT INTO USUARIOS "
+            + "(email, password, id_rol, verified, ultima_conexion) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SQL_EMAILS_REGISTRADOS = "SELECT email FROM USUARIOS WHERE email IN (";
+
+    private final UsuarioRepository delegate;
+    private final DataSource dataSource;
+    private final JdbcBatchInsert<Usuario> insert;
+    private final int tamanioLote;
+
+    /**
+     * @param delegate    repositorio decorado
+     * @param dataSource  origen de conexiones para las consultas por lote
+     * @param tamanioLote filas por executeBatch y emails por consulta IN
+     */
+    public UsuarioRepositoryBatch(UsuarioRepository delegate, DataSource dataSource, int tamanioLote) {
+        if (delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El repositorio y el DataSource no pueden ser nulos");
+        }
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.tamanioLote = tamanioLote;
+        this.insert = new JdbcBatchInsert<>(SQL_INSERT, (stmt, usuario) -> {
+            stmt.setString(1, usuario.getEmail().getValor());
+            stmt.setString(2, usuario.getPassword().getHash());
+            stmt.setInt(3, usuario.getIdRol());
+            stmt.setBoolean(4, usuario.isVerified());
+            if (usuario.getUltimaConexion() != null) {
+                stmt.setTimestamp(5, Timestamp.valueOf(usuario.getUltimaConexion()));
+            } else {
+                stmt.setNull(5, Types.TIMESTAMP);
+            }
+        }, Usuario::setIdUsuario, tamanioLote);
+    }
+
+    @Override
+    public List<Usuario> saveAll(List<Usuario> usuarios, Connection conn) throws SQLException {
+        return insert.insertar(usuarios, conn);
+    }
+
+    @Override
+    public Set<String> findEmailsRegistrados(Collection<Email> emails) {
+        Set<String> registrados = new HashSet<>();
+        if (emails == null || emails.isEmpty()) {
+            return registrados;
+        }
+        List<Email> lista = new ArrayList<>(emails);
+
+        try (Connection conn = dataSource.getConnection()) {
+            for (int desde = 0; desde < lista.size(); desde += tamanioLote) {
+                List<Email> tramo = lista.subList(desde, Math.min(desde + tamanioLote, lista.size()));
+                StringBuilder sql = new StringBuilder(SQL_EMAILS_REGISTRADOS);
+                for (int i = 0; i < tramo.size(); i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                }
+                sql.append(')');
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < tramo.size(); i++) {
+                        stmt.setString(i + 1, tramo.get(i).getValor());
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            registrados.add(rs.getString(1).toLowerCase());
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al verificar emails registrados: " + e.getMessage(), e);
+        }
+        return registrados;
+    }
+
+    @Override
+    public Optional<Usuario> findByEmail(Email email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Optional<Usuario> findById(Integer idUsuario) {
+        return delegate.findById(idUsuario);
+    }
+
+    @Override
+    public Usuario save(Usuario usuario) {
+        return delegate.save(usuario);
+    }
+
+    @Override
+    public Usuario save(Usuario usuario, Connection conn) throws SQLException {
+        return delegate.save(usuario, conn);
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Usuario update(Usuario usuario) {
+        return delegate.update(usuario);
+    }
+
+    @Override
+    public Usuario update(Usuario usuario, Connection conn) throws SQLException {
+        return delegate.update(usuario, conn);
+    }
+}
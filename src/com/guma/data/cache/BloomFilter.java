@@ -0,0 +1,163 @@
+package com.guma.data.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas, seguro para uso concurrente.
+ *
+ * Responde "seguro que no está" o "puede estar": nunca da falsos negativos,
+ * y la probabilidad de falso positivo se fija al crearlo a partir de la
+ * cantidad esperada de elementos. El tamaño se calcula como
+ * m = -n·ln(p) / ln(2)² bits y k = (m / n)·ln(2) funciones de hash
+ * (doble hashing sobre un hash de 64 bits).
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long cantidadBits;
+    private final int cantidadHashes;
+    private final long esperados;
+    private final double probabilidadFalsoPositivo;
+    private final AtomicLong insertados = new AtomicLong();
+
+    /**
+     * Crea un filtro dimensionado para la carga indicada.
+     *
+     * @param esperados                 cantidad esperada de elementos
+     * @param probabilidadFalsoPositivo tasa de falsos positivos objetivo (0 &lt; p &lt; 1)
+     */
+    public BloomFilter(long esperados, double probabilidadFalsoPositivo) {
+        if (esperados <= 0) {
+            throw new IllegalArgumentException("La cantidad esperada debe ser positiva");
+        }
+        if (probabilidadFalsoPositivo <= 0 || probabilidadFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("La probabilidad de falso positivo debe estar entre 0 y 1");
+        }
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-esperados * Math.log(probabilidadFalsoPositivo) / (ln2 * ln2));
+        m = Math.max(64, (m + 63) / 64 * 64);
+        if (m / 64 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filtro demasiado grande para la configuración indicada");
+        }
+
+        this.cantidadBits = m;
+        this.cantidadHashes = Math.max(1, (int) Math.round((double) m / esperados * ln2));
+        this.bits = new AtomicLongArray((int) (m / 64));
+        this.esperados = esperados;
+        this.probabilidadFalsoPositivo = probabilidadFalsoPositivo;
+    }
+
+    /**
+     * Agrega un elemento.
+     *
+     * @param valor elemento a agregar
+     */
+    public void agregar(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean nuevo = false;
+        for (int i = 0; i < cantidadHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual = bits.get(palabra);
+            while ((actual & mascara) == 0) {
+                if (bits.compareAndSet(palabra, actual, actual | mascara)) {
+                    nuevo = true;
+                    break;
+                }
+                actual = bits.get(palabra);
+            }
+        }
+        if (nuevo) {
+            insertados.incrementAndGet();
+        }
+    }
+
+    /**
+     * Consulta si un elemento puede estar en el filtro.
+     *
+     * @param valor elemento a consultar
+     * @return false si seguro no está; true si puede estar
+     */
+    public boolean puedeContener(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < cantidadHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estima la tasa de falsos positivos actual según los elementos
+     * insertados: (1 - e^(-k·n/m))^k.
+     *
+     * @return probabilidad estimada de falso positivo
+     */
+    public double getProbabilidadFalsoPositivoEstimada() {
+        double exponente = -(double) cantidadHashes * insertados.get() / cantidadBits;
+        return Math.pow(1 - Math.exp(exponente), cantidadHashes);
+    }
+
+    public double getProbabilidadFalsoPositivoObjetivo() {
+        return probabilidadFalsoPositivo;
+    }
+
+    public long getEsperados() {
+        return esperados;
+    }
+
+    /**
+     * Obtiene la cantidad aproximada de elementos distintos insertados
+     * (no cuenta los que ya coincidían con bits existentes).
+     *
+     * @return elementos insertados
+     */
+    public long getInsertados() {
+        return insertados.get();
+    }
+
+    public long getCantidadBits() {
+        return cantidadBits;
+    }
+
+    public int getCantidadHashes() {
+        return cantidadHashes;
+    }
+
+    /**
+     * Obtiene la memoria ocupada por el arreglo de bits.
+     *
+     * @return bytes
+     */
+    public long getMemoriaBytes() {
+        return cantidadBits / 8;
+    }
+
+    // FNV-1a de 64 bits sobre los caracteres, con mezcla final de MurmurHash3
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,538 @@
+package com.guma.data.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.CatalogoGeograficoRepository;
+import com.guma.domain.entities.Localidad;
+import com.guma.domain.entities.Pais;
+import com.guma.domain.entities.Provincia;
+import com.guma.domain.valueobjects.Pagina;
+
+/**
+ * Implementación en memoria de CatalogoGeograficoRepository.
+ *
+ * Carga una sola vez el árbol País → Provincia → Localidad en arreglos
+ * compactos de enteros (un arreglo por columna y nivel) y responde todos
+ * los métodos del puerto sin acceder a la base de datos:
+ * - búsqueda por ID en O(1) mediante un índice directo id → posición
+ *   (o búsqueda binaria si los IDs son muy dispersos)
+ * - hijos de un nodo como un rango contiguo [desde, hasta) precalculado
+ * - páginas por clave con búsqueda binaria sobre un orden por ID
+ *   precalculado dentro de cada rango, sin recorrer los elementos previos
+ *
+ * Los nombres repetidos (frecuentes entre localidades) se comparten como una
+ * única instancia de String. Cada llamada devuelve entidades nuevas, por lo
+ * que los llamadores pueden modificarlas sin afectar al catálogo.
+ *
+ * {@link #recargar()} construye un árbol nuevo y lo reemplaza de forma
+ * atómica; las lecturas en curso siguen usando el anterior.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class CatalogoGeograficoCache implements CatalogoGeograficoRepository {
+
+    private static final Logger LOGGER = Logger.getLogger(CatalogoGeograficoCache.class.getName());
+
+    private static final String SQL_PAISES = "SELECT id_pais, nombre, 0 AS id_padre FROM PAISES "
+            + "ORDER BY nombre";
+    private static final String SQL_PROVINCIAS = "SELECT id_provincia, nombre, id_pais AS id_padre FROM PROVINCIAS "
+            + "ORDER BY id_pais, nombre";
+    private static final String SQL_LOCALIDADES = "SELECT id_localidad, nombre, id_provincia AS id_padre FROM LOCALIDADES "
+            + "ORDER BY id_provincia, nombre";
+
+    private final DataSource dataSource;
+    private volatile Arbol arbol;
+
+    /**
+     * Constructor que inyecta el origen de conexiones.
+     * La carga se realiza en el primer acceso.
+     *
+     * @param dataSource DataSource compartido (pool)
+     */
+    public CatalogoGeograficoCache(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("El DataSource no puede ser nulo");
+        }
+        this.dataSource = dataSource;
+    }
+
+    // ===== PAISES =====
+
+    @Override
+    public List<Pais> findAllPaises() {
+        Nivel paises = arbol().paises;
+        List<Pais> resultado = new ArrayList<>(paises.tamanio);
+        for (int i = 0; i < paises.tamanio; i++) {
+            resultado.add(new Pais(paises.ids[i], paises.nombres[i]));
+        }
+        return resultado;
+    }
+
+    @Override
+    public Optional<Pais> findPaisById(Integer id) {
+        Nivel paises = arbol().paises;
+        int pos = paises.posicion(id);
+        return pos < 0 ? Optional.empty() : Optional.of(new Pais(paises.ids[pos], paises.nombres[pos]));
+    }
+
+    @Override
+    public Pagina<Pais> findPaisesPagina(Integer despuesDeId, int limite) {
+        Nivel paises = arbol().paises;
+        return paginar(paises, 0, paises.tamanio, despuesDeId, limite,
+                i -> new Pais(paises.ids[i], paises.nombres[i]));
+    }
+
+    @Override
+    public void findAllPaises(Consumer<? super Pais> consumidor) {
+        Nivel paises = arbol().paises;
+        recorrer(paises, 0, paises.tamanio, i -> new Pais(paises.ids[i], paises.nombres[i]), consumidor);
+    }
+
+    // ===== PROVINCIAS =====
+
+    @Override
+    public List<Provincia> findProvinciasByPais(Integer idPais) {
+        Arbol actual = arbol();
+        int pos = actual.paises.posicion(idPais);
+        if (pos < 0) {
+            return Collections.emptyList();
+        }
+        Nivel provincias = actual.provincias;
+        int desde = actual.paises.hijosDesde[pos];
+        int hasta = actual.paises.hijosHasta[pos];
+        List<Provincia> resultado = new ArrayList<>(hasta - desde);
+        for (int i = desde; i < hasta; i++) {
+            resultado.add(new Provincia(provincias.ids[i], provincias.nombres[i], provincias.padres[i]));
+        }
+        return resultado;
+    }
+
+    @Override
+    public Optional<Provincia> findProvinciaById(Integer id) {
+        Nivel provincias = arbol().provincias;
+        int pos = provincias.posicion(id);
+        return pos < 0 ? Optional.empty()
+                : Optional.of(new Provincia(provincias.ids[pos], provincias.nombres[pos], provincias.padres[pos]));
+    }
+
+    @Override
+    public Pagina<Provincia> findProvinciasByPaisPagina(Integer idPais, Integer despuesDeId, int limite) {
+        Arbol actual = arbol();
+        Nivel provincias = actual.provincias;
+        int pos = actual.paises.posicion(idPais);
+        return paginar(provincias, desde(actual.paises, pos), hasta(actual.paises, pos), despuesDeId, limite,
+                i -> new Provincia(provincias.ids[i], provincias.nombres[i], provincias.padres[i]));
+    }
+
+    @Override
+    public void findProvinciasByPais(Integer idPais, Consumer<? super Provincia> consumidor) {
+        Arbol actual = arbol();
+        Nivel provincias = actual.provincias;
+        int pos = actual.paises.posicion(idPais);
+        recorrer(provincias, desde(actual.paises, pos), hasta(actual.paises, pos),
+                i -> new Provincia(provincias.ids[i], provincias.nombres[i], provincias.padres[i]), consumidor);
+    }
+
+    // ===== LOCALIDADES =====
+
+    @Override
+    public List<Localidad> findLocalidadesByProvincia(Integer idProvincia) {
+        Arbol actual = arbol();
+        int pos = actual.provincias.posicion(idProvincia);
+        if (pos < 0) {
+            return Collections.emptyList();
+        }
+        Nivel localidades = actual.localidades;
+        int desde = actual.provincias.hijosDesde[pos];
+        int hasta = actual.provincias.hijosHasta[pos];
+        List<Localidad> resultado = new ArrayList<>(hasta - desde);
+        for (int i = desde; i < hasta; i++) {
+            resultado.add(new Localidad(localidades.ids[i], localidades.nombres[i], localidades.padres[i]));
+        }
+        return resultado;
+    }
+
+    @Override
+    public Optional<Localidad> findLocalidadById(Integer id) {
+        Nivel localidades = arbol().localidades;
+        int pos = localidades.posicion(id);
+        return pos < 0 ? Optional.empty()
+                : Optional.of(new Localidad(localidades.ids[pos], localidades.nombres[pos], localidades.padres[pos]));
+    }
+
+    @Override
+    public Pagina<Localidad> findLocalidadesByProvinciaPagina(Integer idProvincia, Integer despuesDeId,
+            int limite) {
+        Arbol actual = arbol();
+        Nivel localidades = actual.localidades;
+        int pos = actual.provincias.posicion(idProvincia);
+        return paginar(localidades, desde(actual.provincias, pos), hasta(actual.provincias, pos), despuesDeId,
+                limite, i -> new Localidad(localidades.ids[i], localidades.nombres[i], localidades.padres[i]));
+    }
+
+    @Override
+    public void findLocalidadesByProvincia(Integer idProvincia, Consumer<? super Localidad> consumidor) {
+        Arbol actual = arbol();
+        Nivel localidades = actual.localidades;
+        int pos = actual.provincias.posicion(idProvincia);
+        recorrer(localidades, desde(actual.provincias, pos), hasta(actual.provincias, pos),
+                i -> new Localidad(localidades.ids[i], localidades.nombres[i], localidades.padres[i]), consumidor);
+    }
+
+    // ===== ADMINISTRACION =====
+
+    /**
+     * Vuelve a cargar el catálogo completo y reemplaza el anterior.
+     *
+     * @throws RuntimeException si la carga falla (se conserva el catálogo anterior)
+     */
+    public void recargar() {
+        this.arbol = cargar();
+    }
+
+    /**
+     * Estima la memoria ocupada por el catálogo cargado (arreglos, índices
+     * y nombres), sin contar las entidades devueltas a los llamadores.
+     *
+     * @return bytes estimados
+     */
+    public long getMemoriaEstimadaBytes() {
+        Arbol actual = arbol();
+        return actual.paises.bytesEstimados() + actual.provincias.bytesEstimados()
+                + actual.localidades.bytesEstimados() + actual.bytesNombres;
+    }
+
+    /**
+     * Genera un reporte legible de tamaño y memoria del catálogo.
+     *
+     * @return reporte con cantidades por nivel y memoria estimada
+     */
+    public String getReporteMemoria() {
+        Arbol actual = arbol();
+        return String.format(
+                "Catálogo geográfico: %d países, %d provincias, %d localidades, %d nombres distintos | "
+                        + "índices: %d KB, nombres: %d KB, total: %d KB | carga: %d ms",
+                actual.paises.tamanio, actual.provincias.tamanio, actual.localidades.tamanio,
+                actual.nombresDistintos,
+                (actual.paises.bytesEstimados() + actual.provincias.bytesEstimados()
+                        + actual.localidades.bytesEstimados()) / 1024,
+                actual.bytesNombres / 1024,
+                getMemoriaEstimadaBytes() / 1024,
+                actual.duracionCargaMs);
+    }
+
+    // ==================== PAGINACIÓN ====================
+
+    private static int desde(Nivel padres, int pos) {
+        return pos < 0 ? 0 : padres.hijosDesde[pos];
+    }
+
+    private static int hasta(Nivel padres, int pos) {
+        return pos < 0 ? 0 : padres.hijosHasta[pos];
+    }
+
+    /**
+     * Arma una página del rango [desde, hasta) de un nivel, en orden de ID.
+     * Ubica el cursor con búsqueda binaria sobre {@link Nivel#ordenPorId}.
+     */
+    private static <T> Pagina<T> paginar(Nivel nivel, int desde, int hasta, Integer despuesDeId, int limite,
+            IntFunction<T> crear) {
+        Pagina.validarLimite(limite);
+        int inicio = despuesDeId == null ? desde : nivel.primeroMayorQue(desde, hasta, despuesDeId);
+        int fin = (int) Math.min(hasta, (long) inicio + limite);
+        List<T> elementos = new ArrayList<>(fin - inicio);
+        for (int k = inicio; k < fin; k++) {
+            elementos.add(crear.apply(nivel.ordenPorId[k]));
+        }
+        Integer siguiente = fin < hasta ? nivel.ids[nivel.ordenPorId[fin - 1]] : null;
+        return new Pagina<>(elementos, siguiente);
+    }
+
+    private static <T> void recorrer(Nivel nivel, int desde, int hasta, IntFunction<T> crear,
+            Consumer<? super T> consumidor) {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("El consumidor no puede ser nulo");
+        }
+        for (int k = desde; k < hasta; k++) {
+            consumidor.accept(crear.apply(nivel.ordenPorId[k]));
+        }
+    }
+
+    // ==================== CARGA ====================
+
+    private Arbol arbol() {
+        Arbol actual = arbol;
+        if (actual == null) {
+            synchronized (this) {
+                if (arbol == null) {
+                    arbol = cargar();
+                }
+                actual = arbol;
+            }
+        }
+        return actual;
+    }
+
+    private Arbol cargar() {
+        long inicio = System.nanoTime();
+        Map<String, String> nombres = new HashMap<>();
+        Nivel paises;
+        Nivel provincias;
+        Nivel localidades;
+
+        try (Connection conn = dataSource.getConnection()) {
+            paises = leerNivel(conn, SQL_PAISES, nombres);
+            provincias = leerNivel(conn, SQL_PROVINCIAS, nombres);
+            localidades = leerNivel(conn, SQL_LOCALIDADES, nombres);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al cargar el catálogo geográfico: " + e.getMessage(), e);
+        }
+
+        paises.enlazarHijos(provincias);
+        provincias.enlazarHijos(localidades);
+
+        long bytesNombres = 0;
+        for (String nombre : nombres.values()) {
+            bytesNombres += bytesString(nombre);
+        }
+
+        Arbol nuevo = new Arbol(paises, provincias, localidades, nombres.size(), bytesNombres,
+                (System.nanoTime() - inicio) / 1_000_000);
+        LOGGER.info(() -> "Catálogo geográfico cargado: " + nuevo.paises.tamanio + " países, "
+                + nuevo.provincias.tamanio + " provincias, " + nuevo.localidades.tamanio
+                + " localidades en " + nuevo.duracionCargaMs + " ms");
+        return nuevo;
+    }
+
+    private static Nivel leerNivel(Connection conn, String sql, Map<String, String> nombres)
+            throws SQLException {
+        int[] ids = new int[256];
+        int[] padres = new int[256];
+        String[] textos = new String[256];
+        int n = 0;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+                ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                if (n == ids.length) {
+                    int capacidad = n * 2;
+                    ids = Arrays.copyOf(ids, capacidad);
+                    padres = Arrays.copyOf(padres, capacidad);
+                    textos = Arrays.copyOf(textos, capacidad);
+                }
+                ids[n] = rs.getInt(1);
+                String nombre = rs.getString(2);
+                textos[n] = nombre != null ? nombres.computeIfAbsent(nombre, k -> k) : null;
+                padres[n] = rs.getInt(3);
+                n++;
+            }
+        }
+        return new Nivel(Arrays.copyOf(ids, n), Arrays.copyOf(textos, n), Arrays.copyOf(padres, n));
+    }
+
+    private static long bytesString(String s) {
+        // Cabecera de String + arreglo de bytes (compact strings: 1 byte por carácter latino)
+        return 24 + alinear(16 + s.length());
+    }
+
+    private static long bytesArreglo(int elementos, int bytesPorElemento) {
+        return alinear(16 + (long) elementos * bytesPorElemento);
+    }
+
+    private static long alinear(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Foto inmutable del árbol completo.
+     */
+    private static final class Arbol {
+        private final Nivel paises;
+        private final Nivel provincias;
+        private final Nivel localidades;
+        private final int nombresDistintos;
+        private final long bytesNombres;
+        private final long duracionCargaMs;
+
+        private Arbol(Nivel paises, Nivel provincias, Nivel localidades,
+                int nombresDistintos, long bytesNombres, long duracionCargaMs) {
+            this.paises = paises;
+            this.provincias = provincias;
+            this.localidades = localidades;
+            this.nombresDistintos = nombresDistintos;
+            this.bytesNombres = bytesNombres;
+            this.duracionCargaMs = duracionCargaMs;
+        }
+    }
+
+    /**
+     * Un nivel del árbol almacenado por columnas.
+     *
+     * Las filas llegan ordenadas por padre, de modo que los hijos de cada
+     * nodo del nivel superior ocupan posiciones contiguas.
+     */
+    private static final class Nivel {
+
+        /** Factor máximo entre el mayor ID y la cantidad de filas para usar índice directo. */
+        private static final int DISPERSION_MAXIMA = 4;
+
+        private final int tamanio;
+        private final int[] ids;
+        private final String[] nombres;
+        private final int[] padres;
+        private int[] hijosDesde;
+        private int[] hijosHasta;
+
+        // Posiciones ordenadas por (padre, id): los hijos de cada nodo ocupan
+        // el mismo rango [desde, hasta) que en el orden por nombre
+        private final int[] ordenPorId;
+
+        // Índice directo id → posición + 1 (0 = inexistente), o null si los IDs son dispersos
+        private final int[] posicionPorId;
+        // Alternativa para IDs dispersos: IDs ordenados y su posición
+        private final int[] idsOrdenados;
+        private final int[] posicionesOrdenadas;
+
+        private Nivel(int[] ids, String[] nombres, int[] padres) {
+            this.tamanio = ids.length;
+            this.ids = ids;
+            this.nombres = nombres;
+            this.padres = padres;
+
+            this.ordenPorId = ordenarPorIdEnGrupos(ids, padres);
+
+            int maximo = 0;
+            boolean positivos = true;
+            for (int id : ids) {
+                maximo = Math.max(maximo, id);
+                positivos &= id > 0;
+            }
+
+            if (positivos && maximo <= (long) tamanio * DISPERSION_MAXIMA + 1024) {
+                posicionPorId = new int[maximo + 1];
+                for (int i = 0; i < tamanio; i++) {
+                    posicionPorId[ids[i]] = i + 1;
+                }
+                idsOrdenados = null;
+                posicionesOrdenadas = null;
+            } else {
+                posicionPorId = null;
+                long[] pares = new long[tamanio];
+                for (int i = 0; i < tamanio; i++) {
+                    pares[i] = ((long) ids[i] << 32) | i;
+                }
+                Arrays.sort(pares);
+                idsOrdenados = new int[tamanio];
+                posicionesOrdenadas = new int[tamanio];
+                for (int i = 0; i < tamanio; i++) {
+                    idsOrdenados[i] = (int) (pares[i] >> 32);
+                    posicionesOrdenadas[i] = (int) pares[i];
+                }
+            }
+        }
+
+        private int posicion(Integer id) {
+            if (id == null) {
+                return -1;
+            }
+            if (posicionPorId != null) {
+                return id >= 0 && id < posicionPorId.length ? posicionPorId[id] - 1 : -1;
+            }
+            int idx = Arrays.binarySearch(idsOrdenados, id);
+            return idx < 0 ? -1 : posicionesOrdenadas[idx];
+        }
+
+        private static int[] ordenarPorIdEnGrupos(int[] ids, int[] padres) {
+            int[] orden = new int[ids.length];
+            int i = 0;
+            while (i < ids.length) {
+                int j = i;
+                while (j < ids.length && padres[j] == padres[i]) {
+                    j++;
+                }
+                long[] pares = new long[j - i];
+                for (int k = i; k < j; k++) {
+                    pares[k - i] = ((long) ids[k] << 32) | k;
+                }
+                Arrays.sort(pares);
+                for (int k = i; k < j; k++) {
+                    orden[k] = (int) pares[k - i];
+                }
+                i = j;
+            }
+            return orden;
+        }
+
+        /**
+         * Primera posición k de ordenPorId en [desde, hasta) cuyo ID es mayor
+         * que el indicado, o hasta si no hay ninguna.
+         */
+        private int primeroMayorQue(int desde, int hasta, int id) {
+            int bajo = desde;
+            int alto = hasta;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (ids[ordenPorId[medio]] <= id) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        /**
+         * Calcula, para cada nodo de este nivel, el rango de sus hijos en el
+         * nivel inferior. Los hijos cuyo padre no existe quedan sin enlazar.
+         */
+        private void enlazarHijos(Nivel hijos) {
+            hijosDesde = new int[tamanio];
+            hijosHasta = new int[tamanio];
+            int i = 0;
+            while (i < hijos.tamanio) {
+                int padre = hijos.padres[i];
+                int j = i;
+                while (j < hijos.tamanio && hijos.padres[j] == padre) {
+                    j++;
+                }
+                int pos = posicion(padre);
+                if (pos >= 0) {
+                    hijosDesde[pos] = i;
+                    hijosHasta[pos] = j;
+                }
+                i = j;
+            }
+        }
+
+        private long bytesEstimados() {
+            long bytes = bytesArreglo(tamanio, 4) * 2 + bytesArreglo(tamanio, 4); // ids, padres, referencias a nombres
+            bytes += bytesArreglo(tamanio, 4); // ordenPorId
+            if (hijosDesde != null) {
+                bytes += bytesArreglo(tamanio, 4) * 2;
+            }
+            if (posicionPorId != null) {
+                bytes += bytesArreglo(posicionPorId.length, 4);
+            } else {
+                bytes += bytesArreglo(tamanio, 4) * 2;
+            }
+            return bytes;
+        }
+    }
+}
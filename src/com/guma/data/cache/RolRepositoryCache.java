@@ -0,0 +1,207 @@
+package com.guma.data.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.RolRepository;
+import com.guma.domain.entities.Rol;
+
+/**
+ * Decorador de RolRepository que sirve los roles desde memoria.
+ *
+ * Carga todas las filas de ROLES en una foto inmutable indexada por ID y
+ * por nombre; findById, findByNombre y getRolPorDefecto se responden sin
+ * acceder a la base de datos. Como Rol es inmutable, las instancias se
+ * comparten sin copias.
+ *
+ * La foto se reemplaza completa (nunca se modifica):
+ * - cada {@code intervaloRefrescoMs} milisegundos (0 = sin refresco automático)
+ * - al llamar {@link #invalidar()}
+ *
+ * Si se pide un rol que no está en la foto (por ejemplo, uno creado después
+ * de la última carga), se consulta al repositorio decorado. Mientras no se
+ * haya podido cargar ninguna foto (base caída al iniciar) todas las
+ * consultas van al repositorio decorado y la carga se reintenta en la
+ * siguiente consulta.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class RolRepositoryCache implements RolRepository, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(RolRepositoryCache.class.getName());
+
+    private static final String SQL_FIND_ALL = "SELECT id_rol, nombre FROM ROLES";
+
+    private final RolRepository delegate;
+    private final DataSource dataSource;
+    private final ScheduledExecutorService refresco;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Crea el cache y realiza la primera carga.
+     *
+     * @param delegate            repositorio decorado (define el rol por defecto)
+     * @param dataSource          origen de conexiones para la carga completa
+     * @param intervaloRefrescoMs período de recarga automática (0 = desactivada)
+     */
+    public RolRepositoryCache(RolRepository delegate, DataSource dataSource, long intervaloRefrescoMs) {
+        if (delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El repositorio y el DataSource no pueden ser nulos");
+        }
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+
+        if (intervaloRefrescoMs > 0) {
+            this.refresco = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "guma-cache-roles");
+                t.setDaemon(true);
+                return t;
+            });
+            refresco.scheduleWithFixedDelay(this::refrescarSilencioso,
+                    intervaloRefrescoMs, intervaloRefrescoMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.refresco = null;
+        }
+        refrescarSilencioso();
+    }
+
+    @Override
+    public Optional<Rol> findById(Integer idRol) {
+        if (idRol == null) {
+            return Optional.empty();
+        }
+        Snapshot actual = snapshot();
+        Rol rol = actual != null ? actual.porId.get(idRol) : null;
+        return rol != null ? Optional.of(rol) : delegate.findById(idRol);
+    }
+
+    @Override
+    public Optional<Rol> findByNombre(String nombre) {
+        if (nombre == null) {
+            return Optional.empty();
+        }
+        Snapshot actual = snapshot();
+        Rol rol = actual != null ? actual.porNombre.get(normalizar(nombre)) : null;
+        return rol != null ? Optional.of(rol) : delegate.findByNombre(nombre);
+    }
+
+    @Override
+    public Rol getRolPorDefecto() {
+        Snapshot actual = snapshot();
+        return actual != null ? actual.porDefecto : delegate.getRolPorDefecto();
+    }
+
+    /**
+     * Descarta la foto actual y recarga todos los roles de inmediato.
+     *
+     * @throws RuntimeException si la recarga falla (se conserva la foto anterior)
+     */
+    public void invalidar() {
+        this.snapshot = cargar();
+    }
+
+    /**
+     * Obtiene la cantidad de roles en memoria.
+     *
+     * @return cantidad de roles cacheados (0 si todavía no se cargaron)
+     */
+    public int getCantidadRoles() {
+        Snapshot actual = snapshot();
+        return actual != null ? actual.porId.size() : 0;
+    }
+
+    @Override
+    public void close() {
+        if (refresco != null) {
+            refresco.shutdownNow();
+        }
+    }
+
+    // ==================== CARGA ====================
+
+    /**
+     * Foto actual, cargándola si todavía no hay ninguna.
+     *
+     * @return la foto, o null si no se pudo cargar (se usa el repositorio
+     *         decorado)
+     */
+    private Snapshot snapshot() {
+        Snapshot actual = snapshot;
+        if (actual == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    try {
+                        snapshot = cargar();
+                    } catch (RuntimeException e) {
+                        LOGGER.warning("No se pudo cargar el cache de roles; se consulta la base: " + e.getMessage());
+                    }
+                }
+                actual = snapshot;
+            }
+        }
+        return actual;
+    }
+
+    private void refrescarSilencioso() {
+        try {
+            invalidar();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se pudo refrescar el cache de roles", e);
+        }
+    }
+
+    private Snapshot cargar() {
+        Map<Integer, Rol> porId = new HashMap<>();
+        Map<String, Rol> porNombre = new HashMap<>();
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SQL_FIND_ALL);
+                ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                Rol rol = new Rol(rs.getInt("id_rol"), rs.getString("nombre"));
+                porId.put(rol.getIdRol(), rol);
+                porNombre.put(normalizar(rol.getNombre()), rol);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al cargar roles: " + e.getMessage(), e);
+        }
+
+        Rol porDefecto = delegate.getRolPorDefecto();
+        Rol cacheado = porId.get(porDefecto.getIdRol());
+        return new Snapshot(porId, porNombre, cacheado != null ? cacheado : porDefecto);
+    }
+
+    private static String normalizar(String nombre) {
+        return nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Foto inmutable de la tabla ROLES.
+     */
+    private static final class Snapshot {
+        private final Map<Integer, Rol> porId;
+        private final Map<String, Rol> porNombre;
+        private final Rol porDefecto;
+
+        private Snapshot(Map<Integer, Rol> porId, Map<String, Rol> porNombre, Rol porDefecto) {
+            this.porId = Map.copyOf(porId);
+            this.porNombre = Map.copyOf(porNombre);
+            this.porDefecto = porDefecto;
+        }
+    }
+}
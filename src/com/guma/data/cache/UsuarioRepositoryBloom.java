@@ -0,0 +1,375 @@
+package com.guma.data.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.UsuarioRepository;
+import com.guma.domain.entities.Usuario;
+import com.guma.domain.exceptions.UsuarioDuplicadoException;
+import com.guma.domain.valueobjects.Email;
+
+/**
+ * Decorador de UsuarioRepository que evita consultar la base de datos para
+ * emails que seguro no están registrados.
+ *
+ * Mantiene un filtro de Bloom con todos los emails de USUARIOS (cargado al
+ * crear el decorador y actualizado en cada save). existsByEmail y
+ * findEmailsRegistrados responden "no existe" desde memoria cuando el filtro
+ * lo garantiza, y solo consultan al repositorio decorado ante un posible
+ * positivo. Así, validarEmailDisponible y registrarUsuario no tocan la base
+ * de datos para emails nuevos.
+ *
+ * Como otras instancias de la aplicación pueden registrar usuarios, el
+ * filtro se reconstruye cada {@code intervaloReconstruccionMs}; la
+ * constraint UNIQUE de USUARIOS.email sigue siendo la garantía final. Si el
+ * filtro está desactualizado y dejó pasar un email ya registrado, la
+ * violación de esa constraint al guardar se informa como
+ * UsuarioDuplicadoException (igual que la validación previa) y el email se
+ * agrega al filtro.
+ * Mientras el filtro no está cargado (o si la carga falla) todas las
+ * consultas se delegan.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class UsuarioRepositoryBloom implements UsuarioRepository, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(UsuarioRepositoryBloom.class.getName());
+
+    private static final String SQL_EMAILS = "SELECT email FROM USUARIOS";
+
+    // ER_DUP_ENTRY: la única clave única de USUARIOS además del ID es el email
+    private static final int ERROR_CLAVE_DUPLICADA = 1062;
+
+    private final UsuarioRepository delegate;
+    private final DataSource dataSource;
+    private final long esperados;
+    private final double probabilidadFalsoPositivo;
+    private final ScheduledExecutorService reconstruccion;
+    private volatile BloomFilter filtro;
+    // Emails guardados mientras se reconstruye el filtro (se agregan al nuevo al terminar)
+    private volatile Set<String> guardadosDuranteReconstruccion;
+
+    private final AtomicLong consultas = new AtomicLong();
+    private final AtomicLong resueltasEnMemoria = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+
+    /**
+     * Crea el decorador y carga el filtro con los emails existentes.
+     *
+     * @param delegate                   repositorio decorado
+     * @param dataSource                 origen de conexiones para la carga
+     * @param esperados                  cantidad esperada de usuarios (dimensiona el filtro)
+     * @param probabilidadFalsoPositivo  tasa de falsos positivos objetivo
+     * @param intervaloReconstruccionMs  período de recarga completa (0 = desactivada)
+     */
+    public UsuarioRepositoryBloom(UsuarioRepository delegate, DataSource dataSource, long esperados,
+            double probabilidadFalsoPositivo, long intervaloReconstruccionMs) {
+        if (delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El repositorio y el DataSource no pueden ser nulos");
+        }
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.esperados = esperados;
+        this.probabilidadFalsoPositivo = probabilidadFalsoPositivo;
+
+        if (intervaloReconstruccionMs > 0) {
+            this.reconstruccion = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "guma-filtro-emails");
+                t.setDaemon(true);
+                return t;
+            });
+            reconstruccion.scheduleWithFixedDelay(this::reconstruirSilencioso,
+                    intervaloReconstruccionMs, intervaloReconstruccionMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.reconstruccion = null;
+        }
+        reconstruirSilencioso();
+    }
+
+    // ==================== CONSULTAS FILTRADAS ====================
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        consultas.incrementAndGet();
+        BloomFilter actual = filtro;
+        if (actual != null && !actual.puedeContener(email.getValor())) {
+            resueltasEnMemoria.incrementAndGet();
+            return false;
+        }
+        boolean existe = delegate.existsByEmail(email);
+        if (actual != null && !existe) {
+            falsosPositivos.incrementAndGet();
+        }
+        return existe;
+    }
+
+    @Override
+    public Set<String> findEmailsRegistrados(Collection<Email> emails) {
+        BloomFilter actual = filtro;
+        if (actual == null) {
+            return delegate.findEmailsRegistrados(emails);
+        }
+        List<Email> posibles = new ArrayList<>();
+        for (Email email : emails) {
+            consultas.incrementAndGet();
+            if (actual.puedeContener(email.getValor())) {
+                posibles.add(email);
+            } else {
+                resueltasEnMemoria.incrementAndGet();
+            }
+        }
+        if (posibles.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<String> registrados = delegate.findEmailsRegistrados(posibles);
+        falsosPositivos.addAndGet(posibles.size() - registrados.size());
+        return registrados;
+    }
+
+    // ==================== ESCRITURAS (actualizan el filtro) ====================
+
+    @Override
+    public Usuario save(Usuario usuario) {
+        Usuario guardado;
+        try {
+            guardado = delegate.save(usuario);
+        } catch (RuntimeException e) {
+            if (esClaveDuplicada(e)) {
+                throw duplicado(List.of(usuario));
+            }
+            throw e;
+        }
+        registrar(guardado);
+        return guardado;
+    }
+
+    @Override
+    public Usuario save(Usuario usuario, Connection conn) throws SQLException {
+        Usuario guardado;
+        try {
+            guardado = delegate.save(usuario, conn);
+        } catch (SQLException e) {
+            if (esClaveDuplicada(e)) {
+                throw duplicado(List.of(usuario));
+            }
+            throw e;
+        }
+        registrar(guardado);
+        return guardado;
+    }
+
+    @Override
+    public List<Usuario> saveAll(List<Usuario> usuarios, Connection conn) throws SQLException {
+        List<Usuario> guardados;
+        try {
+            guardados = delegate.saveAll(usuarios, conn);
+        } catch (SQLException e) {
+            if (esClaveDuplicada(e)) {
+                throw duplicado(usuarios);
+            }
+            throw e;
+        }
+        for (Usuario usuario : guardados) {
+            registrar(usuario);
+        }
+        return guardados;
+    }
+
+    @Override
+    public Usuario update(Usuario usuario) {
+        Usuario actualizado;
+        try {
+            actualizado = delegate.update(usuario);
+        } catch (RuntimeException e) {
+            if (esClaveDuplicada(e)) {
+                throw duplicado(List.of(usuario));
+            }
+            throw e;
+        }
+        registrar(actualizado);
+        return actualizado;
+    }
+
+    @Override
+    public Usuario update(Usuario usuario, Connection conn) throws SQLException {
+        Usuario actualizado;
+        try {
+            actualizado = delegate.update(usuario, conn);
+        } catch (SQLException e) {
+            if (esClaveDuplicada(e)) {
+                throw duplicado(List.of(usuario));
+            }
+            throw e;
+        }
+        registrar(actualizado);
+        return actualizado;
+    }
+
+    // ==================== DELEGADOS ====================
+
+    @Override
+    public Optional<Usuario> findByEmail(Email email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Optional<Usuario> findById(Integer idUsuario) {
+        return delegate.findById(idUsuario);
+    }
+
+    // ==================== ADMINISTRACION ====================
+
+    /**
+     * Vuelve a cargar el filtro con todos los emails de USUARIOS.
+     *
+     * @throws RuntimeException si la carga falla (se conserva el filtro anterior)
+     */
+    public synchronized void reconstruir() {
+        BloomFilter nuevo = new BloomFilter(esperados, probabilidadFalsoPositivo);
+        int cargados = 0;
+        Set<String> guardados = ConcurrentHashMap.newKeySet();
+        guardadosDuranteReconstruccion = guardados;
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SQL_EMAILS)) {
+            stmt.setFetchSize(1000);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String email = rs.getString(1);
+                    if (email != null) {
+                        nuevo.agregar(email.toLowerCase());
+                        cargados++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            guardadosDuranteReconstruccion = null;
+            throw new RuntimeException("Error al cargar el filtro de emails: " + e.getMessage(), e);
+        }
+
+        if (cargados > esperados) {
+            LOGGER.warning("El filtro de emails contiene " + cargados + " emails y fue dimensionado para "
+                    + esperados + "; aumentar cache.emails.esperados para mantener la tasa de falsos positivos");
+        }
+        this.filtro = nuevo;
+        guardadosDuranteReconstruccion = null;
+        for (String email : guardados) {
+            nuevo.agregar(email);
+        }
+        int total = cargados;
+        LOGGER.info(() -> "Filtro de emails cargado con " + total + " emails (" + nuevo.getMemoriaBytes() / 1024
+                + " KB, " + nuevo.getCantidadHashes() + " hashes)");
+    }
+
+    /**
+     * Genera un reporte legible del filtro y su efectividad.
+     *
+     * @return reporte con memoria, falsos positivos y consultas ahorradas
+     */
+    public String getReporte() {
+        BloomFilter actual = filtro;
+        if (actual == null) {
+            return "Filtro de emails no cargado: todas las consultas van a la base de datos";
+        }
+        return String.format(
+                "Filtro de emails: %d emails, %d KB, %d hashes | falsos positivos: objetivo %.4f, estimado %.4f, "
+                        + "observados %d | consultas: %d, resueltas en memoria: %d",
+                actual.getInsertados(), actual.getMemoriaBytes() / 1024, actual.getCantidadHashes(),
+                actual.getProbabilidadFalsoPositivoObjetivo(), actual.getProbabilidadFalsoPositivoEstimada(),
+                falsosPositivos.get(), consultas.get(), resueltasEnMemoria.get());
+    }
+
+    public long getConsultas() {
+        return consultas.get();
+    }
+
+    public long getResueltasEnMemoria() {
+        return resueltasEnMemoria.get();
+    }
+
+    public long getFalsosPositivos() {
+        return falsosPositivos.get();
+    }
+
+    public long getMemoriaBytes() {
+        BloomFilter actual = filtro;
+        return actual != null ? actual.getMemoriaBytes() : 0;
+    }
+
+    @Override
+    public void close() {
+        if (reconstruccion != null) {
+            reconstruccion.shutdownNow();
+        }
+    }
+
+    private void registrar(Usuario usuario) {
+        if (usuario == null || usuario.getEmail() == null) {
+            return;
+        }
+        String email = usuario.getEmail().getValor();
+        // Primero el registro de reconstrucción y después el filtro vigente,
+        // para que ningún email se pierda si el filtro se reemplaza en el medio
+        Set<String> guardados = guardadosDuranteReconstruccion;
+        if (guardados != null) {
+            guardados.add(email);
+        }
+        BloomFilter actual = filtro;
+        if (actual != null) {
+            actual.agregar(email);
+        }
+    }
+
+    /**
+     * Violación de la clave única del email: el filtro no tenía el email
+     * (quedó desactualizado), así que se agrega antes de informar el
+     * duplicado.
+     */
+    private UsuarioDuplicadoException duplicado(List<Usuario> usuarios) {
+        for (Usuario usuario : usuarios) {
+            registrar(usuario);
+        }
+        if (usuarios.size() == 1 && usuarios.get(0).getEmail() != null) {
+            return new UsuarioDuplicadoException(usuarios.get(0).getEmail().getValor());
+        }
+        return new UsuarioDuplicadoException(null,
+                "Ya existe un usuario registrado con alguno de los emails del lote");
+    }
+
+    private static boolean esClaveDuplicada(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLIntegrityConstraintViolationException
+                    && ((SQLException) causa).getErrorCode() == ERROR_CLAVE_DUPLICADA) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reconstruirSilencioso() {
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se pudo cargar el filtro de emails", e);
+        }
+    }
+}
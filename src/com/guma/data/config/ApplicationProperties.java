@@ -0,0 +1,197 @@
+package com.guma.data.config;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Acceso centralizado a application.properties.
+ *
+ * Busca el archivo primero en el classpath (out/ después de build.sh) y,
+ * si no lo encuentra, en resources/application.properties (ejecución desde
+ * el IDE). Las propiedades se cargan una sola vez y se cachean.
+ *
+ * Uso:
+ *
+ * <pre>
+ * int max = ApplicationProperties.getInt("db.pool.max", 10);
+ * </pre>
+ *
+ * Un valor numérico o booleano que no se puede interpretar no se reemplaza
+ * por el valor por defecto: se rechaza con una IllegalStateException que
+ * nombra la propiedad, para que un error de configuración (por ejemplo un
+ * comentario en la misma línea, que en un .properties forma parte del valor)
+ * no pase desapercibido.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class ApplicationProperties {
+
+    private static final String ARCHIVO = "application.properties";
+    private static final String RUTA_RESOURCES = "resources/" + ARCHIVO;
+
+    private static volatile Properties propiedades;
+
+    /**
+     * Obtiene las propiedades de la aplicación (cargándolas la primera vez).
+     *
+     * @return propiedades cargadas (vacías si no se encontró el archivo)
+     */
+    public static Properties get() {
+        Properties actuales = propiedades;
+        if (actuales == null) {
+            synchronized (ApplicationProperties.class) {
+                if (propiedades == null) {
+                    propiedades = cargar();
+                }
+                actuales = propiedades;
+            }
+        }
+        return actuales;
+    }
+
+    /**
+     * Obtiene una propiedad de texto.
+     *
+     * @param clave        nombre de la propiedad
+     * @param valorDefecto valor si la propiedad no existe
+     * @return valor configurado o el valor por defecto
+     */
+    public static String getString(String clave, String valorDefecto) {
+        String valor = get().getProperty(clave);
+        return valor != null ? valor.trim() : valorDefecto;
+    }
+
+    /**
+     * Obtiene una propiedad entera.
+     *
+     * @param clave        nombre de la propiedad
+     * @param valorDefecto valor si la propiedad no existe
+     * @return valor configurado o el valor por defecto
+     * @throws IllegalStateException si el valor no es un entero
+     */
+    public static int getInt(String clave, int valorDefecto) {
+        String valor = getString(clave, null);
+        if (valor == null || valor.isEmpty()) {
+            return valorDefecto;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw valorInvalido(clave, valor, "un número entero");
+        }
+    }
+
+    /**
+     * Obtiene una propiedad numérica larga.
+     *
+     * @param clave        nombre de la propiedad
+     * @param valorDefecto valor si la propiedad no existe
+     * @return valor configurado o el valor por defecto
+     * @throws IllegalStateException si el valor no es un entero
+     */
+    public static long getLong(String clave, long valorDefecto) {
+        String valor = getString(clave, null);
+        if (valor == null || valor.isEmpty()) {
+            return valorDefecto;
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw valorInvalido(clave, valor, "un número entero");
+        }
+    }
+
+    /**
+     * Obtiene una propiedad decimal.
+     *
+     * @param clave        nombre de la propiedad
+     * @param valorDefecto valor si la propiedad no existe
+     * @return valor configurado o el valor por defecto
+     * @throws IllegalStateException si el valor no es un número
+     */
+    public static double getDouble(String clave, double valorDefecto) {
+        String valor = getString(clave, null);
+        if (valor == null || valor.isEmpty()) {
+            return valorDefecto;
+        }
+        try {
+            return Double.parseDouble(valor);
+        } catch (NumberFormatException e) {
+            throw valorInvalido(clave, valor, "un número");
+        }
+    }
+
+    /**
+     * Obtiene una propiedad booleana.
+     *
+     * @param clave        nombre de la propiedad
+     * @param valorDefecto valor si la propiedad no existe
+     * @return valor configurado o el valor por defecto
+     * @throws IllegalStateException si el valor no es true ni false
+     */
+    public static boolean getBoolean(String clave, boolean valorDefecto) {
+        String valor = getString(clave, null);
+        if (valor == null || valor.isEmpty()) {
+            return valorDefecto;
+        }
+        if ("true".equalsIgnoreCase(valor)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(valor)) {
+            return false;
+        }
+        throw valorInvalido(clave, valor, "true o false");
+    }
+
+    /**
+     * Fuerza la recarga del archivo en el próximo acceso.
+     * Útil para testing.
+     */
+    public static void reset() {
+        propiedades = null;
+    }
+
+    /**
+     * Error de configuración que nombra la propiedad y el valor leído.
+     *
+     * @param clave    nombre de la propiedad
+     * @param valor    valor leído del archivo
+     * @param esperado descripción del valor esperado
+     * @return excepción a lanzar
+     */
+    public static IllegalStateException valorInvalido(String clave, String valor, String esperado) {
+        String mensaje = "Valor inválido para la propiedad " + clave + ": '" + valor + "' (se esperaba " + esperado + ")";
+        if (valor.contains("#")) {
+            mensaje += ". Los comentarios de un .properties van en su propia línea";
+        }
+        return new IllegalStateException(mensaje);
+    }
+
+    private static Properties cargar() {
+        Properties props = new Properties();
+        try (InputStream in = ApplicationProperties.class.getClassLoader().getResourceAsStream(ARCHIVO)) {
+            if (in != null) {
+                props.load(in);
+                return props;
+            }
+        } catch (IOException e) {
+            // Se intenta con la ruta de resources
+        }
+        try (FileInputStream fis = new FileInputStream(RUTA_RESOURCES)) {
+            props.load(fis);
+        } catch (IOException e) {
+            // Sin archivo: se usan los valores por defecto de cada componente
+        }
+        return props;
+    }
+
+    /**
+     * Constructor privado para evitar instanciación.
+     */
+    private ApplicationProperties() {
+        throw new IllegalStateException("Utility class");
+    }
+}
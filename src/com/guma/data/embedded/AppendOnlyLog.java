@@ -0,0 +1,418 @@
+package com.guma.data.embedded;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Log de solo anexado del motor embebido, dividido en segmentos numerados
+ * (log-00000001.dat, log-00000002.dat, ...).
+ *
+ * Cada lote (las escrituras de una transacción) se guarda como un marco
+ * [longitud][CRC32C][datos]. Un único hilo escribe los marcos en orden de
+ * llegada con group commit: toma todos los lotes encolados, los escribe de
+ * una vez y hace un solo force para todos, así que con muchos hilos
+ * confirmando a la vez cada fsync cubre varias transacciones.
+ *
+ * Si una escritura o un force falla, el log queda inutilizable: no se puede
+ * saber qué llegó al disco, y seguir anexando podría dar por durables
+ * lotes que no lo son. Al leer, un marco incompleto o con CRC inválido al
+ * final del último segmento se descarta (escritura cortada por una caída);
+ * en otro lugar indica corrupción.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class AppendOnlyLog implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(AppendOnlyLog.class.getName());
+
+    /** Bytes de cabecera de cada marco: longitud y CRC. */
+    static final int CABECERA = 8;
+
+    private static final String PREFIJO = "log-";
+    private static final String EXTENSION = ".dat";
+    private static final int MAX_POR_ESCRITURA = 1024;
+
+    /**
+     * Un lote a escribir, o una orden de rotación (marco null).
+     */
+    private static final class Pendiente {
+        private final byte[] marco;
+        private final CompletableFuture<Long> listo = new CompletableFuture<>();
+
+        private Pendiente(byte[] marco) {
+            this.marco = marco;
+        }
+    }
+
+    private static final Pendiente FIN = new Pendiente(null);
+
+    private final Path directorio;
+    private final boolean fsync;
+    private final LinkedBlockingQueue<Pendiente> cola = new LinkedBlockingQueue<>();
+    private final Thread escritor;
+
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong sincronizaciones = new AtomicLong();
+    private final AtomicLong bytesSegmento = new AtomicLong();
+
+    private volatile IOException falla;
+    private volatile boolean cerrado;
+    private long segmento;
+    private FileChannel canal;
+
+    /**
+     * Abre un segmento nuevo para anexar.
+     *
+     * @param directorio directorio de los segmentos
+     * @param segmento   número del segmento a crear (no debe existir)
+     * @param fsync      si cada grupo de lotes se fuerza a disco antes de
+     *                   confirmarlos
+     * @throws IOException si no se puede crear el segmento
+     */
+    public AppendOnlyLog(Path directorio, long segmento, boolean fsync) throws IOException {
+        if (directorio == null || segmento < 1) {
+            throw new IllegalArgumentException("El directorio y un número de segmento positivo son obligatorios");
+        }
+        this.directorio = directorio;
+        this.fsync = fsync;
+        this.segmento = segmento;
+        this.canal = abrirSegmento(segmento);
+        this.escritor = new Thread(this::escribirPendientes, "guma-embedded-log");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Arma el marco de un lote: reserva la cabecera al principio del arreglo
+     * y la completa con la longitud y el CRC de los datos.
+     *
+     * @param lote arreglo con CABECERA bytes libres seguidos de los datos
+     * @param fin  bytes usados del arreglo
+     * @return el marco listo para anexar
+     */
+    static byte[] enmarcar(byte[] lote, int fin) {
+        int longitud = fin - CABECERA;
+        CRC32C crc = new CRC32C();
+        crc.update(lote, CABECERA, longitud);
+        ByteBuffer.wrap(lote, 0, CABECERA).putInt(longitud).putInt((int) crc.getValue());
+        return fin == lote.length ? lote : Arrays.copyOf(lote, fin);
+    }
+
+    /**
+     * Encola un marco. El futuro se completa cuando el marco está escrito
+     * (y forzado a disco si fsync está activo) o falla con la IOException.
+     *
+     * @param marco marco armado con {@link #enmarcar(byte[], int)}
+     * @return futuro de la escritura
+     */
+    public CompletableFuture<Long> anexar(byte[] marco) {
+        if (marco == null) {
+            throw new IllegalArgumentException("El marco no puede ser nulo");
+        }
+        return encolar(new Pendiente(marco));
+    }
+
+    /**
+     * Cierra el segmento actual y empieza uno nuevo, después de escribir
+     * todo lo encolado antes.
+     *
+     * @return número del nuevo segmento; los lotes confirmados hasta ahora
+     *         están todos en segmentos anteriores
+     * @throws IOException si no se pudo rotar
+     */
+    public long rotar() throws IOException {
+        return esperar(encolar(new Pendiente(null)));
+    }
+
+    /**
+     * Espera la escritura de un lote y devuelve su segmento.
+     *
+     * @param listo futuro devuelto por anexar o rotar
+     * @return número de segmento
+     * @throws IOException si la escritura falló
+     */
+    static long esperar(CompletableFuture<Long> listo) throws IOException {
+        try {
+            return listo.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Long> encolar(Pendiente pendiente) {
+        synchronized (cola) {
+            if (cerrado) {
+                pendiente.listo.completeExceptionally(new IOException("El log está cerrado"));
+            } else if (falla != null) {
+                pendiente.listo.completeExceptionally(
+                        new IOException("El log falló antes: " + falla.getMessage(), falla));
+            } else {
+                cola.add(pendiente);
+            }
+        }
+        return pendiente.listo;
+    }
+
+    private void escribirPendientes() {
+        List<Pendiente> tomados = new ArrayList<>();
+        List<Pendiente> grupo = new ArrayList<>();
+        while (true) {
+            try {
+                tomados.add(cola.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            cola.drainTo(tomados, MAX_POR_ESCRITURA - 1);
+            for (Pendiente pendiente : tomados) {
+                if (pendiente.marco != null) {
+                    grupo.add(pendiente);
+                    continue;
+                }
+                confirmarGrupo(grupo);
+                if (pendiente == FIN) {
+                    cerrarCanal();
+                    return;
+                }
+                rotarSegmento(pendiente);
+            }
+            confirmarGrupo(grupo);
+            tomados.clear();
+        }
+    }
+
+    /**
+     * Escribe el grupo con una sola llamada y un solo force, y completa sus
+     * futuros.
+     */
+    private void confirmarGrupo(List<Pendiente> grupo) {
+        if (grupo.isEmpty()) {
+            return;
+        }
+        try {
+            if (falla != null) {
+                throw new IOException("El log falló antes: " + falla.getMessage(), falla);
+            }
+            ByteBuffer[] buffers = new ByteBuffer[grupo.size()];
+            long total = 0;
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = ByteBuffer.wrap(grupo.get(i).marco);
+                total += buffers[i].remaining();
+            }
+            long escritos = 0;
+            while (escritos < total) {
+                escritos += canal.write(buffers);
+            }
+            if (fsync) {
+                canal.force(false);
+                sincronizaciones.incrementAndGet();
+            }
+            bytesSegmento.addAndGet(total);
+            lotes.addAndGet(grupo.size());
+            for (Pendiente pendiente : grupo) {
+                pendiente.listo.complete(segmento);
+            }
+        } catch (IOException e) {
+            if (falla == null) {
+                LOGGER.log(Level.SEVERE, "Error al escribir el log embebido; se rechazan nuevas escrituras", e);
+                falla = e;
+            }
+            for (Pendiente pendiente : grupo) {
+                pendiente.listo.completeExceptionally(e);
+            }
+        }
+        grupo.clear();
+    }
+
+    private void rotarSegmento(Pendiente rotacion) {
+        try {
+            if (falla != null) {
+                throw new IOException("El log falló antes: " + falla.getMessage(), falla);
+            }
+            canal.force(true);
+            canal.close();
+            segmento++;
+            canal = abrirSegmento(segmento);
+            bytesSegmento.set(0);
+            rotacion.listo.complete(segmento);
+        } catch (IOException e) {
+            falla = falla != null ? falla : e;
+            rotacion.listo.completeExceptionally(e);
+        }
+    }
+
+    private FileChannel abrirSegmento(long numero) throws IOException {
+        FileChannel nuevo = FileChannel.open(rutaSegmento(directorio, numero),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        if (fsync) {
+            Instantanea.sincronizarDirectorio(directorio);
+        }
+        return nuevo;
+    }
+
+    private void cerrarCanal() {
+        try {
+            if (fsync && falla == null) {
+                canal.force(true);
+            }
+            canal.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error al cerrar el segmento del log embebido", e);
+        }
+    }
+
+    /**
+     * Escribe lo encolado y cierra el segmento actual. Los lotes encolados
+     * después fallan.
+     */
+    @Override
+    public void close() {
+        synchronized (cola) {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            cola.add(FIN);
+        }
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * @return lotes escritos desde la apertura
+     */
+    public long getLotes() {
+        return lotes.get();
+    }
+
+    /**
+     * @return force a disco realizados desde la apertura (con group commit,
+     *         menos que lotes)
+     */
+    public long getSincronizaciones() {
+        return sincronizaciones.get();
+    }
+
+    /**
+     * @return bytes escritos en el segmento actual
+     */
+    public long getBytesSegmento() {
+        return bytesSegmento.get();
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * @return ruta del segmento con el número indicado
+     */
+    static Path rutaSegmento(Path directorio, long numero) {
+        return directorio.resolve(String.format("%s%08d%s", PREFIJO, numero, EXTENSION));
+    }
+
+    /**
+     * Lista los números de segmento del directorio, en orden.
+     */
+    static List<Long> segmentos(Path directorio) throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, PREFIJO + "*" + EXTENSION)) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                try {
+                    numeros.add(Long.parseLong(nombre.substring(PREFIJO.length(),
+                            nombre.length() - EXTENSION.length())));
+                } catch (NumberFormatException e) {
+                    LOGGER.warning("Archivo ignorado en el directorio del log: " + nombre);
+                }
+            }
+        }
+        Collections.sort(numeros);
+        return numeros;
+    }
+
+    /**
+     * Receptor de los lotes leídos de un segmento.
+     */
+    interface LectorLotes {
+        void leer(ByteBuffer datos) throws IOException;
+    }
+
+    /**
+     * Lee los lotes válidos de un segmento, en orden.
+     *
+     * @param archivo segmento a leer
+     * @param ultimo  si es el último segmento: un final cortado se trunca en
+     *                lugar de considerarse corrupción
+     * @param lector  recibe los datos de cada lote
+     * @return bytes leídos
+     * @throws IOException si el segmento está corrupto o no se puede leer
+     */
+    static long leer(Path archivo, boolean ultimo, LectorLotes lector) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long tamanio = canal.size();
+            if (tamanio > Integer.MAX_VALUE) {
+                throw new IOException("Segmento del log demasiado grande: " + archivo);
+            }
+            ByteBuffer contenido = ByteBuffer.allocate((int) tamanio);
+            while (contenido.hasRemaining() && canal.read(contenido) >= 0) {
+                // leer todo el segmento
+            }
+            contenido.flip();
+            CRC32C crc = new CRC32C();
+            int valido = 0;
+            while (contenido.remaining() >= CABECERA) {
+                int longitud = contenido.getInt();
+                int esperado = contenido.getInt();
+                if (longitud < 0 || longitud > contenido.remaining()) {
+                    break;
+                }
+                ByteBuffer datos = contenido.slice();
+                datos.limit(longitud);
+                crc.reset();
+                crc.update(datos.duplicate());
+                if ((int) crc.getValue() != esperado) {
+                    break;
+                }
+                lector.leer(datos);
+                contenido.position(contenido.position() + longitud);
+                valido = contenido.position();
+            }
+            if (valido < tamanio) {
+                if (!ultimo) {
+                    throw new IOException("Segmento del log corrupto en el byte " + valido + ": " + archivo);
+                }
+                LOGGER.warning("Se descartan " + (tamanio - valido) + " bytes incompletos al final de " + archivo);
+                canal.truncate(valido);
+                canal.force(true);
+            }
+            return valido;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.guma.data.embedded;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+
+import com.guma.data.memory.AlmacenMemoria;
+import com.guma.domain.entities.Direccion;
+import com.guma.domain.entities.Image;
+import com.guma.domain.entities.Localidad;
+import com.guma.domain.entities.Pais;
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.entities.Provincia;
+import com.guma.domain.entities.RedSocial;
+import com.guma.domain.entities.Usuario;
+import com.guma.domain.valueobjects.Email;
+import com.guma.domain.valueobjects.Password;
+
+/**
+ * Formato binario de las filas del motor embebido, compartido por el log y
+ * las instantáneas.
+ *
+ * Cada fila se escribe como sus campos en un orden fijo; el código de tabla
+ * (un byte) lo escribe quien la contiene. Los campos que admiten null
+ * llevan antes un byte de presencia. Las fechas se guardan como día de
+ * época y las fechas con hora, además, con los nanosegundos del día (sin
+ * zona, como LocalDateTime). Agregar un campo a una entidad requiere una
+ * nueva versión de formato o, como en las referencias de las imágenes, un
+ * marcador que permita seguir leyendo las filas escritas antes.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class CodecFilas {
+
+    static final byte USUARIO = 1;
+    static final byte PERFIL = 2;
+    static final byte IMAGEN = 3;
+    static final byte DIRECCION = 4;
+    static final byte RED_SOCIAL = 5;
+    static final byte PAIS = 6;
+    static final byte PROVINCIA = 7;
+    static final byte LOCALIDAD = 8;
+
+    // Marca de las imágenes con cantidad de referencias, en el lugar del
+    // byte de presencia del link de las filas anteriores (0 o 1)
+    private static final byte IMAGEN_CON_REFERENCIAS = 2;
+    // Marca de las imágenes con referencias y variantes reducidas
+    private static final byte IMAGEN_CON_VARIANTES = 3;
+
+    private CodecFilas() {
+    }
+
+    // ==================== TABLAS ====================
+
+    /**
+     * @param tabla nombre de tabla de {@link AlmacenMemoria}
+     * @return código de la tabla
+     */
+    static byte codigo(String tabla) {
+        switch (tabla) {
+            case AlmacenMemoria.USUARIOS:
+                return USUARIO;
+            case AlmacenMemoria.PERFILES:
+                return PERFIL;
+            case AlmacenMemoria.IMAGENES:
+                return IMAGEN;
+            case AlmacenMemoria.DIRECCIONES:
+                return DIRECCION;
+            case AlmacenMemoria.REDES_SOCIALES:
+                return RED_SOCIAL;
+            case AlmacenMemoria.PAISES:
+                return PAIS;
+            case AlmacenMemoria.PROVINCIAS:
+                return PROVINCIA;
+            case AlmacenMemoria.LOCALIDADES:
+                return LOCALIDAD;
+            default:
+                throw new IllegalArgumentException("Tabla desconocida: " + tabla);
+        }
+    }
+
+    /**
+     * @param codigo código de la tabla
+     * @return nombre de tabla de {@link AlmacenMemoria}
+     * @throws IOException si el código no corresponde a ninguna tabla
+     */
+    static String tabla(byte codigo) throws IOException {
+        switch (codigo) {
+            case USUARIO:
+                return AlmacenMemoria.USUARIOS;
+            case PERFIL:
+                return AlmacenMemoria.PERFILES;
+            case IMAGEN:
+                return AlmacenMemoria.IMAGENES;
+            case DIRECCION:
+                return AlmacenMemoria.DIRECCIONES;
+            case RED_SOCIAL:
+                return AlmacenMemoria.REDES_SOCIALES;
+            case PAIS:
+                return AlmacenMemoria.PAISES;
+            case PROVINCIA:
+                return AlmacenMemoria.PROVINCIAS;
+            case LOCALIDAD:
+                return AlmacenMemoria.LOCALIDADES;
+            default:
+                throw new IOException("Código de tabla desconocido: " + codigo);
+        }
+    }
+
+    /**
+     * @param fila entidad guardada en el almacén
+     * @return código de su tabla
+     */
+    static byte codigo(Object fila) {
+        if (fila instanceof Usuario) {
+            return USUARIO;
+        } else if (fila instanceof PerfilUsuario) {
+            return PERFIL;
+        } else if (fila instanceof Image) {
+            return IMAGEN;
+        } else if (fila instanceof Direccion) {
+            return DIRECCION;
+        } else if (fila instanceof RedSocial) {
+            return RED_SOCIAL;
+        } else if (fila instanceof Pais) {
+            return PAIS;
+        } else if (fila instanceof Provincia) {
+            return PROVINCIA;
+        } else if (fila instanceof Localidad) {
+            return LOCALIDAD;
+        }
+        throw new IllegalArgumentException("Entidad sin tabla en el motor embebido: " + fila);
+    }
+
+    /**
+     * @param fila entidad guardada en el almacén
+     * @return su ID
+     */
+    static int id(Object fila) {
+        switch (codigo(fila)) {
+            case USUARIO:
+                return ((Usuario) fila).getIdUsuario();
+            case PERFIL:
+                return ((PerfilUsuario) fila).getIdPerfilUsuario();
+            case IMAGEN:
+                return ((Image) fila).getIdImage();
+            case DIRECCION:
+                return ((Direccion) fila).getIdDireccion();
+            case RED_SOCIAL:
+                return ((RedSocial) fila).getIdRedSocial();
+            case PAIS:
+                return ((Pais) fila).getIdPais();
+            case PROVINCIA:
+                return ((Provincia) fila).getIdProvincia();
+            default:
+                return ((Localidad) fila).getIdLocalidad();
+        }
+    }
+
+    // ==================== FILAS ====================
+
+    /**
+     * Escribe los campos de la fila (sin el código de tabla).
+     */
+    static void escribir(DataOutput out, Object fila) throws IOException {
+        switch (codigo(fila)) {
+            case USUARIO: {
+                Usuario u = (Usuario) fila;
+                out.writeInt(u.getIdUsuario());
+                out.writeUTF(u.getEmail().getValor());
+                out.writeUTF(u.getPassword().getHash());
+                escribirEntero(out, u.getIdRol());
+                out.writeBoolean(u.isVerified());
+                escribirFechaHora(out, u.getUltimaConexion());
+                break;
+            }
+            case PERFIL: {
+                PerfilUsuario p = (PerfilUsuario) fila;
+                out.writeInt(p.getIdPerfilUsuario());
+                escribirEntero(out, p.getIdUsuario());
+                escribirEntero(out, p.getIdSexo());
+                escribirTexto(out, p.getDni());
+                escribirTexto(out, p.getNombre());
+                escribirTexto(out, p.getApellido());
+                escribirFecha(out, p.getFechaNacimiento());
+                escribirTexto(out, p.getEmail());
+                escribirTexto(out, p.getTelefono());
+                escribirEntero(out, p.getIdDireccion());
+                escribirEntero(out, p.getIdRedSocial());
+                escribirEntero(out, p.getFotoPerfil());
+                out.writeBoolean(p.isVerificado());
+                escribirEntero(out, p.getVersion());
+                break;
+            }
+            case IMAGEN: {
+                Image i = (Image) fila;
+                out.writeInt(i.getIdImage());
+                out.writeByte(IMAGEN_CON_VARIANTES);
+                escribirTexto(out, i.getLink());
+                out.writeInt(i.getReferencias());
+                out.writeInt(i.getVariantes().size());
+                for (Map.Entry<Integer, String> variante : i.getVariantes().entrySet()) {
+                    out.writeInt(variante.getKey());
+                    escribirTexto(out, variante.getValue());
+                }
+                break;
+            }
+            case DIRECCION: {
+                Direccion d = (Direccion) fila;
+                out.writeInt(d.getIdDireccion());
+                escribirTexto(out, d.getNombre());
+                escribirTexto(out, d.getCodigoPostal());
+                escribirTexto(out, d.getCalle());
+                escribirTexto(out, d.getNumero());
+                escribirTexto(out, d.getDepto());
+                escribirTexto(out, d.getReferencia());
+                escribirDecimal(out, d.getLatitud());
+                escribirDecimal(out, d.getLongitud());
+                escribirEntero(out, d.getIdLocalidad());
+                break;
+            }
+            case RED_SOCIAL: {
+                RedSocial r = (RedSocial) fila;
+                out.writeInt(r.getIdRedSocial());
+                escribirTexto(out, r.getNombre());
+                escribirTexto(out, r.getLink());
+                break;
+            }
+            case PAIS: {
+                Pais p = (Pais) fila;
+                out.writeInt(p.getIdPais());
+                escribirTexto(out, p.getNombre());
+                break;
+            }
+            case PROVINCIA: {
+                Provincia p = (Provincia) fila;
+                out.writeInt(p.getIdProvincia());
+                escribirTexto(out, p.getNombre());
+                escribirEntero(out, p.getIdPais());
+                break;
+            }
+            default: {
+                Localidad l = (Localidad) fila;
+                out.writeInt(l.getIdLocalidad());
+                escribirTexto(out, l.getNombre());
+                escribirEntero(out, l.getIdProvincia());
+                break;
+            }
+        }
+    }
+
+    /**
+     * Lee los campos de una fila de la tabla indicada.
+     */
+    static Object leer(DataInput in, byte codigo) throws IOException {
+        switch (codigo) {
+            case USUARIO:
+                return new Usuario(in.readInt(), Email.crear(in.readUTF()), Password.desdeHash(in.readUTF()),
+                        leerEntero(in), in.readBoolean(), leerFechaHora(in));
+            case PERFIL: {
+                PerfilUsuario p = new PerfilUsuario(in.readInt(), leerEntero(in), leerEntero(in), leerTexto(in),
+                        leerTexto(in), leerTexto(in), leerFecha(in), leerTexto(in), leerTexto(in),
+                        leerEntero(in), leerEntero(in), leerEntero(in), in.readBoolean());
+                p.setVersion(leerEntero(in));
+                return p;
+            }
+            case IMAGEN: {
+                int id = in.readInt();
+                byte marca = in.readByte();
+                Image i;
+                if (marca == IMAGEN_CON_REFERENCIAS || marca == IMAGEN_CON_VARIANTES) {
+                    i = new Image(leerTexto(in));
+                    i.setReferencias(in.readInt());
+                    int variantes = marca == IMAGEN_CON_VARIANTES ? in.readInt() : 0;
+                    for (int v = 0; v < variantes; v++) {
+                        i.agregarVariante(in.readInt(), leerTexto(in));
+                    }
+                } else {
+                    i = new Image(marca != 0 ? in.readUTF() : null);
+                }
+                i.setIdImage(id);
+                return i;
+            }
+            case DIRECCION:
+                return new Direccion(in.readInt(), leerTexto(in), leerTexto(in), leerTexto(in), leerTexto(in),
+                        leerTexto(in), leerTexto(in), leerDecimal(in), leerDecimal(in), leerEntero(in));
+            case RED_SOCIAL:
+                return new RedSocial(in.readInt(), leerTexto(in), leerTexto(in));
+            case PAIS:
+                return new Pais(in.readInt(), leerTexto(in));
+            case PROVINCIA:
+                return new Provincia(in.readInt(), leerTexto(in), leerEntero(in));
+            case LOCALIDAD:
+                return new Localidad(in.readInt(), leerTexto(in), leerEntero(in));
+            default:
+                throw new IOException("Código de tabla desconocido: " + codigo);
+        }
+    }
+
+    // ==================== CAMPOS ====================
+
+    private static void escribirTexto(DataOutput out, String valor) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeUTF(valor);
+        }
+    }
+
+    private static String leerTexto(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void escribirEntero(DataOutput out, Integer valor) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeInt(valor);
+        }
+    }
+
+    private static Integer leerEntero(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void escribirDecimal(DataOutput out, Double valor) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeDouble(valor);
+        }
+    }
+
+    private static Double leerDecimal(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    private static void escribirFecha(DataOutput out, LocalDate valor) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeLong(valor.toEpochDay());
+        }
+    }
+
+    private static LocalDate leerFecha(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+    }
+
+    private static void escribirFechaHora(DataOutput out, LocalDateTime valor) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeLong(valor.toLocalDate().toEpochDay());
+            out.writeLong(valor.toLocalTime().toNanoOfDay());
+        }
+    }
+
+    private static LocalDateTime leerFechaHora(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        LocalDate fecha = LocalDate.ofEpochDay(in.readLong());
+        return fecha.atTime(LocalTime.ofNanoOfDay(in.readLong()));
+    }
+}
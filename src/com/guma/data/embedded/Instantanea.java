@@ -0,0 +1,161 @@
+package com.guma.data.embedded;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Instantáneas compactadas del motor embebido.
+ *
+ * La instantánea número N (instantanea-0000000N.dat) tiene el estado
+ * completo después de todos los lotes de los segmentos del log anteriores
+ * a N, así que al arrancar se carga y se reproducen solo los segmentos
+ * desde N. Formato: cabecera (marca, versión, última secuencia), las filas
+ * como [código de tabla][campos], un 0 de cierre y el CRC32C de todo lo
+ * anterior. Se escribe en un .tmp, se fuerza a disco y se renombra de forma
+ * atómica: una instantánea a medio escribir nunca reemplaza a la anterior.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class Instantanea {
+
+    private static final Logger LOGGER = Logger.getLogger(Instantanea.class.getName());
+
+    private static final int MARCA = 0x47554D41; // "GUMA"
+    private static final int VERSION = 1;
+    private static final String PREFIJO = "instantanea-";
+    private static final String EXTENSION = ".dat";
+    private static final String TEMPORAL = ".tmp";
+
+    private Instantanea() {
+    }
+
+    /**
+     * @return ruta de la instantánea con el número indicado
+     */
+    static Path ruta(Path directorio, long numero) {
+        return directorio.resolve(String.format("%s%08d%s", PREFIJO, numero, EXTENSION));
+    }
+
+    /**
+     * Escribe la instantánea número N de forma atómica.
+     *
+     * @param directorio directorio del motor
+     * @param numero     primer segmento del log que no está incluido
+     * @param secuencia  última secuencia entregada al tomar la instantánea
+     * @param filas      filas de todas las tablas
+     * @throws IOException si no se pudo escribir
+     */
+    static void escribir(Path directorio, long numero, long secuencia, List<Object> filas) throws IOException {
+        Path destino = ruta(directorio, numero);
+        Path temporal = destino.resolveSibling(destino.getFileName() + TEMPORAL);
+        try (FileOutputStream archivo = new FileOutputStream(temporal.toFile())) {
+            CheckedOutputStream verificado = new CheckedOutputStream(
+                    new BufferedOutputStream(archivo, 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(verificado);
+            out.writeInt(MARCA);
+            out.writeInt(VERSION);
+            out.writeLong(secuencia);
+            for (Object fila : filas) {
+                out.writeByte(CodecFilas.codigo(fila));
+                CodecFilas.escribir(out, fila);
+            }
+            out.writeByte(0);
+            out.writeInt((int) verificado.getChecksum().getValue());
+            out.flush();
+            archivo.getFD().sync();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+        sincronizarDirectorio(directorio);
+    }
+
+    /**
+     * Lee una instantánea y verifica su CRC.
+     *
+     * @param archivo    instantánea a leer
+     * @param consumidor recibe cada fila
+     * @return la secuencia guardada en la cabecera
+     * @throws IOException si el archivo no es una instantánea válida
+     */
+    static long leer(Path archivo, Consumer<Object> consumidor) throws IOException {
+        try (BufferedInputStream entrada = new BufferedInputStream(Files.newInputStream(archivo), 1 << 16)) {
+            CheckedInputStream verificado = new CheckedInputStream(entrada, new CRC32C());
+            DataInputStream in = new DataInputStream(verificado);
+            if (in.readInt() != MARCA) {
+                throw new IOException("No es una instantánea del motor embebido: " + archivo);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Versión de instantánea no soportada (" + version + "): " + archivo);
+            }
+            long secuencia = in.readLong();
+            byte codigo;
+            while ((codigo = in.readByte()) != 0) {
+                consumidor.accept(CodecFilas.leer(in, codigo));
+            }
+            int esperado = (int) verificado.getChecksum().getValue();
+            if (in.readInt() != esperado) {
+                throw new IOException("CRC inválido en la instantánea: " + archivo);
+            }
+            return secuencia;
+        }
+    }
+
+    /**
+     * Lista los números de instantánea del directorio, en orden, y borra los
+     * temporales de escrituras interrumpidas.
+     */
+    static List<Long> numeros(Path directorio) throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, PREFIJO + "*")) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                if (nombre.endsWith(TEMPORAL)) {
+                    Files.deleteIfExists(archivo);
+                    continue;
+                }
+                try {
+                    numeros.add(Long.parseLong(nombre.substring(PREFIJO.length(),
+                            nombre.length() - EXTENSION.length())));
+                } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                    LOGGER.warning("Archivo ignorado en el directorio del motor embebido: " + nombre);
+                }
+            }
+        }
+        Collections.sort(numeros);
+        return numeros;
+    }
+
+    /**
+     * Fuerza a disco la entrada del directorio (el renombre). No todos los
+     * sistemas permiten abrir un directorio; ahí se confía en el renombre.
+     */
+    static void sincronizarDirectorio(Path directorio) {
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Windows no permite abrir directorios como archivo
+        }
+    }
+}
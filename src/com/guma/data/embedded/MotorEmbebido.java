@@ -0,0 +1,457 @@
+package com.guma.data.embedded;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.guma.data.config.ApplicationProperties;
+import com.guma.data.memory.AlmacenMemoria;
+import com.guma.data.memory.DiarioMemoria;
+import com.guma.data.memory.EscrituraMemoria;
+
+/**
+ * Motor de persistencia embebido para usar GUMA sin servidor MySQL (modo
+ * escritorio sin conexión, persistencia=embebido).
+ *
+ * Los datos viven en un {@link AlmacenMemoria}, cuyas tablas e índices en
+ * memoria resuelven todas las consultas. Cada transacción confirmada se
+ * anexa como un lote al {@link AppendOnlyLog} antes de devolver el control
+ * (con group commit: un fsync cubre todas las transacciones que confirman
+ * a la vez). Cada tanto el estado completo se compacta en una
+ * {@link Instantanea} y se borran los segmentos del log que cubre.
+ *
+ * Al abrir, el estado se reconstruye con la última instantánea más los
+ * segmentos posteriores. Cada escritura del log lleva el estado completo de
+ * la fila y un número de secuencia tomado con la fila bloqueada, así que
+ * para cada fila gana la de mayor secuencia aunque dos transacciones
+ * concurrentes hayan llegado al log en otro orden. Un lote cortado al final
+ * del último segmento (caída durante la escritura) se descarta: esa
+ * transacción nunca se confirmó.
+ *
+ * Las instantáneas necesitan un estado sin transacciones a medias: cada
+ * transacción toma la barrera en modo lectura y la compactación en modo
+ * escritura solo mientras rota el log y junta las referencias a las filas
+ * (que no se modifican después de publicarse); la escritura del archivo
+ * ocurre sin bloquear a nadie. Un archivo de bloqueo impide que dos
+ * procesos abran el mismo directorio.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class MotorEmbebido implements DiarioMemoria, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(MotorEmbebido.class.getName());
+
+    private static final String ARCHIVO_BLOQUEO = "guma.lock";
+
+    /**
+     * Buffer de codificación de lotes con acceso al arreglo interno, para
+     * enmarcar sin copiar.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+        private Buffer() {
+            super(256);
+        }
+
+        private byte[] interno() {
+            return buf;
+        }
+    }
+
+    private final Path directorio;
+    private final FileChannel canalBloqueo;
+    private final FileLock bloqueo;
+    private final AlmacenMemoria almacen;
+    private final AppendOnlyLog log;
+    private final long umbralCompactacion;
+    private final ScheduledExecutorService compactador;
+
+    private final ReentrantReadWriteLock barrera = new ReentrantReadWriteLock();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Object compactando = new Object();
+
+    private volatile boolean cerrado;
+    private volatile long bytesSinCompactar;
+    private final long filasRecuperadas;
+    private final long milisRecuperacion;
+
+    /**
+     * Abre (o crea) el motor en un directorio y recupera su estado.
+     *
+     * @param directorio          directorio de datos
+     * @param fsync               si cada commit espera a que el lote esté en disco
+     * @param umbralCompactacion  bytes de log que disparan una instantánea
+     *                            (0 = solo manual)
+     * @param intervaloRevisionMs ms entre revisiones del umbral
+     * @throws IOException si el directorio está en uso o los datos no se
+     *                     pueden recuperar
+     */
+    public MotorEmbebido(Path directorio, boolean fsync, long umbralCompactacion, long intervaloRevisionMs)
+            throws IOException {
+        if (directorio == null) {
+            throw new IllegalArgumentException("El directorio no puede ser nulo");
+        }
+        if (umbralCompactacion < 0 || intervaloRevisionMs <= 0) {
+            throw new IllegalArgumentException("El umbral no puede ser negativo y el intervalo debe ser positivo");
+        }
+        long inicio = System.nanoTime();
+        this.directorio = Files.createDirectories(directorio);
+        this.canalBloqueo = FileChannel.open(directorio.resolve(ARCHIVO_BLOQUEO),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock tomado;
+        try {
+            tomado = canalBloqueo.tryLock();
+        } catch (OverlappingFileLockException e) {
+            tomado = null; // ya abierto en esta JVM
+        }
+        if (tomado == null) {
+            canalBloqueo.close();
+            throw new IOException("El directorio del motor embebido está en uso por otro proceso: " + directorio);
+        }
+        this.bloqueo = tomado;
+        try {
+            this.almacen = new AlmacenMemoria(this);
+            long siguienteSegmento = recuperar();
+            this.filasRecuperadas = contarFilas();
+            this.log = new AppendOnlyLog(directorio, siguienteSegmento, fsync);
+        } catch (IOException | RuntimeException e) {
+            liberarBloqueo();
+            throw e;
+        }
+        this.umbralCompactacion = umbralCompactacion;
+        this.milisRecuperacion = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        this.compactador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "guma-embedded-compactacion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        if (umbralCompactacion > 0) {
+            compactador.scheduleWithFixedDelay(this::compactarSiCorresponde,
+                    intervaloRevisionMs, intervaloRevisionMs, TimeUnit.MILLISECONDS);
+        }
+        LOGGER.info("Motor embebido abierto en " + directorio + ": " + filasRecuperadas + " filas recuperadas en "
+                + milisRecuperacion + " ms");
+    }
+
+    /**
+     * Crea el motor según application.properties:
+     * embedded.dir (por defecto ~/.guma/datos), embedded.fsync (true),
+     * embedded.compactacion.bytes (64 MB) y embedded.compactacion.intervalo
+     * (10000 ms).
+     *
+     * @return motor abierto
+     * @throws IOException si no se puede abrir
+     */
+    public static MotorEmbebido desdePropiedades() throws IOException {
+        String porDefecto = Paths.get(System.getProperty("user.home"), ".guma", "datos").toString();
+        return new MotorEmbebido(
+                Paths.get(ApplicationProperties.getString("embedded.dir", porDefecto)),
+                ApplicationProperties.getBoolean("embedded.fsync", true),
+                ApplicationProperties.getLong("embedded.compactacion.bytes", 64L * 1024 * 1024),
+                ApplicationProperties.getLong("embedded.compactacion.intervalo", 10000L));
+    }
+
+    /**
+     * @return los repositorios en memoria respaldados por este motor
+     */
+    public AlmacenMemoria getAlmacen() {
+        return almacen;
+    }
+
+    // ==================== DIARIO ====================
+
+    @Override
+    public long siguienteSecuencia() {
+        return secuencia.incrementAndGet();
+    }
+
+    @Override
+    public void iniciarTransaccion() {
+        barrera.readLock().lock();
+        if (cerrado) {
+            barrera.readLock().unlock();
+            throw new IllegalStateException("El motor embebido está cerrado");
+        }
+    }
+
+    @Override
+    public void confirmar(List<EscrituraMemoria> escrituras) {
+        try {
+            AppendOnlyLog.esperar(log.anexar(codificar(escrituras)));
+        } catch (IOException e) {
+            throw new RuntimeException("Error al escribir en el log del motor embebido: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void terminarTransaccion() {
+        barrera.readLock().unlock();
+    }
+
+    /**
+     * Lote: [cantidad] y por escritura [secuencia][tabla][id][presente][campos].
+     */
+    private static byte[] codificar(List<EscrituraMemoria> escrituras) {
+        Buffer buffer = new Buffer();
+        try {
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.write(new byte[AppendOnlyLog.CABECERA]);
+            out.writeInt(escrituras.size());
+            for (EscrituraMemoria escritura : escrituras) {
+                out.writeLong(escritura.getSecuencia());
+                out.writeByte(CodecFilas.codigo(escritura.getTabla()));
+                out.writeInt(escritura.getId());
+                out.writeBoolean(!escritura.esBaja());
+                if (!escritura.esBaja()) {
+                    CodecFilas.escribir(out, escritura.getFila());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error al codificar el lote: " + e.getMessage(), e);
+        }
+        return AppendOnlyLog.enmarcar(buffer.interno(), buffer.size());
+    }
+
+    // ==================== COMPACTACIÓN ====================
+
+    /**
+     * Escribe una instantánea del estado actual y borra los segmentos del
+     * log y las instantáneas que quedan cubiertos por ella. Espera a que
+     * terminen las transacciones en curso, pero las nuevas solo esperan
+     * mientras se rota el log y se juntan las referencias a las filas.
+     *
+     * @throws IOException           si no se pudo escribir la instantánea
+     * @throws IllegalStateException si se llama desde una transacción
+     */
+    public void compactar() throws IOException {
+        if (barrera.getReadHoldCount() > 0) {
+            throw new IllegalStateException("No se puede compactar dentro de una transacción");
+        }
+        synchronized (compactando) {
+            long inicio = System.nanoTime();
+            List<Object> filas = new ArrayList<>();
+            long segmento;
+            long ultimaSecuencia;
+            barrera.writeLock().lock();
+            try {
+                if (cerrado) {
+                    throw new IllegalStateException("El motor embebido está cerrado");
+                }
+                segmento = log.rotar();
+                ultimaSecuencia = secuencia.get();
+                almacen.recorrerGuardadas(filas::add);
+                bytesSinCompactar = 0;
+            } finally {
+                barrera.writeLock().unlock();
+            }
+            Instantanea.escribir(directorio, segmento, ultimaSecuencia, filas);
+            borrarAnteriores(segmento);
+            LOGGER.info("Instantánea " + segmento + " del motor embebido: " + filas.size() + " filas en "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) + " ms");
+        }
+    }
+
+    private void compactarSiCorresponde() {
+        if (cerrado || bytesSinCompactar + log.getBytesSegmento() < umbralCompactacion) {
+            return;
+        }
+        try {
+            compactar();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se pudo compactar el motor embebido", e);
+        }
+    }
+
+    private void borrarAnteriores(long segmento) throws IOException {
+        for (Long numero : AppendOnlyLog.segmentos(directorio)) {
+            if (numero < segmento) {
+                Files.deleteIfExists(AppendOnlyLog.rutaSegmento(directorio, numero));
+            }
+        }
+        for (Long numero : Instantanea.numeros(directorio)) {
+            if (numero < segmento) {
+                Files.deleteIfExists(Instantanea.ruta(directorio, numero));
+            }
+        }
+    }
+
+    // ==================== RECUPERACIÓN ====================
+
+    /**
+     * Carga la última instantánea y reproduce los segmentos posteriores.
+     *
+     * @return número del segmento nuevo para seguir anexando
+     */
+    private long recuperar() throws IOException {
+        Map<Byte, TreeMap<Integer, Object>> estado = new HashMap<>();
+        Map<Long, Long> secuencias = new HashMap<>();
+        long[] maxima = { 0 };
+
+        List<Long> instantaneas = Instantanea.numeros(directorio);
+        long base = instantaneas.isEmpty() ? 0 : instantaneas.get(instantaneas.size() - 1);
+        if (base > 0) {
+            maxima[0] = Instantanea.leer(Instantanea.ruta(directorio, base),
+                    fila -> estado.computeIfAbsent(CodecFilas.codigo(fila), k -> new TreeMap<>())
+                            .put(CodecFilas.id(fila), fila));
+        }
+
+        List<Long> segmentos = AppendOnlyLog.segmentos(directorio);
+        segmentos.removeIf(numero -> numero < base);
+        long bytes = 0;
+        for (int i = 0; i < segmentos.size(); i++) {
+            bytes += AppendOnlyLog.leer(AppendOnlyLog.rutaSegmento(directorio, segmentos.get(i)),
+                    i == segmentos.size() - 1,
+                    datos -> maxima[0] = Math.max(maxima[0], aplicarLote(datos, estado, secuencias)));
+        }
+        bytesSinCompactar = bytes;
+        secuencia.set(maxima[0]);
+
+        for (Map.Entry<Byte, TreeMap<Integer, Object>> tabla : new TreeMap<>(estado).entrySet()) {
+            String nombre = CodecFilas.tabla(tabla.getKey());
+            for (Object fila : tabla.getValue().values()) {
+                try {
+                    almacen.cargar(nombre, fila);
+                } catch (RuntimeException e) {
+                    throw new IOException("Estado recuperado inconsistente en " + nombre + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        long ultimo = segmentos.isEmpty() ? 0 : segmentos.get(segmentos.size() - 1);
+        return Math.max(Math.max(base, ultimo + 1), 1);
+    }
+
+    /**
+     * Aplica un lote al estado en reconstrucción: para cada fila queda la
+     * escritura de mayor secuencia.
+     *
+     * @return la mayor secuencia del lote
+     */
+    private static long aplicarLote(ByteBuffer datos, Map<Byte, TreeMap<Integer, Object>> estado,
+            Map<Long, Long> secuencias) throws IOException {
+        byte[] bytes = new byte[datos.remaining()];
+        datos.get(bytes);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        long maxima = 0;
+        int cantidad = in.readInt();
+        for (int i = 0; i < cantidad; i++) {
+            long numero = in.readLong();
+            byte codigo = in.readByte();
+            int id = in.readInt();
+            Object fila = in.readBoolean() ? CodecFilas.leer(in, codigo) : null;
+            maxima = Math.max(maxima, numero);
+            long clave = ((long) codigo << 32) | (id & 0xFFFFFFFFL);
+            Long previa = secuencias.get(clave);
+            if (previa != null && previa > numero) {
+                continue;
+            }
+            secuencias.put(clave, numero);
+            TreeMap<Integer, Object> tabla = estado.computeIfAbsent(codigo, k -> new TreeMap<>());
+            if (fila != null) {
+                tabla.put(id, fila);
+            } else {
+                tabla.remove(id);
+            }
+        }
+        return maxima;
+    }
+
+    private long contarFilas() {
+        long[] filas = { 0 };
+        almacen.recorrerGuardadas(fila -> filas[0]++);
+        return filas[0];
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * @return transacciones escritas en el log desde la apertura
+     */
+    public long getLotesEscritos() {
+        return log.getLotes();
+    }
+
+    /**
+     * @return fsync del log desde la apertura (con group commit, menos que lotes)
+     */
+    public long getSincronizaciones() {
+        return log.getSincronizaciones();
+    }
+
+    /**
+     * @return filas cargadas al abrir
+     */
+    public long getFilasRecuperadas() {
+        return filasRecuperadas;
+    }
+
+    /**
+     * @return ms que tardó la recuperación al abrir
+     */
+    public long getMilisRecuperacion() {
+        return milisRecuperacion;
+    }
+
+    // ==================== CIERRE ====================
+
+    /**
+     * Espera las transacciones en curso, escribe lo pendiente del log y
+     * libera el directorio. Las transacciones posteriores fallan con
+     * IllegalStateException.
+     */
+    @Override
+    public void close() {
+        if (cerrado) {
+            return;
+        }
+        compactador.shutdown();
+        try {
+            compactador.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        barrera.writeLock().lock();
+        try {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+        } finally {
+            barrera.writeLock().unlock();
+        }
+        log.close();
+        liberarBloqueo();
+        LOGGER.info("Motor embebido cerrado: " + directorio);
+    }
+
+    private void liberarBloqueo() {
+        try {
+            bloqueo.release();
+            canalBloqueo.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "No se pudo liberar el bloqueo del motor embebido", e);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.guma.data.logging;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import com.guma.data.config.ApplicationProperties;
+
+/**
+ * Log asíncrono de sentencias SQL.
+ *
+ * Los hilos que ejecutan SQL solo publican el evento en un
+ * {@link SqlRingBuffer} sin locks; un único hilo de fondo los formatea y
+ * los escribe en un archivo con rotación. Si el buffer se llena, los
+ * eventos se descartan (y se cuentan) en lugar de frenar a la aplicación.
+ *
+ * Qué se registra:
+ * - Una muestra de las sentencias (log.sql.muestreo, fracción entre 0 y 1)
+ * - Siempre, las sentencias lentas (log.sql.lenta.ms) y las que fallan
+ *
+ * Nunca se escriben valores: de las sentencias preparadas se registra el
+ * texto con sus '?' y la cantidad de parámetros; en las no preparadas se
+ * reemplazan los literales de texto y números por '?', y en los mensajes de
+ * error, los literales de texto.
+ *
+ * Configuración (application.properties):
+ *
+ * <pre>
+ * log.sql.enabled=true
+ * log.sql.archivo=./logs/sql.log
+ * log.sql.archivo.max.bytes=10485760
+ * log.sql.archivo.max.archivos=5
+ * log.sql.buffer=8192
+ * log.sql.muestreo=0.05
+ * log.sql.lenta.ms=500
+ * </pre>
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class AsyncSqlLog implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncSqlLog.class.getName());
+
+    private static final long ESPERA_SIN_EVENTOS_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long ESPERA_CIERRE_MS = 2000;
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final Pattern LITERAL_TEXTO = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern LITERAL_NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private final SqlRingBuffer buffer;
+    private final RollingFileWriter archivo;
+    private final double muestreo;
+    private final long umbralLentaNanos;
+    private final LongAdder descartadas = new LongAdder();
+    private final AtomicLong escritas = new AtomicLong();
+    private final Thread escritor;
+    private volatile boolean activo = true;
+
+    /**
+     * Crea el log y arranca el hilo escritor.
+     *
+     * @param archivo        archivo de log
+     * @param maxBytes       tamaño a partir del cual se rota
+     * @param maxArchivos    archivos conservados, incluido el actual
+     * @param capacidad      eventos que puede retener el buffer
+     * @param muestreo       fracción de sentencias normales a registrar (0 a 1)
+     * @param umbralLentaMs  duración a partir de la cual siempre se registra
+     */
+    public AsyncSqlLog(Path archivo, long maxBytes, int maxArchivos, int capacidad,
+            double muestreo, long umbralLentaMs) {
+        if (muestreo < 0 || muestreo > 1) {
+            throw new IllegalArgumentException("El muestreo debe estar entre 0 y 1: " + muestreo);
+        }
+        if (umbralLentaMs < 0) {
+            throw new IllegalArgumentException("El umbral de sentencia lenta no puede ser negativo");
+        }
+        this.buffer = new SqlRingBuffer(capacidad);
+        this.archivo = new RollingFileWriter(archivo, maxBytes, maxArchivos);
+        this.muestreo = muestreo;
+        this.umbralLentaNanos = TimeUnit.MILLISECONDS.toNanos(umbralLentaMs);
+
+        this.escritor = new Thread(this::escribirEventos, "guma-sql-log");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Crea el log leyendo application.properties.
+     *
+     * @return log de SQL, o null si log.sql.enabled=false
+     */
+    public static AsyncSqlLog desdePropiedades() {
+        if (!ApplicationProperties.getBoolean("log.sql.enabled", false)) {
+            return null;
+        }
+        return new AsyncSqlLog(
+                Paths.get(ApplicationProperties.getString("log.sql.archivo", "./logs/sql.log")),
+                ApplicationProperties.getLong("log.sql.archivo.max.bytes", 10L * 1024 * 1024),
+                ApplicationProperties.getInt("log.sql.archivo.max.archivos", 5),
+                ApplicationProperties.getInt("log.sql.buffer", 8192),
+                ApplicationProperties.getDouble("log.sql.muestreo", 0.05),
+                ApplicationProperties.getLong("log.sql.lenta.ms", 500));
+    }
+
+    /**
+     * Envuelve una sentencia para registrar cada ejecución.
+     *
+     * @param <S>       tipo de sentencia
+     * @param sentencia sentencia a envolver
+     * @param sql       texto SQL si es preparada, null si se indica al ejecutar
+     * @return sentencia instrumentada
+     */
+    public <S extends Statement> S instrumentar(S sentencia, String sql) {
+        return SqlLogStatement.envolver(sentencia, sql, this);
+    }
+
+    /**
+     * Registra la ejecución de una sentencia. No bloquea: si el buffer está
+     * lleno el evento se descarta.
+     *
+     * @param sql        texto SQL
+     * @param preparada  true si los valores van como parámetros
+     * @param nanos      duración de la ejecución
+     * @param filas      filas afectadas (-1 si no aplica)
+     * @param parametros cantidad de parámetros enlazados
+     * @param error      excepción lanzada, o null
+     */
+    public void registrar(String sql, boolean preparada, long nanos, long filas, int parametros,
+            Throwable error) {
+        boolean lenta = nanos >= umbralLentaNanos;
+        if (!lenta && error == null && !muestrear()) {
+            return;
+        }
+        if (!activo || !buffer.publicar(System.currentTimeMillis(), Thread.currentThread().getName(), sql,
+                preparada, nanos, filas, parametros, error != null ? error.toString() : null, lenta)) {
+            descartadas.increment();
+        }
+    }
+
+    /** Eventos descartados por buffer lleno. */
+    public long getDescartadas() {
+        return descartadas.sum();
+    }
+
+    /** Eventos escritos en el archivo. */
+    public long getEscritas() {
+        return escritas.get();
+    }
+
+    /** Eventos en el buffer esperando al escritor. */
+    public long getPendientes() {
+        return buffer.getPendientes();
+    }
+
+    /**
+     * Detiene el hilo escritor después de vaciar el buffer y cierra el archivo.
+     */
+    @Override
+    public void close() {
+        if (!activo) {
+            return;
+        }
+        activo = false;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join(ESPERA_CIERRE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== HILO ESCRITOR ====================
+
+    private boolean muestrear() {
+        return muestreo >= 1 || (muestreo > 0 && ThreadLocalRandom.current().nextDouble() < muestreo);
+    }
+
+    private void escribirEventos() {
+        StringBuilder linea = new StringBuilder(256);
+        boolean pendienteFlush = false;
+        boolean falloReportado = false;
+        while (true) {
+            SqlRingBuffer.Entrada entrada = buffer.siguiente();
+            if (entrada == null) {
+                if (pendienteFlush) {
+                    falloReportado = flush(falloReportado);
+                    pendienteFlush = false;
+                }
+                if (!activo) {
+                    break;
+                }
+                LockSupport.parkNanos(ESPERA_SIN_EVENTOS_NANOS);
+                continue;
+            }
+            linea.setLength(0);
+            formatear(entrada, linea);
+            buffer.liberar(entrada);
+            try {
+                archivo.escribir(linea.toString());
+                escritas.incrementAndGet();
+                pendienteFlush = true;
+                falloReportado = false;
+            } catch (IOException e) {
+                descartadas.increment();
+                if (!falloReportado) {
+                    LOGGER.log(Level.WARNING, "No se pudo escribir el log de SQL", e);
+                    falloReportado = true;
+                }
+            }
+        }
+        try {
+            archivo.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error al cerrar el log de SQL", e);
+        }
+    }
+
+    private boolean flush(boolean falloReportado) {
+        try {
+            archivo.flush();
+            return falloReportado;
+        } catch (IOException e) {
+            if (!falloReportado) {
+                LOGGER.log(Level.WARNING, "No se pudo escribir el log de SQL", e);
+            }
+            return true;
+        }
+    }
+
+    private static void formatear(SqlRingBuffer.Entrada entrada, StringBuilder linea) {
+        linea.append(FORMATO_FECHA.format(
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(entrada.instante), ZoneId.systemDefault())));
+        linea.append(" [").append(entrada.hilo).append("] ");
+        linea.append(String.format("%.3f", entrada.nanos / 1_000_000.0)).append(" ms");
+        if (entrada.filas >= 0) {
+            linea.append(" filas=").append(entrada.filas);
+        }
+        if (entrada.parametros > 0) {
+            linea.append(" parametros=").append(entrada.parametros);
+        }
+        if (entrada.lenta) {
+            linea.append(" LENTA");
+        }
+        if (entrada.error != null) {
+            // Los mensajes del driver pueden incluir valores (ej: "Duplicate entry 'x'")
+            linea.append(" ERROR=").append(LITERAL_TEXTO.matcher(entrada.error).replaceAll("?"));
+        }
+        linea.append(" | ").append(redactar(entrada.sql, entrada.preparada));
+    }
+
+    private static String redactar(String sql, boolean preparada) {
+        if (sql == null) {
+            return "(sin SQL)";
+        }
+        String texto = sql.replaceAll("\\s+", " ").trim();
+        if (preparada) {
+            return texto;
+        }
+        texto = LITERAL_TEXTO.matcher(texto).replaceAll("?");
+        return LITERAL_NUMERO.matcher(texto).replaceAll("?");
+    }
+}
@@ -0,0 +1,99 @@
+package com.guma.data.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritor de texto a archivo con rotación por tamaño.
+ *
+ * Cuando el archivo supera el tamaño máximo se renombra a archivo.1 (y los
+ * anteriores a .2, .3...) conservando como mucho maxArchivos archivos en
+ * total. No es seguro para varios hilos: lo usa solo el hilo escritor del
+ * log de SQL.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class RollingFileWriter implements AutoCloseable {
+
+    private final Path archivo;
+    private final long maxBytes;
+    private final int maxArchivos;
+    private BufferedWriter writer;
+    private long bytesEscritos;
+
+    RollingFileWriter(Path archivo, long maxBytes, int maxArchivos) {
+        if (archivo == null || maxBytes <= 0 || maxArchivos < 1) {
+            throw new IllegalArgumentException("Configuración de archivo de log inválida");
+        }
+        this.archivo = archivo;
+        this.maxBytes = maxBytes;
+        this.maxArchivos = maxArchivos;
+    }
+
+    /**
+     * Escribe una línea (agrega el salto de línea), rotando si corresponde.
+     *
+     * @param linea texto a escribir
+     * @throws IOException si falla la escritura
+     */
+    void escribir(String linea) throws IOException {
+        if (writer == null) {
+            abrir();
+        } else if (bytesEscritos >= maxBytes) {
+            rotar();
+        }
+        writer.write(linea);
+        writer.newLine();
+        // Aproximado: las líneas de log son mayormente ASCII
+        bytesEscritos += linea.length() + 1;
+    }
+
+    void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void abrir() throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        bytesEscritos = Files.size(archivo);
+    }
+
+    private void rotar() throws IOException {
+        close();
+        if (maxArchivos == 1) {
+            Files.deleteIfExists(archivo);
+        } else {
+            for (int i = maxArchivos - 1; i >= 1; i--) {
+                Path origen = i == 1 ? archivo : rotado(i - 1);
+                if (Files.exists(origen)) {
+                    Files.move(origen, rotado(i), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        abrir();
+    }
+
+    private Path rotado(int numero) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + numero);
+    }
+}
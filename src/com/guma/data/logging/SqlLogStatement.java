@@ -0,0 +1,137 @@
+package com.guma.data.logging;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Proxy de Statement que mide cada ejecución y la publica en el
+ * {@link AsyncSqlLog}.
+ *
+ * De los setXxx solo se registra el índice más alto, para informar la
+ * cantidad de parámetros sin retener sus valores.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class SqlLogStatement implements InvocationHandler {
+
+    private final Statement sentencia;
+    private final String sql;
+    private final AsyncSqlLog log;
+    private int parametros;
+    private int enLote;
+
+    private SqlLogStatement(Statement sentencia, String sql, AsyncSqlLog log) {
+        this.sentencia = sentencia;
+        this.sql = sql;
+        this.log = log;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <S extends Statement> S envolver(S sentencia, String sql, AsyncSqlLog log) {
+        Class<?> tipo;
+        if (sentencia instanceof CallableStatement) {
+            tipo = CallableStatement.class;
+        } else if (sentencia instanceof PreparedStatement) {
+            tipo = PreparedStatement.class;
+        } else {
+            tipo = Statement.class;
+        }
+        return (S) Proxy.newProxyInstance(
+                tipo.getClassLoader(),
+                new Class<?>[] { tipo },
+                new SqlLogStatement(sentencia, sql, log));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String nombre = method.getName();
+        switch (nombre) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "SqlLog[" + sentencia + "]";
+            case "clearParameters":
+                parametros = 0;
+                break;
+            case "addBatch":
+                enLote++;
+                break;
+            case "clearBatch":
+                enLote = 0;
+                break;
+            default:
+                if (nombre.startsWith("execute")) {
+                    return ejecutar(method, args);
+                }
+                if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    parametros = Math.max(parametros, (Integer) args[0]);
+                }
+        }
+        return invocar(method, args);
+    }
+
+    private Object ejecutar(Method method, Object[] args) throws Throwable {
+        boolean conSql = args != null && args.length > 0 && args[0] instanceof String;
+        String texto = conSql ? (String) args[0] : sql;
+        boolean preparada = !conSql && sentencia instanceof PreparedStatement;
+        boolean lote = "executeBatch".equals(method.getName()) || "executeLargeBatch".equals(method.getName());
+
+        long inicio = System.nanoTime();
+        Object resultado = null;
+        Throwable error = null;
+        try {
+            resultado = invocar(method, args);
+            return resultado;
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            long nanos = System.nanoTime() - inicio;
+            log.registrar(lote ? texto + " [lote de " + enLote + "]" : texto, preparada, nanos,
+                    filas(resultado), preparada ? parametros : 0, error);
+            if (lote) {
+                enLote = 0;
+            }
+        }
+    }
+
+    private static long filas(Object resultado) {
+        if (resultado instanceof Integer) {
+            return (Integer) resultado;
+        }
+        if (resultado instanceof Long) {
+            return (Long) resultado;
+        }
+        if (resultado instanceof int[]) {
+            long total = 0;
+            for (int n : (int[]) resultado) {
+                total += Math.max(n, 0);
+            }
+            return total;
+        }
+        if (resultado instanceof long[]) {
+            long total = 0;
+            for (long n : (long[]) resultado) {
+                total += Math.max(n, 0);
+            }
+            return total;
+        }
+        return -1;
+    }
+
+    private Object invocar(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(sentencia, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.guma.data.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffer circular sin locks de muchos productores y un único consumidor.
+ *
+ * Las entradas se reservan al crear el buffer y se reutilizan: publicar un
+ * evento solo copia referencias y primitivos en la entrada reservada. Un
+ * productor reserva su posición con compareAndSet sobre la cola y publica
+ * la entrada escribiendo su secuencia (escritura volatile); el consumidor
+ * solo lee una entrada cuando su secuencia coincide con la posición
+ * esperada. Si el buffer está lleno el evento se descarta en lugar de
+ * bloquear al productor.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class SqlRingBuffer {
+
+    private final Entrada[] entradas;
+    private final int mascara;
+    private final AtomicLong cola = new AtomicLong();
+    private final AtomicLong cabeza = new AtomicLong();
+
+    /**
+     * @param capacidad cantidad mínima de entradas (se redondea a potencia de 2)
+     */
+    SqlRingBuffer(int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad del buffer debe ser al menos 1");
+        }
+        int tamanio = Integer.highestOneBit(capacidad);
+        if (tamanio < capacidad) {
+            tamanio <<= 1;
+        }
+        this.entradas = new Entrada[tamanio];
+        for (int i = 0; i < tamanio; i++) {
+            entradas[i] = new Entrada();
+        }
+        this.mascara = tamanio - 1;
+    }
+
+    /**
+     * Publica un evento. Puede llamarse desde cualquier hilo.
+     *
+     * @return false si el buffer estaba lleno y el evento se descartó
+     */
+    boolean publicar(long instante, String hilo, String sql, boolean preparada, long nanos,
+            long filas, int parametros, String error, boolean lenta) {
+        long posicion;
+        do {
+            posicion = cola.get();
+            if (posicion - cabeza.get() >= entradas.length) {
+                return false;
+            }
+        } while (!cola.compareAndSet(posicion, posicion + 1));
+
+        Entrada entrada = entradas[(int) (posicion & mascara)];
+        entrada.instante = instante;
+        entrada.hilo = hilo;
+        entrada.sql = sql;
+        entrada.preparada = preparada;
+        entrada.nanos = nanos;
+        entrada.filas = filas;
+        entrada.parametros = parametros;
+        entrada.error = error;
+        entrada.lenta = lenta;
+        entrada.secuencia = posicion + 1;
+        return true;
+    }
+
+    /**
+     * Devuelve la siguiente entrada publicada, sin retirarla. Solo debe
+     * llamarla el hilo consumidor.
+     *
+     * @return la entrada, o null si no hay ninguna lista
+     */
+    Entrada siguiente() {
+        long posicion = cabeza.get();
+        Entrada entrada = entradas[(int) (posicion & mascara)];
+        return entrada.secuencia == posicion + 1 ? entrada : null;
+    }
+
+    /**
+     * Retira la entrada obtenida con {@link #siguiente()} y la deja
+     * disponible para los productores. Solo debe llamarla el hilo consumidor.
+     */
+    void liberar(Entrada entrada) {
+        entrada.hilo = null;
+        entrada.sql = null;
+        entrada.error = null;
+        cabeza.lazySet(cabeza.get() + 1);
+    }
+
+    /** Eventos publicados y todavía no consumidos (aproximado). */
+    long getPendientes() {
+        return Math.max(0L, cola.get() - cabeza.get());
+    }
+
+    int getCapacidad() {
+        return entradas.length;
+    }
+
+    /**
+     * Evento de ejecución de una sentencia. Mutable y reutilizado.
+     */
+    static final class Entrada {
+        private volatile long secuencia;
+        long instante;
+        String hilo;
+        String sql;
+        boolean preparada;
+        long nanos;
+        long filas;
+        int parametros;
+        String error;
+        boolean lenta;
+    }
+}
@@ -0,0 +1,147 @@
+package com.guma.data.memory;
+
+import java.util.function.Consumer;
+
+import com.guma.domain.entities.Direccion;
+import com.guma.domain.entities.Image;
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.entities.RedSocial;
+import com.guma.domain.entities.Usuario;
+
+/**
+ * Conjunto de los repositorios en memoria con datos propios (usuarios,
+ * perfiles, imágenes, direcciones, redes sociales y catálogo geográfico).
+ *
+ * Sin diario es la persistencia en memoria pura. Con diario, cada tabla le
+ * entrega sus escrituras con los nombres de tabla de esta clase, y el dueño
+ * del diario puede volver a cargar las filas con {@link #cargar(String, Object)}
+ * y recorrerlas para una instantánea con {@link #recorrerGuardadas(Consumer)}.
+ * Los roles no forman parte del almacén: son fijos y se siembran al crearlos.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class AlmacenMemoria {
+
+    public static final String USUARIOS = "usuarios";
+    public static final String PERFILES = "perfiles";
+    public static final String IMAGENES = "imagenes";
+    public static final String DIRECCIONES = "direcciones";
+    public static final String REDES_SOCIALES = "redes_sociales";
+    public static final String PAISES = "paises";
+    public static final String PROVINCIAS = "provincias";
+    public static final String LOCALIDADES = "localidades";
+
+    private final UsuarioRepositoryMemoria usuarios = new UsuarioRepositoryMemoria();
+    private final PerfilUsuarioRepositoryMemoria perfiles = new PerfilUsuarioRepositoryMemoria();
+    private final ImageRepositoryMemoria imagenes = new ImageRepositoryMemoria();
+    private final DireccionRepositoryMemoria direcciones = new DireccionRepositoryMemoria();
+    private final RedSocialRepositoryMemoria redesSociales = new RedSocialRepositoryMemoria();
+    private final CatalogoGeograficoRepositoryMemoria catalogo = new CatalogoGeograficoRepositoryMemoria();
+
+    /**
+     * Crea un almacén en memoria pura.
+     */
+    public AlmacenMemoria() {
+        this(null);
+    }
+
+    /**
+     * Crea un almacén cuyas escrituras se entregan al diario.
+     *
+     * @param diario destino de las escrituras (null = solo memoria)
+     */
+    public AlmacenMemoria(DiarioMemoria diario) {
+        if (diario != null) {
+            usuarios.getTabla().vincular(USUARIOS, diario);
+            perfiles.getTabla().vincular(PERFILES, diario);
+            imagenes.getTabla().vincular(IMAGENES, diario);
+            direcciones.getTabla().vincular(DIRECCIONES, diario);
+            redesSociales.getTabla().vincular(REDES_SOCIALES, diario);
+            catalogo.vincular(diario);
+        }
+    }
+
+    // ==================== REPOSITORIOS ====================
+
+    public UsuarioRepositoryMemoria getUsuarios() {
+        return usuarios;
+    }
+
+    public PerfilUsuarioRepositoryMemoria getPerfiles() {
+        return perfiles;
+    }
+
+    public ImageRepositoryMemoria getImagenes() {
+        return imagenes;
+    }
+
+    public DireccionRepositoryMemoria getDirecciones() {
+        return direcciones;
+    }
+
+    public RedSocialRepositoryMemoria getRedesSociales() {
+        return redesSociales;
+    }
+
+    public CatalogoGeograficoRepositoryMemoria getCatalogo() {
+        return catalogo;
+    }
+
+    // ==================== CARGA E INSTANTÁNEAS ====================
+
+    /**
+     * Agrega (o reemplaza) una fila sin pasar por el diario. Pensado para
+     * reconstruir el estado al arrancar, antes de usar los repositorios.
+     *
+     * @param tabla nombre de la tabla
+     * @param fila  entidad con ID; se guarda sin copiar
+     * @throws IllegalArgumentException si la tabla no existe
+     */
+    public void cargar(String tabla, Object fila) {
+        if (fila == null) {
+            throw new IllegalArgumentException("La fila a cargar no puede ser nula");
+        }
+        switch (tabla) {
+            case USUARIOS:
+                usuarios.getTabla().cargar((Usuario) fila);
+                break;
+            case PERFILES:
+                perfiles.getTabla().cargar((PerfilUsuario) fila);
+                break;
+            case IMAGENES:
+                imagenes.getTabla().cargar((Image) fila);
+                break;
+            case DIRECCIONES:
+                direcciones.getTabla().cargar((Direccion) fila);
+                break;
+            case REDES_SOCIALES:
+                redesSociales.getTabla().cargar((RedSocial) fila);
+                break;
+            case PAISES:
+            case PROVINCIAS:
+            case LOCALIDADES:
+                catalogo.cargar(fila);
+                break;
+            default:
+                throw new IllegalArgumentException("Tabla desconocida: " + tabla);
+        }
+    }
+
+    /**
+     * Recorre todas las filas guardadas, tabla por tabla y sin copiarlas.
+     * Para una instantánea coherente no debe haber transacciones en curso
+     * mientras dura el recorrido.
+     *
+     * @param consumidor recibe cada fila (Usuario, PerfilUsuario, Image,
+     *                   Direccion, RedSocial, Pais, Provincia o Localidad)
+     */
+    public void recorrerGuardadas(Consumer<Object> consumidor) {
+        usuarios.getTabla().recorrerGuardadas(consumidor);
+        perfiles.getTabla().recorrerGuardadas(consumidor);
+        imagenes.getTabla().recorrerGuardadas(consumidor);
+        direcciones.getTabla().recorrerGuardadas(consumidor);
+        redesSociales.getTabla().recorrerGuardadas(consumidor);
+        catalogo.recorrerGuardadas(consumidor);
+    }
+}
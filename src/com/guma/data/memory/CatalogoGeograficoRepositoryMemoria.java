@@ -0,0 +1,303 @@
+package com.guma.data.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import com.guma.backend.ports.CatalogoGeograficoRepository;
+import com.guma.domain.entities.Localidad;
+import com.guma.domain.entities.Pais;
+import com.guma.domain.entities.Provincia;
+import com.guma.domain.valueobjects.Pagina;
+
+/**
+ * Implementación en memoria de CatalogoGeograficoRepository.
+ *
+ * El catálogo es de solo lectura para la aplicación: se carga con
+ * agregarPais, agregarProvincia y agregarLocalidad (por ejemplo, al
+ * preparar un benchmark). Cada nivel guarda sus entidades por ID y, por cada
+ * padre, los IDs de sus hijos en un ConcurrentSkipListSet, de modo que las
+ * páginas por clave se resuelven sin recorrer los elementos anteriores.
+ *
+ * Los listados completos se ordenan por nombre, como en la base de datos.
+ * Cada llamada devuelve entidades nuevas. Las cargas participan de la
+ * transacción en memoria del hilo y, con diario, se registran en él como
+ * las escrituras de las demás tablas.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class CatalogoGeograficoRepositoryMemoria implements CatalogoGeograficoRepository {
+
+    private static final Integer SIN_PADRE = 0;
+
+    private final Nivel<Pais> paises = new Nivel<>(
+            p -> new Pais(p.getIdPais(), p.getNombre()), Pais::getIdPais, p -> SIN_PADRE, Pais::getNombre);
+    private final Nivel<Provincia> provincias = new Nivel<>(
+            p -> new Provincia(p.getIdProvincia(), p.getNombre(), p.getIdPais()),
+            Provincia::getIdProvincia, Provincia::getIdPais, Provincia::getNombre);
+    private final Nivel<Localidad> localidades = new Nivel<>(
+            l -> new Localidad(l.getIdLocalidad(), l.getNombre(), l.getIdProvincia()),
+            Localidad::getIdLocalidad, Localidad::getIdProvincia, Localidad::getNombre);
+
+    // ==================== CARGA ====================
+
+    /**
+     * Agrega (o reemplaza) un país.
+     *
+     * @param pais país con ID
+     */
+    public void agregarPais(Pais pais) {
+        paises.agregar(pais);
+    }
+
+    /**
+     * Agrega (o reemplaza) una provincia.
+     *
+     * @param provincia provincia con ID y país
+     */
+    public void agregarProvincia(Provincia provincia) {
+        provincias.agregar(provincia);
+    }
+
+    /**
+     * Agrega (o reemplaza) una localidad.
+     *
+     * @param localidad localidad con ID y provincia
+     */
+    public void agregarLocalidad(Localidad localidad) {
+        localidades.agregar(localidad);
+    }
+
+    // ==================== PERSISTENCIA ====================
+
+    /**
+     * Vincula los tres niveles a un diario, con los nombres de tabla de
+     * {@link AlmacenMemoria}.
+     */
+    void vincular(DiarioMemoria diario) {
+        paises.vincular(AlmacenMemoria.PAISES, diario);
+        provincias.vincular(AlmacenMemoria.PROVINCIAS, diario);
+        localidades.vincular(AlmacenMemoria.LOCALIDADES, diario);
+    }
+
+    /**
+     * Agrega una entidad recuperada sin pasar por el diario.
+     */
+    void cargar(Object entidad) {
+        if (entidad instanceof Pais) {
+            paises.cargar((Pais) entidad);
+        } else if (entidad instanceof Provincia) {
+            provincias.cargar((Provincia) entidad);
+        } else if (entidad instanceof Localidad) {
+            localidades.cargar((Localidad) entidad);
+        } else {
+            throw new IllegalArgumentException("Entidad ajena al catálogo: " + entidad);
+        }
+    }
+
+    /**
+     * Recorre las entidades guardadas, sin copiarlas: países, provincias y
+     * localidades, en ese orden.
+     */
+    void recorrerGuardadas(Consumer<Object> consumidor) {
+        paises.porId.values().forEach(consumidor);
+        provincias.porId.values().forEach(consumidor);
+        localidades.porId.values().forEach(consumidor);
+    }
+
+    // ===== PAISES =====
+
+    @Override
+    public List<Pais> findAllPaises() {
+        return paises.hijos(SIN_PADRE);
+    }
+
+    @Override
+    public Optional<Pais> findPaisById(Integer id) {
+        return paises.buscar(id);
+    }
+
+    @Override
+    public Pagina<Pais> findPaisesPagina(Integer despuesDeId, int limite) {
+        return paises.pagina(SIN_PADRE, despuesDeId, limite);
+    }
+
+    @Override
+    public void findAllPaises(Consumer<? super Pais> consumidor) {
+        paises.recorrer(SIN_PADRE, consumidor);
+    }
+
+    // ===== PROVINCIAS =====
+
+    @Override
+    public List<Provincia> findProvinciasByPais(Integer idPais) {
+        return provincias.hijos(idPais);
+    }
+
+    @Override
+    public Optional<Provincia> findProvinciaById(Integer id) {
+        return provincias.buscar(id);
+    }
+
+    @Override
+    public Pagina<Provincia> findProvinciasByPaisPagina(Integer idPais, Integer despuesDeId, int limite) {
+        return provincias.pagina(idPais, despuesDeId, limite);
+    }
+
+    @Override
+    public void findProvinciasByPais(Integer idPais, Consumer<? super Provincia> consumidor) {
+        provincias.recorrer(idPais, consumidor);
+    }
+
+    // ===== LOCALIDADES =====
+
+    @Override
+    public List<Localidad> findLocalidadesByProvincia(Integer idProvincia) {
+        return localidades.hijos(idProvincia);
+    }
+
+    @Override
+    public Optional<Localidad> findLocalidadById(Integer id) {
+        return localidades.buscar(id);
+    }
+
+    @Override
+    public Pagina<Localidad> findLocalidadesByProvinciaPagina(Integer idProvincia, Integer despuesDeId,
+            int limite) {
+        return localidades.pagina(idProvincia, despuesDeId, limite);
+    }
+
+    @Override
+    public void findLocalidadesByProvincia(Integer idProvincia, Consumer<? super Localidad> consumidor) {
+        localidades.recorrer(idProvincia, consumidor);
+    }
+
+    /**
+     * Un nivel del árbol: entidades por ID e IDs de hijos por padre.
+     */
+    private static final class Nivel<E> {
+        private final ConcurrentHashMap<Integer, E> porId = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Integer>> porPadre = new ConcurrentHashMap<>();
+        private final UnaryOperator<E> copiar;
+        private final Function<E, Integer> id;
+        private final Function<E, Integer> padre;
+        private final Comparator<E> porNombre;
+        private String nombre;
+        private DiarioMemoria diario;
+
+        private Nivel(UnaryOperator<E> copiar, Function<E, Integer> id, Function<E, Integer> padre,
+                Function<E, String> nombre) {
+            this.copiar = copiar;
+            this.id = id;
+            this.padre = padre;
+            this.porNombre = Comparator.comparing(nombre, Comparator.nullsLast(Comparator.naturalOrder()));
+        }
+
+        private void vincular(String nombre, DiarioMemoria diario) {
+            this.nombre = nombre;
+            this.diario = diario;
+        }
+
+        private void agregar(E entidad) {
+            if (entidad == null || id.apply(entidad) == null || padre.apply(entidad) == null) {
+                throw new IllegalArgumentException("La entidad del catálogo debe tener ID y padre");
+            }
+            E copia = copiar.apply(entidad);
+            TransaccionMemoria.escribir(diario, () -> {
+                Integer clave = id.apply(copia);
+                E anterior = poner(clave, copia);
+                TransaccionMemoria.registrarDeshacer(() -> poner(clave, anterior));
+                return null;
+            });
+        }
+
+        private void cargar(E entidad) {
+            Integer clave = id.apply(entidad);
+            E anterior = porId.put(clave, entidad);
+            indexar(clave, anterior, entidad);
+        }
+
+        /**
+         * Reemplaza (o quita, con null) la entidad del ID y anota el cambio
+         * para el diario.
+         */
+        private E poner(Integer clave, E entidad) {
+            List<E> anterior = new ArrayList<>(1);
+            porId.compute(clave, (k, actual) -> {
+                anterior.add(actual);
+                if (diario != null) {
+                    TransaccionMemoria.registrarEscritura(
+                            new EscrituraMemoria(nombre, k, diario.siguienteSecuencia(), entidad));
+                }
+                return entidad;
+            });
+            indexar(clave, anterior.get(0), entidad);
+            return anterior.get(0);
+        }
+
+        private void indexar(Integer clave, E anterior, E entidad) {
+            if (anterior != null && (entidad == null || !padre.apply(anterior).equals(padre.apply(entidad)))) {
+                porPadre.get(padre.apply(anterior)).remove(clave);
+            }
+            if (entidad != null) {
+                porPadre.computeIfAbsent(padre.apply(entidad), k -> new ConcurrentSkipListSet<>()).add(clave);
+            }
+        }
+
+        private Optional<E> buscar(Integer clave) {
+            E entidad = clave != null ? porId.get(clave) : null;
+            return entidad != null ? Optional.of(copiar.apply(entidad)) : Optional.empty();
+        }
+
+        private List<E> hijos(Integer idPadre) {
+            List<E> hijos = new ArrayList<>();
+            recorrer(idPadre, hijos::add);
+            hijos.sort(porNombre);
+            return hijos;
+        }
+
+        private void recorrer(Integer idPadre, Consumer<? super E> consumidor) {
+            if (consumidor == null) {
+                throw new IllegalArgumentException("El consumidor no puede ser nulo");
+            }
+            ConcurrentSkipListSet<Integer> ids = idPadre != null ? porPadre.get(idPadre) : null;
+            if (ids == null) {
+                return;
+            }
+            for (Integer clave : ids) {
+                E entidad = porId.get(clave);
+                if (entidad != null) {
+                    consumidor.accept(copiar.apply(entidad));
+                }
+            }
+        }
+
+        private Pagina<E> pagina(Integer idPadre, Integer despuesDeId, int limite) {
+            Pagina.validarLimite(limite);
+            ConcurrentSkipListSet<Integer> ids = idPadre != null ? porPadre.get(idPadre) : null;
+            if (ids == null) {
+                return new Pagina<>(null, null);
+            }
+            NavigableSet<Integer> desde = despuesDeId != null ? ids.tailSet(despuesDeId, false) : ids;
+            List<E> leidas = new ArrayList<>(limite + 1);
+            for (Integer clave : desde) {
+                E entidad = porId.get(clave);
+                if (entidad != null) {
+                    leidas.add(copiar.apply(entidad));
+                    if (leidas.size() > limite) {
+                        break;
+                    }
+                }
+            }
+            return Pagina.desdeFilas(leidas, limite, e -> id.apply(e));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.guma.data.memory;
+
+import java.util.List;
+
+/**
+ * Destino durable de las escrituras de las tablas en memoria (por ejemplo,
+ * el log del motor embebido).
+ *
+ * Las escrituras de una tabla vinculada a un diario siempre ocurren dentro
+ * de una transacción (explícita o implícita de una sola escritura):
+ * iniciarTransaccion antes de la primera, confirmar con todas ellas al
+ * hacer commit y terminarTransaccion al final, haya sido commit o
+ * rollback. En un rollback, confirmar recibe las escrituras que devuelven
+ * las filas a su estado previo.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface DiarioMemoria {
+
+    /**
+     * Número de orden de la próxima escritura. Se pide con la fila bloqueada,
+     * así que dos escrituras de la misma fila reciben números en el orden en
+     * que se aplicaron.
+     *
+     * @return número mayor que todos los entregados antes
+     */
+    long siguienteSecuencia();
+
+    /**
+     * Se llama una vez por transacción, antes de su primera escritura.
+     */
+    void iniciarTransaccion();
+
+    /**
+     * Hace durables las escrituras de una transacción. Vuelve cuando están
+     * guardadas; si falla, la transacción se revierte.
+     *
+     * @param escrituras escrituras en el orden en que se aplicaron
+     */
+    void confirmar(List<EscrituraMemoria> escrituras);
+
+    /**
+     * Se llama al terminar la transacción (commit o rollback) si antes se
+     * llamó a iniciarTransaccion.
+     */
+    void terminarTransaccion();
+}
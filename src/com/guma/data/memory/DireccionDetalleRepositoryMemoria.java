@@ -0,0 +1,73 @@
+package com.guma.data.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+import com.guma.backend.ports.CatalogoGeograficoRepository;
+import com.guma.backend.ports.DireccionDetalleRepository;
+import com.guma.backend.ports.DireccionRepository;
+import com.guma.domain.entities.Direccion;
+import com.guma.domain.entities.Localidad;
+import com.guma.domain.entities.Pais;
+import com.guma.domain.entities.Provincia;
+import com.guma.domain.valueobjects.DireccionDetalle;
+
+/**
+ * Implementación en memoria de DireccionDetalleRepository: arma el detalle
+ * con la dirección y el catálogo geográfico, como el JOIN de la versión JDBC
+ * (LEFT JOIN: si falta la localidad o un ancestro, sus nombres quedan null).
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class DireccionDetalleRepositoryMemoria implements DireccionDetalleRepository {
+
+    private final DireccionRepository direccionRepository;
+    private final CatalogoGeograficoRepository catalogo;
+
+    /**
+     * @param direccionRepository direcciones
+     * @param catalogo            catálogo de localidades, provincias y países
+     */
+    public DireccionDetalleRepositoryMemoria(DireccionRepository direccionRepository,
+            CatalogoGeograficoRepository catalogo) {
+        if (direccionRepository == null || catalogo == null) {
+            throw new IllegalArgumentException("Los repositorios no pueden ser nulos");
+        }
+        this.direccionRepository = direccionRepository;
+        this.catalogo = catalogo;
+    }
+
+    @Override
+    public Optional<DireccionDetalle> findDetalleById(Integer idDireccion) {
+        return direccionRepository.findById(idDireccion).map(this::detallar);
+    }
+
+    @Override
+    public List<DireccionDetalle> findDetallesByIds(Collection<Integer> idsDireccion) {
+        List<DireccionDetalle> detalles = new ArrayList<>();
+        if (idsDireccion == null) {
+            return detalles;
+        }
+        for (Integer id : new LinkedHashSet<>(idsDireccion)) {
+            findDetalleById(id).ifPresent(detalles::add);
+        }
+        return detalles;
+    }
+
+    private DireccionDetalle detallar(Direccion direccion) {
+        Optional<Localidad> localidad = catalogo.findLocalidadById(direccion.getIdLocalidad());
+        Optional<Provincia> provincia = localidad.flatMap(l -> catalogo.findProvinciaById(l.getIdProvincia()));
+        Optional<Pais> pais = provincia.flatMap(p -> catalogo.findPaisById(p.getIdPais()));
+        return new DireccionDetalle(
+                direccion,
+                localidad.map(Localidad::getNombre).orElse(null),
+                provincia.map(Provincia::getIdProvincia).orElse(null),
+                provincia.map(Provincia::getNombre).orElse(null),
+                pais.map(Pais::getIdPais).orElse(null),
+                pais.map(Pais::getNombre).orElse(null));
+    }
+}
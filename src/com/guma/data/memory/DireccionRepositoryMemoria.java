@@ -0,0 +1,69 @@
+package com.guma.data.memory;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Optional;
+
+import com.guma.backend.ports.DireccionRepository;
+import com.guma.domain.entities.Direccion;
+import com.guma.domain.exceptions.EntidadNoEncontradaException;
+
+/**
+ * Implementación en memoria de DireccionRepository.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class DireccionRepositoryMemoria implements DireccionRepository {
+
+    private final TablaMemoria<Direccion> tabla = new TablaMemoria<>(
+            DireccionRepositoryMemoria::copiar, Direccion::getIdDireccion, Direccion::setIdDireccion);
+
+    /**
+     * @return la tabla, para vincularla a un diario y cargarla
+     */
+    TablaMemoria<Direccion> getTabla() {
+        return tabla;
+    }
+
+    @Override
+    public Direccion save(Direccion direccion) {
+        if (direccion == null) {
+            throw new IllegalArgumentException("La dirección no puede ser nula");
+        }
+        return tabla.insertar(direccion, null);
+    }
+
+    @Override
+    public List<Direccion> saveAll(List<Direccion> direcciones, Connection conn) {
+        for (Direccion direccion : direcciones) {
+            save(direccion);
+        }
+        return direcciones;
+    }
+
+    @Override
+    public Optional<Direccion> findById(Integer id) {
+        return tabla.buscar(id);
+    }
+
+    @Override
+    public Direccion update(Direccion direccion) {
+        if (direccion == null || direccion.getIdDireccion() == null) {
+            throw new IllegalArgumentException("La dirección a actualizar debe tener ID");
+        }
+        tabla.actualizar(direccion, null,
+                () -> new EntidadNoEncontradaException("Direccion", direccion.getIdDireccion()));
+        return direccion;
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        return tabla.eliminar(id);
+    }
+
+    private static Direccion copiar(Direccion d) {
+        return new Direccion(d.getIdDireccion(), d.getNombre(), d.getCodigoPostal(), d.getCalle(), d.getNumero(),
+                d.getDepto(), d.getReferencia(), d.getLatitud(), d.getLongitud(), d.getIdLocalidad());
+    }
+}
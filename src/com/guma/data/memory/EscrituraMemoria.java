@@ -0,0 +1,61 @@
+package com.guma.data.memory;
+
+/**
+ * Una escritura aplicada a una tabla en memoria: el estado completo de la
+ * fila después de la escritura, o null si la fila se eliminó.
+ *
+ * La fila es la instancia guardada en la tabla; no se modifica después de
+ * publicarse, así que puede leerse sin copiarla.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class EscrituraMemoria {
+
+    private final String tabla;
+    private final int id;
+    private final long secuencia;
+    private final Object fila;
+
+    /**
+     * @param tabla     nombre de la tabla
+     * @param id        ID de la fila
+     * @param secuencia número de orden entregado por el diario
+     * @param fila      estado de la fila, o null si se eliminó
+     */
+    public EscrituraMemoria(String tabla, int id, long secuencia, Object fila) {
+        this.tabla = tabla;
+        this.id = id;
+        this.secuencia = secuencia;
+        this.fila = fila;
+    }
+
+    public String getTabla() {
+        return tabla;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public Object getFila() {
+        return fila;
+    }
+
+    /**
+     * @return true si la escritura eliminó la fila
+     */
+    public boolean esBaja() {
+        return fila == null;
+    }
+
+    @Override
+    public String toString() {
+        return "EscrituraMemoria{" + tabla + "#" + id + ", secuencia=" + secuencia
+                + (fila == null ? ", baja" : "") + "}";
+    }
+}
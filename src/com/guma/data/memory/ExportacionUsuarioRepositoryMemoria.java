@@ -0,0 +1,59 @@
+package com.guma.data.memory;
+
+import java.util.function.Consumer;
+
+import com.guma.backend.ports.ExportacionUsuarioRepository;
+import com.guma.backend.ports.RolRepository;
+import com.guma.backend.ports.UsuarioRepository;
+import com.guma.domain.entities.Rol;
+import com.guma.domain.entities.Usuario;
+import com.guma.domain.valueobjects.PerfilExportado;
+
+/**
+ * Implementación en memoria de ExportacionUsuarioRepository: recorre los
+ * perfiles en orden de ID y completa cada uno con su usuario y su rol
+ * (perfiles sin usuario se omiten, como en el JOIN de la versión JDBC).
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ExportacionUsuarioRepositoryMemoria implements ExportacionUsuarioRepository {
+
+    private final PerfilUsuarioRepositoryMemoria perfiles;
+    private final UsuarioRepository usuarioRepository;
+    private final RolRepository rolRepository;
+
+    /**
+     * @param perfiles          tabla de perfiles en memoria
+     * @param usuarioRepository usuarios
+     * @param rolRepository     roles
+     */
+    public ExportacionUsuarioRepositoryMemoria(PerfilUsuarioRepositoryMemoria perfiles,
+            UsuarioRepository usuarioRepository, RolRepository rolRepository) {
+        if (perfiles == null || usuarioRepository == null || rolRepository == null) {
+            throw new IllegalArgumentException("Los repositorios no pueden ser nulos");
+        }
+        this.perfiles = perfiles;
+        this.usuarioRepository = usuarioRepository;
+        this.rolRepository = rolRepository;
+    }
+
+    @Override
+    public long recorrerPerfiles(Consumer<? super PerfilExportado> consumidor) {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("El consumidor no puede ser nulo");
+        }
+        long[] filas = { 0 };
+        perfiles.recorrer(perfil -> {
+            Usuario usuario = usuarioRepository.findById(perfil.getIdUsuario()).orElse(null);
+            if (usuario == null) {
+                return;
+            }
+            Rol rol = rolRepository.findById(usuario.getIdRol()).orElse(null);
+            consumidor.accept(new PerfilExportado(perfil, usuario.getEmail().getValor(), usuario.getIdRol(),
+                    rol != null ? rol.getNombre() : null, usuario.isVerified(), usuario.getUltimaConexion()));
+            filas[0]++;
+        });
+        return filas[0];
+    }
+}
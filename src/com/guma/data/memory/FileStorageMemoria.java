@@ -0,0 +1,72 @@
+package com.guma.data.memory;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.guma.backend.ports.FileStorage;
+
+/**
+ * Implementación en memoria de FileStorage.
+ *
+ * Guarda el contenido por ruta relativa ("tipo/idEntidad/nombreArchivo",
+ * el mismo formato que el almacenamiento local) y lo copia al guardar y al
+ * leer. Las rutas "completas" llevan el prefijo memoria:/ y se aceptan en
+ * todos los métodos igual que las relativas.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class FileStorageMemoria implements FileStorage {
+
+    private static final String PREFIJO = "memoria:/";
+
+    private final ConcurrentHashMap<String, byte[]> archivos = new ConcurrentHashMap<>();
+
+    @Override
+    public String guardarArchivo(String tipo, int idEntidad, String nombreArchivo, byte[] contenido)
+            throws IOException {
+        if (tipo == null || nombreArchivo == null || contenido == null) {
+            throw new IllegalArgumentException("El tipo, el nombre y el contenido son obligatorios");
+        }
+        String ruta = tipo + "/" + idEntidad + "/" + nombreArchivo;
+        archivos.put(ruta, Arrays.copyOf(contenido, contenido.length));
+        return ruta;
+    }
+
+    @Override
+    public byte[] leerArchivo(String ruta) throws IOException {
+        byte[] contenido = archivos.get(relativa(ruta));
+        if (contenido == null) {
+            throw new NoSuchFileException(ruta);
+        }
+        return Arrays.copyOf(contenido, contenido.length);
+    }
+
+    @Override
+    public boolean eliminarArchivo(String ruta) throws IOException {
+        return archivos.remove(relativa(ruta)) != null;
+    }
+
+    @Override
+    public boolean existeArchivo(String ruta) {
+        return ruta != null && archivos.containsKey(relativa(ruta));
+    }
+
+    @Override
+    public String obtenerRutaCompleta(String rutaRelativa) {
+        return PREFIJO + relativa(rutaRelativa);
+    }
+
+    private static String relativa(String ruta) {
+        if (ruta == null) {
+            throw new IllegalArgumentException("La ruta no puede ser nula");
+        }
+        String relativa = ruta.startsWith(PREFIJO) ? ruta.substring(PREFIJO.length()) : ruta;
+        while (relativa.startsWith("/")) {
+            relativa = relativa.substring(1);
+        }
+        return relativa;
+    }
+}
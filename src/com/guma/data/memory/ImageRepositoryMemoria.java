@@ -0,0 +1,224 @@
+package com.guma.data.memory;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.guma.backend.ports.ImageReferenciaRepository;
+import com.guma.backend.ports.ImageRepository;
+import com.guma.backend.ports.ImageVarianteRepository;
+import com.guma.domain.entities.Image;
+import com.guma.domain.exceptions.EntidadDuplicadaException;
+import com.guma.domain.exceptions.EntidadNoEncontradaException;
+
+/**
+ * Implementación en memoria de ImageRepository, ImageReferenciaRepository e
+ * ImageVarianteRepository, con índice único por link.
+ *
+ * Las referencias se cuentan dentro del bloqueo de la fila: referenciar
+ * incrementa la imagen del link o la crea, y liberar decrementa y elimina
+ * la fila solo si sigue teniendo una única referencia. Si otro hilo crea o
+ * elimina la misma imagen mientras tanto, la operación se reintenta.
+ *
+ * Las variantes reducidas se guardan en la misma fila: desaparecen con la
+ * imagen y solo las cambian guardarVariante y eliminarVariantes (update,
+ * referenciar y liberar conservan las de la fila actual).
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ImageRepositoryMemoria implements ImageRepository, ImageReferenciaRepository,
+        ImageVarianteRepository {
+
+    private final TablaMemoria<Image> tabla = new TablaMemoria<>(
+            ImageRepositoryMemoria::copiar, Image::getIdImage, Image::setIdImage);
+
+    private final TablaMemoria.Indice<Image> porLink = tabla.indiceUnico(
+            Image::getLink,
+            link -> new EntidadDuplicadaException("Image", "link", (String) link));
+
+    /**
+     * @return la tabla, para vincularla a un diario y cargarla
+     */
+    TablaMemoria<Image> getTabla() {
+        return tabla;
+    }
+
+    @Override
+    public Image save(Image image) {
+        if (image == null) {
+            throw new IllegalArgumentException("La imagen no puede ser nula");
+        }
+        return tabla.insertar(image, null);
+    }
+
+    @Override
+    public Image save(Image image, Connection conn) {
+        return save(image);
+    }
+
+    @Override
+    public List<Image> saveAll(List<Image> images, Connection conn) {
+        for (Image image : images) {
+            save(image);
+        }
+        return images;
+    }
+
+    @Override
+    public Optional<Image> findById(Integer id) {
+        return tabla.buscar(id);
+    }
+
+    @Override
+    public Optional<Image> findByLink(String link) {
+        return tabla.buscarPor(porLink, link);
+    }
+
+    @Override
+    public Image update(Image image) {
+        if (image == null || image.getIdImage() == null) {
+            throw new IllegalArgumentException("La imagen a actualizar debe tener ID");
+        }
+        tabla.actualizar(image, (actual, nueva) -> nueva.setVariantes(actual.getVariantes()),
+                () -> new EntidadNoEncontradaException("Image", image.getIdImage()));
+        return image;
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        return tabla.eliminar(id);
+    }
+
+    @Override
+    public boolean delete(Integer id, Connection conn) {
+        return delete(id);
+    }
+
+    @Override
+    public Image referenciar(String link) {
+        if (link == null) {
+            throw new IllegalArgumentException("El link no puede ser nulo");
+        }
+        while (true) {
+            Optional<Image> existente = tabla.buscarPor(porLink, link);
+            if (existente.isEmpty()) {
+                try {
+                    return tabla.insertar(new Image(link), null);
+                } catch (EntidadDuplicadaException e) {
+                    continue; // otro hilo la creó: incrementar la suya
+                }
+            }
+            try {
+                return tabla.actualizar(existente.get(), (actual, nueva) -> {
+                    if (!link.equals(actual.getLink())) {
+                        throw new EntidadNoEncontradaException("Image", actual.getIdImage());
+                    }
+                    nueva.setReferencias(actual.getReferencias() + 1);
+                    nueva.setVariantes(actual.getVariantes());
+                }, () -> new EntidadNoEncontradaException("Image", existente.get().getIdImage()));
+            } catch (EntidadNoEncontradaException e) {
+                // se eliminó (o cambió de link) entre la búsqueda y el incremento
+            }
+        }
+    }
+
+    @Override
+    public Image referenciar(String link, Connection conn) {
+        return referenciar(link);
+    }
+
+    @Override
+    public boolean liberar(Integer id) {
+        while (true) {
+            Optional<Image> existente = tabla.buscar(id);
+            if (existente.isEmpty()) {
+                return false;
+            }
+            if (existente.get().getReferencias() <= 1) {
+                if (tabla.eliminarSi(id, actual -> actual.getReferencias() <= 1)) {
+                    return true;
+                }
+                continue; // alguien agregó una referencia
+            }
+            try {
+                tabla.actualizar(existente.get(), (actual, nueva) -> {
+                    if (actual.getReferencias() <= 1) {
+                        throw new UltimaReferencia();
+                    }
+                    nueva.setLink(actual.getLink());
+                    nueva.setReferencias(actual.getReferencias() - 1);
+                    nueva.setVariantes(actual.getVariantes());
+                }, () -> new EntidadNoEncontradaException("Image", id));
+                return false;
+            } catch (UltimaReferencia | EntidadNoEncontradaException e) {
+                // cambió entre la lectura y el decremento: volver a decidir
+            }
+        }
+    }
+
+    @Override
+    public boolean liberar(Integer id, Connection conn) {
+        return liberar(id);
+    }
+
+    @Override
+    public boolean existsById(Integer id) {
+        return tabla.existe(id);
+    }
+
+    @Override
+    public void guardarVariante(Integer idImage, int lado, String link) {
+        if (idImage == null || link == null) {
+            throw new IllegalArgumentException("El ID de la imagen y el link no pueden ser nulos");
+        }
+        Image clave = new Image();
+        clave.setIdImage(idImage);
+        tabla.actualizar(clave, (actual, nueva) -> {
+            nueva.setLink(actual.getLink());
+            nueva.setReferencias(actual.getReferencias());
+            nueva.setVariantes(actual.getVariantes());
+            nueva.agregarVariante(lado, link);
+        }, () -> new EntidadNoEncontradaException("Image", idImage));
+    }
+
+    @Override
+    public Map<Integer, String> eliminarVariantes(Integer idImage) {
+        if (idImage == null) {
+            throw new IllegalArgumentException("El ID de la imagen no puede ser nulo");
+        }
+        Image clave = new Image();
+        clave.setIdImage(idImage);
+        try {
+            Image[] anterior = new Image[1];
+            tabla.actualizar(clave, (actual, nueva) -> {
+                anterior[0] = actual;
+                nueva.setLink(actual.getLink());
+                nueva.setReferencias(actual.getReferencias());
+            }, () -> new EntidadNoEncontradaException("Image", idImage));
+            return anterior[0].getVariantes();
+        } catch (EntidadNoEncontradaException e) {
+            return Map.of();
+        }
+    }
+
+    private static Image copiar(Image image) {
+        Image copia = new Image(image.getLink());
+        copia.setIdImage(image.getIdImage());
+        copia.setReferencias(image.getReferencias());
+        copia.setVariantes(image.getVariantes());
+        return copia;
+    }
+
+    /**
+     * La fila pasó a tener una sola referencia antes del decremento.
+     */
+    private static final class UltimaReferencia extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private UltimaReferencia() {
+            super(null, null, false, false);
+        }
+    }
+}
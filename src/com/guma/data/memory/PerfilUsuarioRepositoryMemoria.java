@@ -0,0 +1,136 @@
+package com.guma.data.memory;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.guma.backend.ports.PerfilUsuarioRepository;
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.exceptions.ConflictoVersionException;
+import com.guma.domain.exceptions.DniDuplicadoException;
+import com.guma.domain.exceptions.EntidadNoEncontradaException;
+import com.guma.domain.exceptions.PerfilDuplicadoException;
+
+/**
+ * Implementación en memoria de PerfilUsuarioRepository, con índices únicos
+ * por usuario y por DNI.
+ *
+ * Respeta el control de versión de PerfilUsuarioRepositoryVersionado: los
+ * perfiles nuevos tienen versión 0, cada update la incrementa y un update
+ * con una versión distinta de la guardada lanza ConflictoVersionException.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class PerfilUsuarioRepositoryMemoria implements PerfilUsuarioRepository {
+
+    private final TablaMemoria<PerfilUsuario> tabla = new TablaMemoria<>(
+            PerfilUsuarioRepositoryMemoria::copiar, PerfilUsuario::getIdPerfilUsuario,
+            PerfilUsuario::setIdPerfilUsuario);
+
+    private final TablaMemoria.Indice<PerfilUsuario> porUsuario = tabla.indiceUnico(
+            PerfilUsuario::getIdUsuario,
+            idUsuario -> new PerfilDuplicadoException((Integer) idUsuario));
+
+    private final TablaMemoria.Indice<PerfilUsuario> porDni = tabla.indiceUnico(
+            PerfilUsuario::getDni,
+            dni -> new DniDuplicadoException((String) dni));
+
+    /**
+     * @return la tabla, para vincularla a un diario y cargarla
+     */
+    TablaMemoria<PerfilUsuario> getTabla() {
+        return tabla;
+    }
+
+    @Override
+    public Optional<PerfilUsuario> findById(Integer idPerfilUsuario) {
+        return tabla.buscar(idPerfilUsuario);
+    }
+
+    @Override
+    public Optional<PerfilUsuario> findByUsuarioId(Integer idUsuario) {
+        return tabla.buscarPor(porUsuario, idUsuario);
+    }
+
+    @Override
+    public Optional<PerfilUsuario> findByDni(String dni) {
+        return tabla.buscarPor(porDni, dni);
+    }
+
+    @Override
+    public PerfilUsuario save(PerfilUsuario perfil) {
+        if (perfil == null) {
+            throw new IllegalArgumentException("El perfil no puede ser nulo");
+        }
+        tabla.insertar(perfil, guardado -> guardado.setVersion(0));
+        perfil.setVersion(0);
+        return perfil;
+    }
+
+    @Override
+    public PerfilUsuario save(PerfilUsuario perfil, Connection conn) {
+        return save(perfil);
+    }
+
+    @Override
+    public List<PerfilUsuario> saveAll(List<PerfilUsuario> perfiles, Connection conn) {
+        for (PerfilUsuario perfil : perfiles) {
+            save(perfil);
+        }
+        return perfiles;
+    }
+
+    @Override
+    public PerfilUsuario update(PerfilUsuario perfil) {
+        if (perfil == null || perfil.getIdPerfilUsuario() == null) {
+            throw new IllegalArgumentException("El perfil a actualizar debe tener ID");
+        }
+        PerfilUsuario guardado = tabla.actualizar(perfil, (actual, nuevo) -> {
+            Integer version = nuevo.getVersion();
+            if (version != null && !version.equals(actual.getVersion())) {
+                throw new ConflictoVersionException("PerfilUsuario", actual.getIdPerfilUsuario());
+            }
+            // id_usuario no se actualiza, igual que en la base de datos
+            nuevo.setIdUsuario(actual.getIdUsuario());
+            nuevo.setVersion(actual.getVersion() + 1);
+        }, () -> new EntidadNoEncontradaException("PerfilUsuario", perfil.getIdPerfilUsuario()));
+        perfil.setVersion(guardado.getVersion());
+        return perfil;
+    }
+
+    @Override
+    public PerfilUsuario update(PerfilUsuario perfil, Connection conn) {
+        return update(perfil);
+    }
+
+    @Override
+    public boolean existsByUsuarioId(Integer idUsuario) {
+        return tabla.existe(porUsuario, idUsuario);
+    }
+
+    @Override
+    public boolean existsByDni(String dni) {
+        return tabla.existe(porDni, dni);
+    }
+
+    /**
+     * Recorre todos los perfiles en orden de ID (lo usa la exportación en
+     * memoria).
+     *
+     * @param consumidor recibe cada perfil
+     * @return perfiles recorridos
+     */
+    public long recorrer(Consumer<? super PerfilUsuario> consumidor) {
+        return tabla.recorrer(consumidor);
+    }
+
+    private static PerfilUsuario copiar(PerfilUsuario p) {
+        PerfilUsuario copia = new PerfilUsuario(p.getIdPerfilUsuario(), p.getIdUsuario(), p.getIdSexo(),
+                p.getDni(), p.getNombre(), p.getApellido(), p.getFechaNacimiento(), p.getEmail(),
+                p.getTelefono(), p.getIdDireccion(), p.getIdRedSocial(), p.getFotoPerfil(), p.isVerificado());
+        copia.setVersion(p.getVersion());
+        return copia;
+    }
+}
@@ -0,0 +1,83 @@
+package com.guma.data.memory;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.guma.backend.ports.RedSocialRepository;
+import com.guma.domain.entities.RedSocial;
+import com.guma.domain.exceptions.EntidadDuplicadaException;
+import com.guma.domain.valueobjects.Pagina;
+
+/**
+ * Implementación en memoria de RedSocialRepository, con índices únicos por
+ * nombre y por link.
+ *
+ * Las claves se comparan sin distinguir mayúsculas ni espacios en los
+ * extremos, como la collation por defecto de MySQL.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class RedSocialRepositoryMemoria implements RedSocialRepository {
+
+    private final TablaMemoria<RedSocial> tabla = new TablaMemoria<>(
+            r -> new RedSocial(r.getIdRedSocial(), r.getNombre(), r.getLink()),
+            RedSocial::getIdRedSocial, RedSocial::setIdRedSocial);
+
+    private final TablaMemoria.Indice<RedSocial> porNombre = tabla.indiceUnico(
+            r -> normalizar(r.getNombre()),
+            nombre -> new EntidadDuplicadaException("RedSocial", "nombre", (String) nombre));
+
+    private final TablaMemoria.Indice<RedSocial> porLink = tabla.indiceUnico(
+            r -> normalizar(r.getLink()),
+            link -> new EntidadDuplicadaException("RedSocial", "link", (String) link));
+
+    /**
+     * @return la tabla, para vincularla a un diario y cargarla
+     */
+    TablaMemoria<RedSocial> getTabla() {
+        return tabla;
+    }
+
+    @Override
+    public RedSocial save(RedSocial redSocial) {
+        if (redSocial == null) {
+            throw new IllegalArgumentException("La red social no puede ser nula");
+        }
+        return tabla.insertar(redSocial, null);
+    }
+
+    @Override
+    public Optional<RedSocial> findById(Integer id) {
+        return tabla.buscar(id);
+    }
+
+    @Override
+    public List<RedSocial> findAll() {
+        return tabla.todas();
+    }
+
+    @Override
+    public Pagina<RedSocial> findPagina(Integer despuesDeId, int limite) {
+        return tabla.pagina(despuesDeId, limite);
+    }
+
+    @Override
+    public void findAll(Consumer<? super RedSocial> consumidor) {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("El consumidor no puede ser nulo");
+        }
+        tabla.recorrer(consumidor);
+    }
+
+    @Override
+    public boolean existsByNombreOrLink(String nombre, String link) {
+        return tabla.existe(porNombre, normalizar(nombre)) || tabla.existe(porLink, normalizar(link));
+    }
+
+    private static String normalizar(String valor) {
+        return valor != null ? valor.trim().toLowerCase(Locale.ROOT) : null;
+    }
+}
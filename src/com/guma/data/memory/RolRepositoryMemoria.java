@@ -0,0 +1,62 @@
+package com.guma.data.memory;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.guma.backend.ports.RolRepository;
+import com.guma.domain.entities.Rol;
+
+/**
+ * Implementación en memoria de RolRepository.
+ *
+ * Los roles son un catálogo fijo: se cargan en el constructor y no cambian.
+ * Como Rol es inmutable, las instancias se comparten sin copias.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class RolRepositoryMemoria implements RolRepository {
+
+    private final Map<Integer, Rol> porId = new ConcurrentHashMap<>();
+    private final Map<String, Rol> porNombre = new ConcurrentHashMap<>();
+    private final Rol porDefecto;
+
+    /**
+     * @param roles         roles disponibles
+     * @param idPorDefecto  ID del rol que reciben los usuarios nuevos
+     * @throws IllegalArgumentException si el rol por defecto no está entre los roles
+     */
+    public RolRepositoryMemoria(Collection<Rol> roles, Integer idPorDefecto) {
+        if (roles == null) {
+            throw new IllegalArgumentException("Los roles no pueden ser nulos");
+        }
+        for (Rol rol : roles) {
+            porId.put(rol.getIdRol(), rol);
+            porNombre.put(rol.getNombre().toLowerCase(Locale.ROOT), rol);
+        }
+        this.porDefecto = porId.get(idPorDefecto);
+        if (porDefecto == null) {
+            throw new IllegalArgumentException("No existe el rol por defecto: " + idPorDefecto);
+        }
+    }
+
+    @Override
+    public Optional<Rol> findById(Integer idRol) {
+        return idRol != null ? Optional.ofNullable(porId.get(idRol)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Rol> findByNombre(String nombre) {
+        return nombre != null
+                ? Optional.ofNullable(porNombre.get(nombre.toLowerCase(Locale.ROOT)))
+                : Optional.empty();
+    }
+
+    @Override
+    public Rol getRolPorDefecto() {
+        return porDefecto;
+    }
+}
@@ -0,0 +1,56 @@
+package com.guma.data.memory;
+
+import java.util.Optional;
+
+import com.guma.backend.ports.PerfilUsuarioRepository;
+import com.guma.backend.ports.RolRepository;
+import com.guma.backend.ports.SesionUsuarioRepository;
+import com.guma.backend.ports.UsuarioRepository;
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.entities.Rol;
+import com.guma.domain.entities.Usuario;
+import com.guma.domain.valueobjects.Email;
+import com.guma.domain.valueobjects.SesionUsuario;
+
+/**
+ * Implementación en memoria de SesionUsuarioRepository: resuelve usuario,
+ * perfil y rol con tres búsquedas por índice en memoria.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class SesionUsuarioRepositoryMemoria implements SesionUsuarioRepository {
+
+    private final UsuarioRepository usuarioRepository;
+    private final PerfilUsuarioRepository perfilRepository;
+    private final RolRepository rolRepository;
+
+    /**
+     * @param usuarioRepository usuarios
+     * @param perfilRepository  perfiles
+     * @param rolRepository     roles
+     */
+    public SesionUsuarioRepositoryMemoria(UsuarioRepository usuarioRepository,
+            PerfilUsuarioRepository perfilRepository, RolRepository rolRepository) {
+        if (usuarioRepository == null || perfilRepository == null || rolRepository == null) {
+            throw new IllegalArgumentException("Los repositorios no pueden ser nulos");
+        }
+        this.usuarioRepository = usuarioRepository;
+        this.perfilRepository = perfilRepository;
+        this.rolRepository = rolRepository;
+    }
+
+    @Override
+    public Optional<SesionUsuario> findByEmail(Email email) {
+        if (email == null) {
+            throw new IllegalArgumentException("El email no puede ser nulo");
+        }
+        Optional<Usuario> usuario = usuarioRepository.findByEmail(email);
+        if (!usuario.isPresent()) {
+            return Optional.empty();
+        }
+        PerfilUsuario perfil = perfilRepository.findByUsuarioId(usuario.get().getIdUsuario()).orElse(null);
+        Rol rol = rolRepository.findById(usuario.get().getIdRol()).orElse(null);
+        return Optional.of(new SesionUsuario(usuario.get(), perfil, rol));
+    }
+}
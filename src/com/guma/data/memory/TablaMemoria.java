@@ -0,0 +1,394 @@
+package com.guma.data.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import com.guma.domain.valueobjects.Pagina;
+
+/**
+ * Tabla en memoria con ID autoincremental e índices únicos, base de los
+ * repositorios en memoria.
+ *
+ * - Las filas viven en un ConcurrentHashMap por ID; los IDs ordenados, en
+ *   un ConcurrentSkipListSet para recorrer y paginar por clave.
+ * - Cada índice único es un ConcurrentHashMap clave → ID. Una escritura
+ *   toma sus claves con putIfAbsent antes de publicar la fila, así que dos
+ *   hilos que insertan el mismo email nunca ganan los dos. Las claves null
+ *   no se indexan (como NULL en un índice UNIQUE de MySQL).
+ * - Las actualizaciones de una misma fila se serializan con compute sobre
+ *   su ID.
+ * - Se guardan y devuelven copias: modificar una entidad leída no cambia la
+ *   tabla hasta llamar a actualizar, igual que con la base de datos.
+ * - Cada escritura anota su inversa en {@link TransaccionMemoria}.
+ * - Vinculada a un {@link DiarioMemoria}, cada escritura anota también el
+ *   nuevo estado de la fila, con su número de secuencia tomado dentro del
+ *   bloqueo de la fila.
+ *
+ * No hay aislamiento entre transacciones: otros hilos ven las escrituras
+ * apenas se aplican (equivalente a READ UNCOMMITTED).
+ *
+ * @param <E> tipo de entidad
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class TablaMemoria<E> {
+
+    /**
+     * Índice único sobre una clave derivada de la entidad.
+     */
+    static final class Indice<E> {
+        private final Function<E, Object> clave;
+        private final Function<Object, RuntimeException> duplicado;
+        private final ConcurrentHashMap<Object, Integer> ids = new ConcurrentHashMap<>();
+
+        private Indice(Function<E, Object> clave, Function<Object, RuntimeException> duplicado) {
+            this.clave = clave;
+            this.duplicado = duplicado;
+        }
+    }
+
+    private final ConcurrentHashMap<Integer, E> filas = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Integer> orden = new ConcurrentSkipListSet<>();
+    private final AtomicInteger secuencia = new AtomicInteger();
+    private final List<Indice<E>> indices = new ArrayList<>();
+
+    private final UnaryOperator<E> copiar;
+    private final Function<E, Integer> id;
+    private final BiConsumer<E, Integer> asignarId;
+
+    private String nombre;
+    private DiarioMemoria diario;
+
+    /**
+     * @param copiar    crea una copia independiente de la entidad
+     * @param id        obtiene el ID de la entidad
+     * @param asignarId asigna el ID generado
+     */
+    TablaMemoria(UnaryOperator<E> copiar, Function<E, Integer> id, BiConsumer<E, Integer> asignarId) {
+        this.copiar = copiar;
+        this.id = id;
+        this.asignarId = asignarId;
+    }
+
+    /**
+     * Agrega un índice único. Debe llamarse antes de la primera escritura.
+     *
+     * @param clave     clave normalizada de la entidad (null = sin indexar)
+     * @param duplicado excepción a lanzar cuando la clave ya está tomada
+     * @return el índice, para buscar por él
+     */
+    Indice<E> indiceUnico(Function<E, Object> clave, Function<Object, RuntimeException> duplicado) {
+        Indice<E> indice = new Indice<>(clave, duplicado);
+        indices.add(indice);
+        return indice;
+    }
+
+    /**
+     * Vincula la tabla a un diario. Debe llamarse antes de la primera
+     * escritura.
+     *
+     * @param nombre nombre de la tabla en las escrituras del diario
+     * @param diario destino de las escrituras
+     */
+    void vincular(String nombre, DiarioMemoria diario) {
+        this.nombre = nombre;
+        this.diario = diario;
+    }
+
+    // ==================== ESCRITURAS ====================
+
+    /**
+     * Inserta la entidad con un ID nuevo y se lo asigna.
+     *
+     * @param entidad  entidad a insertar (recibe el ID generado)
+     * @param preparar ajusta la copia guardada antes de publicarla (puede ser null)
+     * @return la misma entidad con su ID
+     */
+    E insertar(E entidad, Consumer<E> preparar) {
+        return TransaccionMemoria.escribir(diario, () -> insertarFila(entidad, preparar));
+    }
+
+    private E insertarFila(E entidad, Consumer<E> preparar) {
+        int nuevoId = secuencia.incrementAndGet();
+        E copia = copiar.apply(entidad);
+        asignarId.accept(copia, nuevoId);
+        if (preparar != null) {
+            preparar.accept(copia);
+        }
+        reclamar(copia, null, nuevoId);
+        filas.put(nuevoId, copia);
+        orden.add(nuevoId);
+        anotar(nuevoId, copia);
+        asignarId.accept(entidad, nuevoId);
+        TransaccionMemoria.registrarDeshacer(() -> quitar(nuevoId));
+        return entidad;
+    }
+
+    /**
+     * Reemplaza la fila con el mismo ID que la entidad.
+     *
+     * @param entidad     nuevo estado (debe tener ID)
+     * @param verificar   validación con (actual, nueva) dentro del bloqueo de
+     *                    la fila; puede ajustar la nueva o lanzar (puede ser null)
+     * @param noEncontrada excepción si la fila no existe
+     * @return la copia guardada
+     */
+    E actualizar(E entidad, BiConsumer<E, E> verificar, Supplier<RuntimeException> noEncontrada) {
+        Integer clave = id.apply(entidad);
+        if (clave == null) {
+            throw new IllegalArgumentException("La entidad a actualizar debe tener ID");
+        }
+        return TransaccionMemoria.escribir(diario, () -> actualizarFila(clave, entidad, verificar, noEncontrada));
+    }
+
+    private E actualizarFila(Integer clave, E entidad, BiConsumer<E, E> verificar,
+            Supplier<RuntimeException> noEncontrada) {
+        E nueva = copiar.apply(entidad);
+        List<E> anterior = new ArrayList<>(1);
+        E guardada = filas.compute(clave, (k, actual) -> {
+            if (actual == null) {
+                throw noEncontrada.get();
+            }
+            if (verificar != null) {
+                verificar.accept(actual, nueva);
+            }
+            reclamar(nueva, actual, k);
+            anterior.add(actual);
+            anotar(k, nueva);
+            return nueva;
+        });
+        E previa = anterior.get(0);
+        TransaccionMemoria.registrarDeshacer(() -> restaurar(clave, previa));
+        return copiar.apply(guardada);
+    }
+
+    /**
+     * Elimina la fila con el ID indicado.
+     *
+     * @param clave ID
+     * @return true si existía
+     */
+    boolean eliminar(Integer clave) {
+        return eliminarSi(clave, null);
+    }
+
+    /**
+     * Elimina la fila con el ID indicado si cumple la condición, evaluada
+     * dentro del bloqueo de la fila.
+     *
+     * @param clave     ID
+     * @param condicion condición sobre la fila actual (null = siempre)
+     * @return true si existía, cumplía la condición y se eliminó
+     */
+    boolean eliminarSi(Integer clave, Predicate<? super E> condicion) {
+        if (clave == null || !filas.containsKey(clave)) {
+            return false;
+        }
+        return TransaccionMemoria.escribir(diario, () -> {
+            E previa = quitar(clave, condicion);
+            if (previa == null) {
+                return false;
+            }
+            TransaccionMemoria.registrarDeshacer(() -> restaurar(clave, previa));
+            return true;
+        });
+    }
+
+    /**
+     * Agrega una fila con su ID sin pasar por el diario ni por la
+     * transacción (recuperación del motor embebido). Falla con la excepción
+     * del índice si choca con una clave única ya cargada.
+     *
+     * @param fila fila con ID; queda guardada tal cual, sin copiar
+     */
+    void cargar(E fila) {
+        Integer clave = id.apply(fila);
+        if (clave == null) {
+            throw new IllegalArgumentException("La fila a cargar debe tener ID");
+        }
+        filas.compute(clave, (k, actual) -> {
+            reclamar(fila, actual, k);
+            return fila;
+        });
+        orden.add(clave);
+        secuencia.accumulateAndGet(clave, Math::max);
+    }
+
+    // ==================== LECTURAS ====================
+
+    Optional<E> buscar(Integer clave) {
+        if (clave == null) {
+            return Optional.empty();
+        }
+        E fila = filas.get(clave);
+        return fila != null ? Optional.of(copiar.apply(fila)) : Optional.empty();
+    }
+
+    Optional<E> buscarPor(Indice<E> indice, Object clave) {
+        return clave != null ? buscar(indice.ids.get(clave)) : Optional.empty();
+    }
+
+    boolean existe(Indice<E> indice, Object clave) {
+        return clave != null && indice.ids.containsKey(clave);
+    }
+
+    boolean existe(Integer clave) {
+        return clave != null && filas.containsKey(clave);
+    }
+
+    /**
+     * Recorre copias de todas las filas en orden de ID.
+     *
+     * @param consumidor recibe cada fila
+     * @return filas recorridas
+     */
+    long recorrer(Consumer<? super E> consumidor) {
+        long cantidad = 0;
+        for (Integer clave : orden) {
+            E fila = filas.get(clave);
+            if (fila != null) {
+                consumidor.accept(copiar.apply(fila));
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Recorre las filas guardadas, sin copiarlas, en orden de ID. Las filas
+     * no se modifican después de publicarse; el consumidor tampoco debe
+     * modificarlas.
+     *
+     * @param consumidor recibe cada fila guardada
+     */
+    void recorrerGuardadas(Consumer<? super E> consumidor) {
+        for (Integer clave : orden) {
+            E fila = filas.get(clave);
+            if (fila != null) {
+                consumidor.accept(fila);
+            }
+        }
+    }
+
+    List<E> todas() {
+        List<E> todas = new ArrayList<>(filas.size());
+        recorrer(todas::add);
+        return todas;
+    }
+
+    Pagina<E> pagina(Integer despuesDeId, int limite) {
+        Pagina.validarLimite(limite);
+        NavigableSet<Integer> desde = despuesDeId != null ? orden.tailSet(despuesDeId, false) : orden;
+        List<E> leidas = new ArrayList<>(limite + 1);
+        for (Integer clave : desde) {
+            E fila = filas.get(clave);
+            if (fila != null) {
+                leidas.add(copiar.apply(fila));
+                if (leidas.size() > limite) {
+                    break;
+                }
+            }
+        }
+        return Pagina.desdeFilas(leidas, limite, e -> id.apply(e));
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    /**
+     * Toma las claves únicas de la nueva versión de la fila y libera las de
+     * la anterior que cambiaron. Si una clave ya es de otra fila, devuelve
+     * las tomadas en esta llamada y lanza la excepción del índice.
+     */
+    private void reclamar(E nueva, E actual, Integer clave) {
+        List<Object> tomadas = new ArrayList<>(indices.size());
+        for (Indice<E> indice : indices) {
+            Object valor = indice.clave.apply(nueva);
+            Object previo = actual != null ? indice.clave.apply(actual) : null;
+            if (valor == null || valor.equals(previo)) {
+                tomadas.add(null);
+                continue;
+            }
+            Integer duenio = indice.ids.putIfAbsent(valor, clave);
+            if (duenio != null && !duenio.equals(clave)) {
+                for (int i = 0; i < tomadas.size(); i++) {
+                    if (tomadas.get(i) != null) {
+                        indices.get(i).ids.remove(tomadas.get(i), clave);
+                    }
+                }
+                throw indice.duplicado.apply(valor);
+            }
+            tomadas.add(valor);
+        }
+        if (actual != null) {
+            for (Indice<E> indice : indices) {
+                Object previo = indice.clave.apply(actual);
+                if (previo != null && !previo.equals(indice.clave.apply(nueva))) {
+                    indice.ids.remove(previo, clave);
+                }
+            }
+        }
+    }
+
+    private E quitar(Integer clave) {
+        return quitar(clave, null);
+    }
+
+    private E quitar(Integer clave, Predicate<? super E> condicion) {
+        List<E> quitada = new ArrayList<>(1);
+        filas.computeIfPresent(clave, (k, actual) -> {
+            if (condicion != null && !condicion.test(actual)) {
+                return actual;
+            }
+            quitada.add(actual);
+            anotar(k, null);
+            return null;
+        });
+        E previa = quitada.isEmpty() ? null : quitada.get(0);
+        if (previa != null) {
+            for (Indice<E> indice : indices) {
+                Object valor = indice.clave.apply(previa);
+                if (valor != null) {
+                    indice.ids.remove(valor, clave);
+                }
+            }
+            orden.remove(clave);
+        }
+        return previa;
+    }
+
+    /**
+     * Vuelve la fila al estado previo (deshacer de actualizar o eliminar).
+     * Falla con la excepción del índice si otra fila tomó mientras tanto una
+     * de sus claves únicas.
+     */
+    private void restaurar(Integer clave, E previa) {
+        filas.compute(clave, (k, actual) -> {
+            reclamar(previa, actual, k);
+            anotar(k, previa);
+            return previa;
+        });
+        orden.add(clave);
+    }
+
+    /**
+     * Anota el nuevo estado de la fila para el diario (null = eliminada).
+     * Se llama con la fila bloqueada.
+     */
+    private void anotar(Integer clave, E fila) {
+        if (diario != null) {
+            TransaccionMemoria.registrarEscritura(
+                    new EscrituraMemoria(nombre, clave, diario.siguienteSecuencia(), fila));
+        }
+    }
+}
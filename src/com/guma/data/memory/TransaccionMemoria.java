@@ -0,0 +1,191 @@
+package com.guma.data.memory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Registro de deshacer de la transacción en memoria del hilo actual.
+ *
+ * Cada escritura de un repositorio en memoria anota aquí la operación que
+ * la revierte; {@link UnitOfWorkMemoria} las ejecuta en orden inverso si la
+ * transacción termina en rollback y las descarta si termina en commit.
+ * Fuera de una transacción las escrituras no se anotan (autocommit).
+ *
+ * Si las tablas están vinculadas a un {@link DiarioMemoria}, además se
+ * acumulan las escrituras para entregarlas juntas al confirmar; las
+ * escrituras sueltas (sin transacción) abren una transacción propia para
+ * que el diario las vea igual.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class TransaccionMemoria {
+
+    /**
+     * Estado de la transacción de un hilo.
+     */
+    private static final class Estado {
+        private final Deque<Runnable> deshacer = new ArrayDeque<>();
+        private final List<EscrituraMemoria> escrituras = new ArrayList<>();
+        private DiarioMemoria diario;
+    }
+
+    private static final ThreadLocal<Estado> ACTUAL = new ThreadLocal<>();
+
+    private TransaccionMemoria() {
+    }
+
+    /**
+     * @return true si el hilo actual está dentro de una transacción en memoria
+     */
+    static boolean estaActiva() {
+        return ACTUAL.get() != null;
+    }
+
+    /**
+     * Anota la operación que revierte una escritura recién aplicada. Sin
+     * transacción no hace nada.
+     *
+     * @param deshacer operación inversa
+     */
+    static void registrarDeshacer(Runnable deshacer) {
+        Estado estado = ACTUAL.get();
+        if (estado != null) {
+            estado.deshacer.push(deshacer);
+        }
+    }
+
+    /**
+     * Anota una escritura para el diario de la transacción actual.
+     *
+     * @param escritura escritura recién aplicada
+     */
+    static void registrarEscritura(EscrituraMemoria escritura) {
+        Estado estado = ACTUAL.get();
+        if (estado != null && estado.diario != null) {
+            estado.escrituras.add(escritura);
+        }
+    }
+
+    /**
+     * Ejecuta una escritura de una tabla vinculada al diario dentro de la
+     * transacción del hilo, o en una transacción propia si no hay ninguna.
+     * Sin diario la ejecuta tal cual.
+     *
+     * @param diario    diario de la tabla (puede ser null)
+     * @param escritura escritura a aplicar
+     * @return el resultado de la escritura
+     */
+    static <T> T escribir(DiarioMemoria diario, Supplier<T> escritura) {
+        if (diario == null) {
+            return escritura.get();
+        }
+        Estado estado = ACTUAL.get();
+        if (estado != null) {
+            unir(estado, diario);
+            return escritura.get();
+        }
+        iniciar();
+        try {
+            unir(ACTUAL.get(), diario);
+            T resultado = escritura.get();
+            confirmar();
+            return resultado;
+        } catch (RuntimeException e) {
+            revertir(e);
+            throw e;
+        }
+    }
+
+    static void iniciar() {
+        if (ACTUAL.get() != null) {
+            throw new IllegalStateException("Ya hay una transacción activa en este hilo");
+        }
+        ACTUAL.set(new Estado());
+    }
+
+    /**
+     * Entrega las escrituras al diario y termina la transacción. Si el
+     * diario falla, la transacción sigue activa para que se revierta.
+     */
+    static void confirmar() {
+        Estado estado = ACTUAL.get();
+        if (estado != null && estado.diario != null && !estado.escrituras.isEmpty()) {
+            estado.diario.confirmar(estado.escrituras);
+        }
+        ACTUAL.remove();
+        terminar(estado);
+    }
+
+    /**
+     * Ejecuta las operaciones inversas de la más reciente a la más antigua.
+     * Con diario, le entrega las escrituras que restauran las filas.
+     *
+     * @param causa excepción que provocó el rollback (recibe como suprimidas
+     *              las fallas al deshacer), o null en un rollback manual
+     * @throws IllegalStateException si alguna operación no se pudo deshacer
+     *                               y no hay causa a la que adjuntarla
+     */
+    static void revertir(Exception causa) {
+        Estado estado = ACTUAL.get();
+        if (estado == null) {
+            return;
+        }
+        IllegalStateException fallas = null;
+        try {
+            estado.escrituras.clear();
+            Runnable deshacer;
+            while ((deshacer = estado.deshacer.poll()) != null) {
+                try {
+                    deshacer.run();
+                } catch (RuntimeException e) {
+                    fallas = adjuntar(causa, fallas, e);
+                }
+            }
+            if (estado.diario != null && !estado.escrituras.isEmpty()) {
+                try {
+                    estado.diario.confirmar(estado.escrituras);
+                } catch (RuntimeException e) {
+                    fallas = adjuntar(causa, fallas, e);
+                }
+            }
+        } finally {
+            ACTUAL.remove();
+            terminar(estado);
+        }
+        if (fallas != null) {
+            throw fallas;
+        }
+    }
+
+    private static void unir(Estado estado, DiarioMemoria diario) {
+        if (estado.diario == null) {
+            diario.iniciarTransaccion();
+            estado.diario = diario;
+        } else if (estado.diario != diario) {
+            throw new IllegalStateException("Una transacción no puede escribir en dos diarios");
+        }
+    }
+
+    private static void terminar(Estado estado) {
+        if (estado != null && estado.diario != null) {
+            estado.diario.terminarTransaccion();
+        }
+    }
+
+    private static IllegalStateException adjuntar(Exception causa, IllegalStateException fallas,
+            RuntimeException falla) {
+        if (causa != null) {
+            causa.addSuppressed(falla);
+            return fallas;
+        }
+        if (fallas == null) {
+            fallas = new IllegalStateException("No se pudieron deshacer todas las escrituras");
+        }
+        fallas.addSuppressed(falla);
+        return fallas;
+    }
+}
@@ -0,0 +1,51 @@
+package com.guma.data.memory;
+
+import java.time.LocalDateTime;
+
+import com.guma.backend.ports.UltimaConexionRepository;
+import com.guma.backend.ports.UsuarioRepository;
+import com.guma.domain.exceptions.EntidadNoEncontradaException;
+
+/**
+ * Implementación en memoria de UltimaConexionRepository.
+ *
+ * En memoria una escritura cuesta lo mismo que encolarla, así que se
+ * actualiza el usuario en el momento y flush no tiene nada pendiente.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class UltimaConexionRepositoryMemoria implements UltimaConexionRepository {
+
+    private final UsuarioRepository usuarioRepository;
+
+    /**
+     * @param usuarioRepository usuarios a actualizar
+     */
+    public UltimaConexionRepositoryMemoria(UsuarioRepository usuarioRepository) {
+        if (usuarioRepository == null) {
+            throw new IllegalArgumentException("El repositorio de usuarios no puede ser nulo");
+        }
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    @Override
+    public void registrar(Integer idUsuario, LocalDateTime ultimaConexion) {
+        if (idUsuario == null || ultimaConexion == null) {
+            throw new IllegalArgumentException("El ID de usuario y la fecha no pueden ser nulos");
+        }
+        usuarioRepository.findById(idUsuario).ifPresent(usuario -> {
+            usuario.setUltimaConexion(ultimaConexion);
+            try {
+                usuarioRepository.update(usuario);
+            } catch (EntidadNoEncontradaException e) {
+                // Eliminado entre la lectura y la escritura: igual que un UPDATE sin filas
+            }
+        });
+    }
+
+    @Override
+    public void flush() {
+        // Sin escrituras pendientes
+    }
+}
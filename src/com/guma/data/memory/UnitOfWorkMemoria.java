@@ -0,0 +1,105 @@
+package com.guma.data.memory;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+import com.guma.domain.transaction.UnitOfWork;
+import com.guma.domain.transaction.UnitOfWorkAction;
+
+/**
+ * Implementación de UnitOfWork para los repositorios en memoria.
+ *
+ * Mientras dura la transacción cada escritura de los repositorios en memoria
+ * anota su operación inversa; si la acción lanza una excepción se deshacen
+ * en orden inverso (rollback) y si termina bien se descartan (commit). Un
+ * execute anidado se une a la transacción en curso, como en
+ * DataSourceUnitOfWork.
+ *
+ * La acción recibe una Connection de marcador: los repositorios en memoria
+ * la ignoran y cualquier uso directo lanza UnsupportedOperationException.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class UnitOfWorkMemoria implements UnitOfWork {
+
+    private static final Connection CONEXION = (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                    case "commit":
+                    case "rollback":
+                    case "setAutoCommit":
+                        return null;
+                    case "isClosed":
+                        return false;
+                    case "getAutoCommit":
+                        return false;
+                    case "isValid":
+                        return true;
+                    case "toString":
+                        return "ConexionMemoria";
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(
+                                "Persistencia en memoria: no hay base de datos para " + method.getName());
+                }
+            });
+
+    @Override
+    public <T> T execute(UnitOfWorkAction<T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("La acción no puede ser nula");
+        }
+        if (TransaccionMemoria.estaActiva()) {
+            // Anidado: se une a la transacción externa, que decide commit o rollback
+            return ejecutar(action);
+        }
+        TransaccionMemoria.iniciar();
+        try {
+            T resultado = ejecutar(action);
+            TransaccionMemoria.confirmar();
+            return resultado;
+        } catch (RuntimeException e) {
+            TransaccionMemoria.revertir(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void begin() {
+        TransaccionMemoria.iniciar();
+    }
+
+    @Override
+    public void commit() {
+        verificarActiva();
+        TransaccionMemoria.confirmar();
+    }
+
+    @Override
+    public void rollback() {
+        verificarActiva();
+        TransaccionMemoria.revertir(null);
+    }
+
+    private static <T> T ejecutar(UnitOfWorkAction<T> action) {
+        try {
+            return action.execute(CONEXION);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error en la transacción: " + e.getMessage(), e);
+        }
+    }
+
+    private static void verificarActiva() {
+        if (!TransaccionMemoria.estaActiva()) {
+            throw new IllegalStateException("No hay una transacción activa en este hilo");
+        }
+    }
+}
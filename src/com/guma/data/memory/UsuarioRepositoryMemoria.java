@@ -0,0 +1,104 @@
+package com.guma.data.memory;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.guma.backend.ports.UsuarioRepository;
+import com.guma.domain.entities.Usuario;
+import com.guma.domain.exceptions.EntidadNoEncontradaException;
+import com.guma.domain.exceptions.UsuarioDuplicadoException;
+import com.guma.domain.valueobjects.Email;
+
+/**
+ * Implementación en memoria de UsuarioRepository, con índice único por
+ * email.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class UsuarioRepositoryMemoria implements UsuarioRepository {
+
+    private final TablaMemoria<Usuario> tabla = new TablaMemoria<>(
+            UsuarioRepositoryMemoria::copiar, Usuario::getIdUsuario, Usuario::setIdUsuario);
+
+    private final TablaMemoria.Indice<Usuario> porEmail = tabla.indiceUnico(
+            u -> u.getEmail().getValor(),
+            email -> new UsuarioDuplicadoException((String) email));
+
+    /**
+     * @return la tabla, para vincularla a un diario y cargarla
+     */
+    TablaMemoria<Usuario> getTabla() {
+        return tabla;
+    }
+
+    @Override
+    public Optional<Usuario> findByEmail(Email email) {
+        return email != null ? tabla.buscarPor(porEmail, email.getValor()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Usuario> findById(Integer idUsuario) {
+        return tabla.buscar(idUsuario);
+    }
+
+    @Override
+    public Usuario save(Usuario usuario) {
+        if (usuario == null) {
+            throw new IllegalArgumentException("El usuario no puede ser nulo");
+        }
+        return tabla.insertar(usuario, null);
+    }
+
+    @Override
+    public Usuario save(Usuario usuario, Connection conn) {
+        return save(usuario);
+    }
+
+    @Override
+    public List<Usuario> saveAll(List<Usuario> usuarios, Connection conn) {
+        for (Usuario usuario : usuarios) {
+            save(usuario);
+        }
+        return usuarios;
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return email != null && tabla.existe(porEmail, email.getValor());
+    }
+
+    @Override
+    public Set<String> findEmailsRegistrados(Collection<Email> emails) {
+        Set<String> registrados = new HashSet<>();
+        for (Email email : emails) {
+            if (tabla.existe(porEmail, email.getValor())) {
+                registrados.add(email.getValor());
+            }
+        }
+        return registrados;
+    }
+
+    @Override
+    public Usuario update(Usuario usuario) {
+        if (usuario == null || usuario.getIdUsuario() == null) {
+            throw new IllegalArgumentException("El usuario a actualizar debe tener ID");
+        }
+        tabla.actualizar(usuario, null, () -> new EntidadNoEncontradaException("Usuario", usuario.getIdUsuario()));
+        return usuario;
+    }
+
+    @Override
+    public Usuario update(Usuario usuario, Connection conn) {
+        return update(usuario);
+    }
+
+    private static Usuario copiar(Usuario u) {
+        return new Usuario(u.getIdUsuario(), u.getEmail(), u.getPassword(), u.getIdRol(), u.isVerified(),
+                u.getUltimaConexion());
+    }
+}
@@ -0,0 +1,125 @@
+package com.guma.data.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias de un método, pensado para registrar desde muchos
+ * hilos con el menor costo posible.
+ *
+ * Los valores (en nanosegundos) se agrupan en buckets logarítmico-lineales:
+ * cada potencia de dos se divide en 16 sub-buckets, lo que da un error
+ * relativo máximo de ~6% en los percentiles. Registrar un valor no reserva
+ * memoria: solo incrementa contadores atómicos preexistentes.
+ *
+ * Los valores mayores a ~18 minutos se acumulan en el último bucket.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class LatencyHistogram {
+
+    private static final int BITS_SUB_BUCKET = 4;
+    private static final int SUB_BUCKETS = 1 << BITS_SUB_BUCKET;
+    private static final int BIT_MAXIMO = 40;
+    private static final int CANTIDAD_BUCKETS = SUB_BUCKETS + (BIT_MAXIMO - BITS_SUB_BUCKET) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(CANTIDAD_BUCKETS);
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Registra una llamada.
+     *
+     * @param nanos duración de la llamada
+     * @param error true si la llamada terminó con una excepción
+     */
+    void registrar(long nanos, boolean error) {
+        long valor = Math.max(0L, nanos);
+        buckets.incrementAndGet(indice(valor));
+        totalNanos.add(valor);
+        maximoNanos.accumulate(valor);
+        if (error) {
+            errores.increment();
+        }
+    }
+
+    /**
+     * Obtiene una foto de las estadísticas acumuladas.
+     *
+     * @param metodo nombre a reportar (ej: "UsuarioRepository.findById")
+     * @return estadísticas con percentiles calculados
+     */
+    MethodLatencyStats getEstadisticas(String metodo) {
+        long[] conteos = new long[CANTIDAD_BUCKETS];
+        long llamadas = 0;
+        for (int i = 0; i < CANTIDAD_BUCKETS; i++) {
+            conteos[i] = buckets.get(i);
+            llamadas += conteos[i];
+        }
+        long maximo = maximoNanos.get();
+        return new MethodLatencyStats(
+                metodo,
+                llamadas,
+                errores.sum(),
+                llamadas > 0 ? totalNanos.sum() / llamadas : 0L,
+                percentil(conteos, llamadas, 0.50, maximo),
+                percentil(conteos, llamadas, 0.95, maximo),
+                percentil(conteos, llamadas, 0.99, maximo),
+                maximo);
+    }
+
+    /**
+     * Pone los contadores en cero. Las llamadas en curso pueden quedar
+     * registradas a medias respecto de la foto siguiente.
+     */
+    void reiniciar() {
+        for (int i = 0; i < CANTIDAD_BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+        errores.reset();
+        totalNanos.reset();
+        maximoNanos.reset();
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private static int indice(long valor) {
+        if (valor < SUB_BUCKETS) {
+            return (int) valor;
+        }
+        int bit = 63 - Long.numberOfLeadingZeros(valor);
+        if (bit >= BIT_MAXIMO) {
+            return CANTIDAD_BUCKETS - 1;
+        }
+        int desplazamiento = bit - BITS_SUB_BUCKET;
+        int sub = (int) (valor >>> desplazamiento) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + desplazamiento * SUB_BUCKETS + sub;
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < SUB_BUCKETS) {
+            return indice;
+        }
+        int desplazamiento = (indice - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (indice - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << desplazamiento) - 1;
+    }
+
+    private static long percentil(long[] conteos, long llamadas, double percentil, long maximo) {
+        if (llamadas == 0) {
+            return 0L;
+        }
+        long posicion = (long) Math.ceil(percentil * llamadas);
+        long acumulado = 0;
+        for (int i = 0; i < conteos.length; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= posicion) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+}
@@ -0,0 +1,83 @@
+package com.guma.data.metrics;
+
+/**
+ * Foto inmutable de las latencias de un método de repositorio.
+ *
+ * Se obtiene con {@link RepositoryMetrics#getEstadisticas()} y se publica
+ * por JMX como una fila de la tabla de estadísticas.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class MethodLatencyStats {
+
+    private final String metodo;
+    private final long llamadas;
+    private final long errores;
+    private final long promedioNanos;
+    private final long p50Nanos;
+    private final long p95Nanos;
+    private final long p99Nanos;
+    private final long maximoNanos;
+
+    public MethodLatencyStats(String metodo, long llamadas, long errores, long promedioNanos,
+            long p50Nanos, long p95Nanos, long p99Nanos, long maximoNanos) {
+        this.metodo = metodo;
+        this.llamadas = llamadas;
+        this.errores = errores;
+        this.promedioNanos = promedioNanos;
+        this.p50Nanos = p50Nanos;
+        this.p95Nanos = p95Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maximoNanos = maximoNanos;
+    }
+
+    /** Puerto y método (ej: "UsuarioRepository.findById"). */
+    public String getMetodo() {
+        return metodo;
+    }
+
+    /** Llamadas registradas, incluidas las que fallaron. */
+    public long getLlamadas() {
+        return llamadas;
+    }
+
+    /** Llamadas que terminaron con una excepción. */
+    public long getErrores() {
+        return errores;
+    }
+
+    /** Latencia promedio en milisegundos. */
+    public double getPromedioMs() {
+        return promedioNanos / 1_000_000.0;
+    }
+
+    /** Mediana de la latencia en milisegundos. */
+    public double getP50Ms() {
+        return p50Nanos / 1_000_000.0;
+    }
+
+    /** Percentil 95 de la latencia en milisegundos. */
+    public double getP95Ms() {
+        return p95Nanos / 1_000_000.0;
+    }
+
+    /** Percentil 99 de la latencia en milisegundos. */
+    public double getP99Ms() {
+        return p99Nanos / 1_000_000.0;
+    }
+
+    /** Latencia máxima observada en milisegundos. */
+    public double getMaximoMs() {
+        return maximoNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "MethodLatencyStats{metodo=%s, llamadas=%d, errores=%d, promedioMs=%.3f, p50Ms=%.3f, "
+                        + "p95Ms=%.3f, p99Ms=%.3f, maximoMs=%.3f}",
+                metodo, llamadas, errores, getPromedioMs(), getP50Ms(), getP95Ms(), getP99Ms(),
+                getMaximoMs());
+    }
+}
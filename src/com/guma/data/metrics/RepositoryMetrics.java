@@ -0,0 +1,204 @@
+package com.guma.data.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas de latencia por método de los puertos de repositorio.
+ *
+ * {@link #instrumentar(Class, Object)} envuelve un repositorio en un proxy
+ * que mide cada llamada y la registra en un {@link LatencyHistogram} propio
+ * del método. Los histogramas se crean al envolver, así que el registro de
+ * una llamada no reserva memoria ni toma locks.
+ *
+ * Las estadísticas (llamadas, errores, promedio, p50/p95/p99 y máximo) se
+ * publican por JMX como com.guma:type=RepositoryMetrics.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class RepositoryMetrics implements RepositoryMetricsMXBean, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(RepositoryMetrics.class.getName());
+
+    /** Nombre con el que se registra el MXBean. */
+    public static final String NOMBRE_JMX = "com.guma:type=RepositoryMetrics";
+
+    private final Map<String, LatencyHistogram> histogramas = new ConcurrentHashMap<>();
+    private ObjectName nombreRegistrado;
+
+    /**
+     * Envuelve un repositorio para medir la latencia de cada método del puerto.
+     *
+     * @param <T>      tipo del puerto
+     * @param puerto   interface del puerto (ej: UsuarioRepository.class)
+     * @param delegate implementación a envolver
+     * @return proxy que implementa el puerto
+     */
+    public <T> T instrumentar(Class<T> puerto, T delegate) {
+        if (puerto == null || delegate == null) {
+            throw new IllegalArgumentException("El puerto y el repositorio no pueden ser nulos");
+        }
+        Map<Method, LatencyHistogram> porMetodo = crearHistogramas(puerto);
+        return puerto.cast(Proxy.newProxyInstance(
+                puerto.getClassLoader(),
+                new Class<?>[] { puerto },
+                (proxy, method, args) -> {
+                    LatencyHistogram histograma = porMetodo.get(method);
+                    if (histograma == null) {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "toString":
+                                return "Metricas[" + delegate + "]";
+                            default:
+                                return invocar(delegate, method, args);
+                        }
+                    }
+                    long inicio = System.nanoTime();
+                    boolean error = true;
+                    try {
+                        Object resultado = invocar(delegate, method, args);
+                        error = false;
+                        return resultado;
+                    } finally {
+                        histograma.registrar(System.nanoTime() - inicio, error);
+                    }
+                }));
+    }
+
+    /**
+     * Registra el MXBean en el MBeanServer de la plataforma. Si ya había uno
+     * registrado con el mismo nombre (por ejemplo, tras un reset de la
+     * fábrica) se reemplaza. Un fallo de registro no impide seguir midiendo.
+     */
+    public synchronized void registrarEnJmx() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(NOMBRE_JMX);
+            if (servidor.isRegistered(nombre)) {
+                servidor.unregisterMBean(nombre);
+            }
+            servidor.registerMBean(this, nombre);
+            nombreRegistrado = nombre;
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "No se pudieron publicar las métricas de repositorios por JMX", e);
+        }
+    }
+
+    @Override
+    public List<MethodLatencyStats> getEstadisticas() {
+        List<MethodLatencyStats> estadisticas = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entrada : histogramas.entrySet()) {
+            MethodLatencyStats stats = entrada.getValue().getEstadisticas(entrada.getKey());
+            if (stats.getLlamadas() > 0) {
+                estadisticas.add(stats);
+            }
+        }
+        estadisticas.sort((a, b) -> a.getMetodo().compareTo(b.getMetodo()));
+        return Collections.unmodifiableList(estadisticas);
+    }
+
+    @Override
+    public long getLlamadasTotales() {
+        long total = 0;
+        for (MethodLatencyStats stats : getEstadisticas()) {
+            total += stats.getLlamadas();
+        }
+        return total;
+    }
+
+    @Override
+    public long getErroresTotales() {
+        long total = 0;
+        for (MethodLatencyStats stats : getEstadisticas()) {
+            total += stats.getErrores();
+        }
+        return total;
+    }
+
+    @Override
+    public void reiniciar() {
+        for (LatencyHistogram histograma : histogramas.values()) {
+            histograma.reiniciar();
+        }
+    }
+
+    /**
+     * Quita el MXBean del MBeanServer. Los proxies creados siguen funcionando.
+     */
+    @Override
+    public synchronized void close() {
+        if (nombreRegistrado == null) {
+            return;
+        }
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            if (servidor.isRegistered(nombreRegistrado)) {
+                servidor.unregisterMBean(nombreRegistrado);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "Error al quitar el MXBean de métricas", e);
+        }
+        nombreRegistrado = null;
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private Map<Method, LatencyHistogram> crearHistogramas(Class<?> puerto) {
+        Map<String, Integer> sobrecargas = new HashMap<>();
+        for (Method method : puerto.getMethods()) {
+            sobrecargas.merge(method.getName(), 1, Integer::sum);
+        }
+        Map<Method, LatencyHistogram> porMetodo = new HashMap<>();
+        for (Method method : puerto.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String nombre = nombreMetrica(puerto, method, sobrecargas.get(method.getName()) > 1);
+            porMetodo.put(method, histogramas.computeIfAbsent(nombre, k -> new LatencyHistogram()));
+        }
+        return porMetodo;
+    }
+
+    private static String nombreMetrica(Class<?> puerto, Method method, boolean sobrecargado) {
+        StringBuilder nombre = new StringBuilder(puerto.getSimpleName()).append('.').append(method.getName());
+        if (sobrecargado) {
+            nombre.append('(');
+            Class<?>[] parametros = method.getParameterTypes();
+            for (int i = 0; i < parametros.length; i++) {
+                if (i > 0) {
+                    nombre.append(',');
+                }
+                nombre.append(parametros[i].getSimpleName());
+            }
+            nombre.append(')');
+        }
+        return nombre.toString();
+    }
+
+    private static Object invocar(Object delegate, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.guma.data.metrics;
+
+import java.util.List;
+
+/**
+ * Interface de gestión JMX de las métricas de repositorios.
+ *
+ * Se registra como com.guma:type=RepositoryMetrics y puede consultarse con
+ * JConsole o VisualVM.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public interface RepositoryMetricsMXBean {
+
+    /**
+     * Estadísticas de todos los métodos instrumentados que tuvieron llamadas.
+     *
+     * @return una fila por método, ordenadas por nombre
+     */
+    List<MethodLatencyStats> getEstadisticas();
+
+    /**
+     * Cantidad total de llamadas registradas en todos los métodos.
+     *
+     * @return total de llamadas
+     */
+    long getLlamadasTotales();
+
+    /**
+     * Cantidad total de llamadas que terminaron con una excepción.
+     *
+     * @return total de errores
+     */
+    long getErroresTotales();
+
+    /**
+     * Pone en cero todos los histogramas.
+     */
+    void reiniciar();
+}
@@ -0,0 +1,593 @@
+package com.guma.data.pool;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import com.guma.data.logging.AsyncSqlLog;
+
+/**
+ * Pool acotado de conexiones JDBC.
+ *
+ * Reemplaza el esquema "una conexión nueva por llamada" por un conjunto de
+ * conexiones físicas reutilizables compartido por todos los repositorios y
+ * por el UnitOfWork. Características:
+ * - Tamaño mínimo y máximo (db.pool.min / db.pool.max)
+ * - Espera acotada al adquirir (db.connection.timeout)
+ * - Validación al prestar con Connection.isValid (db.pool.validation.timeout)
+ * - Desalojo de conexiones inactivas por encima del mínimo (db.pool.idle.timeout)
+ * - Detección de fugas: avisa con el stack de quien pidió la conexión
+ * (db.pool.leak.threshold)
+ * - Cache LRU de PreparedStatement por conexión física, por texto SQL
+ * (db.pool.statement.cache.size)
+ * - Estadísticas consultables en tiempo de ejecución ({@link #getEstadisticas()})
+ * - Registro opcional de las sentencias ejecutadas en un {@link AsyncSqlLog}
+ *
+ * Las conexiones entregadas son proxies: close() devuelve la conexión física
+ * al pool en lugar de cerrarla, restaurando autoCommit y descartando cambios
+ * no confirmados. Del mismo modo, prepareStatement(sql) devuelve la sentencia
+ * cacheada de esa conexión física y su close() la deja lista para reutilizar,
+ * por lo que todos los repositorios se benefician sin cambios.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final ConnectionPoolConfig config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition liberada = lock.newCondition();
+
+    // Protegidos por lock
+    private final ArrayDeque<ConexionFisica> inactivas = new ArrayDeque<>();
+    private final Map<ConexionFisica, Prestamo> prestadas = new IdentityHashMap<>();
+    private int total;
+    private int esperando;
+    private boolean cerrado;
+
+    private final AtomicLong prestamos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong creadas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private final AtomicLong fugas = new AtomicLong();
+    private final AtomicLong latenciaTotalNanos = new AtomicLong();
+    private final AtomicLong latenciaMaximaNanos = new AtomicLong();
+    private final AtomicLong sentenciasReutilizadas = new AtomicLong();
+    private final AtomicLong sentenciasPreparadas = new AtomicLong();
+    private final AtomicLong sentenciasDesalojadas = new AtomicLong();
+
+    private final ScheduledExecutorService mantenimiento;
+    private final AsyncSqlLog sqlLog;
+    private volatile PrintWriter logWriter;
+
+    /**
+     * Crea el pool y abre las conexiones mínimas en segundo plano.
+     *
+     * @param config configuración del pool
+     */
+    public ConnectionPool(ConnectionPoolConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Crea el pool registrando en un log asíncrono las sentencias que se
+     * ejecutan con sus conexiones.
+     *
+     * @param config configuración del pool
+     * @param sqlLog log de SQL, o null para no registrar
+     */
+    public ConnectionPool(ConnectionPoolConfig config, AsyncSqlLog sqlLog) {
+        if (config == null) {
+            throw new IllegalArgumentException("La configuración del pool no puede ser nula");
+        }
+        this.config = config;
+        this.sqlLog = sqlLog;
+        cargarDriver(config.getDriver());
+
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "guma-pool-mantenimiento");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalo = config.getIntervaloMantenimientoMs();
+        mantenimiento.execute(this::completarMinimo);
+        mantenimiento.scheduleWithFixedDelay(this::ejecutarMantenimiento,
+                intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtiene una conexión del pool.
+     * La conexión debe cerrarse (try-with-resources) para devolverla.
+     *
+     * @return conexión prestada
+     * @throws SQLException si se agota db.connection.timeout o falla la apertura
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        long inicio = System.nanoTime();
+        long limite = inicio + TimeUnit.MILLISECONDS.toNanos(config.getTimeoutAdquisicionMs());
+
+        while (true) {
+            ConexionFisica candidata = null;
+            boolean crearNueva = false;
+            long restante = limite - System.nanoTime();
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (cerrado) {
+                        throw new SQLException("El pool de conexiones está cerrado");
+                    }
+                    candidata = inactivas.pollFirst();
+                    if (candidata != null) {
+                        break;
+                    }
+                    if (total < config.getMaximo()) {
+                        total++;
+                        crearNueva = true;
+                        break;
+                    }
+                    if (restante <= 0) {
+                        timeouts.incrementAndGet();
+                        throw new SQLException("Timeout esperando conexión del pool ("
+                                + config.getTimeoutAdquisicionMs() + " ms, activas=" + prestadas.size() + ")");
+                    }
+                    esperando++;
+                    try {
+                        restante = liberada.awaitNanos(restante);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrumpido esperando conexión del pool", e);
+                    } finally {
+                        esperando--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (crearNueva) {
+                try {
+                    candidata = abrirConexion();
+                } catch (SQLException e) {
+                    liberarCupo();
+                    throw e;
+                }
+            } else if (!esValida(candidata)) {
+                descartar(candidata);
+                continue;
+            }
+
+            return prestar(candidata, System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * No soportado: el pool usa siempre las credenciales de la configuración.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("El pool usa las credenciales de application.properties");
+    }
+
+    /**
+     * Obtiene una foto de las estadísticas actuales del pool.
+     *
+     * @return estadísticas (activas, inactivas, esperando, latencia de adquisición...)
+     */
+    public ConnectionPoolStats getEstadisticas() {
+        lock.lock();
+        try {
+            return new ConnectionPoolStats(prestadas.size(), inactivas.size(), esperando,
+                    prestamos.get(), timeouts.get(), creadas.get(), descartadas.get(), fugas.get(),
+                    latenciaTotalNanos.get(), latenciaMaximaNanos.get(),
+                    sentenciasReutilizadas.get(), sentenciasPreparadas.get(), sentenciasDesalojadas.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene la configuración con la que se creó el pool.
+     *
+     * @return configuración
+     */
+    public ConnectionPoolConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Cierra el pool: cierra las conexiones inactivas de inmediato y las
+     * prestadas a medida que se devuelven. Los hilos en espera reciben error.
+     */
+    @Override
+    public void close() {
+        List<ConexionFisica> aCerrar;
+        lock.lock();
+        try {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            aCerrar = new ArrayList<>(inactivas);
+            inactivas.clear();
+            total -= aCerrar.size();
+            liberada.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        mantenimiento.shutdownNow();
+        for (ConexionFisica fisica : aCerrar) {
+            cerrarSilenciosamente(fisica);
+        }
+    }
+
+    // ==================== PRÉSTAMO Y DEVOLUCIÓN ====================
+
+    private Connection prestar(ConexionFisica fisica, long latenciaNanos) {
+        Prestamo prestamo = new Prestamo(fisica, System.currentTimeMillis(),
+                config.getUmbralFugaMs() > 0 ? new Exception("Conexión obtenida aquí") : null);
+        lock.lock();
+        try {
+            prestadas.put(fisica, prestamo);
+        } finally {
+            lock.unlock();
+        }
+        prestamos.incrementAndGet();
+        latenciaTotalNanos.addAndGet(latenciaNanos);
+        latenciaMaximaNanos.accumulateAndGet(latenciaNanos, Math::max);
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                prestamo);
+    }
+
+    private void devolver(Prestamo prestamo) {
+        ConexionFisica fisica = prestamo.fisica;
+        if (fisica.sentencias != null) {
+            fisica.sentencias.liberarPrestadas();
+        }
+        boolean reutilizable = restablecer(fisica);
+
+        lock.lock();
+        try {
+            prestadas.remove(fisica);
+            if (reutilizable && !cerrado) {
+                fisica.ultimoUso = System.currentTimeMillis();
+                inactivas.addFirst(fisica);
+                liberada.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        descartar(fisica);
+    }
+
+    /**
+     * Deja la conexión física como recién abierta para el próximo préstamo.
+     *
+     * @return false si la conexión quedó inutilizable
+     */
+    private boolean restablecer(ConexionFisica fisica) {
+        try {
+            Connection conn = fisica.conexion;
+            if (conn.isClosed()) {
+                return false;
+            }
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+            if (conn.isReadOnly()) {
+                conn.setReadOnly(false);
+            }
+            conn.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Conexión descartada al devolverla al pool", e);
+            return false;
+        }
+    }
+
+    // ==================== CICLO DE VIDA DE CONEXIONES FÍSICAS ====================
+
+    private ConexionFisica abrirConexion() throws SQLException {
+        Connection conn = DriverManager.getConnection(
+                config.getUrl(), config.getUsername(), config.getPassword());
+        creadas.incrementAndGet();
+        StatementCache sentencias = config.getTamanioCacheSentencias() > 0
+                ? new StatementCache(conn, config.getTamanioCacheSentencias(),
+                        sentenciasReutilizadas, sentenciasPreparadas, sentenciasDesalojadas)
+                : null;
+        return new ConexionFisica(conn, sentencias);
+    }
+
+    private boolean esValida(ConexionFisica fisica) {
+        if (config.getTimeoutValidacionMs() <= 0) {
+            return true;
+        }
+        try {
+            int segundos = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(config.getTimeoutValidacionMs()));
+            return fisica.conexion.isValid(segundos);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void descartar(ConexionFisica fisica) {
+        cerrarSilenciosamente(fisica);
+        liberarCupo();
+    }
+
+    private void liberarCupo() {
+        lock.lock();
+        try {
+            total--;
+            liberada.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cerrarSilenciosamente(ConexionFisica fisica) {
+        descartadas.incrementAndGet();
+        try {
+            fisica.conexion.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error cerrando conexión física", e);
+        }
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    private void ejecutarMantenimiento() {
+        try {
+            desalojarInactivas();
+            detectarFugas();
+            completarMinimo();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error en mantenimiento del pool", e);
+        }
+    }
+
+    private void desalojarInactivas() {
+        if (config.getTimeoutInactividadMs() <= 0) {
+            return;
+        }
+        long limite = System.currentTimeMillis() - config.getTimeoutInactividadMs();
+        List<ConexionFisica> vencidas = new ArrayList<>();
+        lock.lock();
+        try {
+            // Las más antiguas quedan al final de la cola (se devuelven por el frente)
+            Iterator<ConexionFisica> it = inactivas.descendingIterator();
+            while (it.hasNext() && total - vencidas.size() > config.getMinimo()) {
+                ConexionFisica fisica = it.next();
+                if (fisica.ultimoUso >= limite) {
+                    break;
+                }
+                it.remove();
+                vencidas.add(fisica);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (ConexionFisica fisica : vencidas) {
+            descartar(fisica);
+        }
+    }
+
+    private void detectarFugas() {
+        if (config.getUmbralFugaMs() <= 0) {
+            return;
+        }
+        long limite = System.currentTimeMillis() - config.getUmbralFugaMs();
+        List<Prestamo> sospechosos = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Prestamo prestamo : prestadas.values()) {
+                if (!prestamo.fugaReportada && prestamo.desde < limite) {
+                    prestamo.fugaReportada = true;
+                    sospechosos.add(prestamo);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Prestamo prestamo : sospechosos) {
+            fugas.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Posible fuga de conexión: prestada hace "
+                    + (System.currentTimeMillis() - prestamo.desde) + " ms sin devolverse", prestamo.origen);
+        }
+    }
+
+    private void completarMinimo() {
+        while (true) {
+            lock.lock();
+            try {
+                if (cerrado || total >= config.getMinimo()) {
+                    return;
+                }
+                total++;
+            } finally {
+                lock.unlock();
+            }
+            ConexionFisica fisica;
+            try {
+                fisica = abrirConexion();
+            } catch (SQLException e) {
+                liberarCupo();
+                LOGGER.log(Level.FINE, "No se pudo abrir conexión mínima del pool", e);
+                return;
+            }
+            lock.lock();
+            try {
+                if (!cerrado) {
+                    inactivas.addLast(fisica);
+                    liberada.signal();
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+            descartar(fisica);
+            return;
+        }
+    }
+
+    private static void cargarDriver(String driver) {
+        if (driver == null || driver.isEmpty()) {
+            return;
+        }
+        try {
+            Class.forName(driver);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Driver JDBC no encontrado: " + driver, e);
+        }
+    }
+
+    // ==================== DataSource ====================
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("No es un wrapper de " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    /**
+     * Conexión física abierta contra MySQL.
+     */
+    private static final class ConexionFisica {
+        private final Connection conexion;
+        private final StatementCache sentencias; // null si la cache está desactivada
+        private long ultimoUso = System.currentTimeMillis();
+
+        private ConexionFisica(Connection conexion, StatementCache sentencias) {
+            this.conexion = conexion;
+            this.sentencias = sentencias;
+        }
+    }
+
+    /**
+     * Préstamo vigente de una conexión. Actúa como handler del proxy que
+     * recibe el código cliente.
+     */
+    private final class Prestamo implements InvocationHandler {
+        private final ConexionFisica fisica;
+        private final long desde;
+        private final Exception origen;
+        private boolean fugaReportada;
+        private volatile boolean devuelta;
+
+        private Prestamo(ConexionFisica fisica, long desde, Exception origen) {
+            this.fisica = fisica;
+            this.desde = desde;
+            this.origen = origen;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!devuelta) {
+                        devuelta = true;
+                        devolver(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return devuelta || fisica.conexion.isClosed();
+                case "unwrap":
+                case "isWrapperFor":
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionPool[" + fisica.conexion + (devuelta ? ", devuelta" : "") + "]";
+                default:
+                    if (devuelta) {
+                        throw new SQLException("La conexión ya fue devuelta al pool");
+                    }
+                    if (fisica.sentencias != null && StatementCache.esCacheable(method, args)) {
+                        return registrarSql(fisica.sentencias.preparar((Connection) proxy, args), args);
+                    }
+            }
+            Object resultado;
+            try {
+                resultado = method.invoke(fisica.conexion, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return resultado instanceof Statement ? registrarSql((Statement) resultado, args) : resultado;
+        }
+
+        private Statement registrarSql(Statement sentencia, Object[] args) {
+            if (sqlLog == null) {
+                return sentencia;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            return sqlLog.instrumentar(sentencia, sql);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.guma.data.pool;
+
+import com.guma.data.config.ApplicationProperties;
+
+/**
+ * Configuración del pool de conexiones JDBC.
+ *
+ * Se construye a partir de application.properties:
+ *
+ * <pre>
+ * db.url / db.username / db.password / db.driver
+ * db.connection.timeout=30000           # espera máxima para obtener conexión (ms)
+ * db.pool.min=2                         # conexiones que se mantienen abiertas
+ * db.pool.max=10                        # tope de conexiones físicas
+ * db.pool.idle.timeout=600000           # ms sin uso antes de cerrar (por encima de min)
+ * db.pool.validation.timeout=5000       # ms para validar al prestar (0 = no validar)
+ * db.pool.leak.threshold=60000          # ms prestada antes de avisar fuga (0 = desactivado)
+ * db.pool.housekeeping.interval=30000   # ms entre ciclos de mantenimiento
+ * db.pool.statement.cache.size=50       # PreparedStatement cacheados por conexión (0 = desactivada)
+ * </pre>
+ *
+ * La réplica de lectura opcional usa su propio pool, con db.read.url,
+ * db.read.username, db.read.password, db.read.pool.min y db.read.pool.max
+ * (usuario, contraseña y tamaños toman por defecto los del primario),
+ * db.read.connection.timeout (2000 ms por defecto: si la réplica no
+ * responde conviene volver pronto al primario) y el resto de los valores
+ * del primario.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class ConnectionPoolConfig {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String driver;
+    private final int minimo;
+    private final int maximo;
+    private final long timeoutAdquisicionMs;
+    private final long timeoutInactividadMs;
+    private final long timeoutValidacionMs;
+    private final long umbralFugaMs;
+    private final long intervaloMantenimientoMs;
+    private final int tamanioCacheSentencias;
+
+    /**
+     * Constructor completo.
+     *
+     * @param url                      URL JDBC
+     * @param username                 usuario de la BD
+     * @param password                 contraseña de la BD
+     * @param driver                   clase del driver JDBC (puede ser null)
+     * @param minimo                   conexiones mínimas abiertas
+     * @param maximo                   conexiones máximas abiertas
+     * @param timeoutAdquisicionMs     espera máxima para obtener conexión
+     * @param timeoutInactividadMs     tiempo sin uso antes de cerrar una conexión
+     * @param timeoutValidacionMs      tiempo máximo de validación al prestar
+     * @param umbralFugaMs             tiempo prestada antes de reportar fuga
+     * @param intervaloMantenimientoMs intervalo del hilo de mantenimiento
+     * @param tamanioCacheSentencias   sentencias cacheadas por conexión (0 = sin cache)
+     * @throws IllegalArgumentException si los límites son inconsistentes
+     */
+    public ConnectionPoolConfig(String url, String username, String password, String driver,
+            int minimo, int maximo, long timeoutAdquisicionMs, long timeoutInactividadMs,
+            long timeoutValidacionMs, long umbralFugaMs, long intervaloMantenimientoMs,
+            int tamanioCacheSentencias) {
+        if (url == null || url.trim().isEmpty()) {
+            throw new IllegalArgumentException("La URL de la base de datos no puede ser nula ni vacía");
+        }
+        if (minimo < 0 || maximo < 1 || minimo > maximo) {
+            throw new IllegalArgumentException(
+                    "Tamaño de pool inválido: min=" + minimo + ", max=" + maximo);
+        }
+        if (timeoutAdquisicionMs < 0 || intervaloMantenimientoMs <= 0) {
+            throw new IllegalArgumentException("Los timeouts del pool deben ser positivos");
+        }
+        if (tamanioCacheSentencias < 0) {
+            throw new IllegalArgumentException("El tamaño de la cache de sentencias no puede ser negativo");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.driver = driver;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.timeoutAdquisicionMs = timeoutAdquisicionMs;
+        this.timeoutInactividadMs = timeoutInactividadMs;
+        this.timeoutValidacionMs = timeoutValidacionMs;
+        this.umbralFugaMs = umbralFugaMs;
+        this.intervaloMantenimientoMs = intervaloMantenimientoMs;
+        this.tamanioCacheSentencias = tamanioCacheSentencias;
+    }
+
+    /**
+     * Crea la configuración leyendo application.properties.
+     *
+     * @return configuración del pool
+     */
+    public static ConnectionPoolConfig desdePropiedades() {
+        return new ConnectionPoolConfig(
+                ApplicationProperties.getString("db.url", null),
+                ApplicationProperties.getString("db.username", ""),
+                ApplicationProperties.getString("db.password", ""),
+                ApplicationProperties.getString("db.driver", null),
+                ApplicationProperties.getInt("db.pool.min", 2),
+                ApplicationProperties.getInt("db.pool.max", 10),
+                ApplicationProperties.getLong("db.connection.timeout", 30000),
+                ApplicationProperties.getLong("db.pool.idle.timeout", 600000),
+                ApplicationProperties.getLong("db.pool.validation.timeout", 5000),
+                ApplicationProperties.getLong("db.pool.leak.threshold", 60000),
+                ApplicationProperties.getLong("db.pool.housekeeping.interval", 30000),
+                ApplicationProperties.getInt("db.pool.statement.cache.size", 50));
+    }
+
+    /**
+     * Crea la configuración del pool de la réplica de lectura leyendo
+     * application.properties.
+     *
+     * @return configuración del pool de la réplica, o null si db.read.url
+     *         no está configurada
+     */
+    public static ConnectionPoolConfig desdePropiedadesLectura() {
+        String url = ApplicationProperties.getString("db.read.url", "");
+        if (url.isEmpty()) {
+            return null;
+        }
+        return new ConnectionPoolConfig(
+                url,
+                ApplicationProperties.getString("db.read.username",
+                        ApplicationProperties.getString("db.username", "")),
+                ApplicationProperties.getString("db.read.password",
+                        ApplicationProperties.getString("db.password", "")),
+                ApplicationProperties.getString("db.driver", null),
+                ApplicationProperties.getInt("db.read.pool.min", ApplicationProperties.getInt("db.pool.min", 2)),
+                ApplicationProperties.getInt("db.read.pool.max", ApplicationProperties.getInt("db.pool.max", 10)),
+                ApplicationProperties.getLong("db.read.connection.timeout", 2000),
+                ApplicationProperties.getLong("db.pool.idle.timeout", 600000),
+                ApplicationProperties.getLong("db.pool.validation.timeout", 5000),
+                ApplicationProperties.getLong("db.pool.leak.threshold", 60000),
+                ApplicationProperties.getLong("db.pool.housekeeping.interval", 30000),
+                ApplicationProperties.getInt("db.pool.statement.cache.size", 50));
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getDriver() {
+        return driver;
+    }
+
+    public int getMinimo() {
+        return minimo;
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+
+    public long getTimeoutAdquisicionMs() {
+        return timeoutAdquisicionMs;
+    }
+
+    public long getTimeoutInactividadMs() {
+        return timeoutInactividadMs;
+    }
+
+    public long getTimeoutValidacionMs() {
+        return timeoutValidacionMs;
+    }
+
+    public long getUmbralFugaMs() {
+        return umbralFugaMs;
+    }
+
+    public long getIntervaloMantenimientoMs() {
+        return intervaloMantenimientoMs;
+    }
+
+    public int getTamanioCacheSentencias() {
+        return tamanioCacheSentencias;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolConfig{" +
+                "url='" + url + '\'' +
+                ", minimo=" + minimo +
+                ", maximo=" + maximo +
+                ", timeoutAdquisicionMs=" + timeoutAdquisicionMs +
+                ", timeoutInactividadMs=" + timeoutInactividadMs +
+                ", umbralFugaMs=" + umbralFugaMs +
+                ", tamanioCacheSentencias=" + tamanioCacheSentencias +
+                '}';
+    }
+}
@@ -0,0 +1,145 @@
+package com.guma.data.pool;
+
+/**
+ * Foto inmutable de las estadísticas del pool en un instante dado.
+ *
+ * Se obtiene con {@link ConnectionPool#getEstadisticas()} y puede
+ * consultarse en tiempo de ejecución sin afectar al pool.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class ConnectionPoolStats {
+
+    private final int activas;
+    private final int inactivas;
+    private final int esperando;
+    private final long prestamos;
+    private final long timeouts;
+    private final long creadas;
+    private final long descartadas;
+    private final long fugasDetectadas;
+    private final long latenciaTotalNanos;
+    private final long latenciaMaximaNanos;
+    private final long sentenciasReutilizadas;
+    private final long sentenciasPreparadas;
+    private final long sentenciasDesalojadas;
+
+    public ConnectionPoolStats(int activas, int inactivas, int esperando, long prestamos,
+            long timeouts, long creadas, long descartadas, long fugasDetectadas,
+            long latenciaTotalNanos, long latenciaMaximaNanos, long sentenciasReutilizadas,
+            long sentenciasPreparadas, long sentenciasDesalojadas) {
+        this.activas = activas;
+        this.inactivas = inactivas;
+        this.esperando = esperando;
+        this.prestamos = prestamos;
+        this.timeouts = timeouts;
+        this.creadas = creadas;
+        this.descartadas = descartadas;
+        this.fugasDetectadas = fugasDetectadas;
+        this.latenciaTotalNanos = latenciaTotalNanos;
+        this.latenciaMaximaNanos = latenciaMaximaNanos;
+        this.sentenciasReutilizadas = sentenciasReutilizadas;
+        this.sentenciasPreparadas = sentenciasPreparadas;
+        this.sentenciasDesalojadas = sentenciasDesalojadas;
+    }
+
+    /** Conexiones prestadas en este momento. */
+    public int getActivas() {
+        return activas;
+    }
+
+    /** Conexiones abiertas disponibles para prestar. */
+    public int getInactivas() {
+        return inactivas;
+    }
+
+    /** Total de conexiones físicas abiertas. */
+    public int getTotal() {
+        return activas + inactivas;
+    }
+
+    /** Hilos bloqueados esperando una conexión. */
+    public int getEsperando() {
+        return esperando;
+    }
+
+    /** Préstamos exitosos desde el arranque. */
+    public long getPrestamos() {
+        return prestamos;
+    }
+
+    /** Préstamos que fallaron por agotar db.connection.timeout. */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /** Conexiones físicas abiertas desde el arranque. */
+    public long getCreadas() {
+        return creadas;
+    }
+
+    /** Conexiones físicas cerradas por inactividad, validación fallida o cierre. */
+    public long getDescartadas() {
+        return descartadas;
+    }
+
+    /** Préstamos que superaron db.pool.leak.threshold sin devolverse. */
+    public long getFugasDetectadas() {
+        return fugasDetectadas;
+    }
+
+    /**
+     * Latencia promedio de adquisición en milisegundos.
+     *
+     * @return promedio, 0 si aún no hubo préstamos
+     */
+    public double getLatenciaPromedioMs() {
+        return prestamos == 0 ? 0 : (latenciaTotalNanos / (double) prestamos) / 1_000_000.0;
+    }
+
+    /**
+     * Latencia máxima de adquisición observada en milisegundos.
+     *
+     * @return latencia máxima
+     */
+    public double getLatenciaMaximaMs() {
+        return latenciaMaximaNanos / 1_000_000.0;
+    }
+
+    /** prepareStatement resueltos con una sentencia de la cache (aciertos). */
+    public long getSentenciasReutilizadas() {
+        return sentenciasReutilizadas;
+    }
+
+    /** prepareStatement que prepararon una sentencia nueva (fallos de la cache). */
+    public long getSentenciasPreparadas() {
+        return sentenciasPreparadas;
+    }
+
+    /** Sentencias cerradas por superar db.pool.statement.cache.size. */
+    public long getSentenciasDesalojadas() {
+        return sentenciasDesalojadas;
+    }
+
+    /**
+     * Proporción de prepareStatement resueltos desde la cache.
+     *
+     * @return tasa entre 0 y 1, 0 si aún no se preparó ninguna sentencia
+     */
+    public double getTasaAciertosSentencias() {
+        long total = sentenciasReutilizadas + sentenciasPreparadas;
+        return total == 0 ? 0 : sentenciasReutilizadas / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ConnectionPoolStats{activas=%d, inactivas=%d, esperando=%d, prestamos=%d, timeouts=%d, "
+                        + "creadas=%d, descartadas=%d, fugas=%d, latenciaPromedioMs=%.3f, latenciaMaximaMs=%.3f, "
+                        + "sentenciasReutilizadas=%d, sentenciasPreparadas=%d, sentenciasDesalojadas=%d}",
+                activas, inactivas, esperando, prestamos, timeouts, creadas, descartadas,
+                fugasDetectadas, getLatenciaPromedioMs(), getLatenciaMaximaMs(),
+                sentenciasReutilizadas, sentenciasPreparadas, sentenciasDesalojadas);
+    }
+}
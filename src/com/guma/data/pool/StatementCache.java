@@ -0,0 +1,310 @@
+package com.guma.data.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache LRU de PreparedStatement de una conexión física del pool.
+ *
+ * La clave es el texto SQL (más el indicador de claves generadas), de modo
+ * que los repositorios que preparan siempre las mismas sentencias reutilizan
+ * el PreparedStatement (y, con useServerPrepStmts=true, la sentencia ya
+ * parseada en el servidor) en lugar de prepararlo en cada llamada.
+ *
+ * El repositorio recibe un proxy: close() limpia parámetros, lotes y
+ * ResultSets abiertos y deja la sentencia disponible para la próxima
+ * llamada. Si la misma SQL se prepara dos veces sin cerrar la primera, la
+ * segunda es una sentencia común (no cacheada). Las sentencias a las que se
+ * les cambia la configuración (fetchSize, maxRows, timeout...) se cierran de
+ * verdad al cerrarlas, para no contaminar usos posteriores.
+ *
+ * No es thread-safe por sí misma: la usa el único hilo que tiene prestada la
+ * conexión en cada momento.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class StatementCache {
+
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    // Métodos que alteran el estado de la sentencia más allá de los parámetros
+    private static final Set<String> MODIFICADORES = new HashSet<>(Arrays.asList(
+            "setFetchSize", "setFetchDirection", "setMaxRows", "setLargeMaxRows", "setMaxFieldSize",
+            "setQueryTimeout", "setEscapeProcessing", "setCursorName", "setPoolable", "closeOnCompletion"));
+
+    private final Connection conexion;
+    private final int maximo;
+    private final AtomicLong aciertos;
+    private final AtomicLong fallos;
+    private final AtomicLong desalojos;
+    private final LinkedHashMap<Clave, Entrada> entradas;
+    // Desalojadas mientras estaban en uso: se cierran al devolverlas
+    private final List<Entrada> desalojadasEnUso = new ArrayList<>();
+
+    /**
+     * @param conexion  conexión física dueña de las sentencias
+     * @param maximo    sentencias cacheadas como máximo (LRU)
+     * @param aciertos  contador compartido de sentencias reutilizadas
+     * @param fallos    contador compartido de sentencias preparadas
+     * @param desalojos contador compartido de sentencias desalojadas por LRU
+     */
+    StatementCache(Connection conexion, int maximo, AtomicLong aciertos, AtomicLong fallos, AtomicLong desalojos) {
+        this.conexion = conexion;
+        this.maximo = maximo;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.desalojos = desalojos;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Indica si la variante de prepareStatement puede cachearse:
+     * prepareStatement(String) y prepareStatement(String, int autoGeneratedKeys).
+     */
+    static boolean esCacheable(Method method, Object[] args) {
+        if (!"prepareStatement".equals(method.getName()) || args == null || !(args[0] instanceof String)) {
+            return false;
+        }
+        Class<?>[] tipos = method.getParameterTypes();
+        return tipos.length == 1 || (tipos.length == 2 && tipos[1] == int.class);
+    }
+
+    /**
+     * Devuelve la sentencia cacheada para la SQL o la prepara.
+     *
+     * @param logica conexión (proxy) que ve el repositorio
+     * @param args   argumentos de prepareStatement
+     * @return sentencia lista para usar
+     * @throws SQLException si falla la preparación
+     */
+    PreparedStatement preparar(Connection logica, Object[] args) throws SQLException {
+        String sql = (String) args[0];
+        int generadas = args.length > 1 ? (Integer) args[1] : -1;
+        Clave clave = new Clave(sql, generadas);
+
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null) {
+            if (entrada.enUso != null) {
+                // Misma SQL abierta dos veces: la segunda no se cachea
+                fallos.incrementAndGet();
+                return crear(sql, generadas);
+            }
+            aciertos.incrementAndGet();
+            return prestar(entrada, logica);
+        }
+
+        fallos.incrementAndGet();
+        entrada = new Entrada(clave, crear(sql, generadas));
+        entradas.put(clave, entrada);
+        desalojarExcedentes();
+        return prestar(entrada, logica);
+    }
+
+    /**
+     * Cierra lógicamente las sentencias que quedaron abiertas al devolver la
+     * conexión al pool, para que no se usen desde el préstamo anterior.
+     */
+    void liberarPrestadas() {
+        List<Entrada> todas = new ArrayList<>(entradas.values());
+        todas.addAll(desalojadasEnUso);
+        for (Entrada entrada : todas) {
+            if (entrada.enUso != null) {
+                entrada.enUso.cerrar();
+            }
+        }
+    }
+
+    private PreparedStatement crear(String sql, int generadas) throws SQLException {
+        return generadas < 0 ? conexion.prepareStatement(sql) : conexion.prepareStatement(sql, generadas);
+    }
+
+    private PreparedStatement prestar(Entrada entrada, Connection logica) {
+        SentenciaPrestada handler = new SentenciaPrestada(entrada, logica);
+        entrada.enUso = handler;
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                handler);
+    }
+
+    private void desalojarExcedentes() {
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (entradas.size() > maximo && it.hasNext()) {
+            Entrada antigua = it.next();
+            it.remove();
+            desalojos.incrementAndGet();
+            antigua.desalojada = true;
+            if (antigua.enUso == null) {
+                cerrarFisica(antigua.sentencia);
+            } else {
+                desalojadasEnUso.add(antigua);
+            }
+        }
+    }
+
+    /**
+     * Devuelve la sentencia a la cache tras un close() lógico.
+     */
+    private void devolver(Entrada entrada, SentenciaPrestada handler) {
+        if (entrada.enUso != handler) {
+            return;
+        }
+        entrada.enUso = null;
+        if (entrada.desalojada || handler.modificada || !limpiar(entrada.sentencia)) {
+            if (entrada.desalojada) {
+                desalojadasEnUso.remove(entrada);
+            } else {
+                entradas.remove(entrada.clave);
+            }
+            cerrarFisica(entrada.sentencia);
+        }
+    }
+
+    private static boolean limpiar(PreparedStatement sentencia) {
+        try {
+            sentencia.clearParameters();
+            sentencia.clearBatch();
+            sentencia.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Sentencia descartada de la cache", e);
+            return false;
+        }
+    }
+
+    private static void cerrarFisica(PreparedStatement sentencia) {
+        try {
+            sentencia.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error cerrando sentencia cacheada", e);
+        }
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    private static final class Clave {
+        private final String sql;
+        private final int generadas;
+
+        private Clave(String sql, int generadas) {
+            this.sql = sql;
+            this.generadas = generadas;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Clave)) {
+                return false;
+            }
+            Clave otra = (Clave) o;
+            return generadas == otra.generadas && sql.equals(otra.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sql.hashCode() + generadas;
+        }
+    }
+
+    private static final class Entrada {
+        private final Clave clave;
+        private final PreparedStatement sentencia;
+        private SentenciaPrestada enUso;
+        private boolean desalojada;
+
+        private Entrada(Clave clave, PreparedStatement sentencia) {
+            this.clave = clave;
+            this.sentencia = sentencia;
+        }
+    }
+
+    /**
+     * Uso vigente de una sentencia cacheada. Actúa como handler del proxy
+     * que recibe el repositorio.
+     */
+    private final class SentenciaPrestada implements InvocationHandler {
+        private final Entrada entrada;
+        private final Connection logica;
+        private final List<ResultSet> resultados = new ArrayList<>(1);
+        private boolean cerrada;
+        private boolean modificada;
+
+        private SentenciaPrestada(Entrada entrada, Connection logica) {
+            this.entrada = entrada;
+            this.logica = logica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    cerrar();
+                    return null;
+                case "isClosed":
+                    return cerrada;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SentenciaCacheada[" + entrada.clave.sql + (cerrada ? ", cerrada" : "") + "]";
+                default:
+                    if (cerrada) {
+                        throw new SQLException("La sentencia ya fue cerrada");
+                    }
+            }
+            if ("getConnection".equals(method.getName())) {
+                return logica;
+            }
+            if (MODIFICADORES.contains(method.getName())) {
+                modificada = true;
+            }
+            Object resultado;
+            try {
+                resultado = method.invoke(entrada.sentencia, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (resultado instanceof ResultSet) {
+                resultados.add((ResultSet) resultado);
+            }
+            return resultado;
+        }
+
+        private void cerrar() {
+            if (cerrada) {
+                return;
+            }
+            cerrada = true;
+            for (ResultSet rs : resultados) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.FINE, "Error cerrando ResultSet de sentencia cacheada", e);
+                }
+            }
+            resultados.clear();
+            devolver(entrada, this);
+        }
+    }
+}
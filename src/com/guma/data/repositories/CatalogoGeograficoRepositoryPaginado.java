@@ -0,0 +1,177 @@
+package com.guma.data.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.CatalogoGeograficoRepository;
+import com.guma.domain.entities.Localidad;
+import com.guma.domain.entities.Pais;
+import com.guma.domain.entities.Provincia;
+import com.guma.domain.valueobjects.Pagina;
+
+/**
+ * Decorador de CatalogoGeograficoRepository que pagina por clave y recorre
+ * por streaming en la base de datos. Se usa cuando el catálogo no se carga
+ * en memoria (cache.catalogo.enabled=false).
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class CatalogoGeograficoRepositoryPaginado implements CatalogoGeograficoRepository {
+
+    private static final String SQL_PAISES = "SELECT id_pais, nombre FROM PAISES ";
+    private static final String SQL_PAISES_PAGINA = SQL_PAISES + "WHERE id_pais > ? ORDER BY id_pais LIMIT ?";
+    private static final String SQL_PAISES_TODOS = SQL_PAISES + "ORDER BY id_pais";
+
+    private static final String SQL_PROVINCIAS = "SELECT id_provincia, nombre, id_pais FROM PROVINCIAS "
+            + "WHERE id_pais = ? ";
+    private static final String SQL_PROVINCIAS_PAGINA = SQL_PROVINCIAS
+            + "AND id_provincia > ? ORDER BY id_provincia LIMIT ?";
+    private static final String SQL_PROVINCIAS_TODAS = SQL_PROVINCIAS + "ORDER BY id_provincia";
+
+    private static final String SQL_LOCALIDADES = "SELECT id_localidad, nombre, id_provincia FROM LOCALIDADES "
+            + "WHERE id_provincia = ? ";
+    private static final String SQL_LOCALIDADES_PAGINA = SQL_LOCALIDADES
+            + "AND id_localidad > ? ORDER BY id_localidad LIMIT ?";
+    private static final String SQL_LOCALIDADES_TODAS = SQL_LOCALIDADES + "ORDER BY id_localidad";
+
+    private final CatalogoGeograficoRepository delegate;
+    private final DataSource dataSource;
+    private final int tamanioBloque;
+
+    /**
+     * @param delegate      repositorio decorado (listados y búsquedas por ID)
+     * @param dataSource    DataSource compartido (pool)
+     * @param tamanioBloque filas por viaje al servidor en los recorridos
+     */
+    public CatalogoGeograficoRepositoryPaginado(CatalogoGeograficoRepository delegate, DataSource dataSource,
+            int tamanioBloque) {
+        if (delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El repositorio y el DataSource no pueden ser nulos");
+        }
+        if (tamanioBloque < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser al menos 1");
+        }
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.tamanioBloque = tamanioBloque;
+    }
+
+    // ===== PAISES =====
+
+    @Override
+    public Pagina<Pais> findPaisesPagina(Integer despuesDeId, int limite) {
+        try {
+            return JdbcKeyset.pagina(dataSource, SQL_PAISES_PAGINA, despuesDeId, limite,
+                    CatalogoGeograficoRepositoryPaginado::mapearPais, Pais::getIdPais);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al obtener página de países: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void findAllPaises(Consumer<? super Pais> consumidor) {
+        try {
+            JdbcKeyset.recorrer(dataSource, SQL_PAISES_TODOS, tamanioBloque,
+                    CatalogoGeograficoRepositoryPaginado::mapearPais, consumidor);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al recorrer países: " + e.getMessage(), e);
+        }
+    }
+
+    // ===== PROVINCIAS =====
+
+    @Override
+    public Pagina<Provincia> findProvinciasByPaisPagina(Integer idPais, Integer despuesDeId, int limite) {
+        try {
+            return JdbcKeyset.pagina(dataSource, SQL_PROVINCIAS_PAGINA, despuesDeId, limite,
+                    CatalogoGeograficoRepositoryPaginado::mapearProvincia, Provincia::getIdProvincia, idPais);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al obtener página de provincias: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void findProvinciasByPais(Integer idPais, Consumer<? super Provincia> consumidor) {
+        try {
+            JdbcKeyset.recorrer(dataSource, SQL_PROVINCIAS_TODAS, tamanioBloque,
+                    CatalogoGeograficoRepositoryPaginado::mapearProvincia, consumidor, idPais);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al recorrer provincias: " + e.getMessage(), e);
+        }
+    }
+
+    // ===== LOCALIDADES =====
+
+    @Override
+    public Pagina<Localidad> findLocalidadesByProvinciaPagina(Integer idProvincia, Integer despuesDeId,
+            int limite) {
+        try {
+            return JdbcKeyset.pagina(dataSource, SQL_LOCALIDADES_PAGINA, despuesDeId, limite,
+                    CatalogoGeograficoRepositoryPaginado::mapearLocalidad, Localidad::getIdLocalidad, idProvincia);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al obtener página de localidades: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void findLocalidadesByProvincia(Integer idProvincia, Consumer<? super Localidad> consumidor) {
+        try {
+            JdbcKeyset.recorrer(dataSource, SQL_LOCALIDADES_TODAS, tamanioBloque,
+                    CatalogoGeograficoRepositoryPaginado::mapearLocalidad, consumidor, idProvincia);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al recorrer localidades: " + e.getMessage(), e);
+        }
+    }
+
+    // ==================== DELEGADOS ====================
+
+    @Override
+    public List<Pais> findAllPaises() {
+        return delegate.findAllPaises();
+    }
+
+    @Override
+    public Optional<Pais> findPaisById(Integer id) {
+        return delegate.findPaisById(id);
+    }
+
+    @Override
+    public List<Provincia> findProvinciasByPais(Integer idPais) {
+        return delegate.findProvinciasByPais(idPais);
+    }
+
+    @Override
+    public Optional<Provincia> findProvinciaById(Integer id) {
+        return delegate.findProvinciaById(id);
+    }
+
+    @Override
+    public List<Localidad> findLocalidadesByProvincia(Integer idProvincia) {
+        return delegate.findLocalidadesByProvincia(idProvincia);
+    }
+
+    @Override
+    public Optional<Localidad> findLocalidadById(Integer id) {
+        return delegate.findLocalidadById(id);
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private static Pais mapearPais(ResultSet rs) throws SQLException {
+        return new Pais(rs.getInt("id_pais"), rs.getString("nombre"));
+    }
+
+    private static Provincia mapearProvincia(ResultSet rs) throws SQLException {
+        return new Provincia(rs.getInt("id_provincia"), rs.getString("nombre"), rs.getInt("id_pais"));
+    }
+
+    private static Localidad mapearLocalidad(ResultSet rs) throws SQLException {
+        return new Localidad(rs.getInt("id_localidad"), rs.getString("nombre"), rs.getInt("id_provincia"));
+    }
+}
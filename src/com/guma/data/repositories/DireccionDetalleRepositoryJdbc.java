@@ -0,0 +1,164 @@
+package com.guma.data.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.DireccionDetalleRepository;
+import com.guma.domain.entities.Direccion;
+import com.guma.domain.valueobjects.DireccionDetalle;
+
+/**
+ * Implementación JDBC de DireccionDetalleRepository.
+ *
+ * Resuelve la dirección y los nombres de localidad, provincia y país con un
+ * único SELECT con JOIN. La variante por lote usa un IN (...) de hasta
+ * {@value #MAX_IDS_POR_CONSULTA} IDs por consulta.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class DireccionDetalleRepositoryJdbc implements DireccionDetalleRepository {
+
+    /** Límite de parámetros por consulta IN para listas muy grandes. */
+    static final int MAX_IDS_POR_CONSULTA = 500;
+
+    private static final String SQL_SELECT = "SELECT "
+            + "d.id_direccion, d.nombre, d.codigo_postal, d.calle, d.numero, d.depto, d.referencia, "
+            + "d.latitud, d.longitud, d.id_localidad, "
+            + "l.nombre AS localidad_nombre, "
+            + "pr.id_provincia, pr.nombre AS provincia_nombre, "
+            + "pa.id_pais, pa.nombre AS pais_nombre "
+            + "FROM DIRECCIONES d "
+            + "LEFT JOIN LOCALIDADES l ON l.id_localidad = d.id_localidad "
+            + "LEFT JOIN PROVINCIAS pr ON pr.id_provincia = l.id_provincia "
+            + "LEFT JOIN PAISES pa ON pa.id_pais = pr.id_pais ";
+
+    private static final String SQL_FIND_BY_ID = SQL_SELECT + "WHERE d.id_direccion = ?";
+
+    private final DataSource dataSource;
+
+    /**
+     * Constructor que inyecta el origen de conexiones.
+     *
+     * @param dataSource DataSource compartido (pool)
+     */
+    public DireccionDetalleRepositoryJdbc(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("El DataSource no puede ser nulo");
+        }
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Optional<DireccionDetalle> findDetalleById(Integer idDireccion) {
+        if (idDireccion == null) {
+            return Optional.empty();
+        }
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SQL_FIND_BY_ID)) {
+
+            stmt.setInt(1, idDireccion);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Optional.of(mapearDetalle(rs)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar detalle de dirección: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<DireccionDetalle> findDetallesByIds(Collection<Integer> idsDireccion) {
+        if (idsDireccion == null || idsDireccion.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(idsDireccion));
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, DireccionDetalle> encontrados = new HashMap<>();
+        try (Connection conn = dataSource.getConnection()) {
+            for (int desde = 0; desde < ids.size(); desde += MAX_IDS_POR_CONSULTA) {
+                List<Integer> tramo = ids.subList(desde, Math.min(desde + MAX_IDS_POR_CONSULTA, ids.size()));
+                buscarTramo(conn, tramo, encontrados);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar detalles de direcciones: " + e.getMessage(), e);
+        }
+
+        List<DireccionDetalle> resultado = new ArrayList<>(encontrados.size());
+        for (Integer id : ids) {
+            DireccionDetalle detalle = encontrados.get(id);
+            if (detalle != null) {
+                resultado.add(detalle);
+            }
+        }
+        return resultado;
+    }
+
+    private void buscarTramo(Connection conn, List<Integer> ids, Map<Integer, DireccionDetalle> encontrados)
+            throws SQLException {
+        StringBuilder sql = new StringBuilder(SQL_SELECT).append("WHERE d.id_direccion IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setInt(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    DireccionDetalle detalle = mapearDetalle(rs);
+                    encontrados.put(detalle.getDireccion().getIdDireccion(), detalle);
+                }
+            }
+        }
+    }
+
+    private DireccionDetalle mapearDetalle(ResultSet rs) throws SQLException {
+        Direccion direccion = new Direccion(
+                rs.getInt("id_direccion"),
+                rs.getString("nombre"),
+                rs.getString("codigo_postal"),
+                rs.getString("calle"),
+                rs.getString("numero"),
+                rs.getString("depto"),
+                rs.getString("referencia"),
+                getDouble(rs, "latitud"),
+                getDouble(rs, "longitud"),
+                getInteger(rs, "id_localidad"));
+
+        return new DireccionDetalle(
+                direccion,
+                rs.getString("localidad_nombre"),
+                getInteger(rs, "id_provincia"),
+                rs.getString("provincia_nombre"),
+                getInteger(rs, "id_pais"),
+                rs.getString("pais_nombre"));
+    }
+
+    private static Integer getInteger(ResultSet rs, String columna) throws SQLException {
+        int valor = rs.getInt(columna);
+        return rs.wasNull() ? null : valor;
+    }
+
+    private static Double getDouble(ResultSet rs, String columna) throws SQLException {
+        double valor = rs.getDouble(columna);
+        return rs.wasNull() ? null : valor;
+    }
+}
@@ -0,0 +1,114 @@
+package com.guma.data.repositories;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.ExportacionUsuarioRepository;
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.valueobjects.PerfilExportado;
+
+/**
+ * Implementación JDBC de ExportacionUsuarioRepository.
+ *
+ * Lee PERFIL_USUARIOS + USUARIOS + ROLES con un único SELECT en modo
+ * streaming de MySQL (sentencia TYPE_FORWARD_ONLY / CONCUR_READ_ONLY con
+ * setFetchSize(Integer.MIN_VALUE)): el driver entrega las filas de a una en
+ * lugar de cargar el resultado completo en memoria. Mientras dura el
+ * recorrido la conexión queda ocupada por la consulta.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ExportacionUsuarioRepositoryJdbc implements ExportacionUsuarioRepository {
+
+    /** Tamaño de fetch que activa el streaming fila por fila en MySQL. */
+    private static final int FETCH_STREAMING = Integer.MIN_VALUE;
+
+    private static final String SQL_RECORRER = "SELECT "
+            + "p.id_perfil_usuario, p.id_usuario, p.id_sexo, p.dni, p.nombre, p.apellido, "
+            + "p.fecha_nacimiento, p.email, p.telefono, p.id_direccion, p.id_red_social, p.foto_perfil, "
+            + "p.verificado, p.version, "
+            + "u.email AS usuario_email, u.id_rol, u.verified, u.ultima_conexion, "
+            + "r.nombre AS rol_nombre "
+            + "FROM PERFIL_USUARIOS p "
+            + "JOIN USUARIOS u ON u.id_usuario = p.id_usuario "
+            + "LEFT JOIN ROLES r ON r.id_rol = u.id_rol "
+            + "ORDER BY p.id_perfil_usuario";
+
+    private final DataSource dataSource;
+
+    /**
+     * Constructor que inyecta el origen de conexiones.
+     *
+     * @param dataSource DataSource compartido (pool)
+     */
+    public ExportacionUsuarioRepositoryJdbc(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("El DataSource no puede ser nulo");
+        }
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public long recorrerPerfiles(Consumer<? super PerfilExportado> consumidor) {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("El consumidor no puede ser nulo");
+        }
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SQL_RECORRER,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(FETCH_STREAMING);
+            long filas = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.accept(mapear(rs));
+                    filas++;
+                }
+            }
+            return filas;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al recorrer perfiles para exportar: " + e.getMessage(), e);
+        }
+    }
+
+    private static PerfilExportado mapear(ResultSet rs) throws SQLException {
+        Date fechaNacimiento = rs.getDate("fecha_nacimiento");
+        PerfilUsuario perfil = new PerfilUsuario(
+                rs.getInt("id_perfil_usuario"),
+                rs.getInt("id_usuario"),
+                rs.getInt("id_sexo"),
+                rs.getString("dni"),
+                rs.getString("nombre"),
+                rs.getString("apellido"),
+                fechaNacimiento != null ? fechaNacimiento.toLocalDate() : null,
+                rs.getString("email"),
+                rs.getString("telefono"),
+                getInteger(rs, "id_direccion"),
+                getInteger(rs, "id_red_social"),
+                getInteger(rs, "foto_perfil"),
+                rs.getBoolean("verificado"));
+        perfil.setVersion(rs.getInt("version"));
+
+        Timestamp ultimaConexion = rs.getTimestamp("ultima_conexion");
+        return new PerfilExportado(
+                perfil,
+                rs.getString("usuario_email"),
+                getInteger(rs, "id_rol"),
+                rs.getString("rol_nombre"),
+                rs.getBoolean("verified"),
+                ultimaConexion != null ? ultimaConexion.toLocalDateTime() : null);
+    }
+
+    private static Integer getInteger(ResultSet rs, String columna) throws SQLException {
+        int valor = rs.getInt(columna);
+        return rs.wasNull() ? null : valor;
+    }
+}
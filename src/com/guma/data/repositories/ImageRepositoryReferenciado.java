@@ -0,0 +1,239 @@
+package com.guma.data.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.ImageReferenciaRepository;
+import com.guma.backend.ports.ImageRepository;
+import com.guma.domain.entities.Image;
+
+/**
+ * Decorador de ImageRepository que implementa la cuenta de referencias
+ * (ImageReferenciaRepository), para el almacenamiento de archivos por
+ * contenido.
+ *
+ * Varias entidades comparten la imagen de un mismo contenido (mismo link):
+ * - referenciar es un único INSERT ... ON DUPLICATE KEY UPDATE que crea la
+ *   imagen con una referencia o incrementa la existente, sobre un índice
+ *   único del hash del link (dos altas simultáneas del mismo contenido no
+ *   pueden crear dos filas)
+ * - liberar decrementa solo si quedan otras referencias y, si no, elimina
+ *   la fila con un DELETE condicionado a que siga teniendo una sola; el que
+ *   logra eliminarla es el único que borra el archivo
+ * Las lecturas incluyen la columna referencias y findByLink usa el índice
+ * del hash. Dentro de una transacción la fila queda bloqueada hasta el
+ * commit, así que un alta del mismo contenido espera a que termine la
+ * liberación (y el borrado del archivo) que la precede. Por eso liberar
+ * debe llamarse con la conexión de un UnitOfWork que elimine el archivo
+ * antes del commit (como ImageService y PerfilUsuarioService): liberar sin
+ * conexión confirma el DELETE en el acto y el archivo se borra sin el
+ * bloqueo.
+ *
+ * Requiere las columnas:
+ *
+ * <pre>
+ * ALTER TABLE IMAGES
+ *     ADD COLUMN referencias INT NOT NULL DEFAULT 1,
+ *     ADD COLUMN link_sha256 BINARY(32) AS (UNHEX(SHA2(link, 256))) STORED,
+ *     ADD UNIQUE INDEX uq_images_link (link_sha256);
+ * </pre>
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ImageRepositoryReferenciado implements ImageRepository, ImageReferenciaRepository {
+
+    private static final String SQL_SELECT = "SELECT id_images, link, referencias FROM IMAGES ";
+    private static final String SQL_FIND_BY_ID = SQL_SELECT + "WHERE id_images = ?";
+    private static final String SQL_FIND_BY_LINK = SQL_SELECT + "WHERE link_sha256 = UNHEX(SHA2(?, 256))";
+
+    private static final String SQL_REFERENCIAR = "INSERT INTO IMAGES (link, referencias) VALUES (?, 1) "
+            + "ON DUPLICATE KEY UPDATE id_images = LAST_INSERT_ID(id_images), referencias = referencias + 1";
+    private static final String SQL_REFERENCIAS = "SELECT referencias FROM IMAGES WHERE id_images = ?";
+    private static final String SQL_DECREMENTAR = "UPDATE IMAGES SET referencias = referencias - 1 "
+            + "WHERE id_images = ? AND referencias > 1";
+    private static final String SQL_ELIMINAR_ULTIMA = "DELETE FROM IMAGES WHERE id_images = ? AND referencias <= 1";
+
+    // Filas afectadas por INSERT ... ON DUPLICATE KEY UPDATE cuando actualiza
+    private static final int FILAS_ACTUALIZADA = 2;
+
+    private final ImageRepository delegate;
+    private final DataSource dataSource;
+
+    /**
+     * @param delegate   repositorio decorado (altas, actualizaciones y bajas)
+     * @param dataSource DataSource compartido (pool)
+     */
+    public ImageRepositoryReferenciado(ImageRepository delegate, DataSource dataSource) {
+        if (delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El repositorio y el DataSource no pueden ser nulos");
+        }
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+    }
+
+    // ==================== REFERENCIAS ====================
+
+    @Override
+    public Image referenciar(String link) {
+        try (Connection conn = dataSource.getConnection()) {
+            return referenciar(link, conn);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al referenciar imagen: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Image referenciar(String link, Connection conn) throws SQLException {
+        if (link == null) {
+            throw new IllegalArgumentException("El link no puede ser nulo");
+        }
+        if (conn == null) {
+            throw new IllegalArgumentException("La conexión no puede ser nula");
+        }
+        Image image = new Image(link);
+        int filas;
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_REFERENCIAR, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, link);
+            filas = stmt.executeUpdate();
+            try (ResultSet claves = stmt.getGeneratedKeys()) {
+                if (!claves.next()) {
+                    throw new SQLException("No se obtuvo el ID de la imagen referenciada");
+                }
+                image.setIdImage(claves.getInt(1));
+            }
+        }
+        if (filas == FILAS_ACTUALIZADA) {
+            try (PreparedStatement stmt = conn.prepareStatement(SQL_REFERENCIAS)) {
+                stmt.setInt(1, image.getIdImage());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    image.setReferencias(rs.next() ? rs.getInt(1) : 1);
+                }
+            }
+        }
+        return image;
+    }
+
+    @Override
+    public boolean liberar(Integer id) {
+        try (Connection conn = dataSource.getConnection()) {
+            return liberar(id, conn);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al liberar imagen: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean liberar(Integer id, Connection conn) throws SQLException {
+        if (id == null) {
+            throw new IllegalArgumentException("El ID de la imagen no puede ser nulo");
+        }
+        if (conn == null) {
+            throw new IllegalArgumentException("La conexión no puede ser nula");
+        }
+        while (true) {
+            if (ejecutar(SQL_DECREMENTAR, id, conn) > 0) {
+                return false;
+            }
+            if (ejecutar(SQL_ELIMINAR_ULTIMA, id, conn) > 0) {
+                return true;
+            }
+            // Ninguna de las dos: o no existe, o alguien agregó una
+            // referencia entre las dos sentencias (fuera de transacción)
+            if (buscarUno(SQL_FIND_BY_ID, id, conn).isEmpty()) {
+                return false;
+            }
+        }
+    }
+
+    // ==================== LECTURAS (con referencias) ====================
+
+    @Override
+    public Optional<Image> findById(Integer id) {
+        return buscar(SQL_FIND_BY_ID, id);
+    }
+
+    @Override
+    public Optional<Image> findByLink(String link) {
+        return buscar(SQL_FIND_BY_LINK, link);
+    }
+
+    // ==================== DELEGADOS ====================
+
+    @Override
+    public Image save(Image image) {
+        return delegate.save(image);
+    }
+
+    @Override
+    public Image save(Image image, Connection conn) throws SQLException {
+        return delegate.save(image, conn);
+    }
+
+    @Override
+    public List<Image> saveAll(List<Image> images, Connection conn) throws SQLException {
+        return delegate.saveAll(images, conn);
+    }
+
+    @Override
+    public Image update(Image image) {
+        return delegate.update(image);
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        return delegate.delete(id);
+    }
+
+    @Override
+    public boolean delete(Integer id, Connection conn) throws SQLException {
+        return delegate.delete(id, conn);
+    }
+
+    @Override
+    public boolean existsById(Integer id) {
+        return delegate.existsById(id);
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private static int ejecutar(String sql, Integer id, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            return stmt.executeUpdate();
+        }
+    }
+
+    private Optional<Image> buscar(String sql, Object valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El criterio de búsqueda no puede ser nulo");
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            return buscarUno(sql, valor, conn);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar imagen: " + e.getMessage(), e);
+        }
+    }
+
+    private static Optional<Image> buscarUno(String sql, Object valor, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, valor);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                Image image = new Image(rs.getString("link"));
+                image.setIdImage(rs.getInt("id_images"));
+                image.setReferencias(rs.getInt("referencias"));
+                return Optional.of(image);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.guma.data.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.ImageRepository;
+import com.guma.domain.entities.Image;
+
+/**
+ * Decorador de ImageRepository cuyas lecturas salen del DataSource
+ * compartido.
+ *
+ * El repositorio JDBC base abre sus propias conexiones, así que un findById
+ * dentro de un UnitOfWork leía en una segunda conexión, fuera de la
+ * transacción. Aquí findById, findByLink y existsById usan el DataSource
+ * compartido, que dentro de un UnitOfWork entrega la conexión de la
+ * transacción. Las escrituras se delegan al repositorio decorado.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ImageRepositoryTransaccional implements ImageRepository {
+
+    private static final String SQL_SELECT = "SELECT id_images, link FROM IMAGES ";
+    private static final String SQL_FIND_BY_ID = SQL_SELECT + "WHERE id_images = ?";
+    private static final String SQL_FIND_BY_LINK = SQL_SELECT + "WHERE link = ?";
+    private static final String SQL_EXISTS_BY_ID = "SELECT 1 FROM IMAGES WHERE id_images = ?";
+
+    private final ImageRepository delegate;
+    private final DataSource dataSource;
+
+    /**
+     * @param delegate   repositorio decorado (altas, actualizaciones y bajas)
+     * @param dataSource DataSource compartido (pool)
+     */
+    public ImageRepositoryTransaccional(ImageRepository delegate, DataSource dataSource) {
+        if (delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El repositorio y el DataSource no pueden ser nulos");
+        }
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+    }
+
+    // ==================== LECTURAS ====================
+
+    @Override
+    public Optional<Image> findById(Integer id) {
+        return buscarUno(SQL_FIND_BY_ID, id);
+    }
+
+    @Override
+    public Optional<Image> findByLink(String link) {
+        return buscarUno(SQL_FIND_BY_LINK, link);
+    }
+
+    @Override
+    public boolean existsById(Integer id) {
+        if (id == null) {
+            return false;
+        }
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SQL_EXISTS_BY_ID)) {
+
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al verificar imagen: " + e.getMessage(), e);
+        }
+    }
+
+    // ==================== DELEGADOS ====================
+
+    @Override
+    public Image save(Image image) {
+        return delegate.save(image);
+    }
+
+    @Override
+    public Image save(Image image, Connection conn) throws SQLException {
+        return delegate.save(image, conn);
+    }
+
+    @Override
+    public List<Image> saveAll(List<Image> images, Connection conn) throws SQLException {
+        return delegate.saveAll(images, conn);
+    }
+
+    @Override
+    public Image update(Image image) {
+        return delegate.update(image);
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        return delegate.delete(id);
+    }
+
+    @Override
+    public boolean delete(Integer id, Connection conn) throws SQLException {
+        return delegate.delete(id, conn);
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private Optional<Image> buscarUno(String sql, Object valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El criterio de búsqueda no puede ser nulo");
+        }
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setObject(1, valor);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                Image image = new Image(rs.getString("link"));
+                image.setIdImage(rs.getInt("id_images"));
+                return Optional.of(image);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar imagen: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.guma.data.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.ImageRepository;
+import com.guma.backend.ports.ImageVarianteRepository;
+import com.guma.domain.entities.Image;
+import com.guma.domain.exceptions.EntidadNoEncontradaException;
+
+/**
+ * Decorador de ImageRepository que guarda las variantes reducidas de cada
+ * imagen en la tabla IMAGE_VARIANTES (ImageVarianteRepository).
+ *
+ * findById y findByLink completan la imagen del repositorio decorado con sus
+ * variantes (una consulta más por la clave primaria). Las variantes se
+ * borran en cascada con la imagen, así que delete y liberar no necesitan
+ * hacer nada más; al cambiar el contenido de una imagen se quitan con
+ * eliminarVariantes.
+ *
+ * Requiere la tabla:
+ *
+ * <pre>
+ * CREATE TABLE IMAGE_VARIANTES (
+ *     id_images INT NOT NULL,
+ *     lado INT NOT NULL,
+ *     link TEXT NOT NULL,
+ *     PRIMARY KEY (id_images, lado),
+ *     FOREIGN KEY (id_images) REFERENCES IMAGES (id_images) ON DELETE CASCADE
+ * );
+ * </pre>
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ImageRepositoryVariantes implements ImageRepository, ImageVarianteRepository {
+
+    private static final String SQL_FIND_VARIANTES = "SELECT lado, link FROM IMAGE_VARIANTES WHERE id_images = ?";
+    private static final String SQL_GUARDAR_VARIANTE = "INSERT INTO IMAGE_VARIANTES (id_images, lado, link) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE link = VALUES(link)";
+    private static final String SQL_ELIMINAR_VARIANTES = "DELETE FROM IMAGE_VARIANTES WHERE id_images = ?";
+
+    // ER_NO_REFERENCED_ROW_2: la imagen original no existe (o se eliminó)
+    private static final int ERROR_FK_INEXISTENTE = 1452;
+
+    private final ImageRepository delegate;
+    private final DataSource dataSource;
+
+    /**
+     * @param delegate   repositorio decorado
+     * @param dataSource DataSource compartido (pool)
+     */
+    public ImageRepositoryVariantes(ImageRepository delegate, DataSource dataSource) {
+        if (delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El repositorio y el DataSource no pueden ser nulos");
+        }
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+    }
+
+    // ==================== VARIANTES ====================
+
+    @Override
+    public void guardarVariante(Integer idImage, int lado, String link) {
+        if (idImage == null || link == null) {
+            throw new IllegalArgumentException("El ID de la imagen y el link no pueden ser nulos");
+        }
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SQL_GUARDAR_VARIANTE)) {
+            stmt.setInt(1, idImage);
+            stmt.setInt(2, lado);
+            stmt.setString(3, link);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            if (e.getErrorCode() == ERROR_FK_INEXISTENTE) {
+                throw new EntidadNoEncontradaException("Image", idImage);
+            }
+            throw new RuntimeException("Error al guardar variante de imagen: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<Integer, String> eliminarVariantes(Integer idImage) {
+        if (idImage == null) {
+            throw new IllegalArgumentException("El ID de la imagen no puede ser nulo");
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            Map<Integer, String> variantes = buscarVariantes(idImage, conn);
+            if (!variantes.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(SQL_ELIMINAR_VARIANTES)) {
+                    stmt.setInt(1, idImage);
+                    stmt.executeUpdate();
+                }
+            }
+            return variantes;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al eliminar variantes de imagen: " + e.getMessage(), e);
+        }
+    }
+
+    // ==================== LECTURAS (con variantes) ====================
+
+    @Override
+    public Optional<Image> findById(Integer id) {
+        return conVariantes(delegate.findById(id));
+    }
+
+    @Override
+    public Optional<Image> findByLink(String link) {
+        return conVariantes(delegate.findByLink(link));
+    }
+
+    // ==================== DELEGADOS ====================
+
+    @Override
+    public Image save(Image image) {
+        return delegate.save(image);
+    }
+
+    @Override
+    public Image save(Image image, Connection conn) throws SQLException {
+        return delegate.save(image, conn);
+    }
+
+    @Override
+    public List<Image> saveAll(List<Image> images, Connection conn) throws SQLException {
+        return delegate.saveAll(images, conn);
+    }
+
+    @Override
+    public Image update(Image image) {
+        return delegate.update(image);
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        return delegate.delete(id);
+    }
+
+    @Override
+    public boolean delete(Integer id, Connection conn) throws SQLException {
+        return delegate.delete(id, conn);
+    }
+
+    @Override
+    public boolean existsById(Integer id) {
+        return delegate.existsById(id);
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private Optional<Image> conVariantes(Optional<Image> image) {
+        if (image.isEmpty()) {
+            return image;
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            image.get().setVariantes(buscarVariantes(image.get().getIdImage(), conn));
+            return image;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar variantes de imagen: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<Integer, String> buscarVariantes(Integer idImage, Connection conn) throws SQLException {
+        Map<Integer, String> variantes = new TreeMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_FIND_VARIANTES)) {
+            stmt.setInt(1, idImage);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    variantes.put(rs.getInt("lado"), rs.getString("link"));
+                }
+            }
+        }
+        return variantes;
+    }
+}
@@ -0,0 +1,92 @@
+package com.guma.data.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import javax.sql.DataSource;
+
+import com.guma.domain.valueobjects.Pagina;
+
+/**
+ * Consultas paginadas por clave y recorridos por streaming compartidos por
+ * los repositorios de catálogos.
+ *
+ * - {@link #pagina}: la consulta debe terminar en
+ *   "WHERE ... id &gt; ? ORDER BY id LIMIT ?"; se pide una fila de más para
+ *   saber si hay página siguiente.
+ * - {@link #recorrer}: lee con setFetchSize para que el driver traiga las
+ *   filas por bloques (en MySQL requiere useCursorFetch=true en db.url; sin
+ *   él Connector/J ignora el tamaño y trae el resultado completo) y
+ *   entrega cada fila al consumidor sin acumularlas.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+final class JdbcKeyset {
+
+    /**
+     * Convierte la fila actual del ResultSet en una entidad.
+     */
+    @FunctionalInterface
+    interface Fila<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    private JdbcKeyset() {
+    }
+
+    /**
+     * Lee una página.
+     *
+     * @param filtros parámetros previos al cursor (ej: idPais), pueden faltar
+     */
+    static <T> Pagina<T> pagina(DataSource dataSource, String sql, Integer despuesDeId, int limite,
+            Fila<T> fila, ToIntFunction<T> id, Object... filtros) throws SQLException {
+        Pagina.validarLimite(limite);
+        List<T> filas = new ArrayList<>(limite + 1);
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (Object filtro : filtros) {
+                stmt.setObject(i++, filtro);
+            }
+            stmt.setInt(i++, despuesDeId != null ? despuesDeId : Integer.MIN_VALUE);
+            stmt.setInt(i, limite + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    filas.add(fila.mapear(rs));
+                }
+            }
+        }
+        return Pagina.desdeFilas(filas, limite, id);
+    }
+
+    /**
+     * Recorre el resultado completo de una consulta de a bloques de
+     * tamanioBloque filas.
+     */
+    static <T> void recorrer(DataSource dataSource, String sql, int tamanioBloque, Fila<T> fila,
+            Consumer<? super T> consumidor, Object... filtros) throws SQLException {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("El consumidor no puede ser nulo");
+        }
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setFetchSize(tamanioBloque);
+            for (int i = 0; i < filtros.length; i++) {
+                stmt.setObject(i + 1, filtros[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.accept(fila.mapear(rs));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.guma.data.repositories;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.PerfilUsuarioRepository;
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.exceptions.ConflictoVersionException;
+import com.guma.domain.exceptions.DniDuplicadoException;
+import com.guma.domain.exceptions.EntidadNoEncontradaException;
+
+/**
+ * Decorador de PerfilUsuarioRepository con control de concurrencia optimista.
+ *
+ * Las lecturas incluyen la columna version y update ejecuta un único UPDATE
+ * condicional (WHERE id_perfil_usuario = ? AND version = ?) que incrementa la
+ * versión. Si no se actualiza ninguna fila se distingue, con una consulta
+ * solo en ese caso, entre perfil inexistente y perfil modificado por otro
+ * usuario. Los DNI duplicados los detecta la constraint UNIQUE de
+ * PERFIL_USUARIOS.dni.
+ *
+ * Si el perfil no trae versión (null) el UPDATE no la verifica, pero igual
+ * la incrementa para que fallen los editores concurrentes que sí la traen.
+ *
+ * Requiere la columna:
+ *
+ * <pre>
+ * ALTER TABLE PERFIL_USUARIOS ADD COLUMN version INT NOT NULL DEFAULT 0;
+ * </pre>
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class PerfilUsuarioRepositoryVersionado implements PerfilUsuarioRepository {
+
+    private static final int ERROR_CLAVE_DUPLICADA = 1062;
+
+    private static final String SQL_SELECT = "SELECT id_perfil_usuario, id_usuario, id_sexo, dni, nombre, "
+            + "apellido, fecha_nacimiento, email, telefono, id_direccion, id_red_social, foto_perfil, "
+            + "verificado, version FROM PERFIL_USUARIOS ";
+
+    private static final String SQL_FIND_BY_ID = SQL_SELECT + "WHERE id_perfil_usuario = ?";
+    private static final String SQL_FIND_BY_USUARIO = SQL_SELECT + "WHERE id_usuario = ?";
+    private static final String SQL_FIND_BY_DNI = SQL_SELECT + "WHERE dni = ?";
+
+    private static final String SQL_UPDATE = "UPDATE PERFIL_USUARIOS SET id_sexo = ?, dni = ?, nombre = ?, "
+            + "apellido = ?, fecha_nacimiento = ?, email = ?, telefono = ?, id_direccion = ?, "
+            + "id_red_social = ?, foto_perfil = ?, verificado = ?, version = version + 1 "
+            + "WHERE id_perfil_usuario = ?";
+    private static final String SQL_UPDATE_VERSIONADO = SQL_UPDATE + " AND version = ?";
+
+    private static final String SQL_EXISTS_BY_ID = "SELECT 1 FROM PERFIL_USUARIOS WHERE id_perfil_usuario = ?";
+
+    private final PerfilUsuarioRepository delegate;
+    private final DataSource dataSource;
+
+    /**
+     * @param delegate   repositorio decorado (altas y consultas de existencia)
+     * @param dataSource DataSource compartido (pool)
+     */
+    public PerfilUsuarioRepositoryVersionado(PerfilUsuarioRepository delegate, DataSource dataSource) {
+        if (delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El repositorio y el DataSource no pueden ser nulos");
+        }
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+    }
+
+    // ==================== LECTURAS (con versión) ====================
+
+    @Override
+    public Optional<PerfilUsuario> findById(Integer idPerfilUsuario) {
+        return buscarUno(SQL_FIND_BY_ID, idPerfilUsuario);
+    }
+
+    @Override
+    public Optional<PerfilUsuario> findByUsuarioId(Integer idUsuario) {
+        return buscarUno(SQL_FIND_BY_USUARIO, idUsuario);
+    }
+
+    @Override
+    public Optional<PerfilUsuario> findByDni(String dni) {
+        return buscarUno(SQL_FIND_BY_DNI, dni);
+    }
+
+    // ==================== ACTUALIZACIÓN CONDICIONAL ====================
+
+    @Override
+    public PerfilUsuario update(PerfilUsuario perfil) {
+        validarParaActualizar(perfil);
+        try (Connection conn = dataSource.getConnection()) {
+            return actualizar(perfil, conn);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al actualizar perfil: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public PerfilUsuario update(PerfilUsuario perfil, Connection conn) throws SQLException {
+        validarParaActualizar(perfil);
+        if (conn == null) {
+            throw new IllegalArgumentException("La conexión no puede ser nula");
+        }
+        return actualizar(perfil, conn);
+    }
+
+    // ==================== ALTAS (versión inicial 0) ====================
+
+    @Override
+    public PerfilUsuario save(PerfilUsuario perfil) {
+        PerfilUsuario guardado = delegate.save(perfil);
+        guardado.setVersion(0);
+        return guardado;
+    }
+
+    @Override
+    public PerfilUsuario save(PerfilUsuario perfil, Connection conn) throws SQLException {
+        PerfilUsuario guardado = delegate.save(perfil, conn);
+        guardado.setVersion(0);
+        return guardado;
+    }
+
+    @Override
+    public List<PerfilUsuario> saveAll(List<PerfilUsuario> perfiles, Connection conn) throws SQLException {
+        List<PerfilUsuario> guardados = delegate.saveAll(perfiles, conn);
+        for (PerfilUsuario perfil : guardados) {
+            perfil.setVersion(0);
+        }
+        return guardados;
+    }
+
+    // ==================== DELEGADOS ====================
+
+    @Override
+    public boolean existsByUsuarioId(Integer idUsuario) {
+        return delegate.existsByUsuarioId(idUsuario);
+    }
+
+    @Override
+    public boolean existsByDni(String dni) {
+        return delegate.existsByDni(dni);
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private PerfilUsuario actualizar(PerfilUsuario perfil, Connection conn) throws SQLException {
+        Integer version = perfil.getVersion();
+        int filas;
+        try (PreparedStatement stmt = conn.prepareStatement(version != null ? SQL_UPDATE_VERSIONADO : SQL_UPDATE)) {
+            setInteger(stmt, 1, perfil.getIdSexo());
+            stmt.setString(2, perfil.getDni());
+            stmt.setString(3, perfil.getNombre());
+            stmt.setString(4, perfil.getApellido());
+            if (perfil.getFechaNacimiento() != null) {
+                stmt.setDate(5, Date.valueOf(perfil.getFechaNacimiento()));
+            } else {
+                stmt.setNull(5, Types.DATE);
+            }
+            stmt.setString(6, perfil.getEmail());
+            stmt.setString(7, perfil.getTelefono());
+            setInteger(stmt, 8, perfil.getIdDireccion());
+            setInteger(stmt, 9, perfil.getIdRedSocial());
+            setInteger(stmt, 10, perfil.getFotoPerfil());
+            stmt.setBoolean(11, perfil.isVerificado());
+            stmt.setInt(12, perfil.getIdPerfilUsuario());
+            if (version != null) {
+                stmt.setInt(13, version);
+            }
+            filas = stmt.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            if (e.getErrorCode() == ERROR_CLAVE_DUPLICADA) {
+                // id_usuario no se actualiza: la única clave única que puede chocar es el DNI
+                throw new DniDuplicadoException(perfil.getDni());
+            }
+            throw e;
+        }
+
+        if (filas == 0) {
+            if (version != null && existe(perfil.getIdPerfilUsuario(), conn)) {
+                throw new ConflictoVersionException("PerfilUsuario", perfil.getIdPerfilUsuario());
+            }
+            throw new EntidadNoEncontradaException("PerfilUsuario", perfil.getIdPerfilUsuario());
+        }
+
+        // Sin versión de partida no se conoce la nueva sin otra consulta
+        perfil.setVersion(version != null ? version + 1 : null);
+        return perfil;
+    }
+
+    private boolean existe(Integer idPerfilUsuario, Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_EXISTS_BY_ID)) {
+            stmt.setInt(1, idPerfilUsuario);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private Optional<PerfilUsuario> buscarUno(String sql, Object valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El criterio de búsqueda no puede ser nulo");
+        }
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setObject(1, valor);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Optional.of(mapear(rs)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar perfil: " + e.getMessage(), e);
+        }
+    }
+
+    private static PerfilUsuario mapear(ResultSet rs) throws SQLException {
+        Date fechaNacimiento = rs.getDate("fecha_nacimiento");
+        PerfilUsuario perfil = new PerfilUsuario(
+                rs.getInt("id_perfil_usuario"),
+                rs.getInt("id_usuario"),
+                rs.getInt("id_sexo"),
+                rs.getString("dni"),
+                rs.getString("nombre"),
+                rs.getString("apellido"),
+                fechaNacimiento != null ? fechaNacimiento.toLocalDate() : null,
+                rs.getString("email"),
+                rs.getString("telefono"),
+                getInteger(rs, "id_direccion"),
+                getInteger(rs, "id_red_social"),
+                getInteger(rs, "foto_perfil"),
+                rs.getBoolean("verificado"));
+        perfil.setVersion(rs.getInt("version"));
+        return perfil;
+    }
+
+    private static void validarParaActualizar(PerfilUsuario perfil) {
+        if (perfil == null || perfil.getIdPerfilUsuario() == null) {
+            throw new IllegalArgumentException("El perfil debe tener un ID");
+        }
+    }
+
+    private static Integer getInteger(ResultSet rs, String columna) throws SQLException {
+        int valor = rs.getInt(columna);
+        return rs.wasNull() ? null : valor;
+    }
+
+    private static void setInteger(PreparedStatement stmt, int indice, Integer valor) throws SQLException {
+        if (valor != null) {
+            stmt.setInt(indice, valor);
+        } else {
+            stmt.setNull(indice, Types.INTEGER);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.guma.data.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.RedSocialRepository;
+import com.guma.domain.entities.RedSocial;
+import com.guma.domain.valueobjects.Pagina;
+
+/**
+ * Decorador de RedSocialRepository que pagina por clave y recorre por
+ * streaming en la base de datos en lugar de materializar REDES_SOCIALES
+ * completa.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class RedSocialRepositoryPaginado implements RedSocialRepository {
+
+    private static final String SQL_SELECT = "SELECT id_red_social, nombre, link FROM REDES_SOCIALES ";
+    private static final String SQL_PAGINA = SQL_SELECT + "WHERE id_red_social > ? ORDER BY id_red_social LIMIT ?";
+    private static final String SQL_TODAS = SQL_SELECT + "ORDER BY id_red_social";
+
+    private final RedSocialRepository delegate;
+    private final DataSource dataSource;
+    private final int tamanioBloque;
+
+    /**
+     * @param delegate      repositorio decorado (altas y búsquedas puntuales)
+     * @param dataSource    DataSource compartido (pool)
+     * @param tamanioBloque filas por viaje al servidor en los recorridos
+     */
+    public RedSocialRepositoryPaginado(RedSocialRepository delegate, DataSource dataSource, int tamanioBloque) {
+        if (delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El repositorio y el DataSource no pueden ser nulos");
+        }
+        if (tamanioBloque < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser al menos 1");
+        }
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.tamanioBloque = tamanioBloque;
+    }
+
+    @Override
+    public Pagina<RedSocial> findPagina(Integer despuesDeId, int limite) {
+        try {
+            return JdbcKeyset.pagina(dataSource, SQL_PAGINA, despuesDeId, limite,
+                    RedSocialRepositoryPaginado::mapear, RedSocial::getIdRedSocial);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al obtener página de redes sociales: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void findAll(Consumer<? super RedSocial> consumidor) {
+        try {
+            JdbcKeyset.recorrer(dataSource, SQL_TODAS, tamanioBloque, RedSocialRepositoryPaginado::mapear,
+                    consumidor);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al recorrer redes sociales: " + e.getMessage(), e);
+        }
+    }
+
+    // ==================== DELEGADOS ====================
+
+    @Override
+    public RedSocial save(RedSocial redSocial) throws SQLException {
+        return delegate.save(redSocial);
+    }
+
+    @Override
+    public Optional<RedSocial> findById(Integer id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<RedSocial> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public boolean existsByNombreOrLink(String nombre, String link) {
+        return delegate.existsByNombreOrLink(nombre, link);
+    }
+
+    private static RedSocial mapear(ResultSet rs) throws SQLException {
+        return new RedSocial(rs.getInt("id_red_social"), rs.getString("nombre"), rs.getString("link"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.guma.data.repositories;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.SesionUsuarioRepository;
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.entities.Rol;
+import com.guma.domain.entities.Usuario;
+import com.guma.domain.valueobjects.Email;
+import com.guma.domain.valueobjects.Password;
+import com.guma.domain.valueobjects.SesionUsuario;
+
+/**
+ * Implementación JDBC de SesionUsuarioRepository.
+ *
+ * Resuelve usuario, perfil y rol con un único SELECT con LEFT JOIN, de modo
+ * que el login cuesta un solo viaje a MySQL.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class SesionUsuarioRepositoryJdbc implements SesionUsuarioRepository {
+
+    private static final String SQL_FIND_BY_EMAIL = "SELECT "
+            + "u.id_usuario, u.email, u.password, u.id_rol, u.verified, u.ultima_conexion, "
+            + "r.nombre AS rol_nombre, "
+            + "p.id_perfil_usuario, p.id_sexo, p.dni, p.nombre, p.apellido, p.fecha_nacimiento, "
+            + "p.email AS perfil_email, p.telefono, p.id_direccion, p.id_red_social, p.foto_perfil, "
+            + "p.verificado, p.version "
+            + "FROM USUARIOS u "
+            + "LEFT JOIN ROLES r ON r.id_rol = u.id_rol "
+            + "LEFT JOIN PERFIL_USUARIOS p ON p.id_usuario = u.id_usuario "
+            + "WHERE u.email = ?";
+
+    private final DataSource dataSource;
+
+    /**
+     * Constructor que inyecta el origen de conexiones.
+     *
+     * @param dataSource DataSource compartido (pool)
+     */
+    public SesionUsuarioRepositoryJdbc(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("El DataSource no puede ser nulo");
+        }
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Optional<SesionUsuario> findByEmail(Email email) {
+        if (email == null) {
+            throw new IllegalArgumentException("El email no puede ser nulo");
+        }
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SQL_FIND_BY_EMAIL)) {
+
+            stmt.setString(1, email.getValor());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(mapearSesion(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar datos de sesión: " + e.getMessage(), e);
+        }
+    }
+
+    private SesionUsuario mapearSesion(ResultSet rs) throws SQLException {
+        Timestamp ultimaConexion = rs.getTimestamp("ultima_conexion");
+        Usuario usuario = new Usuario(
+                rs.getInt("id_usuario"),
+                Email.crear(rs.getString("email")),
+                Password.desdeHash(rs.getString("password")),
+                rs.getInt("id_rol"),
+                rs.getBoolean("verified"),
+                ultimaConexion != null ? ultimaConexion.toLocalDateTime() : null);
+
+        String rolNombre = rs.getString("rol_nombre");
+        Rol rol = rolNombre != null ? new Rol(usuario.getIdRol(), rolNombre) : null;
+
+        PerfilUsuario perfil = null;
+        int idPerfil = rs.getInt("id_perfil_usuario");
+        if (!rs.wasNull()) {
+            Date fechaNacimiento = rs.getDate("fecha_nacimiento");
+            perfil = new PerfilUsuario(
+                    idPerfil,
+                    usuario.getIdUsuario(),
+                    rs.getInt("id_sexo"),
+                    rs.getString("dni"),
+                    rs.getString("nombre"),
+                    rs.getString("apellido"),
+                    fechaNacimiento != null ? fechaNacimiento.toLocalDate() : null,
+                    rs.getString("perfil_email"),
+                    rs.getString("telefono"),
+                    getInteger(rs, "id_direccion"),
+                    getInteger(rs, "id_red_social"),
+                    getInteger(rs, "foto_perfil"),
+                    rs.getBoolean("verificado"));
+            perfil.setVersion(rs.getInt("version"));
+        }
+
+        return new SesionUsuario(usuario, perfil, rol);
+    }
+
+    private static Integer getInteger(ResultSet rs, String columna) throws SQLException {
+        int valor = rs.getInt(columna);
+        return rs.wasNull() ? null : valor;
+    }
+}
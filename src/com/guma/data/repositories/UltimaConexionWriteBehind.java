@@ -0,0 +1,203 @@
+package com.guma.data.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import com.guma.backend.ports.UltimaConexionRepository;
+
+/**
+ * Escritura diferida (write-behind) de USUARIOS.ultima_conexion.
+ *
+ * Los logins solo registran la fecha en un mapa concurrente (O(1), sin I/O);
+ * un hilo en segundo plano la persiste con un único UPDATE en lote:
+ * - cada {@code intervaloMs} milisegundos,
+ * - cuando se acumulan {@code maxPendientes} usuarios distintos,
+ * - al cerrar la aplicación (shutdown hook) o al llamar {@link #flush()}.
+ *
+ * Varios logins del mismo usuario entre dos escrituras se combinan en una
+ * sola fila con la fecha más reciente.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class UltimaConexionWriteBehind implements UltimaConexionRepository, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(UltimaConexionWriteBehind.class.getName());
+
+    private static final String SQL_UPDATE = "UPDATE USUARIOS SET ultima_conexion = ? WHERE id_usuario = ?";
+
+    private final DataSource dataSource;
+    private final int maxPendientes;
+    private final Map<Integer, LocalDateTime> pendientes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService escritor;
+    private final AtomicBoolean flushProgramado = new AtomicBoolean();
+    private final Thread shutdownHook;
+    private volatile boolean cerrado;
+
+    private final AtomicLong lotesEscritos = new AtomicLong();
+    private final AtomicLong filasEscritas = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+
+    /**
+     * Crea el componente y arranca el hilo de escritura.
+     *
+     * @param dataSource    origen de conexiones
+     * @param intervaloMs   período máximo entre escrituras
+     * @param maxPendientes cantidad de usuarios pendientes que dispara una escritura
+     */
+    public UltimaConexionWriteBehind(DataSource dataSource, long intervaloMs, int maxPendientes) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("El DataSource no puede ser nulo");
+        }
+        if (intervaloMs <= 0 || maxPendientes <= 0) {
+            throw new IllegalArgumentException("El intervalo y el máximo de pendientes deben ser positivos");
+        }
+        this.dataSource = dataSource;
+        this.maxPendientes = maxPendientes;
+        this.escritor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "guma-ultima-conexion");
+            t.setDaemon(true);
+            return t;
+        });
+        escritor.scheduleWithFixedDelay(this::flushSilencioso, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+
+        this.shutdownHook = new Thread(this::flushSilencioso, "guma-ultima-conexion-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void registrar(Integer idUsuario, LocalDateTime ultimaConexion) {
+        if (idUsuario == null || ultimaConexion == null) {
+            throw new IllegalArgumentException("El ID de usuario y la fecha no pueden ser nulos");
+        }
+        pendientes.merge(idUsuario, ultimaConexion, (actual, nueva) -> nueva.isAfter(actual) ? nueva : actual);
+
+        if (pendientes.size() >= maxPendientes && !cerrado && flushProgramado.compareAndSet(false, true)) {
+            escritor.execute(() -> {
+                flushProgramado.set(false);
+                flushSilencioso();
+            });
+        }
+    }
+
+    /**
+     * Escribe todos los registros pendientes en un único lote.
+     * Si la escritura falla, los registros permanecen pendientes para el
+     * próximo intento.
+     *
+     * @throws RuntimeException si ocurre un error de base de datos
+     */
+    @Override
+    public synchronized void flush() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        Map<Integer, LocalDateTime> lote = new HashMap<>(pendientes);
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SQL_UPDATE)) {
+
+            conn.setAutoCommit(false);
+            for (Map.Entry<Integer, LocalDateTime> entry : lote.entrySet()) {
+                stmt.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                stmt.setInt(2, entry.getKey());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            conn.commit();
+
+        } catch (SQLException e) {
+            errores.incrementAndGet();
+            throw new RuntimeException("Error al escribir últimas conexiones: " + e.getMessage(), e);
+        }
+
+        // Solo se quitan las entradas escritas; si llegó un login más nuevo, queda pendiente
+        for (Map.Entry<Integer, LocalDateTime> entry : lote.entrySet()) {
+            pendientes.remove(entry.getKey(), entry.getValue());
+        }
+        lotesEscritos.incrementAndGet();
+        filasEscritas.addAndGet(lote.size());
+    }
+
+    /**
+     * Obtiene la cantidad de usuarios con última conexión aún no escrita.
+     *
+     * @return cantidad de registros pendientes
+     */
+    public int getPendientes() {
+        return pendientes.size();
+    }
+
+    /**
+     * Obtiene la cantidad de lotes escritos desde el arranque.
+     *
+     * @return lotes escritos
+     */
+    public long getLotesEscritos() {
+        return lotesEscritos.get();
+    }
+
+    /**
+     * Obtiene la cantidad de filas escritas desde el arranque.
+     *
+     * @return filas escritas
+     */
+    public long getFilasEscritas() {
+        return filasEscritas.get();
+    }
+
+    /**
+     * Obtiene la cantidad de escrituras fallidas.
+     *
+     * @return escrituras con error
+     */
+    public long getErrores() {
+        return errores.get();
+    }
+
+    /**
+     * Detiene el hilo de escritura y escribe lo pendiente.
+     */
+    @Override
+    public void close() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        escritor.shutdown();
+        try {
+            escritor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // La JVM ya se está cerrando: el hook hará el último flush
+        }
+        flushSilencioso();
+    }
+
+    private void flushSilencioso() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se pudieron escribir las últimas conexiones", e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.guma.data.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.guma.backend.ports.FileStorage;
+import com.guma.data.config.ApplicationProperties;
+
+/**
+ * Almacenamiento local de archivos direccionado por contenido.
+ *
+ * Cada archivo se guarda una sola vez en contenido/xx/sha256, donde sha256
+ * es el hash SHA-256 del contenido en hexadecimal y xx sus dos primeros
+ * caracteres (para no juntar miles de archivos en un directorio). El tipo,
+ * el ID de la entidad y el nombre original (tampoco su extensión) no forman
+ * parte de la ruta: el mismo contenido subido como foto.jpg y foto.jpeg es
+ * un solo archivo. Guardar un contenido que ya existe devuelve la misma
+ * ruta sin escribir nada, así que varias imágenes comparten el archivo y
+ * ImageReferenciaRepository lleva la cuenta de referencias.
+ *
+ * Los archivos nuevos se escriben en un temporal del mismo directorio y se
+ * renombran de forma atómica: nunca queda visible un archivo a medio
+ * escribir con el nombre de su hash. Las rutas que devuelve son relativas
+ * al directorio base; se aceptan también las absolutas y las del
+ * almacenamiento por ruta (tipo/idEntidad/nombre), que siguen pudiendo
+ * leerse y eliminarse.
+ *
+ * Las variantes por canal copian con un buffer fijo de 64 KB: la escritura
+ * calcula el hash mientras vuelca al temporal (el nombre final se conoce
+ * recién al terminar) y la lectura hacia otro canal usa
+ * FileChannel.transferTo, que el sistema operativo puede resolver sin pasar
+ * los datos por el heap.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class FileStorageContenido implements FileStorage {
+
+    private static final String DIRECTORIO_CONTENIDO = "contenido";
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path base;
+
+    /**
+     * @param base directorio base del almacenamiento
+     */
+    public FileStorageContenido(Path base) {
+        if (base == null) {
+            throw new IllegalArgumentException("El directorio base no puede ser nulo");
+        }
+        this.base = base.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Crea el almacenamiento en el directorio file.storage.base
+     * (./data por defecto).
+     *
+     * @return almacenamiento por contenido
+     */
+    public static FileStorageContenido desdePropiedades() {
+        return new FileStorageContenido(Paths.get(ApplicationProperties.getString("file.storage.base", "./data")));
+    }
+
+    @Override
+    public String guardarArchivo(String tipo, int idEntidad, String nombreArchivo, byte[] contenido)
+            throws IOException {
+        if (contenido == null) {
+            throw new IllegalArgumentException("El contenido no puede ser nulo");
+        }
+        String hash = sha256(contenido);
+        String relativa = rutaContenido(hash);
+        Path destino = base.resolve(relativa);
+        if (Files.isRegularFile(destino) && Files.size(destino) == contenido.length) {
+            return relativa;
+        }
+        Files.createDirectories(destino.getParent());
+        Path temporal = Files.createTempFile(destino.getParent(), hash, ".tmp");
+        try {
+            Files.write(temporal, contenido);
+            mover(temporal, destino);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+        return relativa;
+    }
+
+    @Override
+    public String guardarArchivo(String tipo, int idEntidad, String nombreArchivo, ReadableByteChannel contenido)
+            throws IOException {
+        if (contenido == null) {
+            throw new IllegalArgumentException("El contenido no puede ser nulo");
+        }
+        MessageDigest digest = nuevoDigest();
+        Path directorio = base.resolve(DIRECTORIO_CONTENIDO);
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, "subida", ".tmp");
+        try {
+            long tamanio = 0;
+            try (FileChannel salida = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(TAMANIO_BUFFER);
+                while (contenido.read(buffer) >= 0) {
+                    buffer.flip();
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        tamanio += salida.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            String hash = hex(digest.digest());
+            String relativa = rutaContenido(hash);
+            Path destino = base.resolve(relativa);
+            if (!Files.isRegularFile(destino) || Files.size(destino) != tamanio) {
+                Files.createDirectories(destino.getParent());
+                mover(temporal, destino);
+            }
+            return relativa;
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    @Override
+    public byte[] leerArchivo(String ruta) throws IOException {
+        return Files.readAllBytes(resolver(ruta));
+    }
+
+    @Override
+    public ReadableByteChannel abrirArchivo(String ruta) throws IOException {
+        return FileChannel.open(resolver(ruta), StandardOpenOption.READ);
+    }
+
+    @Override
+    public long transferirArchivo(String ruta, WritableByteChannel destino) throws IOException {
+        if (destino == null) {
+            throw new IllegalArgumentException("El destino no puede ser nulo");
+        }
+        try (FileChannel origen = FileChannel.open(resolver(ruta), StandardOpenOption.READ)) {
+            long tamanio = origen.size();
+            long posicion = 0;
+            while (posicion < tamanio) {
+                long copiados = origen.transferTo(posicion, Math.min(tamanio - posicion, Integer.MAX_VALUE), destino);
+                if (copiados <= 0) {
+                    // El archivo se acortó mientras se copiaba
+                    break;
+                }
+                posicion += copiados;
+            }
+            return posicion;
+        }
+    }
+
+    @Override
+    public boolean eliminarArchivo(String ruta) throws IOException {
+        return Files.deleteIfExists(resolver(ruta));
+    }
+
+    @Override
+    public boolean existeArchivo(String ruta) {
+        return ruta != null && Files.isRegularFile(resolver(ruta));
+    }
+
+    @Override
+    public String obtenerRutaCompleta(String rutaRelativa) {
+        return resolver(rutaRelativa).toString();
+    }
+
+    @Override
+    public boolean esPorContenido() {
+        return true;
+    }
+
+    private Path resolver(String ruta) {
+        if (ruta == null) {
+            throw new IllegalArgumentException("La ruta no puede ser nula");
+        }
+        Path path = Paths.get(ruta);
+        return path.isAbsolute() ? path.normalize() : base.resolve(path).normalize();
+    }
+
+    private static String rutaContenido(String hash) {
+        return DIRECTORIO_CONTENIDO + "/" + hash.substring(0, 2) + "/" + hash;
+    }
+
+    /**
+     * Renombra el temporal a su nombre final, de forma atómica si el sistema
+     * de archivos lo permite.
+     */
+    private static void mover(Path temporal, Path destino) throws IOException {
+        try {
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String sha256(byte[] contenido) {
+        return hex(nuevoDigest().digest(contenido));
+    }
+
+    private static MessageDigest nuevoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static String hex(byte[] hash) {
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
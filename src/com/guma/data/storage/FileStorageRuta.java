@@ -0,0 +1,168 @@
+package com.guma.data.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.guma.backend.ports.FileStorage;
+import com.guma.data.config.ApplicationProperties;
+
+/**
+ * Decorador del almacenamiento local por ruta (tipo/idEntidad/nombre) que
+ * implementa las variantes por canal con un buffer fijo de 64 KB.
+ *
+ * El almacenamiento decorado solo sabe guardar byte[]: con las variantes
+ * por defecto del puerto una subida quedaba entera en el heap. Aquí el
+ * canal se copia primero a un temporal del directorio base; después el
+ * almacenamiento decorado reserva la ruta final (la que elige para ese
+ * tipo, entidad y nombre) con un archivo vacío y el temporal se renombra
+ * sobre ella, de forma atómica si el sistema de archivos lo permite. La
+ * lectura abre el archivo como FileChannel y la transferencia a otro canal
+ * usa FileChannel.transferTo.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class FileStorageRuta implements FileStorage {
+
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    private final FileStorage delegate;
+    private final Path temporales;
+
+    /**
+     * @param delegate   almacenamiento local por ruta
+     * @param temporales directorio de los temporales de subida (conviene
+     *                   que esté en el mismo sistema de archivos que los
+     *                   archivos guardados)
+     */
+    public FileStorageRuta(FileStorage delegate, Path temporales) {
+        if (delegate == null || temporales == null) {
+            throw new IllegalArgumentException("El almacenamiento y el directorio no pueden ser nulos");
+        }
+        this.delegate = delegate;
+        this.temporales = temporales.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Decora el almacenamiento con sus temporales en el directorio
+     * file.storage.base (./data por defecto).
+     *
+     * @param delegate almacenamiento local por ruta
+     * @return almacenamiento con variantes por canal
+     */
+    public static FileStorageRuta desdePropiedades(FileStorage delegate) {
+        return new FileStorageRuta(delegate, Paths.get(ApplicationProperties.getString("file.storage.base", "./data")));
+    }
+
+    @Override
+    public String guardarArchivo(String tipo, int idEntidad, String nombreArchivo, byte[] contenido)
+            throws IOException {
+        return delegate.guardarArchivo(tipo, idEntidad, nombreArchivo, contenido);
+    }
+
+    @Override
+    public String guardarArchivo(String tipo, int idEntidad, String nombreArchivo, ReadableByteChannel contenido)
+            throws IOException {
+        if (contenido == null) {
+            throw new IllegalArgumentException("El contenido no puede ser nulo");
+        }
+        Files.createDirectories(temporales);
+        Path temporal = Files.createTempFile(temporales, "subida", ".tmp");
+        try {
+            try (FileChannel salida = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(TAMANIO_BUFFER);
+                while (contenido.read(buffer) >= 0) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        salida.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            String ruta = delegate.guardarArchivo(tipo, idEntidad, nombreArchivo, new byte[0]);
+            mover(temporal, resolver(ruta));
+            return ruta;
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    @Override
+    public ReadableByteChannel abrirArchivo(String ruta) throws IOException {
+        return FileChannel.open(resolver(ruta), StandardOpenOption.READ);
+    }
+
+    @Override
+    public long transferirArchivo(String ruta, WritableByteChannel destino) throws IOException {
+        if (destino == null) {
+            throw new IllegalArgumentException("El destino no puede ser nulo");
+        }
+        try (FileChannel origen = FileChannel.open(resolver(ruta), StandardOpenOption.READ)) {
+            long tamanio = origen.size();
+            long posicion = 0;
+            while (posicion < tamanio) {
+                long copiados = origen.transferTo(posicion, Math.min(tamanio - posicion, Integer.MAX_VALUE), destino);
+                if (copiados <= 0) {
+                    // El archivo se acortó mientras se copiaba
+                    break;
+                }
+                posicion += copiados;
+            }
+            return posicion;
+        }
+    }
+
+    @Override
+    public byte[] leerArchivo(String ruta) throws IOException {
+        return delegate.leerArchivo(ruta);
+    }
+
+    @Override
+    public boolean eliminarArchivo(String ruta) throws IOException {
+        return delegate.eliminarArchivo(ruta);
+    }
+
+    @Override
+    public boolean existeArchivo(String ruta) {
+        return delegate.existeArchivo(ruta);
+    }
+
+    @Override
+    public String obtenerRutaCompleta(String rutaRelativa) {
+        return delegate.obtenerRutaCompleta(rutaRelativa);
+    }
+
+    @Override
+    public boolean esPorContenido() {
+        return delegate.esPorContenido();
+    }
+
+    private Path resolver(String ruta) {
+        if (ruta == null) {
+            throw new IllegalArgumentException("La ruta no puede ser nula");
+        }
+        Path path = Paths.get(ruta);
+        return path.isAbsolute() ? path.normalize() : Paths.get(delegate.obtenerRutaCompleta(ruta)).normalize();
+    }
+
+    /**
+     * Renombra el temporal sobre la ruta reservada, de forma atómica si el
+     * sistema de archivos lo permite.
+     */
+    private static void mover(Path temporal, Path destino) throws IOException {
+        try {
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.guma.data.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.guma.domain.transaction.UnitOfWork;
+import com.guma.domain.transaction.UnitOfWorkAction;
+
+/**
+ * Implementación de UnitOfWork sobre un DataSource (normalmente el pool
+ * compartido de {@link com.guma.data.pool.ConnectionPool}).
+ *
+ * A diferencia de abrir una conexión física por transacción, toma una
+ * conexión prestada del pool y la devuelve al terminar, de modo que el
+ * costo de conexión a MySQL se paga una sola vez por conexión física.
+ *
+ * Mientras dura la transacción su conexión queda vinculada al hilo en
+ * {@link TransactionContext}: los repositorios que piden conexiones a un
+ * {@link TransactionAwareDataSource} reciben esa misma conexión aunque no la
+ * reciban como parámetro, y un execute anidado se une a la transacción en
+ * curso en lugar de abrir otra (si falla, la externa termina en rollback
+ * aunque atrape la excepción).
+ *
+ * Las excepciones de negocio (RuntimeException) se propagan tal cual para
+ * que los facades puedan distinguirlas; las checked se envuelven.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class DataSourceUnitOfWork implements UnitOfWork {
+
+    private final DataSource dataSource;
+
+    /**
+     * Conexión de la transacción manual (begin/commit/rollback) del hilo actual.
+     */
+    private final ThreadLocal<Connection> transaccionManual = new ThreadLocal<>();
+
+    /**
+     * Constructor que inyecta el DataSource.
+     *
+     * @param dataSource origen de conexiones (si es un TransactionAwareDataSource
+     *                   se usa el DataSource que envuelve)
+     */
+    public DataSourceUnitOfWork(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("El DataSource no puede ser nulo");
+        }
+        this.dataSource = dataSource instanceof TransactionAwareDataSource
+                ? ((TransactionAwareDataSource) dataSource).getTarget()
+                : dataSource;
+    }
+
+    @Override
+    public <T> T execute(UnitOfWorkAction<T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("La acción no puede ser nula");
+        }
+        Connection enCurso = TransactionContext.getConexion();
+        if (enCurso != null) {
+            // Anidado: se une a la transacción externa, que decide commit o
+            // rollback. Si falla, la externa ya no puede confirmar aunque
+            // atrape la excepción: quedaría a medias
+            try {
+                return action.execute(enCurso);
+            } catch (RuntimeException e) {
+                TransactionContext.marcarSoloRollback();
+                throw e;
+            } catch (Exception e) {
+                TransactionContext.marcarSoloRollback();
+                throw new RuntimeException("Error en la transacción: " + e.getMessage(), e);
+            }
+        }
+
+        Connection conn = null;
+        boolean vinculada = false;
+        try {
+            conn = dataSource.getConnection();
+            conn.setAutoCommit(false);
+            TransactionContext.vincular(conn);
+            vinculada = true;
+
+            T resultado = action.execute(conn);
+
+            if (TransactionContext.esSoloRollback()) {
+                throw new IllegalStateException("La transacción fue marcada para rollback (por un repositorio o un execute anidado que falló)");
+            }
+            conn.commit();
+            return resultado;
+
+        } catch (Exception e) {
+            rollbackSilencioso(conn, e);
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new RuntimeException("Error en la transacción: " + e.getMessage(), e);
+        } finally {
+            if (vinculada) {
+                TransactionContext.desvincular();
+            }
+            cerrar(conn);
+        }
+    }
+
+    @Override
+    public void begin() {
+        if (transaccionManual.get() != null || TransactionContext.estaActiva()) {
+            throw new IllegalStateException("Ya hay una transacción activa en este hilo");
+        }
+        Connection conn = null;
+        try {
+            conn = dataSource.getConnection();
+            conn.setAutoCommit(false);
+            TransactionContext.vincular(conn);
+            transaccionManual.set(conn);
+        } catch (SQLException e) {
+            cerrar(conn);
+            throw new RuntimeException("Error al iniciar la transacción: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void commit() {
+        Connection conn = transaccionActual();
+        try {
+            if (TransactionContext.esSoloRollback()) {
+                conn.rollback();
+                throw new IllegalStateException("La transacción fue marcada para rollback (por un repositorio o un execute anidado que falló)");
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al confirmar la transacción: " + e.getMessage(), e);
+        } finally {
+            terminarManual(conn);
+        }
+    }
+
+    @Override
+    public void rollback() {
+        Connection conn = transaccionActual();
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al revertir la transacción: " + e.getMessage(), e);
+        } finally {
+            terminarManual(conn);
+        }
+    }
+
+    private void terminarManual(Connection conn) {
+        transaccionManual.remove();
+        TransactionContext.desvincular();
+        cerrar(conn);
+    }
+
+    private Connection transaccionActual() {
+        Connection conn = transaccionManual.get();
+        if (conn == null) {
+            throw new IllegalStateException("No hay una transacción activa en este hilo");
+        }
+        return conn;
+    }
+
+    private static void rollbackSilencioso(Connection conn, Exception causa) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            causa.addSuppressed(e);
+        }
+    }
+
+    private static void cerrar(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.setAutoCommit(true);
+        } catch (SQLException e) {
+            // El pool descarta la conexión si quedó en mal estado
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            // Nada más que hacer
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.guma.data.transaction;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+/**
+ * Envoltorio genérico de puertos de repositorio con mapa de identidad por
+ * transacción.
+ *
+ * Dentro de un UnitOfWork, findById(id) se resuelve una sola vez por
+ * entidad: las llamadas siguientes con el mismo ID devuelven la misma
+ * instancia desde {@link TransactionContext} sin ir a la base de datos.
+ * Cualquier método que no sea de lectura (save, update, delete...) invalida
+ * las entidades de ese puerto. Fuera de una transacción todas las llamadas
+ * se delegan sin cambios.
+ *
+ * Solo debe envolver repositorios cuyo findById lea del DataSource
+ * compartido (y por lo tanto, dentro de un UnitOfWork, de la conexión de la
+ * transacción): si leyera en otra conexión, el mapa guardaría como
+ * transaccional una lectura hecha fuera de la transacción.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class IdentityMapRepository {
+
+    private IdentityMapRepository() {
+    }
+
+    /**
+     * Envuelve un repositorio con el mapa de identidad transaccional.
+     *
+     * @param <T>      tipo del puerto
+     * @param puerto   interface del puerto (ej: PerfilUsuarioRepository.class)
+     * @param delegate implementación a envolver
+     * @return proxy que implementa el puerto
+     */
+    public static <T> T envolver(Class<T> puerto, T delegate) {
+        if (puerto == null || delegate == null) {
+            throw new IllegalArgumentException("El puerto y el repositorio no pueden ser nulos");
+        }
+        return puerto.cast(Proxy.newProxyInstance(
+                puerto.getClassLoader(),
+                new Class<?>[] { puerto },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "IdentityMap[" + delegate + "]";
+                        default:
+                            break;
+                    }
+                    if (!TransactionContext.estaActiva()) {
+                        return invocar(delegate, method, args);
+                    }
+                    if (esFindById(method, args)) {
+                        return buscarPorId(puerto, delegate, method, args[0]);
+                    }
+                    if (!esLectura(method)) {
+                        TransactionContext.invalidar(puerto);
+                    }
+                    return invocar(delegate, method, args);
+                }));
+    }
+
+    private static Object buscarPorId(Class<?> puerto, Object delegate, Method method, Object id) throws Throwable {
+        Optional<Object> leida = TransactionContext.buscar(puerto, id, Object.class);
+        if (leida.isPresent()) {
+            return leida;
+        }
+        Optional<?> resultado = (Optional<?>) invocar(delegate, method, new Object[] { id });
+        resultado.ifPresent(entidad -> TransactionContext.registrar(puerto, id, entidad));
+        return resultado;
+    }
+
+    private static boolean esFindById(Method method, Object[] args) {
+        return "findById".equals(method.getName()) && args != null && args.length == 1
+                && method.getReturnType() == Optional.class;
+    }
+
+    private static boolean esLectura(Method method) {
+        String nombre = method.getName();
+        return nombre.startsWith("find") || nombre.startsWith("exists") || nombre.startsWith("get")
+                || nombre.startsWith("count");
+    }
+
+    private static Object invocar(Object delegate, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.guma.data.transaction;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+/**
+ * Envoltorio genérico de puertos de repositorio que manda sus lecturas a la
+ * réplica de {@link ReadWriteRoutingDataSource}.
+ *
+ * Los métodos de lectura (find*, exists*, get*, count*, forEach*,
+ * recorrer*) que no reciben la conexión como parámetro se ejecutan marcados
+ * como lectura: las conexiones que pidan al DataSource compartido pueden
+ * salir de la réplica. Cualquier otro método (save, update, delete...) va al
+ * primario y abre la ventana de lectura de las propias escrituras. Los
+ * métodos que devuelven un Stream perezoso abren su conexión después de
+ * retornar, fuera de la marca, así que se leen del primario.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class ReadReplicaRepository {
+
+    private ReadReplicaRepository() {
+    }
+
+    /**
+     * Envuelve un repositorio para enrutar sus lecturas a la réplica.
+     *
+     * @param <T>        tipo del puerto
+     * @param puerto     interface del puerto (ej: PerfilUsuarioRepository.class)
+     * @param delegate   implementación a envolver
+     * @param dataSource DataSource con enrutamiento que usa el repositorio
+     * @return proxy que implementa el puerto
+     */
+    public static <T> T envolver(Class<T> puerto, T delegate, ReadWriteRoutingDataSource dataSource) {
+        if (puerto == null || delegate == null || dataSource == null) {
+            throw new IllegalArgumentException("El puerto, el repositorio y el DataSource no pueden ser nulos");
+        }
+        return puerto.cast(Proxy.newProxyInstance(
+                puerto.getClassLoader(),
+                new Class<?>[] { puerto },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "ReadReplica[" + delegate + "]";
+                        default:
+                            break;
+                    }
+                    if (!esLectura(method)) {
+                        try {
+                            return invocar(delegate, method, args);
+                        } finally {
+                            dataSource.registrarEscritura();
+                        }
+                    }
+                    if (recibeConexion(method)) {
+                        return invocar(delegate, method, args);
+                    }
+                    boolean anidada = ReadWriteRoutingDataSource.iniciarLectura();
+                    try {
+                        return invocar(delegate, method, args);
+                    } finally {
+                        ReadWriteRoutingDataSource.terminarLectura(anidada);
+                    }
+                }));
+    }
+
+    private static boolean esLectura(Method method) {
+        String nombre = method.getName();
+        return nombre.startsWith("find") || nombre.startsWith("exists") || nombre.startsWith("get")
+                || nombre.startsWith("count") || nombre.startsWith("forEach") || nombre.startsWith("recorrer");
+    }
+
+    private static boolean recibeConexion(Method method) {
+        for (Class<?> tipo : method.getParameterTypes()) {
+            if (Connection.class.isAssignableFrom(tipo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object invocar(Object delegate, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
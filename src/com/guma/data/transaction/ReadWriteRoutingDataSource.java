@@ -0,0 +1,344 @@
+package com.guma.data.transaction;
+
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import com.guma.data.config.ApplicationProperties;
+
+/**
+ * DataSource que reparte las conexiones entre el primario y una réplica de
+ * lectura de MySQL.
+ *
+ * Por defecto toda conexión sale del primario. Solo van a la réplica las
+ * conexiones pedidas durante una llamada de lectura marcada por
+ * {@link ReadReplicaRepository} (find*, exists*, get*, count*, forEach*,
+ * recorrer*), y además solo si:
+ * - no hay una transacción en curso (dentro de un UnitOfWork todo, lecturas
+ *   incluidas, usa la conexión de la transacción en el primario)
+ * - no pasó menos de db.read.ryw.window ms desde la última escritura hecha
+ *   desde esta aplicación (lectura de las propias escrituras: un cliente
+ *   de escritorio es un usuario, así que lo que acaba de guardar lo vuelve a
+ *   leer del primario aunque la réplica todavía no lo tenga)
+ * - la réplica está disponible: un hilo revisa cada db.read.check.interval
+ *   ms el retraso de replicación (SHOW REPLICA STATUS) y la da de baja si
+ *   no responde, si la replicación está detenida o si el retraso supera
+ *   db.read.max.lag segundos
+ *
+ * Si la réplica falla al entregar una conexión se la da de baja hasta la
+ * próxima revisión correcta y la lectura se resuelve en el primario. Para
+ * que la lectura de las propias escrituras sea correcta la ventana debe
+ * cubrir el retraso máximo admitido.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ReadWriteRoutingDataSource implements DataSource, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(ReadWriteRoutingDataSource.class.getName());
+
+    private static final ThreadLocal<Boolean> LECTURA = new ThreadLocal<>();
+
+    // MySQL anterior a 8.0.22 no conoce SHOW REPLICA STATUS (ER_PARSE_ERROR)
+    private static final int ERROR_SINTAXIS = 1064;
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final long ventanaEscrituraNanos;
+    private final long retrasoMaximoSeg;
+    private final ScheduledExecutorService revision;
+
+    private volatile boolean replicaDisponible;
+    private volatile long retrasoSeg = -1;
+    private volatile long ultimaEscrituraNanos;
+    private volatile boolean huboEscritura;
+
+    private final AtomicLong lecturasReplica = new AtomicLong();
+    private final AtomicLong lecturasPrimario = new AtomicLong();
+    private final AtomicLong fallosReplica = new AtomicLong();
+
+    /**
+     * Constructor completo. La réplica empieza dada de baja hasta la primera
+     * revisión, que se hace de inmediato.
+     *
+     * @param primario            DataSource del primario (normalmente un
+     *                            {@link TransactionAwareDataSource})
+     * @param replica             DataSource de la réplica (su propio pool)
+     * @param ventanaEscrituraMs  ms después de una escritura en que las
+     *                            lecturas siguen yendo al primario
+     * @param retrasoMaximoSeg    retraso de replicación máximo admitido (s)
+     * @param intervaloRevisionMs ms entre revisiones de la réplica
+     * @throws IllegalArgumentException si algún argumento es inválido o la
+     *                                  ventana no cubre el retraso máximo
+     */
+    public ReadWriteRoutingDataSource(DataSource primario, DataSource replica, long ventanaEscrituraMs,
+            long retrasoMaximoSeg, long intervaloRevisionMs) {
+        if (primario == null || replica == null) {
+            throw new IllegalArgumentException("Los DataSource del primario y de la réplica no pueden ser nulos");
+        }
+        if (retrasoMaximoSeg < 0 || intervaloRevisionMs <= 0) {
+            throw new IllegalArgumentException("Retraso máximo o intervalo de revisión inválidos: "
+                    + retrasoMaximoSeg + " s, " + intervaloRevisionMs + " ms");
+        }
+        if (ventanaEscrituraMs < TimeUnit.SECONDS.toMillis(retrasoMaximoSeg)) {
+            throw new IllegalArgumentException("db.read.ryw.window (" + ventanaEscrituraMs
+                    + " ms) debe cubrir db.read.max.lag (" + retrasoMaximoSeg + " s)");
+        }
+        this.primario = primario;
+        this.replica = replica;
+        this.ventanaEscrituraNanos = TimeUnit.MILLISECONDS.toNanos(ventanaEscrituraMs);
+        this.retrasoMaximoSeg = retrasoMaximoSeg;
+        this.revision = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "guma-replica-revision");
+            t.setDaemon(true);
+            return t;
+        });
+        revision.scheduleWithFixedDelay(this::revisarReplica, 0, intervaloRevisionMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Crea el DataSource leyendo application.properties:
+     *
+     * <pre>
+     * db.read.ryw.window=10000      # ms de lecturas al primario después de escribir
+     * db.read.max.lag=5             # retraso de replicación máximo (s)
+     * db.read.check.interval=5000   # ms entre revisiones de la réplica
+     * </pre>
+     *
+     * @param primario DataSource del primario
+     * @param replica  DataSource de la réplica
+     * @return DataSource con enrutamiento de lecturas
+     */
+    public static ReadWriteRoutingDataSource desdePropiedades(DataSource primario, DataSource replica) {
+        return new ReadWriteRoutingDataSource(
+                primario,
+                replica,
+                ApplicationProperties.getLong("db.read.ryw.window", 10000),
+                ApplicationProperties.getLong("db.read.max.lag", 5),
+                ApplicationProperties.getLong("db.read.check.interval", 5000));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (LECTURA.get() == null || TransactionContext.estaActiva()) {
+            return primario.getConnection();
+        }
+        if (!replicaDisponible || dentroDeVentanaEscritura()) {
+            lecturasPrimario.incrementAndGet();
+            return primario.getConnection();
+        }
+        try {
+            Connection conexion = replica.getConnection();
+            lecturasReplica.incrementAndGet();
+            return conexion;
+        } catch (SQLException e) {
+            fallosReplica.incrementAndGet();
+            darDeBaja("no entregó una conexión", e);
+            lecturasPrimario.incrementAndGet();
+            return primario.getConnection();
+        }
+    }
+
+    /**
+     * No soportado: las credenciales las definen los DataSource envueltos.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("El DataSource usa las credenciales de application.properties");
+    }
+
+    // ==================== LECTURAS Y ESCRITURAS (ReadReplicaRepository) ====================
+
+    /**
+     * Marca el hilo actual como dentro de una llamada de lectura.
+     *
+     * @return true si ya estaba marcado (llamada anidada)
+     */
+    static boolean iniciarLectura() {
+        if (LECTURA.get() != null) {
+            return true;
+        }
+        LECTURA.set(Boolean.TRUE);
+        return false;
+    }
+
+    /**
+     * Quita la marca de lectura puesta por {@link #iniciarLectura()}.
+     *
+     * @param anidada lo que devolvió iniciarLectura()
+     */
+    static void terminarLectura(boolean anidada) {
+        if (!anidada) {
+            LECTURA.remove();
+        }
+    }
+
+    /**
+     * Registra una escritura: abre la ventana en que las lecturas siguen
+     * yendo al primario.
+     */
+    void registrarEscritura() {
+        ultimaEscrituraNanos = System.nanoTime();
+        huboEscritura = true;
+    }
+
+    private boolean dentroDeVentanaEscritura() {
+        return huboEscritura && System.nanoTime() - ultimaEscrituraNanos < ventanaEscrituraNanos;
+    }
+
+    // ==================== REVISIÓN DE LA RÉPLICA ====================
+
+    private void revisarReplica() {
+        long retraso;
+        try (Connection conexion = replica.getConnection()) {
+            retraso = medirRetraso(conexion);
+        } catch (SQLException | RuntimeException e) {
+            darDeBaja("no responde", e);
+            return;
+        }
+        retrasoSeg = retraso;
+        if (retraso < 0) {
+            darDeBaja("tiene la replicación detenida", null);
+        } else if (retraso > retrasoMaximoSeg) {
+            darDeBaja("tiene " + retraso + " s de retraso (máximo " + retrasoMaximoSeg + " s)", null);
+        } else if (!replicaDisponible) {
+            replicaDisponible = true;
+            LOGGER.info("Réplica de lectura disponible (retraso " + retraso + " s)");
+        }
+    }
+
+    /**
+     * Lee el retraso de replicación del servidor.
+     *
+     * @return segundos de retraso, 0 si el servidor no es una réplica (por
+     *         ejemplo un endpoint de solo lectura que no expone el estado) o
+     *         -1 si la replicación está detenida
+     */
+    private static long medirRetraso(Connection conexion) throws SQLException {
+        try (Statement sentencia = conexion.createStatement()) {
+            String columna = "Seconds_Behind_Source";
+            ResultSet estado;
+            try {
+                estado = sentencia.executeQuery("SHOW REPLICA STATUS");
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ERROR_SINTAXIS) {
+                    throw e;
+                }
+                columna = "Seconds_Behind_Master";
+                estado = sentencia.executeQuery("SHOW SLAVE STATUS");
+            }
+            try (ResultSet filas = estado) {
+                if (!filas.next()) {
+                    return 0;
+                }
+                long retraso = filas.getLong(columna);
+                return filas.wasNull() ? -1 : retraso;
+            }
+        }
+    }
+
+    private void darDeBaja(String motivo, Exception causa) {
+        if (replicaDisponible) {
+            replicaDisponible = false;
+            LOGGER.log(Level.WARNING, "Réplica de lectura " + motivo + "; las lecturas van al primario", causa);
+        }
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    public boolean isReplicaDisponible() {
+        return replicaDisponible;
+    }
+
+    /**
+     * @return retraso de replicación de la última revisión correcta (s), o
+     *         -1 si todavía no se midió o la replicación está detenida
+     */
+    public long getRetrasoSeg() {
+        return retrasoSeg;
+    }
+
+    public long getLecturasReplica() {
+        return lecturasReplica.get();
+    }
+
+    /**
+     * @return lecturas resueltas en el primario (réplica de baja, ventana
+     *         de escritura o fallo de la réplica)
+     */
+    public long getLecturasPrimario() {
+        return lecturasPrimario.get();
+    }
+
+    public long getFallosReplica() {
+        return fallosReplica.get();
+    }
+
+    /**
+     * Detiene la revisión de la réplica. Los pools envueltos los cierra
+     * quien los creó.
+     */
+    @Override
+    public void close() {
+        revision.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "ReadWriteRoutingDataSource[replica=" + (replicaDisponible ? "disponible" : "de baja")
+                + ", retraso=" + retrasoSeg + "s, lecturasReplica=" + lecturasReplica
+                + ", lecturasPrimario=" + lecturasPrimario + ", fallosReplica=" + fallosReplica + "]";
+    }
+
+    // ==================== DataSource ====================
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primario.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primario.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primario.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primario.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primario.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primario.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primario.isWrapperFor(iface);
+    }
+}
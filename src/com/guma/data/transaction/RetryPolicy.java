@@ -0,0 +1,182 @@
+package com.guma.data.transaction;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.guma.data.config.ApplicationProperties;
+
+/**
+ * Política de reintentos de transacciones ante errores transitorios de
+ * concurrencia (deadlocks y timeouts de espera de locks).
+ *
+ * Se construye a partir de application.properties:
+ *
+ * <pre>
+ * # intentos totales por transacción (1 = sin reintentos)
+ * db.retry.max.intentos=3
+ * # ms de espera antes del primer reintento
+ * db.retry.backoff.inicial=50
+ * # tope de la espera entre intentos (ms)
+ * db.retry.backoff.maximo=1000
+ * # códigos de error MySQL reintentables
+ * db.retry.codigos=1213,1205
+ * # SQLState reintentables
+ * db.retry.sqlstates=40001
+ * </pre>
+ *
+ * La espera crece exponencialmente (x2 por intento) hasta el tope y se le
+ * aplica jitter: se espera un valor al azar entre la mitad y el total, para
+ * que las transacciones que chocaron no vuelvan a chocar al mismo tiempo.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class RetryPolicy {
+
+    private final int maxIntentos;
+    private final long backoffInicialMs;
+    private final long backoffMaximoMs;
+    private final Set<Integer> codigosReintentables;
+    private final Set<String> sqlStatesReintentables;
+
+    /**
+     * Constructor completo.
+     *
+     * @param maxIntentos            intentos totales (mínimo 1)
+     * @param backoffInicialMs       espera antes del primer reintento
+     * @param backoffMaximoMs        tope de la espera
+     * @param codigosReintentables   códigos de error del driver reintentables
+     * @param sqlStatesReintentables SQLState reintentables
+     * @throws IllegalArgumentException si los valores son inconsistentes
+     */
+    public RetryPolicy(int maxIntentos, long backoffInicialMs, long backoffMaximoMs,
+            Set<Integer> codigosReintentables, Set<String> sqlStatesReintentables) {
+        if (maxIntentos < 1) {
+            throw new IllegalArgumentException("La cantidad de intentos debe ser al menos 1");
+        }
+        if (backoffInicialMs < 0 || backoffMaximoMs < backoffInicialMs) {
+            throw new IllegalArgumentException("Backoff inválido: inicial=" + backoffInicialMs
+                    + ", maximo=" + backoffMaximoMs);
+        }
+        this.maxIntentos = maxIntentos;
+        this.backoffInicialMs = backoffInicialMs;
+        this.backoffMaximoMs = backoffMaximoMs;
+        this.codigosReintentables = Collections.unmodifiableSet(new HashSet<>(codigosReintentables));
+        this.sqlStatesReintentables = Collections.unmodifiableSet(new HashSet<>(sqlStatesReintentables));
+    }
+
+    /**
+     * Crea la política leyendo application.properties.
+     *
+     * @return política de reintentos
+     * @throws IllegalStateException si alguna propiedad db.retry.* tiene un
+     *                               valor inválido
+     */
+    public static RetryPolicy desdePropiedades() {
+        String lista = ApplicationProperties.getString("db.retry.codigos", "1213,1205");
+        Set<Integer> codigos = new HashSet<>();
+        for (String codigo : separar(lista)) {
+            try {
+                codigos.add(Integer.parseInt(codigo));
+            } catch (NumberFormatException e) {
+                throw ApplicationProperties.valorInvalido("db.retry.codigos", lista,
+                        "una lista de códigos de error separados por comas");
+            }
+        }
+        return new RetryPolicy(
+                ApplicationProperties.getInt("db.retry.max.intentos", 3),
+                ApplicationProperties.getLong("db.retry.backoff.inicial", 50),
+                ApplicationProperties.getLong("db.retry.backoff.maximo", 1000),
+                codigos,
+                separar(ApplicationProperties.getString("db.retry.sqlstates", "40001")));
+    }
+
+    /**
+     * Indica si el error es transitorio y conviene reintentar la transacción.
+     * Recorre la cadena de causas buscando una SQLException reintentable.
+     *
+     * @param error excepción lanzada por la transacción
+     * @return true si es un deadlock, timeout de lock u otro error configurado
+     */
+    public boolean esReintentable(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLTransactionRollbackException) {
+                return true;
+            }
+            if (causa instanceof SQLException) {
+                SQLException sql = (SQLException) causa;
+                if (codigosReintentables.contains(sql.getErrorCode())
+                        || (sql.getSQLState() != null && sqlStatesReintentables.contains(sql.getSQLState()))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calcula la espera antes del reintento indicado, con jitter.
+     *
+     * @param reintento número de reintento (1 = primero)
+     * @return milisegundos a esperar
+     */
+    public long calcularEsperaMs(int reintento) {
+        long espera = backoffInicialMs;
+        for (int i = 1; i < reintento && espera < backoffMaximoMs; i++) {
+            espera *= 2;
+        }
+        espera = Math.min(espera, backoffMaximoMs);
+        if (espera <= 1) {
+            return espera;
+        }
+        long mitad = espera / 2;
+        return mitad + ThreadLocalRandom.current().nextLong(espera - mitad + 1);
+    }
+
+    public int getMaxIntentos() {
+        return maxIntentos;
+    }
+
+    public long getBackoffInicialMs() {
+        return backoffInicialMs;
+    }
+
+    public long getBackoffMaximoMs() {
+        return backoffMaximoMs;
+    }
+
+    public Set<Integer> getCodigosReintentables() {
+        return codigosReintentables;
+    }
+
+    public Set<String> getSqlStatesReintentables() {
+        return sqlStatesReintentables;
+    }
+
+    private static Set<String> separar(String lista) {
+        Set<String> valores = new HashSet<>();
+        if (lista != null) {
+            for (String valor : lista.split(",")) {
+                if (!valor.trim().isEmpty()) {
+                    valores.add(valor.trim());
+                }
+            }
+        }
+        return valores;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{" +
+                "maxIntentos=" + maxIntentos +
+                ", backoffInicialMs=" + backoffInicialMs +
+                ", backoffMaximoMs=" + backoffMaximoMs +
+                ", codigos=" + codigosReintentables +
+                ", sqlStates=" + sqlStatesReintentables +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.guma.data.transaction;
+
+/**
+ * Foto inmutable de las estadísticas de reintentos de una operación.
+ *
+ * Se obtiene con {@link RetryingUnitOfWork#getEstadisticas()}.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class RetryStats {
+
+    private final String operacion;
+    private final long ejecuciones;
+    private final long reintentos;
+    private final long recuperadas;
+    private final long fallosDefinitivos;
+
+    public RetryStats(String operacion, long ejecuciones, long reintentos, long recuperadas,
+            long fallosDefinitivos) {
+        this.operacion = operacion;
+        this.ejecuciones = ejecuciones;
+        this.reintentos = reintentos;
+        this.recuperadas = recuperadas;
+        this.fallosDefinitivos = fallosDefinitivos;
+    }
+
+    /** Nombre de la operación (el pasado a execute). */
+    public String getOperacion() {
+        return operacion;
+    }
+
+    /** Llamadas a execute (sin contar reintentos). */
+    public long getEjecuciones() {
+        return ejecuciones;
+    }
+
+    /** Intentos repetidos por deadlock o timeout de lock. */
+    public long getReintentos() {
+        return reintentos;
+    }
+
+    /** Ejecuciones que terminaron bien después de al menos un reintento. */
+    public long getRecuperadas() {
+        return recuperadas;
+    }
+
+    /** Ejecuciones que fallaron por un error reintentable tras agotar los intentos. */
+    public long getFallosDefinitivos() {
+        return fallosDefinitivos;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryStats{" +
+                "operacion='" + operacion + '\'' +
+                ", ejecuciones=" + ejecuciones +
+                ", reintentos=" + reintentos +
+                ", recuperadas=" + recuperadas +
+                ", fallosDefinitivos=" + fallosDefinitivos +
+                '}';
+    }
+}
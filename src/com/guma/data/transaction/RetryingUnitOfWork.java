@@ -0,0 +1,156 @@
+package com.guma.data.transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.guma.domain.transaction.UnitOfWork;
+import com.guma.domain.transaction.UnitOfWorkAction;
+
+/**
+ * Decorador de UnitOfWork que reintenta las transacciones que fallan por
+ * deadlock (MySQL 1213) o timeout de espera de lock (1205) según una
+ * {@link RetryPolicy}.
+ *
+ * Solo se reintentan las operaciones con nombre
+ * ({@link #execute(String, UnitOfWorkAction)}): al nombrarla, quien llama
+ * declara que la acción puede repetirse. execute(action) sin nombre y
+ * begin/commit/rollback manuales se delegan sin reintentos.
+ *
+ * Cada intento es una transacción nueva: el intento fallido ya fue revertido
+ * por el UnitOfWork decorado. Un execute anidado dentro de una transacción
+ * en curso no se reintenta por su cuenta; lo reintenta la transacción
+ * externa.
+ *
+ * Lleva contadores por operación (nombre pasado a
+ * {@link #execute(String, UnitOfWorkAction)}) de ejecuciones, reintentos,
+ * recuperaciones y fallos definitivos. Con una política de un solo intento
+ * no reintenta, pero los contadores se siguen llevando.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class RetryingUnitOfWork implements UnitOfWork {
+
+    private static final Logger LOGGER = Logger.getLogger(RetryingUnitOfWork.class.getName());
+
+    private final UnitOfWork delegate;
+    private final RetryPolicy politica;
+    private final Map<String, Contadores> contadores = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate UnitOfWork decorado
+     * @param politica política de reintentos
+     */
+    public RetryingUnitOfWork(UnitOfWork delegate, RetryPolicy politica) {
+        if (delegate == null || politica == null) {
+            throw new IllegalArgumentException("El UnitOfWork y la política no pueden ser nulos");
+        }
+        this.delegate = delegate;
+        this.politica = politica;
+    }
+
+    @Override
+    public <T> T execute(UnitOfWorkAction<T> action) {
+        return delegate.execute(action);
+    }
+
+    @Override
+    public <T> T execute(String nombre, UnitOfWorkAction<T> action) {
+        if (nombre == null || action == null) {
+            throw new IllegalArgumentException("El nombre y la acción no pueden ser nulos");
+        }
+        if (TransactionContext.estaActiva()) {
+            return delegate.execute(nombre, action);
+        }
+
+        Contadores contador = contadores.computeIfAbsent(nombre, k -> new Contadores());
+        contador.ejecuciones.incrementAndGet();
+
+        for (int intento = 1;; intento++) {
+            try {
+                T resultado = delegate.execute(nombre, action);
+                if (intento > 1) {
+                    contador.recuperadas.incrementAndGet();
+                }
+                return resultado;
+            } catch (RuntimeException e) {
+                if (!politica.esReintentable(e)) {
+                    throw e;
+                }
+                if (intento >= politica.getMaxIntentos()) {
+                    contador.fallosDefinitivos.incrementAndGet();
+                    LOGGER.log(Level.WARNING, "Transacción '" + nombre + "' abandonada tras " + intento
+                            + " intentos por conflicto de concurrencia", e);
+                    throw e;
+                }
+                long espera = politica.calcularEsperaMs(intento);
+                contador.reintentos.incrementAndGet();
+                int numero = intento;
+                LOGGER.fine(() -> "Reintentando transacción '" + nombre + "' (intento " + (numero + 1)
+                        + ") en " + espera + " ms: " + e.getMessage());
+                esperar(espera, e);
+            }
+        }
+    }
+
+    @Override
+    public void begin() {
+        delegate.begin();
+    }
+
+    @Override
+    public void commit() {
+        delegate.commit();
+    }
+
+    @Override
+    public void rollback() {
+        delegate.rollback();
+    }
+
+    /**
+     * Obtiene una foto de los contadores de cada operación.
+     *
+     * @return estadísticas por operación, ordenadas por nombre
+     */
+    public List<RetryStats> getEstadisticas() {
+        List<RetryStats> estadisticas = new ArrayList<>();
+        for (Map.Entry<String, Contadores> entrada : contadores.entrySet()) {
+            Contadores c = entrada.getValue();
+            estadisticas.add(new RetryStats(entrada.getKey(), c.ejecuciones.get(), c.reintentos.get(),
+                    c.recuperadas.get(), c.fallosDefinitivos.get()));
+        }
+        estadisticas.sort((a, b) -> a.getOperacion().compareTo(b.getOperacion()));
+        return Collections.unmodifiableList(estadisticas);
+    }
+
+    public RetryPolicy getPolitica() {
+        return politica;
+    }
+
+    private static void esperar(long ms, RuntimeException causa) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            causa.addSuppressed(e);
+            throw causa;
+        }
+    }
+
+    private static final class Contadores {
+        private final AtomicLong ejecuciones = new AtomicLong();
+        private final AtomicLong reintentos = new AtomicLong();
+        private final AtomicLong recuperadas = new AtomicLong();
+        private final AtomicLong fallosDefinitivos = new AtomicLong();
+    }
+}
@@ -0,0 +1,148 @@
+package com.guma.data.transaction;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource que, dentro de una transacción de {@link DataSourceUnitOfWork},
+ * entrega la conexión de esa transacción en lugar de pedir otra al pool.
+ *
+ * Así todo método de repositorio, reciba o no la conexión como parámetro,
+ * lee y escribe dentro de la transacción en curso y un UnitOfWork ocupa una
+ * sola conexión. La conexión entregada ignora close(), commit() y
+ * setAutoCommit(): el ciclo de la transacción lo maneja el UnitOfWork. Un
+ * rollback() la marca para terminar en rollback.
+ *
+ * Fuera de una transacción delega directamente en el DataSource envuelto.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class TransactionAwareDataSource implements DataSource {
+
+    private final DataSource target;
+
+    /**
+     * @param target DataSource real (normalmente el pool)
+     */
+    public TransactionAwareDataSource(DataSource target) {
+        if (target == null) {
+            throw new IllegalArgumentException("El DataSource no puede ser nulo");
+        }
+        this.target = target;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection transaccion = TransactionContext.getConexion();
+        if (transaccion == null) {
+            return target.getConnection();
+        }
+        return vincularA(transaccion);
+    }
+
+    /**
+     * No soportado: las credenciales las define el DataSource envuelto.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("El DataSource usa las credenciales de application.properties");
+    }
+
+    /**
+     * Obtiene el DataSource envuelto (para el UnitOfWork, que necesita
+     * conexiones propias).
+     *
+     * @return DataSource real
+     */
+    public DataSource getTarget() {
+        return target;
+    }
+
+    private static Connection vincularA(Connection transaccion) {
+        boolean[] cerrada = { false };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            cerrada[0] = true;
+                            return null;
+                        case "isClosed":
+                            return cerrada[0] || transaccion.isClosed();
+                        case "commit":
+                        case "setAutoCommit":
+                            return null;
+                        case "rollback":
+                            if (args == null) {
+                                TransactionContext.marcarSoloRollback();
+                                return null;
+                            }
+                            break;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "ConexionTransaccion[" + transaccion + "]";
+                        default:
+                            if (cerrada[0]) {
+                                throw new SQLException("La conexión ya fue cerrada");
+                            }
+                    }
+                    try {
+                        return method.invoke(transaccion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    // ==================== DataSource ====================
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+}
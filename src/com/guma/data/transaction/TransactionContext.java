@@ -0,0 +1,164 @@
+package com.guma.data.transaction;
+
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Contexto de la transacción en curso del hilo actual.
+ *
+ * {@link DataSourceUnitOfWork} vincula aquí su conexión mientras dura la
+ * transacción, de modo que:
+ * - {@link TransactionAwareDataSource} entrega esa misma conexión a todo
+ *   repositorio que pida una, reciba o no la conexión como parámetro
+ * - los findById repetidos se resuelven desde un mapa de identidad propio de
+ *   la transacción ({@link IdentityMapRepository})
+ *
+ * Fuera de una transacción no hay contexto y todo funciona como antes.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class TransactionContext {
+
+    private static final ThreadLocal<TransactionContext> ACTUAL = new ThreadLocal<>();
+
+    private final Connection conexion;
+    private final Map<Clave, Object> identidades = new HashMap<>();
+    private boolean soloRollback;
+
+    private TransactionContext(Connection conexion) {
+        this.conexion = conexion;
+    }
+
+    /**
+     * Indica si el hilo actual está dentro de una transacción.
+     *
+     * @return true si hay una conexión vinculada
+     */
+    public static boolean estaActiva() {
+        return ACTUAL.get() != null;
+    }
+
+    /**
+     * Obtiene la conexión de la transacción en curso.
+     *
+     * @return la conexión vinculada, o null fuera de una transacción
+     */
+    public static Connection getConexion() {
+        TransactionContext contexto = ACTUAL.get();
+        return contexto != null ? contexto.conexion : null;
+    }
+
+    /**
+     * Busca una entidad ya leída en la transacción en curso.
+     *
+     * @param <T>           tipo de entidad
+     * @param tipo          puerto o tipo de entidad
+     * @param identificador ID de la entidad
+     * @param clase         clase esperada de la entidad
+     * @return la instancia leída antes, o Optional.empty() si no se leyó o
+     *         no hay transacción
+     */
+    public static <T> Optional<T> buscar(Class<?> tipo, Object identificador, Class<T> clase) {
+        TransactionContext contexto = ACTUAL.get();
+        if (contexto == null || identificador == null) {
+            return Optional.empty();
+        }
+        Object entidad = contexto.identidades.get(new Clave(tipo, identificador));
+        return clase.isInstance(entidad) ? Optional.of(clase.cast(entidad)) : Optional.empty();
+    }
+
+    /**
+     * Registra una entidad leída para que las próximas lecturas de la misma
+     * transacción devuelvan la misma instancia. Sin transacción no hace nada.
+     *
+     * @param tipo          puerto o tipo de entidad
+     * @param identificador ID de la entidad
+     * @param entidad       instancia leída
+     */
+    public static void registrar(Class<?> tipo, Object identificador, Object entidad) {
+        TransactionContext contexto = ACTUAL.get();
+        if (contexto != null && identificador != null && entidad != null) {
+            contexto.identidades.put(new Clave(tipo, identificador), entidad);
+        }
+    }
+
+    /**
+     * Olvida todas las entidades de un tipo (después de una escritura).
+     *
+     * @param tipo puerto o tipo de entidad
+     */
+    public static void invalidar(Class<?> tipo) {
+        TransactionContext contexto = ACTUAL.get();
+        if (contexto == null) {
+            return;
+        }
+        Iterator<Clave> it = contexto.identidades.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().tipo == tipo) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Marca la transacción en curso para que termine en rollback aunque la
+     * acción no lance excepción (un repositorio pidió rollback o falló un
+     * execute anidado).
+     */
+    public static void marcarSoloRollback() {
+        TransactionContext contexto = ACTUAL.get();
+        if (contexto != null) {
+            contexto.soloRollback = true;
+        }
+    }
+
+    // ==================== CICLO DE VIDA (DataSourceUnitOfWork) ====================
+
+    static void vincular(Connection conexion) {
+        if (ACTUAL.get() != null) {
+            throw new IllegalStateException("Ya hay una transacción vinculada a este hilo");
+        }
+        ACTUAL.set(new TransactionContext(conexion));
+    }
+
+    static boolean esSoloRollback() {
+        TransactionContext contexto = ACTUAL.get();
+        return contexto != null && contexto.soloRollback;
+    }
+
+    static void desvincular() {
+        ACTUAL.remove();
+    }
+
+    private static final class Clave {
+        private final Class<?> tipo;
+        private final Object identificador;
+
+        private Clave(Class<?> tipo, Object identificador) {
+            this.tipo = tipo;
+            this.identificador = identificador;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Clave)) {
+                return false;
+            }
+            Clave otra = (Clave) o;
+            return tipo == otra.tipo && identificador.equals(otra.identificador);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tipo, identificador);
+        }
+    }
+}
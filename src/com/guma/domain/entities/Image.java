@@ -1,5 +1,9 @@
 package com.guma.domain.entities;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Entidad que representa una imagen en el sistema.
  * Almacena la ruta de archivos de imagen (fotos de perfil, mascotas, etc.)
@@ -8,6 +12,11 @@ package com.guma.domain.entities;
  * Corresponde a la tabla IMAGES con campos:
  * - id_images (INT PK)
  * - link (TEXT) - Ruta relativa al archivo físico
+ * - referencias (INT) - Cantidad de usos del archivo; con almacenamiento
+ *   por contenido varias entidades comparten la misma imagen
+ * 
+ * y sus variantes reducidas (tabla IMAGE_VARIANTES): por cada lado en
+ * píxeles, la ruta de una copia que entra en un cuadrado de ese lado
  * 
  * @author GUMA Development Team
  * @version 1.0
@@ -16,6 +25,8 @@ public class Image {
 
     private Integer idImage;
     private String link; // Ruta relativa: "usuarios/36/perfil.jpg"
+    private int referencias = 1;
+    private Map<Integer, String> variantes = new TreeMap<>();
 
     /**
      * Constructor por defecto.
@@ -48,6 +59,35 @@ public class Image {
         this.link = link;
     }
 
+    public int getReferencias() {
+        return referencias;
+    }
+
+    public void setReferencias(int referencias) {
+        this.referencias = referencias;
+    }
+
+    /**
+     * @return variantes por lado en píxeles, de menor a mayor (solo lectura)
+     */
+    public Map<Integer, String> getVariantes() {
+        return Collections.unmodifiableMap(variantes);
+    }
+
+    public void setVariantes(Map<Integer, String> variantes) {
+        this.variantes = variantes != null ? new TreeMap<>(variantes) : new TreeMap<>();
+    }
+
+    /**
+     * Agrega o reemplaza la variante de un lado.
+     * 
+     * @param lado lado en píxeles del cuadrado en que entra la variante
+     * @param link ruta relativa de la variante
+     */
+    public void agregarVariante(int lado, String link) {
+        variantes.put(lado, link);
+    }
+
     // ==================== MÉTODOS AUXILIARES ====================
 
     /**
@@ -93,6 +133,8 @@ public class Image {
         return "Image{" +
                 "idImage=" + idImage +
                 ", link='" + link + '\'' +
+                ", referencias=" + referencias +
+                ", variantes=" + variantes.keySet() +
                 '}';
     }
 }
@@ -11,6 +11,10 @@ import java.util.Objects;
  * 
  * Esta entidad se relaciona 1:1 con Usuario mediante id_usuario (FK).
  * 
+ * La columna version implementa control de concurrencia optimista: cada
+ * actualización la incrementa y solo se aplica si coincide con la versión
+ * leída. Es null cuando el perfil no se leyó de la base de datos.
+ * 
  * @author GUMA Development Team
  * @version 1.0
  */
@@ -29,6 +33,7 @@ public class PerfilUsuario {
     private Integer idRedSocial;
     private Integer fotoPerfil;
     private boolean verificado;
+    private Integer version;
 
     /**
      * Constructor completo para crear una instancia de PerfilUsuario.
@@ -248,6 +253,14 @@ public class PerfilUsuario {
         this.verificado = verificado;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -274,6 +287,7 @@ public class PerfilUsuario {
                 ", apellido='" + apellido + '\'' +
                 ", email='" + email + '\'' +
                 ", verificado=" + verificado +
+                ", version=" + version +
                 '}';
     }
 }
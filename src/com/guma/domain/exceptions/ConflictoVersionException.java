@@ -0,0 +1,27 @@
+package com.guma.domain.exceptions;
+
+/**
+ * Excepción lanzada cuando se intenta actualizar una entidad que otro usuario
+ * modificó después de que fue leída (control de concurrencia optimista).
+ *
+ * Indica que la versión enviada ya no coincide con la almacenada; el
+ * llamador debe recargar la entidad y volver a aplicar sus cambios.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class ConflictoVersionException extends BusinessException {
+
+    private static final String CODIGO_ERROR = "CONFLICTO_VERSION";
+
+    /**
+     * Constructor que recibe el tipo de entidad y su identificador.
+     *
+     * @param tipoEntidad   nombre de la entidad (ej: "PerfilUsuario")
+     * @param identificador identificador de la entidad en conflicto
+     */
+    public ConflictoVersionException(String tipoEntidad, Object identificador) {
+        super(CODIGO_ERROR, tipoEntidad + " con identificador " + identificador
+                + " fue modificado por otro usuario. Recargue los datos e intente nuevamente");
+    }
+}
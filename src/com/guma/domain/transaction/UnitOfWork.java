@@ -49,6 +49,24 @@ public interface UnitOfWork {
      */
     <T> T execute(UnitOfWorkAction<T> action);
 
+    /**
+     * Ejecuta una operación identificada dentro de una transacción.
+     *
+     * El nombre permite a las implementaciones llevar estadísticas por
+     * operación (por ejemplo, reintentos ante deadlocks). La acción puede
+     * ejecutarse más de una vez si la implementación reintenta, por lo que no
+     * debe tener efectos fuera de la transacción que no toleren repetirse.
+     *
+     * @param <T>    el tipo de resultado que retorna la operación
+     * @param nombre nombre de la operación (ej: "registro")
+     * @param action la operación a ejecutar
+     * @return el resultado de la operación
+     * @throws RuntimeException si ocurre algún error
+     */
+    default <T> T execute(String nombre, UnitOfWorkAction<T> action) {
+        return execute(action);
+    }
+
     /**
      * Inicia una transacción manualmente (para casos avanzados).
      * 
@@ -0,0 +1,99 @@
+package com.guma.domain.valueobjects;
+
+import java.util.Objects;
+
+import com.guma.domain.entities.Direccion;
+
+/**
+ * Value Object que agrupa una dirección con los nombres de su localidad,
+ * provincia y país.
+ *
+ * Se obtiene con una única consulta (DIRECCIONES + LOCALIDADES + PROVINCIAS
+ * + PAISES) para que mostrar direcciones no requiera una búsqueda adicional
+ * por cada nivel del catálogo geográfico.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class DireccionDetalle {
+
+    private final Direccion direccion;
+    private final String nombreLocalidad;
+    private final Integer idProvincia;
+    private final String nombreProvincia;
+    private final Integer idPais;
+    private final String nombrePais;
+
+    /**
+     * Constructor completo.
+     *
+     * @param direccion       la dirección (obligatoria)
+     * @param nombreLocalidad nombre de la localidad
+     * @param idProvincia     ID de la provincia de la localidad
+     * @param nombreProvincia nombre de la provincia
+     * @param idPais          ID del país de la provincia
+     * @param nombrePais      nombre del país
+     * @throws IllegalArgumentException si la dirección es nula
+     */
+    public DireccionDetalle(Direccion direccion, String nombreLocalidad, Integer idProvincia,
+            String nombreProvincia, Integer idPais, String nombrePais) {
+        if (direccion == null) {
+            throw new IllegalArgumentException("La dirección no puede ser nula");
+        }
+        this.direccion = direccion;
+        this.nombreLocalidad = nombreLocalidad;
+        this.idProvincia = idProvincia;
+        this.nombreProvincia = nombreProvincia;
+        this.idPais = idPais;
+        this.nombrePais = nombrePais;
+    }
+
+    public Direccion getDireccion() {
+        return direccion;
+    }
+
+    public String getNombreLocalidad() {
+        return nombreLocalidad;
+    }
+
+    public Integer getIdProvincia() {
+        return idProvincia;
+    }
+
+    public String getNombreProvincia() {
+        return nombreProvincia;
+    }
+
+    public Integer getIdPais() {
+        return idPais;
+    }
+
+    public String getNombrePais() {
+        return nombrePais;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        DireccionDetalle that = (DireccionDetalle) o;
+        return Objects.equals(direccion.getIdDireccion(), that.direccion.getIdDireccion());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(direccion.getIdDireccion());
+    }
+
+    @Override
+    public String toString() {
+        return "DireccionDetalle{" +
+                "direccion=" + direccion +
+                ", localidad='" + nombreLocalidad + '\'' +
+                ", provincia='" + nombreProvincia + '\'' +
+                ", pais='" + nombrePais + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,128 @@
+package com.guma.domain.valueobjects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Value Object con una página de resultados paginados por clave (keyset).
+ *
+ * Las páginas se ordenan por ID ascendente y se piden con el último ID de
+ * la página anterior ("después de"), en lugar de un desplazamiento: así cada
+ * página cuesta lo mismo sin importar cuán lejos esté del principio y no se
+ * saltean ni repiten filas si se insertan registros entre una página y otra.
+ *
+ * Uso:
+ *
+ * <pre>
+ * Integer cursor = null;
+ * do {
+ *     Pagina&lt;RedSocial&gt; pagina = repository.findPagina(cursor, 100);
+ *     procesar(pagina.getElementos());
+ *     cursor = pagina.getSiguienteDespuesDe();
+ * } while (pagina.hayMas());
+ * </pre>
+ *
+ * @param <T> tipo de los elementos
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class Pagina<T> {
+
+    /** Tamaño máximo de página aceptado por los servicios. */
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private final List<T> elementos;
+    private final Integer siguienteDespuesDe;
+
+    /**
+     * Constructor completo.
+     *
+     * @param elementos          elementos de la página, ordenados por ID
+     * @param siguienteDespuesDe ID a pasar para pedir la página siguiente, o
+     *                           null si esta es la última
+     */
+    public Pagina(List<T> elementos, Integer siguienteDespuesDe) {
+        this.elementos = elementos != null ? Collections.unmodifiableList(elementos) : Collections.emptyList();
+        this.siguienteDespuesDe = siguienteDespuesDe;
+    }
+
+    /**
+     * Arma la página a partir de las filas leídas con LIMIT limite + 1: si
+     * llegó la fila extra, hay una página siguiente.
+     *
+     * @param <T>    tipo de los elementos
+     * @param filas  filas leídas (como mucho limite + 1), ordenadas por ID
+     * @param limite tamaño de página pedido
+     * @param id     función que obtiene el ID de un elemento
+     * @return la página
+     */
+    public static <T> Pagina<T> desdeFilas(List<T> filas, int limite, ToIntFunction<T> id) {
+        if (filas.size() <= limite) {
+            return new Pagina<>(filas, null);
+        }
+        List<T> elementos = new ArrayList<>(filas.subList(0, limite));
+        return new Pagina<>(elementos, id.applyAsInt(elementos.get(limite - 1)));
+    }
+
+    /**
+     * Pagina una lista completa en memoria. Lo usan las implementaciones que
+     * no pueden paginar en el origen de datos.
+     *
+     * @param <T>        tipo de los elementos
+     * @param todos      todos los elementos, en cualquier orden
+     * @param id         función que obtiene el ID de un elemento
+     * @param despuesDe  último ID de la página anterior, o null para la primera
+     * @param limite     tamaño de página
+     * @return la página
+     */
+    public static <T> Pagina<T> desdeLista(List<T> todos, ToIntFunction<T> id, Integer despuesDe, int limite) {
+        validarLimite(limite);
+        List<T> ordenados = new ArrayList<>();
+        for (T elemento : todos) {
+            if (despuesDe == null || id.applyAsInt(elemento) > despuesDe) {
+                ordenados.add(elemento);
+            }
+        }
+        ordenados.sort(Comparator.comparingInt(id));
+        return desdeFilas(ordenados.size() > limite ? ordenados.subList(0, limite + 1) : ordenados, limite, id);
+    }
+
+    /**
+     * Verifica que el tamaño de página esté entre 1 y {@link #LIMITE_MAXIMO}.
+     *
+     * @param limite tamaño de página pedido
+     * @throws IllegalArgumentException si está fuera de rango
+     */
+    public static void validarLimite(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException(
+                    "El tamaño de página debe estar entre 1 y " + LIMITE_MAXIMO + ": " + limite);
+        }
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public Integer getSiguienteDespuesDe() {
+        return siguienteDespuesDe;
+    }
+
+    /**
+     * @return true si hay una página siguiente
+     */
+    public boolean hayMas() {
+        return siguienteDespuesDe != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{" +
+                "elementos=" + elementos.size() +
+                ", siguienteDespuesDe=" + siguienteDespuesDe +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+package com.guma.domain.valueobjects;
+
+import java.time.LocalDateTime;
+
+import com.guma.domain.entities.PerfilUsuario;
+
+/**
+ * Value Object con una fila de la exportación de perfiles: el perfil junto
+ * con los datos de su usuario y el nombre de su rol.
+ *
+ * No incluye el hash de la contraseña: la exportación es para análisis y
+ * nunca debe sacar credenciales de la base de datos.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class PerfilExportado {
+
+    private final PerfilUsuario perfil;
+    private final String emailUsuario;
+    private final Integer idRol;
+    private final String rol;
+    private final boolean usuarioVerificado;
+    private final LocalDateTime ultimaConexion;
+
+    /**
+     * Constructor completo.
+     *
+     * @param perfil            el perfil (obligatorio)
+     * @param emailUsuario      email de login del usuario
+     * @param idRol             identificador del rol del usuario
+     * @param rol               nombre del rol (null si no se pudo resolver)
+     * @param usuarioVerificado indica si el email del usuario fue verificado
+     * @param ultimaConexion    última conexión del usuario (puede ser null)
+     * @throws IllegalArgumentException si el perfil es nulo
+     */
+    public PerfilExportado(PerfilUsuario perfil, String emailUsuario, Integer idRol, String rol,
+            boolean usuarioVerificado, LocalDateTime ultimaConexion) {
+        if (perfil == null) {
+            throw new IllegalArgumentException("El perfil exportado no puede ser nulo");
+        }
+        this.perfil = perfil;
+        this.emailUsuario = emailUsuario;
+        this.idRol = idRol;
+        this.rol = rol;
+        this.usuarioVerificado = usuarioVerificado;
+        this.ultimaConexion = ultimaConexion;
+    }
+
+    public PerfilUsuario getPerfil() {
+        return perfil;
+    }
+
+    public String getEmailUsuario() {
+        return emailUsuario;
+    }
+
+    public Integer getIdRol() {
+        return idRol;
+    }
+
+    public String getRol() {
+        return rol;
+    }
+
+    public boolean isUsuarioVerificado() {
+        return usuarioVerificado;
+    }
+
+    public LocalDateTime getUltimaConexion() {
+        return ultimaConexion;
+    }
+
+    @Override
+    public String toString() {
+        return "PerfilExportado{" +
+                "idPerfilUsuario=" + perfil.getIdPerfilUsuario() +
+                ", idUsuario=" + perfil.getIdUsuario() +
+                ", rol='" + rol + '\'' +
+                '}';
+    }
+}
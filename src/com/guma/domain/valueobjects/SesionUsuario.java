@@ -0,0 +1,86 @@
+package com.guma.domain.valueobjects;
+
+import java.util.Objects;
+
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.entities.Rol;
+import com.guma.domain.entities.Usuario;
+
+/**
+ * Value Object que agrupa los datos necesarios para abrir una sesión:
+ * el usuario, su perfil y su rol.
+ *
+ * Se obtiene con una única consulta (USUARIOS + PERFIL_USUARIOS + ROLES)
+ * para que el login no dependa de varios viajes a la base de datos.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class SesionUsuario {
+
+    private final Usuario usuario;
+    private final PerfilUsuario perfil;
+    private final Rol rol;
+
+    /**
+     * Constructor completo.
+     *
+     * @param usuario el usuario autenticable (obligatorio)
+     * @param perfil  el perfil del usuario (null si aún no tiene)
+     * @param rol     el rol del usuario (null si no se pudo resolver)
+     * @throws IllegalArgumentException si el usuario es nulo
+     */
+    public SesionUsuario(Usuario usuario, PerfilUsuario perfil, Rol rol) {
+        if (usuario == null) {
+            throw new IllegalArgumentException("El usuario de la sesión no puede ser nulo");
+        }
+        this.usuario = usuario;
+        this.perfil = perfil;
+        this.rol = rol;
+    }
+
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
+    public PerfilUsuario getPerfil() {
+        return perfil;
+    }
+
+    public Rol getRol() {
+        return rol;
+    }
+
+    /**
+     * Verifica si la sesión incluye el perfil del usuario.
+     *
+     * @return true si el usuario tiene perfil
+     */
+    public boolean tienePerfil() {
+        return perfil != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        SesionUsuario that = (SesionUsuario) o;
+        return Objects.equals(usuario, that.usuario);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(usuario);
+    }
+
+    @Override
+    public String toString() {
+        return "SesionUsuario{" +
+                "usuario=" + usuario +
+                ", perfil=" + perfil +
+                ", rol=" + rol +
+                '}';
+    }
+}
@@ -1,5 +1,7 @@
 package com.guma.frontend.adapter;
 
+import java.util.logging.Logger;
+
 import com.guma.application.facade.AuthFacade;
 import com.guma.application.facade.impl.AuthFacadeImpl;
 import com.guma.frontend.dto.ErrorFrontendDTO;
@@ -24,6 +26,8 @@ import com.guma.frontend.dto.UsuarioFrontendDTO;
  */
 public class AuthFacadeAdapter {
 
+    private static final Logger LOGGER = Logger.getLogger(AuthFacadeAdapter.class.getName());
+
     private final AuthFacade backendFacade;
 
     /**
@@ -82,7 +86,7 @@ public class AuthFacadeAdapter {
      */
     public void cerrarSesion(int usuarioId) {
         // En el futuro, esto podría actualizar última conexión
-        System.out.println("Sesión cerrada para usuario: " + usuarioId);
+        LOGGER.fine(() -> "Sesión cerrada para usuario: " + usuarioId);
     }
 
     // ==================== MÉTODOS DE CONVERSIÓN ====================
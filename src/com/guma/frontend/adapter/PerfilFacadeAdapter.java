@@ -1,5 +1,10 @@
 package com.guma.frontend.adapter;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 import com.guma.application.dto.*;
 import com.guma.application.facade.PerfilFacade;
 import com.guma.application.facade.impl.PerfilFacadeImpl;
@@ -57,6 +62,33 @@ public class PerfilFacadeAdapter {
         return convertirResultadoPerfil(resultadoBackend);
     }
     
+    /**
+     * Actualiza un perfil de usuario con la foto elegida en disco.
+     * La foto se copia al almacenamiento por partes, sin cargarla entera en
+     * memoria.
+     * 
+     * @param dtoFrontend DTO del perfil con datos actualizados
+     * @param foto        Archivo de la nueva foto
+     */
+    public ResultadoFrontendDTO<PerfilUsuarioFrontendDTO> actualizarPerfil(
+            PerfilUsuarioFrontendDTO dtoFrontend, Path foto) {
+        if (foto == null) {
+            return actualizarPerfil(dtoFrontend);
+        }
+        
+        com.guma.application.dto.PerfilUsuarioDTO dtoBackend = convertirPerfilDTO(dtoFrontend);
+        
+        try (FileChannel canal = FileChannel.open(foto, StandardOpenOption.READ)) {
+            com.guma.application.dto.ResultadoDTO<com.guma.application.dto.PerfilUsuarioDTO> resultadoBackend = 
+                    backendFacade.actualizar(dtoBackend, canal, foto.getFileName().toString());
+            
+            return convertirResultadoPerfil(resultadoBackend);
+        } catch (IOException e) {
+            return convertirResultadoPerfil(com.guma.application.dto.ResultadoDTO.error(
+                    "No se pudo leer la foto: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Obtiene el perfil de un usuario por su ID.
      */
@@ -67,6 +99,23 @@ public class PerfilFacadeAdapter {
         return convertirResultadoPerfil(resultadoBackend);
     }
     
+    /**
+     * Lee una foto para mostrarla en un cuadrado del lado indicado (la
+     * variante reducida si existe, si no el original).
+     *
+     * @param link Link de la imagen (fotoPerfilUrl del perfil)
+     * @param lado Lado en píxeles en que se va a mostrar
+     * @return bytes de la imagen
+     * @throws IOException si no se pudo leer
+     */
+    public byte[] leerFoto(String link, int lado) throws IOException {
+        com.guma.application.dto.ResultadoDTO<byte[]> resultado = backendFacade.obtenerFoto(link, lado);
+        if (!resultado.isExito()) {
+            throw new IOException(resultado.getMensajePrimerError());
+        }
+        return resultado.getDato();
+    }
+
     // === MÉTODOS PRIVADOS DE CONVERSIÓN ===
     
     private com.guma.application.dto.PerfilUsuarioDTO convertirPerfilDTO(
@@ -97,8 +146,9 @@ public class PerfilFacadeAdapter {
         // Foto de perfil (ID de la imagen) - solo si existe en frontend
         dtoBackend.setFotoPerfilId(dtoFrontend.getFotoPerfil());
         
-        // Estado
+        // Estado y versión leída (para detectar ediciones concurrentes)
         dtoBackend.setVerificado(dtoFrontend.isVerificado());
+        dtoBackend.setVersion(dtoFrontend.getVersion());
         
         return dtoBackend;
     }
@@ -163,6 +213,7 @@ public class PerfilFacadeAdapter {
         // Estado y última conexión
         dtoFrontend.setVerificado(dtoBackend.isVerificado());
         dtoFrontend.setUltimaConexion(dtoBackend.getUltimaConexion());
+        dtoFrontend.setVersion(dtoBackend.getVersion());
         
         return dtoFrontend;
     }
@@ -31,6 +31,7 @@ public class PerfilUsuarioFrontendDTO {
     private Integer idRol;
     private String rolNombre; // Para mostrar en UI
     private LocalDateTime ultimaConexion;
+    private Integer version; // Versión leída, se devuelve al guardar
     
     // Constructor vacío
     public PerfilUsuarioFrontendDTO() {
@@ -214,6 +215,14 @@ public class PerfilUsuarioFrontendDTO {
         this.ultimaConexion = ultimaConexion;
     }
     
+    public Integer getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return "PerfilUsuarioFrontendDTO{" +
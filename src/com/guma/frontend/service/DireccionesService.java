@@ -9,6 +9,8 @@ import com.guma.frontend.dto.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Servicio para gestion de direcciones.
@@ -19,6 +21,8 @@ import java.util.List;
  */
 public class DireccionesService {
     
+    private static final Logger LOGGER = Logger.getLogger(DireccionesService.class.getName());
+    
     private final DireccionFacade direccionFacade;
     
     /**
@@ -43,32 +47,26 @@ public class DireccionesService {
      */
     public DireccionFrontendDTO crearDireccion(NuevaDireccionFrontendRequest request) {
         try {
-            System.out.println("=== INICIANDO CREACION DE DIRECCION ===");
-            System.out.println("Request - Localidad ID: " + request.getIdLocalidad() + 
-                             ", Calle: " + request.getCalle() + ", Numero: " + request.getNumero());
+            LOGGER.fine(() -> "Creando direccion - Localidad ID: " + request.getIdLocalidad());
             
             DireccionDTO dto = DireccionAdapter.toApplicationDTO(request);
-            System.out.println("DTO Aplicacion - Localidad ID: " + dto.getIdLocalidad());
             
             ResultadoDTO<DireccionDTO> resultado = direccionFacade.crear(dto);
             
             if (resultado.isExito()) {
-                System.out.println("Direccion creada exitosamente");
                 DireccionDTO creada = resultado.getDato();
-                System.out.println("ID generado: " + creada.getIdDireccion());
-                System.out.println("Display: " + creada.getDisplayCompleto());
+                LOGGER.fine(() -> "Direccion creada con ID " + creada.getIdDireccion());
                 
                 return DireccionAdapter.toFrontendDTO(creada);
             } else {
                 String error = resultado.getMensajePrimerError();
-                System.err.println("Error al crear direccion: " + error);
+                LOGGER.warning(() -> "Error al crear direccion: " + error);
                 throw new RuntimeException(error);
             }
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
-            System.err.println("Error inesperado: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.log(Level.WARNING, "Error inesperado en direcciones", e);
             throw new RuntimeException("Error inesperado: " + e.getMessage(), e);
         }
     }
@@ -80,12 +78,11 @@ public class DireccionesService {
             if (resultado.isExito()) {
                 return CatalogoGeograficoAdapter.toPaisesFrontendList(resultado.getDato());
             } else {
-                System.err.println("Error al obtener paises: " + resultado.getMensajePrimerError());
+                LOGGER.warning(() -> "Error al obtener paises: " + resultado.getMensajePrimerError());
                 return new ArrayList<>();
             }
         } catch (Exception e) {
-            System.err.println("Error inesperado: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.log(Level.WARNING, "Error inesperado en direcciones", e);
             return new ArrayList<>();
         }
     }
@@ -97,12 +94,11 @@ public class DireccionesService {
             if (resultado.isExito()) {
                 return CatalogoGeograficoAdapter.toProvinciasFrontendList(resultado.getDato());
             } else {
-                System.err.println("Error al obtener provincias: " + resultado.getMensajePrimerError());
+                LOGGER.warning(() -> "Error al obtener provincias: " + resultado.getMensajePrimerError());
                 return new ArrayList<>();
             }
         } catch (Exception e) {
-            System.err.println("Error inesperado: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.log(Level.WARNING, "Error inesperado en direcciones", e);
             return new ArrayList<>();
         }
     }
@@ -114,12 +110,11 @@ public class DireccionesService {
             if (resultado.isExito()) {
                 return CatalogoGeograficoAdapter.toLocalidadesFrontendList(resultado.getDato());
             } else {
-                System.err.println("Error al obtener localidades: " + resultado.getMensajePrimerError());
+                LOGGER.warning(() -> "Error al obtener localidades: " + resultado.getMensajePrimerError());
                 return new ArrayList<>();
             }
         } catch (Exception e) {
-            System.err.println("Error inesperado: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.log(Level.WARNING, "Error inesperado en direcciones", e);
             return new ArrayList<>();
         }
     }
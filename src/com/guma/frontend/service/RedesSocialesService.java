@@ -2,6 +2,8 @@ package com.guma.frontend.service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.guma.application.dto.RedSocialDTO;
 import com.guma.application.dto.ResultadoDTO;
@@ -20,6 +22,8 @@ import com.guma.frontend.dto.RedSocialFrontendDTO;
  */
 public class RedesSocialesService {
 
+    private static final Logger LOGGER = Logger.getLogger(RedesSocialesService.class.getName());
+
     private final RedSocialFacade redSocialFacade;
 
     /**
@@ -65,8 +69,7 @@ public class RedesSocialesService {
             // Re-lanzar para que el UI la maneje
             throw e;
         } catch (Exception e) {
-            System.err.println("Error inesperado al crear red social: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.log(Level.SEVERE, "Error inesperado al crear red social", e);
             throw new IllegalArgumentException("Error al crear red social: " + e.getMessage());
         }
     }
@@ -83,12 +86,11 @@ public class RedesSocialesService {
             if (resultado.isExito()) {
                 return RedSocialAdapter.toFrontendDTOList(resultado.getDato());
             } else {
-                System.err.println("Error al obtener redes sociales: " + resultado.getMensajePrimerError());
+                LOGGER.warning("Error al obtener redes sociales: " + resultado.getMensajePrimerError());
                 return new ArrayList<>();
             }
         } catch (Exception e) {
-            System.err.println("Error inesperado al obtener redes sociales: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.log(Level.SEVERE, "Error inesperado al obtener redes sociales", e);
             return new ArrayList<>();
         }
     }
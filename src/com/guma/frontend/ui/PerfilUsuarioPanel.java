@@ -3,6 +3,7 @@ package com.guma.frontend.ui;
 import com.guma.frontend.dto.*;
 import com.guma.frontend.service.*;
 import com.guma.frontend.ui.dialogs.*;
+import com.guma.frontend.util.CacheImagenes;
 import com.guma.frontend.util.ValidationUtils;
 
 import javax.swing.*;
@@ -37,6 +38,7 @@ public class PerfilUsuarioPanel extends JPanel {
     private static final Color COLOR_TEXT_MUTED = new Color(107, 114, 128);  // #6B7280
     private static final Color COLOR_BORDER_NORMAL = new Color(209, 213, 219);  // #D1D5DB
     private static final Color COLOR_DISABLED_BG = new Color(243, 244, 246);  // #F3F4F6
+    private static final int LADO_FOTO = 96;  // Lado de la miniatura en píxeles
     
     // Componentes de Foto de Perfil
     private JLabel lblFotoMiniatura;
@@ -101,7 +103,7 @@ public class PerfilUsuarioPanel extends JPanel {
         
         // Miniatura 96x96
         lblFotoMiniatura = new JLabel();
-        lblFotoMiniatura.setPreferredSize(new Dimension(96, 96));
+        lblFotoMiniatura.setPreferredSize(new Dimension(LADO_FOTO, LADO_FOTO));
         lblFotoMiniatura.setHorizontalAlignment(SwingConstants.CENTER);
         lblFotoMiniatura.setVerticalAlignment(SwingConstants.CENTER);
         lblFotoMiniatura.setBorder(BorderFactory.createCompoundBorder(
@@ -723,11 +725,29 @@ public class PerfilUsuarioPanel extends JPanel {
         }
         
         // Foto de perfil
-        if (perfilActual.getFotoPerfilUrl() != null && !perfilActual.getFotoPerfilUrl().isEmpty()) {
-            // TODO: Cargar imagen real cuando esté implementado
-            lblFotoMiniatura.setText("");  // Quitar emoji placeholder
-            lblFotoMiniatura.setToolTipText("Haz clic en Cambiar para actualizar tu foto");
+        mostrarFoto(perfilActual.getFotoPerfilUrl());
+    }
+    
+    /**
+     * Muestra la foto en la miniatura. Si no está en la cache de imágenes se
+     * deja el placeholder y se reemplaza cuando termina de cargarse (salvo
+     * que mientras tanto haya cambiado la foto del perfil).
+     */
+    private void mostrarFoto(String link) {
+        if (link == null || link.isEmpty()) {
+            lblFotoMiniatura.setIcon(null);
+            lblFotoMiniatura.setText("👤");  // Placeholder
+            return;
         }
+        ImageIcon icono = CacheImagenes.getInstancia().obtener(link, LADO_FOTO, null, cargado -> {
+            if (perfilActual != null && link.equals(perfilActual.getFotoPerfilUrl())) {
+                lblFotoMiniatura.setIcon(cargado);
+                lblFotoMiniatura.setText("");
+            }
+        });
+        lblFotoMiniatura.setIcon(icono);
+        lblFotoMiniatura.setText(icono != null ? "" : "👤");
+        lblFotoMiniatura.setToolTipText("Haz clic en Cambiar para actualizar tu foto");
     }
     
     private boolean validarFormulario() {
@@ -860,6 +880,7 @@ public class PerfilUsuarioPanel extends JPanel {
         // Siempre conservar el ID del perfil existente
         perfil.setId(perfilActual.getId());
         perfil.setIdUsuario(perfilActual.getIdUsuario());
+        perfil.setVersion(perfilActual.getVersion());
         
         return perfil;
     }
@@ -993,11 +1014,14 @@ public class PerfilUsuarioPanel extends JPanel {
      * @param urlImagen URL de la imagen o null para placeholder
      */
     public void actualizarFotoPerfil(String urlImagen) {
-        // TODO: Cargar imagen desde URL cuando esté implementado
-        // Por ahora, solo actualizar el DTO
         if (perfilActual != null) {
             perfilActual.setFotoPerfilUrl(urlImagen);
         }
+        if (urlImagen != null) {
+            // El contenido de un link puede haber cambiado (reemplazo en el lugar)
+            CacheImagenes.getInstancia().invalidar(urlImagen);
+        }
+        mostrarFoto(urlImagen);
     }
     
     /**
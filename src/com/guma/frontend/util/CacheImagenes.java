@@ -0,0 +1,359 @@
+package com.guma.frontend.util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+import com.guma.frontend.adapter.PerfilFacadeAdapter;
+import com.guma.util.LectorImagenes;
+
+/**
+ * Cache de imágenes ya decodificadas y reducidas para mostrar en la UI.
+ *
+ * Las entradas se identifican por el link de la imagen (Image.link) y el
+ * lado en píxeles del cuadrado en que se muestran. El límite es la memoria
+ * de los píxeles decodificados (no la cantidad de imágenes): al superarlo se
+ * desalojan las usadas hace más tiempo (LRU).
+ *
+ * obtener() nunca lee ni decodifica en el hilo que llama (normalmente el
+ * EDT): si la imagen está en cache la devuelve; si no, devuelve el
+ * placeholder, la carga en segundo plano y entrega el icono al callback en
+ * el EDT. Las fotos grandes se decodifican submuestreadas cerca del lado
+ * pedido ({@link LectorImagenes}), sin pasar por la imagen completa en
+ * memoria. Varios pedidos de la misma imagen mientras se carga comparten una
+ * sola lectura. invalidar() y limpiar() descartan también las cargas en
+ * curso: su resultado no se guarda ni se entrega, y el siguiente pedido
+ * vuelve a leer la imagen.
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class CacheImagenes {
+
+    private static final Logger LOGGER = Logger.getLogger(CacheImagenes.class.getName());
+
+    /** Límite por defecto: 32 MB de píxeles decodificados. */
+    public static final long MAX_BYTES_DEFECTO = 32L * 1024 * 1024;
+    private static final int HILOS_DEFECTO = 2;
+
+    private static CacheImagenes instancia;
+
+    /**
+     * Lee los bytes de una imagen.
+     */
+    @FunctionalInterface
+    public interface Cargador {
+
+        /**
+         * @param link link de la imagen
+         * @param lado lado en píxeles en que se va a mostrar (permite leer
+         *             una variante reducida en lugar del original)
+         * @return bytes de la imagen codificada
+         * @throws IOException si no se pudo leer
+         */
+        byte[] leer(String link, int lado) throws IOException;
+    }
+
+    private final Cargador cargador;
+    private final long maxBytes;
+    private final ExecutorService executor;
+
+    // Ambos protegidos por this
+    private final LinkedHashMap<Clave, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Clave, List<Consumer<ImageIcon>>> enCurso = new HashMap<>();
+    private long bytes;
+
+    private long aciertos;
+    private long desaciertos;
+    private long desalojos;
+    private long errores;
+
+    /**
+     * @param cargador lectura de los bytes de las imágenes
+     * @param maxBytes memoria máxima de píxeles decodificados
+     * @param hilos    hilos que leen y decodifican
+     */
+    public CacheImagenes(Cargador cargador, long maxBytes, int hilos) {
+        if (cargador == null) {
+            throw new IllegalArgumentException("El cargador no puede ser nulo");
+        }
+        if (maxBytes <= 0 || hilos <= 0) {
+            throw new IllegalArgumentException("Límite o hilos inválidos: " + maxBytes + ", " + hilos);
+        }
+        this.cargador = cargador;
+        this.maxBytes = maxBytes;
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(hilos, r -> {
+            Thread t = new Thread(r, "guma-imagenes-" + numero.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Cache compartida de la aplicación, que lee las fotos (o sus variantes
+     * reducidas) a través de {@link PerfilFacadeAdapter}.
+     *
+     * @return instancia única
+     */
+    public static synchronized CacheImagenes getInstancia() {
+        if (instancia == null) {
+            instancia = new CacheImagenes(new CargadorFotos(), MAX_BYTES_DEFECTO, HILOS_DEFECTO);
+        }
+        return instancia;
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Obtiene una imagen reducida para mostrarla en un cuadrado del lado
+     * indicado.
+     *
+     * @param link        link de la imagen
+     * @param lado        lado en píxeles del cuadrado
+     * @param placeholder icono a mostrar mientras se carga (puede ser null)
+     * @param alCargar    recibe el icono en el EDT cuando se termina de
+     *                    cargar (solo si no estaba en cache; puede ser null)
+     * @return el icono si está en cache, si no el placeholder
+     */
+    public ImageIcon obtener(String link, int lado, ImageIcon placeholder, Consumer<ImageIcon> alCargar) {
+        if (link == null || link.isEmpty() || lado <= 0) {
+            throw new IllegalArgumentException("Link o lado inválidos: " + link + ", " + lado);
+        }
+        Clave clave = new Clave(link, lado);
+        List<Consumer<ImageIcon>> esperando;
+        synchronized (this) {
+            Entrada entrada = entradas.get(clave);
+            if (entrada != null) {
+                aciertos++;
+                return entrada.icono;
+            }
+            desaciertos++;
+            esperando = enCurso.get(clave);
+            if (esperando != null) {
+                if (alCargar != null) {
+                    esperando.add(alCargar);
+                }
+                return placeholder;
+            }
+            esperando = new ArrayList<>(1);
+            if (alCargar != null) {
+                esperando.add(alCargar);
+            }
+            enCurso.put(clave, esperando);
+        }
+        List<Consumer<ImageIcon>> carga = esperando;
+        executor.execute(() -> cargar(clave, carga));
+        return placeholder;
+    }
+
+    /**
+     * Quita de la cache todos los tamaños de una imagen (por ejemplo
+     * después de cambiar el contenido de un link). Las cargas en curso de
+     * ese link se descartan: pueden haber leído el contenido anterior, así
+     * que no se guardan ni llaman a sus callbacks.
+     *
+     * @param link link de la imagen
+     */
+    public synchronized void invalidar(String link) {
+        Iterator<Map.Entry<Clave, Entrada>> it = entradas.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Clave, Entrada> entrada = it.next();
+            if (entrada.getKey().link.equals(link)) {
+                bytes -= entrada.getValue().bytes;
+                it.remove();
+            }
+        }
+        enCurso.keySet().removeIf(clave -> clave.link.equals(link));
+    }
+
+    /**
+     * Vacía la cache y descarta las cargas en curso.
+     */
+    public synchronized void limpiar() {
+        entradas.clear();
+        enCurso.clear();
+        bytes = 0;
+    }
+
+    // ==================== CARGA ====================
+
+    /**
+     * @param esperando callbacks de esta carga; si ya no es la lista en curso
+     *                  de la clave, la carga fue invalidada mientras leía y
+     *                  su resultado se descarta
+     */
+    private void cargar(Clave clave, List<Consumer<ImageIcon>> esperando) {
+        ImageIcon icono = null;
+        try {
+            BufferedImage imagen = LectorImagenes.leerReducida(cargador.leer(clave.link, clave.lado), clave.lado);
+            if (imagen == null) {
+                throw new IOException("Formato de imagen no soportado");
+            }
+            icono = new ImageIcon(imagen);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se pudo cargar la imagen " + clave.link, e);
+        }
+        synchronized (this) {
+            if (enCurso.get(clave) != esperando) {
+                return;
+            }
+            enCurso.remove(clave);
+            if (icono != null) {
+                guardar(clave, icono);
+            } else {
+                errores++;
+            }
+        }
+        if (icono != null && !esperando.isEmpty()) {
+            ImageIcon cargado = icono;
+            SwingUtilities.invokeLater(() -> esperando.forEach(callback -> callback.accept(cargado)));
+        }
+    }
+
+    /**
+     * Agrega la entrada y desaloja las menos usadas hasta volver al límite.
+     * Una imagen más grande que todo el límite se entrega sin guardarla.
+     */
+    private void guardar(Clave clave, ImageIcon icono) {
+        long tamanio = bytesDecodificados((BufferedImage) icono.getImage());
+        if (tamanio > maxBytes) {
+            return;
+        }
+        Entrada anterior = entradas.put(clave, new Entrada(icono, tamanio));
+        if (anterior != null) {
+            bytes -= anterior.bytes;
+        }
+        bytes += tamanio;
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= it.next().bytes;
+            it.remove();
+            desalojos++;
+        }
+    }
+
+    private static long bytesDecodificados(BufferedImage imagen) {
+        DataBuffer datos = imagen.getRaster().getDataBuffer();
+        return (long) datos.getSize() * datos.getNumBanks() * DataBuffer.getDataTypeSize(datos.getDataType()) / 8;
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long getDesaciertos() {
+        return desaciertos;
+    }
+
+    public synchronized long getDesalojos() {
+        return desalojos;
+    }
+
+    /**
+     * @return imágenes que no se pudieron leer o decodificar
+     */
+    public synchronized long getErrores() {
+        return errores;
+    }
+
+    /**
+     * @return memoria de píxeles decodificados en cache
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized int getEntradas() {
+        return entradas.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CacheImagenes[entradas=" + entradas.size() + ", bytes=" + bytes + "/" + maxBytes
+                + ", aciertos=" + aciertos + ", desaciertos=" + desaciertos + ", desalojos=" + desalojos
+                + ", errores=" + errores + "]";
+    }
+
+    // ==================== CLASES INTERNAS ====================
+
+    private static final class Clave {
+        private final String link;
+        private final int lado;
+
+        private Clave(String link, int lado) {
+            this.link = link;
+            this.lado = lado;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Clave)) {
+                return false;
+            }
+            Clave otra = (Clave) o;
+            return lado == otra.lado && link.equals(otra.link);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(link, lado);
+        }
+    }
+
+    private static final class Entrada {
+        private final ImageIcon icono;
+        private final long bytes;
+
+        private Entrada(ImageIcon icono, long bytes) {
+            this.icono = icono;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Cargador de la cache compartida. El adapter (y con él los servicios
+     * del backend) se crea en el primer uso, en un hilo de carga y no en el
+     * EDT.
+     */
+    private static final class CargadorFotos implements Cargador {
+        private PerfilFacadeAdapter adapter;
+
+        @Override
+        public byte[] leer(String link, int lado) throws IOException {
+            return adapter().leerFoto(link, lado);
+        }
+
+        private synchronized PerfilFacadeAdapter adapter() {
+            if (adapter == null) {
+                adapter = new PerfilFacadeAdapter();
+            }
+            return adapter;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.guma.test;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import com.guma.util.LectorImagenes;
+
+/**
+ * Benchmark de la lectura de fotos grandes para mostrarlas reducidas.
+ *
+ * Compara, para cada lado pedido, el camino ingenuo (ImageIO.read de la
+ * foto completa más getScaledInstance con SCALE_SMOOTH) con
+ * {@link LectorImagenes} (encabezado, decodificación submuestreada y
+ * reducción bilineal). Mide el tiempo medio, el pico de heap y los bytes
+ * asignados de cada lectura. El pico sale de los MemoryPoolMXBean de heap,
+ * reiniciados antes de cada medición después de un GC, así que es
+ * aproximado (no ve lo que queda en los TLAB) pero comparable entre
+ * escenarios; los bytes asignados son exactos, del hilo que lee.
+ *
+ * Sin archivo se genera una foto JPEG sintética del tamaño indicado.
+ *
+ * Uso: java com.guma.test.BenchmarkImagenes [archivo | megapíxeles] [repeticiones]
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class BenchmarkImagenes {
+
+    private static final int[] LADOS = { 96, 256 };
+
+    private final byte[] foto;
+    private final int repeticiones;
+
+    private BenchmarkImagenes(byte[] foto, int repeticiones) {
+        this.foto = foto;
+        this.repeticiones = repeticiones;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String origen = args.length > 0 ? args[0] : "24";
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        byte[] foto;
+        if (Files.isRegularFile(Paths.get(origen))) {
+            foto = Files.readAllBytes(Paths.get(origen));
+        } else {
+            foto = generarFoto(Double.parseDouble(origen));
+        }
+
+        BenchmarkImagenes benchmark = new BenchmarkImagenes(foto, repeticiones);
+        try (LectorImagenes lector = LectorImagenes.abrir(new ByteArrayInputStream(foto))) {
+            if (lector == null) {
+                System.out.println("Formato de imagen no soportado: " + origen);
+                return;
+            }
+            System.out.println(String.format("GUMA - Benchmark de imágenes: %dx%d %s (%.1f MP, %d KB), %d repeticiones",
+                    lector.getAncho(), lector.getAlto(), lector.getFormato(),
+                    lector.getAncho() * (double) lector.getAlto() / 1_000_000, foto.length / 1024, repeticiones));
+        }
+        System.out.println(String.format("%-28s %12s %14s %14s", "escenario", "ms/imagen", "pico heap MB",
+                "asignado MB"));
+
+        for (int lado : LADOS) {
+            benchmark.ejecutar("completa + scaled (" + lado + ")", () -> completaEscalada(foto, lado));
+            benchmark.ejecutar("submuestreada (" + lado + ")", () -> LectorImagenes.leerReducida(foto, lado));
+        }
+    }
+
+    private interface Lectura {
+        BufferedImage leer() throws IOException;
+    }
+
+    private void ejecutar(String nombre, Lectura lectura) throws IOException {
+        // Calentamiento: carga de clases y JIT fuera de la medición
+        lectura.leer();
+
+        long pico = 0;
+        long nanos = 0;
+        long asignados = 0;
+        for (int i = 0; i < repeticiones; i++) {
+            long base = reiniciarPicos();
+            long asignadosAntes = bytesAsignados();
+            long inicio = System.nanoTime();
+            BufferedImage imagen = lectura.leer();
+            nanos += System.nanoTime() - inicio;
+            asignados += bytesAsignados() - asignadosAntes;
+            pico = Math.max(pico, picoHeap() - base);
+            if (imagen == null) {
+                throw new IOException("La lectura no devolvió imagen");
+            }
+        }
+        System.out.println(String.format("%-28s %12.1f %14.1f %14.1f", nombre,
+                nanos / 1_000_000.0 / repeticiones, pico / (1024.0 * 1024.0),
+                asignados / (1024.0 * 1024.0) / repeticiones));
+    }
+
+    /**
+     * Camino ingenuo: foto completa en memoria y getScaledInstance, forzando
+     * el escalado (que es perezoso) al dibujarlo.
+     */
+    private static BufferedImage completaEscalada(byte[] foto, int lado) throws IOException {
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(foto));
+        double escala = (double) lado / Math.max(original.getWidth(), original.getHeight());
+        int ancho = Math.max(1, (int) Math.round(original.getWidth() * escala));
+        int alto = Math.max(1, (int) Math.round(original.getHeight() * escala));
+        Image escalada = original.getScaledInstance(ancho, alto, Image.SCALE_SMOOTH);
+        BufferedImage resultado = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resultado.createGraphics();
+        try {
+            g.drawImage(escalada, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return resultado;
+    }
+
+    // ==================== MEDICIÓN DE HEAP ====================
+
+    /**
+     * GC y reinicio de los picos de los pools de heap.
+     *
+     * @return heap en uso después del GC
+     */
+    private static long reiniciarPicos() {
+        System.gc();
+        long usado = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                usado += pool.getUsage().getUsed();
+            }
+        }
+        return usado;
+    }
+
+    private static long picoHeap() {
+        long pico = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pico += pool.getPeakUsage().getUsed();
+            }
+        }
+        return pico;
+    }
+
+    /**
+     * @return bytes asignados por el hilo actual, o 0 si la JVM no lo mide
+     */
+    private static long bytesAsignados() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    // ==================== FOTO SINTÉTICA ====================
+
+    /**
+     * Genera un JPEG 4:3 con degradé y ruido (para que la compresión se
+     * parezca a la de una foto y no a un color plano).
+     */
+    private static byte[] generarFoto(double megapixeles) throws IOException {
+        int ancho = (int) Math.round(Math.sqrt(megapixeles * 1_000_000 * 4 / 3));
+        int alto = ancho * 3 / 4;
+        BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagen.createGraphics();
+        try {
+            g.setPaint(new GradientPaint(0, 0, new Color(236, 72, 153), ancho, alto, new Color(30, 64, 175)));
+            g.fillRect(0, 0, ancho, alto);
+            Random random = new Random(42);
+            for (int i = 0; i < 4000; i++) {
+                g.setColor(new Color(random.nextInt(0x1000000)));
+                int lado = 8 + random.nextInt(ancho / 20);
+                g.fillOval(random.nextInt(ancho), random.nextInt(alto), lado, lado);
+            }
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ImageIO.write(imagen, "jpg", salida);
+        return salida.toByteArray();
+    }
+}
@@ -0,0 +1,188 @@
+package com.guma.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import com.guma.application.factory.ServiceFactory;
+import com.guma.backend.ports.PerfilUsuarioRepository;
+import com.guma.backend.ports.UsuarioRepository;
+import com.guma.data.embedded.MotorEmbebido;
+import com.guma.data.memory.AlmacenMemoria;
+import com.guma.data.memory.UnitOfWorkMemoria;
+import com.guma.domain.entities.PerfilUsuario;
+import com.guma.domain.entities.Usuario;
+import com.guma.domain.transaction.UnitOfWork;
+import com.guma.domain.valueobjects.Email;
+import com.guma.domain.valueobjects.Password;
+
+/**
+ * Benchmark de throughput del motor embebido frente a los otros adaptadores.
+ *
+ * Cada escenario registra N usuarios con su perfil (una transacción por
+ * registro, desde varios hilos), los busca por email y actualiza cada
+ * perfil. Escenarios:
+ * - memoria: repositorios en memoria sin diario (techo teórico)
+ * - embebido (fsync): motor embebido con cada commit en disco
+ * - embebido (sin fsync): motor embebido confiando en la cache del SO
+ * - jdbc: adaptadores JDBC de ServiceFactory (solo con --jdbc; inserta
+ *   filas reales en la base configurada)
+ * Para el motor embebido también mide cuántos commits cubre cada fsync y el
+ * tiempo de recuperación al reabrir (replay del log y después de compactar).
+ *
+ * Uso: java com.guma.test.BenchmarkMotorEmbebido [registros] [hilos] [--jdbc]
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public class BenchmarkMotorEmbebido {
+
+    // Hash BCrypt fijo: el benchmark mide persistencia, no hashing
+    private static final Password PASSWORD = Password.desdeHash(
+            "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy");
+
+    private final int registros;
+    private final int hilos;
+
+    private BenchmarkMotorEmbebido(int registros, int hilos) {
+        this.registros = registros;
+        this.hilos = hilos;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int registros = args.length > 0 && !args[0].startsWith("--") ? Integer.parseInt(args[0]) : 20000;
+        int hilos = args.length > 1 && !args[1].startsWith("--") ? Integer.parseInt(args[1]) : 8;
+        boolean jdbc = false;
+        for (String arg : args) {
+            jdbc |= "--jdbc".equals(arg);
+        }
+        BenchmarkMotorEmbebido benchmark = new BenchmarkMotorEmbebido(registros, hilos);
+
+        System.out.println("GUMA - Benchmark de persistencia: " + registros + " registros, " + hilos + " hilos");
+        System.out.println(String.format("%-22s %14s %14s %14s", "escenario", "altas/s", "lecturas/s", "updates/s"));
+
+        AlmacenMemoria memoria = new AlmacenMemoria();
+        benchmark.ejecutar("memoria", new UnitOfWorkMemoria(), memoria.getUsuarios(), memoria.getPerfiles());
+
+        benchmark.ejecutarEmbebido(true);
+        benchmark.ejecutarEmbebido(false);
+
+        if (jdbc) {
+            if (ServiceFactory.usarMemoria()) {
+                System.out.println("jdbc: omitido (persistencia no es jdbc en application.properties)");
+            } else {
+                benchmark.ejecutar("jdbc", ServiceFactory.getUnitOfWork(), ServiceFactory.getUsuarioRepository(),
+                        ServiceFactory.getPerfilUsuarioRepository());
+                ServiceFactory.reset();
+            }
+        }
+    }
+
+    private void ejecutarEmbebido(boolean fsync) throws Exception {
+        Path directorio = Files.createTempDirectory("guma-embebido");
+        String nombre = fsync ? "embebido (fsync)" : "embebido (sin fsync)";
+        try {
+            try (MotorEmbebido motor = new MotorEmbebido(directorio, fsync, 0, 1000)) {
+                AlmacenMemoria almacen = motor.getAlmacen();
+                ejecutar(nombre, new UnitOfWorkMemoria(), almacen.getUsuarios(), almacen.getPerfiles());
+                System.out.println(String.format("    %d commits, %d fsync (%.1f commits por fsync)",
+                        motor.getLotesEscritos(), motor.getSincronizaciones(),
+                        motor.getSincronizaciones() > 0
+                                ? (double) motor.getLotesEscritos() / motor.getSincronizaciones() : 0.0));
+            }
+            try (MotorEmbebido motor = new MotorEmbebido(directorio, fsync, 0, 1000)) {
+                System.out.println(String.format("    recuperación desde el log: %d filas en %d ms",
+                        motor.getFilasRecuperadas(), motor.getMilisRecuperacion()));
+                motor.compactar();
+            }
+            try (MotorEmbebido motor = new MotorEmbebido(directorio, fsync, 0, 1000)) {
+                System.out.println(String.format("    recuperación desde la instantánea: %d filas en %d ms",
+                        motor.getFilasRecuperadas(), motor.getMilisRecuperacion()));
+            }
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    private void ejecutar(String nombre, UnitOfWork unitOfWork, UsuarioRepository usuarios,
+            PerfilUsuarioRepository perfiles) throws Exception {
+        String prefijo = UUID.randomUUID().toString().substring(0, 8);
+        Integer[] idsPerfil = new Integer[registros];
+
+        double altas = medir(i -> {
+            idsPerfil[i] = unitOfWork.execute(conn -> {
+                Usuario usuario = usuarios.save(new Usuario(email(prefijo, i), PASSWORD, 3), conn);
+                PerfilUsuario perfil = new PerfilUsuario(usuario.getIdUsuario(), 1, dni(prefijo, i), "Nombre",
+                        "Apellido", LocalDate.of(1990, 1, 1), email(prefijo, i).getValor());
+                return perfiles.save(perfil, conn).getIdPerfilUsuario();
+            });
+        });
+        double lecturas = medir(i -> usuarios.findByEmail(email(prefijo, i))
+                .orElseThrow(() -> new IllegalStateException("Usuario no encontrado")));
+        double updates = medir(i -> unitOfWork.execute(conn -> {
+            PerfilUsuario perfil = perfiles.findById(idsPerfil[i])
+                    .orElseThrow(() -> new IllegalStateException("Perfil no encontrado"));
+            perfil.setTelefono("11" + i);
+            return perfiles.update(perfil, conn);
+        }));
+        System.out.println(String.format("%-22s %14.0f %14.0f %14.0f", nombre, altas, lecturas, updates));
+    }
+
+    /**
+     * Operación numerada del benchmark.
+     */
+    private interface Operacion {
+        void ejecutar(int i) throws Exception;
+    }
+
+    /**
+     * Reparte las operaciones 0..registros-1 entre los hilos.
+     *
+     * @return operaciones por segundo
+     */
+    private double medir(Operacion operacion) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>(hilos);
+            long inicio = System.nanoTime();
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                tareas.add(ejecutor.submit(() -> {
+                    for (int i = hilo; i < registros; i += hilos) {
+                        operacion.ejecutar(i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+            return registros / ((System.nanoTime() - inicio) / 1e9);
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+
+    private static Email email(String prefijo, int i) {
+        return Email.crear("bench-" + prefijo + "-" + i + "@guma.test");
+    }
+
+    private static String dni(String prefijo, int i) {
+        return Integer.toString(Math.abs(prefijo.hashCode()) % 90 + 10) + String.format("%06d", i);
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(archivo -> archivo.toFile().delete());
+        }
+    }
+}
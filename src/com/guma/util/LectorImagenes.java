@@ -0,0 +1,215 @@
+package com.guma.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Lectura de imágenes para mostrarlas reducidas.
+ *
+ * Decodificar entera una foto de 12 a 48 MP para mostrarla en 96 o 256
+ * píxeles ocupa cientos de MB de heap. El lector lee primero las
+ * dimensiones del encabezado (sin decodificar píxeles) y después decodifica
+ * con submuestreo de origen: el ImageReader solo entrega una de cada N
+ * filas y columnas, así que la imagen en memoria queda cerca del tamaño
+ * pedido. Para no perder calidad por el submuestreo (que toma píxeles
+ * sueltos, sin promediar) se decodifica al menos al doble del lado pedido y
+ * el último tramo se reduce con interpolación bilineal.
+ *
+ * No depende de ninguna capa: lo usan el backend (GeneradorVariantes) y la
+ * cache de imágenes del frontend.
+ *
+ * Uso:
+ *
+ * <pre>
+ * try (LectorImagenes lector = LectorImagenes.abrir(in)) {
+ *     if (lector != null) {
+ *         BufferedImage imagen = lector.leer(256);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author GUMA Development Team
+ * @version 1.0
+ */
+public final class LectorImagenes implements AutoCloseable {
+
+    // Margen sobre el lado pedido que se decodifica antes de la reducción final
+    private static final int MARGEN_SUBMUESTREO = 2;
+
+    private final ImageInputStream entrada;
+    private final ImageReader reader;
+    private final int ancho;
+    private final int alto;
+
+    private LectorImagenes(ImageInputStream entrada, ImageReader reader) throws IOException {
+        this.entrada = entrada;
+        this.reader = reader;
+        this.ancho = reader.getWidth(0);
+        this.alto = reader.getHeight(0);
+    }
+
+    /**
+     * Abre una imagen y lee su encabezado.
+     *
+     * @param in imagen codificada; no se cierra
+     * @return lector, o null si ningún ImageReader reconoce el formato
+     * @throws IOException si hay error al leer o el encabezado es inválido
+     */
+    public static LectorImagenes abrir(InputStream in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("La entrada no puede ser nula");
+        }
+        ImageInputStream entrada = ImageIO.createImageInputStream(in);
+        if (entrada == null) {
+            throw new IOException("No se pudo crear la entrada de imagen");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(entrada);
+        if (!readers.hasNext()) {
+            entrada.close();
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(entrada, true, true);
+            return new LectorImagenes(entrada, reader);
+        } catch (IOException | RuntimeException e) {
+            reader.dispose();
+            entrada.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lee una imagen reducida para que entre en un cuadrado del lado
+     * indicado (ver {@link #leer(int)}).
+     *
+     * @param bytes imagen codificada
+     * @param lado  lado en píxeles del cuadrado
+     * @return imagen reducida, o null si el formato no se reconoce
+     * @throws IOException si hay error al decodificar
+     */
+    public static BufferedImage leerReducida(byte[] bytes, int lado) throws IOException {
+        try (LectorImagenes lector = abrir(new ByteArrayInputStream(bytes))) {
+            return lector != null ? lector.leer(lado) : null;
+        }
+    }
+
+    /**
+     * @return ancho de la imagen original, según el encabezado
+     */
+    public int getAncho() {
+        return ancho;
+    }
+
+    /**
+     * @return alto de la imagen original, según el encabezado
+     */
+    public int getAlto() {
+        return alto;
+    }
+
+    /**
+     * @return nombre del formato (jpeg, png...)
+     */
+    public String getFormato() throws IOException {
+        return reader.getFormatName();
+    }
+
+    /**
+     * Decodifica la imagen submuestreada lo más cerca posible de un lado
+     * dado, sin reducirla más. Sirve para sacar varios tamaños de una sola
+     * lectura: se decodifica para el lado mayor y se reduce a cada uno con
+     * {@link #reducir(BufferedImage, int)}.
+     *
+     * @param lado lado en píxeles del cuadrado más grande que se va a pedir
+     * @return imagen decodificada, con su lado mayor entre lado y
+     *         MARGEN_SUBMUESTREO * lado (o la original si ya era menor)
+     * @throws IOException si hay error al decodificar
+     */
+    public BufferedImage decodificar(int lado) throws IOException {
+        if (lado <= 0) {
+            throw new IllegalArgumentException("El lado debe ser positivo: " + lado);
+        }
+        ImageReadParam param = reader.getDefaultReadParam();
+        int paso = calcularSubmuestreo(ancho, alto, lado);
+        if (paso > 1) {
+            param.setSourceSubsampling(paso, paso, 0, 0);
+        }
+        return reader.read(0, param);
+    }
+
+    /**
+     * Decodifica la imagen reducida para que entre en un cuadrado del lado
+     * indicado. Si ya entra se devuelve sin reducir.
+     *
+     * @param lado lado en píxeles del cuadrado
+     * @return imagen reducida
+     * @throws IOException si hay error al decodificar
+     */
+    public BufferedImage leer(int lado) throws IOException {
+        return reducir(decodificar(lado), lado);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.dispose();
+        entrada.close();
+    }
+
+    /**
+     * Paso de submuestreo para que el lado mayor decodificado no baje de
+     * MARGEN_SUBMUESTREO * lado.
+     */
+    static int calcularSubmuestreo(int ancho, int alto, int lado) {
+        return Math.max(1, Math.max(ancho, alto) / (MARGEN_SUBMUESTREO * lado));
+    }
+
+    /**
+     * Reduce la imagen para que entre en un cuadrado del lado indicado, a
+     * mitades sucesivas con interpolación bilineal (calidad similar a
+     * SCALE_SMOOTH, mucho más rápido). Si ya entra se devuelve igual.
+     *
+     * @param origen imagen a reducir
+     * @param lado   lado en píxeles del cuadrado
+     * @return imagen reducida
+     */
+    public static BufferedImage reducir(BufferedImage origen, int lado) {
+        int mayor = Math.max(origen.getWidth(), origen.getHeight());
+        if (mayor <= lado) {
+            return origen;
+        }
+        double escala = (double) lado / mayor;
+        int anchoFinal = Math.max(1, (int) Math.round(origen.getWidth() * escala));
+        int altoFinal = Math.max(1, (int) Math.round(origen.getHeight() * escala));
+        int tipo = origen.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage actual = origen;
+        int ancho = origen.getWidth();
+        int alto = origen.getHeight();
+        do {
+            ancho = Math.max(anchoFinal, ancho / 2);
+            alto = Math.max(altoFinal, alto / 2);
+            BufferedImage paso = new BufferedImage(ancho, alto, tipo);
+            Graphics2D g = paso.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(actual, 0, 0, ancho, alto, null);
+            } finally {
+                g.dispose();
+            }
+            actual = paso;
+        } while (ancho != anchoFinal || alto != altoFinal);
+        return actual;
+    }
+}